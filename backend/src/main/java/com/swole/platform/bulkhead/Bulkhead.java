@@ -0,0 +1,78 @@
+package com.swole.platform.bulkhead;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 一个负载类别的舱壁：最多 maxConcurrent 个请求同时执行，另有最多 maxQueue 个请求等待空位，每个最多等待 maxWait；
+// 队列已满或等待超时的请求立即被拒绝，因此这一类别最多占用 maxConcurrent + maxQueue 个请求线程
+public class Bulkhead {
+
+    private final WorkloadClass workloadClass;
+
+    private final int maxConcurrent;
+
+    private final int maxQueue;
+
+    private final Duration maxWait;
+
+    private final Semaphore permits;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public Bulkhead(WorkloadClass workloadClass, int maxConcurrent, int maxQueue, Duration maxWait) {
+        this.workloadClass = workloadClass;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWait = maxWait;
+        // 公平模式：等待中的请求按到达顺序获得空位
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    public WorkloadClass getWorkloadClass() {
+        return workloadClass;
+    }
+
+    // 获得执行许可返回 true，调用方执行完毕后必须调用 release
+    public boolean tryAcquire() throws InterruptedException {
+        if (tryAcquireNow()) {
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            return false;
+        }
+        try {
+            return permits.tryAcquire(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    // 有空位且没有等待中的请求时立即获得许可。
+    // 不带超时的 Semaphore.tryAcquire() 即使在公平模式下也会插队，带超时的版本才会让给已在等待的请求
+    boolean tryAcquireNow() throws InterruptedException {
+        return permits.tryAcquire(0, TimeUnit.MILLISECONDS);
+    }
+
+    boolean hasWaiters() {
+        return permits.hasQueuedThreads();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+}
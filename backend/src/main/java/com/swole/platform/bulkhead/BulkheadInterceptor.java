@@ -0,0 +1,89 @@
+package com.swole.platform.bulkhead;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+// 按处理方法的 @Workload 标注获取对应舱壁的许可，请求结束后释放。
+// 异步请求（如 StreamingResponseBody 导出）在整个异步处理结束时才释放，异步再次分派时不重复获取。
+// 由 WebMvcConfig 在 BulkheadRegistry 存在时创建和注册，不是单独的 Bean，@WebMvcTest 切片无需提供舱壁
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".permit";
+
+    private static final String ASYNC_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".async";
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    public BulkheadInterceptor(BulkheadRegistry bulkheadRegistry) {
+        this.bulkheadRegistry = bulkheadRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!bulkheadRegistry.isEnabled() || !(handler instanceof HandlerMethod handlerMethod)
+                || request.getDispatcherType() == DispatcherType.ASYNC
+                || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        Bulkhead bulkhead = bulkheadRegistry.acquire(workloadOf(handlerMethod));
+        request.setAttribute(PERMIT_ATTRIBUTE, bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Bulkhead bulkhead = (Bulkhead) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (bulkhead == null || request.getAttribute(ASYNC_ATTRIBUTE) != null) {
+            return;
+        }
+        request.setAttribute(ASYNC_ATTRIBUTE, Boolean.TRUE);
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                release(request);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        // 异步请求由 AsyncListener 在 onComplete 时释放
+        if (request.getAttribute(ASYNC_ATTRIBUTE) == null) {
+            release(request);
+        }
+    }
+
+    public static WorkloadClass workloadOf(HandlerMethod handlerMethod) {
+        Workload workload = handlerMethod.getMethodAnnotation(Workload.class);
+        if (workload == null) {
+            workload = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), Workload.class);
+        }
+        return workload != null ? workload.value() : WorkloadClass.CRUD;
+    }
+
+    private static void release(HttpServletRequest request) {
+        Bulkhead bulkhead = (Bulkhead) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (bulkhead != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            bulkhead.release();
+        }
+    }
+}
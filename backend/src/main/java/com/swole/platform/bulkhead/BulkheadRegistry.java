@@ -0,0 +1,145 @@
+package com.swole.platform.bulkhead;
+
+import com.swole.platform.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// 各负载类别的舱壁。各类别的 max-concurrent + max-queue 之和应小于 Tomcat 的最大线程数（默认 200），
+// 这样任何一类负载堆积时其他类别仍有线程可用；export 和 streaming 除外，它们是异步请求，许可按连接计而不占用 Tomcat 线程
+@Component
+public class BulkheadRegistry {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${bulkhead.enabled:true}")
+    private boolean enabled;
+
+    @Value("${bulkhead.inference.max-concurrent:8}")
+    private int inferenceMaxConcurrent;
+
+    @Value("${bulkhead.inference.max-queue:16}")
+    private int inferenceMaxQueue;
+
+    @Value("${bulkhead.inference.max-wait:2s}")
+    private Duration inferenceMaxWait;
+
+    @Value("${bulkhead.statistics.max-concurrent:8}")
+    private int statisticsMaxConcurrent;
+
+    @Value("${bulkhead.statistics.max-queue:32}")
+    private int statisticsMaxQueue;
+
+    @Value("${bulkhead.statistics.max-wait:2s}")
+    private Duration statisticsMaxWait;
+
+    @Value("${bulkhead.crud.max-concurrent:50}")
+    private int crudMaxConcurrent;
+
+    @Value("${bulkhead.crud.max-queue:50}")
+    private int crudMaxQueue;
+
+    @Value("${bulkhead.crud.max-wait:1s}")
+    private Duration crudMaxWait;
+
+    @Value("${bulkhead.ingestion.max-concurrent:4}")
+    private int ingestionMaxConcurrent;
+
+    @Value("${bulkhead.ingestion.max-queue:8}")
+    private int ingestionMaxQueue;
+
+    @Value("${bulkhead.ingestion.max-wait:5s}")
+    private Duration ingestionMaxWait;
+
+    @Value("${bulkhead.upload.max-concurrent:16}")
+    private int uploadMaxConcurrent;
+
+    @Value("${bulkhead.upload.max-queue:0}")
+    private int uploadMaxQueue;
+
+    @Value("${bulkhead.upload.max-wait:0s}")
+    private Duration uploadMaxWait;
+
+    @Value("${bulkhead.export.max-concurrent:4}")
+    private int exportMaxConcurrent;
+
+    @Value("${bulkhead.export.max-queue:0}")
+    private int exportMaxQueue;
+
+    @Value("${bulkhead.export.max-wait:0s}")
+    private Duration exportMaxWait;
+
+    @Value("${bulkhead.streaming.max-concurrent:200}")
+    private int streamingMaxConcurrent;
+
+    @Value("${bulkhead.streaming.max-queue:0}")
+    private int streamingMaxQueue;
+
+    @Value("${bulkhead.streaming.max-wait:0s}")
+    private Duration streamingMaxWait;
+
+    private final Map<WorkloadClass, Bulkhead> bulkheads = new EnumMap<>(WorkloadClass.class);
+
+    @PostConstruct
+    public void init() {
+        register(new Bulkhead(WorkloadClass.INFERENCE, inferenceMaxConcurrent, inferenceMaxQueue, inferenceMaxWait));
+        register(new Bulkhead(WorkloadClass.STATISTICS, statisticsMaxConcurrent, statisticsMaxQueue, statisticsMaxWait));
+        register(new Bulkhead(WorkloadClass.CRUD, crudMaxConcurrent, crudMaxQueue, crudMaxWait));
+        register(new Bulkhead(WorkloadClass.INGESTION, ingestionMaxConcurrent, ingestionMaxQueue, ingestionMaxWait));
+        register(new Bulkhead(WorkloadClass.UPLOAD, uploadMaxConcurrent, uploadMaxQueue, uploadMaxWait));
+        register(new Bulkhead(WorkloadClass.EXPORT, exportMaxConcurrent, exportMaxQueue, exportMaxWait));
+        register(new Bulkhead(WorkloadClass.STREAMING, streamingMaxConcurrent, streamingMaxQueue, streamingMaxWait));
+    }
+
+    private void register(Bulkhead bulkhead) {
+        String workload = bulkhead.getWorkloadClass().getName();
+        Gauge.builder("bulkhead.active", bulkhead, Bulkhead::getActive)
+                .tag("workload", workload)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.queued", bulkhead, Bulkhead::getQueued)
+                .tag("workload", workload)
+                .register(meterRegistry);
+        bulkheads.put(bulkhead.getWorkloadClass(), bulkhead);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Bulkhead get(WorkloadClass workloadClass) {
+        return bulkheads.get(workloadClass);
+    }
+
+    // 获得许可后返回对应的舱壁，调用方执行完毕后调用其 release；舱壁已满时抛出 ServiceOverloadedException（503）
+    public Bulkhead acquire(WorkloadClass workloadClass) {
+        Bulkhead bulkhead = bulkheads.get(workloadClass);
+        String workload = workloadClass.getName();
+        long start = System.nanoTime();
+        boolean permitted;
+        try {
+            permitted = bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            permitted = false;
+        }
+        if (!permitted) {
+            meterRegistry.counter("bulkhead.calls", "workload", workload, "outcome", "rejected").increment();
+            throw new ServiceOverloadedException("Too many concurrent " + workload + " requests, please retry later");
+        }
+        meterRegistry.counter("bulkhead.calls", "workload", workload, "outcome", "permitted").increment();
+        Timer.builder("bulkhead.wait")
+                .tag("workload", workload)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(System.nanoTime() - start));
+        return bulkhead;
+    }
+}
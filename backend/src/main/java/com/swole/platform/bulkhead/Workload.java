@@ -0,0 +1,14 @@
+package com.swole.platform.bulkhead;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 标注控制器或处理方法所属的负载类别，方法上的标注优先于类上的；未标注的请求属于 CRUD
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Workload {
+
+    WorkloadClass value();
+}
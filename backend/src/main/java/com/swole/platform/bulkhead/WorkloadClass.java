@@ -0,0 +1,25 @@
+package com.swole.platform.bulkhead;
+
+// 请求的负载类别，每个类别有独立的并发上限和等待队列（见 BulkheadRegistry），一类负载堆积不会占满其他类别可用的 Tomcat 线程
+public enum WorkloadClass {
+    INFERENCE("inference"),
+    STATISTICS("statistics"),
+    CRUD("crud"),
+    INGESTION("ingestion"),
+    // 断点续传的分块上传，慢网络下单个分块会长时间占用许可，与批量写入分开
+    UPLOAD("upload"),
+    // 流式导出，许可在整个导出期间持有，与统计查询分开，长时间的导出不会占满统计类别
+    EXPORT("export"),
+    // 长连接的实时推送，许可在整个连接期间持有，上限即同时打开的推送连接数
+    STREAMING("streaming");
+
+    private final String name;
+
+    WorkloadClass(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
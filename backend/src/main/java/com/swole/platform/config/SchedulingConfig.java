@@ -0,0 +1,10 @@
+package com.swole.platform.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // 定时任务的执行时间通过 application.yml 配置
+}
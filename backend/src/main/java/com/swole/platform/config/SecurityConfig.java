@@ -3,6 +3,7 @@ package com.swole.platform.config;
 import com.swole.platform.security.JwtAuthenticationFilter;
 import com.swole.platform.security.UserDetailsServiceImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,6 +35,10 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    // 管理员角色ID（用户权限为 ROLE_<roleId>），未配置时没有用户能调用管理接口
+    @Value("${security.admin-role-id:0}")
+    private long adminRoleId;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -74,6 +79,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/public/**").permitAll()
+                        // 统计汇总表的重建与一致性检查会扫描全部原始数据，只允许管理员调用
+                        .requestMatchers("/api/statistics/maintenance/**").hasRole(String.valueOf(adminRoleId))
                         // 为统计相关的API端点添加认证要求
                         .requestMatchers("/api/statistics/**").authenticated()
                         .requestMatchers("/api/users/**").authenticated()
@@ -0,0 +1,27 @@
+package com.swole.platform.config;
+
+import com.swole.platform.bulkhead.BulkheadInterceptor;
+import com.swole.platform.bulkhead.BulkheadRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    // @WebMvcTest 等只加载 Web 层的切片中没有舱壁，此时不注册拦截器
+    @Autowired(required = false)
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (bulkheadRegistry == null) {
+            return;
+        }
+        // 认证接口不受舱壁限制，保证负载高峰时仍能登录
+        registry.addInterceptor(new BulkheadInterceptor(bulkheadRegistry))
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/auth/**");
+    }
+}
@@ -1,14 +1,46 @@
 package com.swole.platform.controller.data;
 
+import com.swole.platform.bulkhead.Workload;
+import com.swole.platform.bulkhead.WorkloadClass;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.dto.BatchUploadReport;
+import com.swole.platform.dto.BatchUploadReport.RowError;
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.dto.ExperimentDataUploadDto;
+import com.swole.platform.dto.IngestionJobStatus;
+import com.swole.platform.dto.IngestionReport;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.exception.ResourceNotFoundException;
 import com.swole.platform.model.entity.*;
 import com.swole.platform.service.*;
+import com.swole.platform.service.ingest.AsyncIngestionService;
+import com.swole.platform.service.ingest.ExperimentDataIngestionService;
+import com.swole.platform.service.ingest.ExperimentDataValidator;
+import com.swole.platform.service.ingest.IdempotencyService;
+import com.swole.platform.service.ingest.StreamingIngestionService;
+import com.swole.platform.service.ingest.ValidatedBatch;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
+@Workload(WorkloadClass.INGESTION)
 @RestController
 @RequestMapping("/api/v1/experiment-data/upload")
 public class ExperimentDataUploadController {
@@ -17,20 +49,40 @@ public class ExperimentDataUploadController {
     private ExperimentService experimentService;
 
     @Autowired
-    private TargetDetectionDataService targetDetectionDataService;
+    private ExperimentImageService experimentImageService;
 
     @Autowired
-    private ConcentrationDataService concentrationDataService;
+    private ExperimentDataIngestionService experimentDataIngestionService;
 
     @Autowired
-    private GeneralDataService generalDataService;
+    private ExperimentDataValidator experimentDataValidator;
 
-    // 上传实验数据（包含多种类型的数据）
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private StreamingIngestionService streamingIngestionService;
+
+    @Autowired
+    private AsyncIngestionService asyncIngestionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${ingest.queue.retry-after-seconds:5}")
+    private int retryAfterSeconds;
+
+    // 上传实验数据（包含多种类型的数据）：图片按内容寻址保存并关联到实验和组，jsonData 中的数据批量写入。
+    // jsonData 先按批量上传的规则逐行校验，有任何错误时返回 400 和按数据类型分组的逐行错误，图片和数据都不保存
     @PostMapping("/experiment/{experimentId}")
-    public ResponseEntity<String> uploadExperimentData(
+    public ResponseEntity<?> uploadExperimentData(
             @PathVariable Long experimentId,
             @RequestParam(required = false) MultipartFile imageData,
-            @RequestParam(required = false) String jsonData) {
+            @RequestParam(required = false) String jsonData,
+            @RequestParam(defaultValue = "1") Integer groupNumber) {
 
         try {
             // 验证实验是否存在
@@ -38,50 +90,134 @@ public class ExperimentDataUploadController {
                 return ResponseEntity.badRequest().body("Experiment not found with ID: " + experimentId);
             }
 
-            // 这里可以根据jsonData解析并保存不同类型的数据
-            // 为简单起见，这里只做示例实现
-            return ResponseEntity.ok("Experiment data uploaded successfully");
+            ExperimentDataUploadDto data = null;
+            if (jsonData != null && !jsonData.isBlank()) {
+                data = objectMapper.readValue(jsonData, ExperimentDataUploadDto.class);
+                data.assignTo(experimentId, groupNumber);
+                Map<String, List<RowError>> errors = experimentDataValidator.validateExperimentData(data);
+                if (!errors.isEmpty()) {
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("error", "Experiment data failed validation, nothing was saved");
+                    result.put("errors", errors);
+                    return ResponseEntity.badRequest().body(result);
+                }
+            }
+
+            // 图片关联和数据在同一事务内提交，数据写入失败时图片关联一并回滚
+            // （已落盘的文件按内容寻址，可被之后的相同上传复用）
+            ExperimentDataUploadDto rows = data;
+            Map<String, Object> result = new TransactionTemplate(transactionManager).execute(status -> {
+                Map<String, Object> saved = new HashMap<>();
+                if (imageData != null && !imageData.isEmpty()) {
+                    try {
+                        saved.put("image", experimentImageService.saveImage(experimentId, groupNumber, imageData));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                if (rows != null) {
+                    saved.put("dataRows", experimentDataIngestionService.insertExperimentData(experimentId, groupNumber, rows));
+                }
+                return saved;
+            });
+            return ResponseEntity.ok(result);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Failed to upload experiment data: " + e.getMessage());
         }
     }
 
-    // 批量上传目标检测数据
+    // 批量上传目标检测数据：先校验全部行，只写入通过校验的行，返回逐行错误报告
     @PostMapping("/target-detection/batch")
-    public ResponseEntity<String> batchUploadTargetDetectionData(@RequestBody List<TargetDetectionData> dataList) {
-        try {
-            for (TargetDetectionData data : dataList) {
-                targetDetectionDataService.createTargetDetectionData(data);
-            }
-            return ResponseEntity.ok("Batch upload completed successfully");
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Failed to batch upload target detection data: " + e.getMessage());
-        }
+    public ResponseEntity<BatchUploadReport> batchUploadTargetDetectionData(
+            @RequestBody List<TargetDetectionData> dataList,
+            @RequestParam(defaultValue = "false") boolean async,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return batchUpload(ExperimentDataType.TARGET_DETECTION, dataList, experimentDataValidator::validateTargetDetectionData, async,
+                experimentDataIngestionService::insertTargetDetectionData, idempotencyKey);
     }
 
     // 批量上传浓度数据
     @PostMapping("/concentration/batch")
-    public ResponseEntity<String> batchUploadConcentrationData(@RequestBody List<ConcentrationData> dataList) {
-        try {
-            for (ConcentrationData data : dataList) {
-                concentrationDataService.createConcentrationData(data);
-            }
-            return ResponseEntity.ok("Batch upload completed successfully");
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Failed to batch upload concentration data: " + e.getMessage());
-        }
+    public ResponseEntity<BatchUploadReport> batchUploadConcentrationData(
+            @RequestBody List<ConcentrationData> dataList,
+            @RequestParam(defaultValue = "false") boolean async,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return batchUpload(ExperimentDataType.CONCENTRATION, dataList, experimentDataValidator::validateConcentrationData, async,
+                experimentDataIngestionService::insertConcentrationData, idempotencyKey);
     }
 
     // 批量上传通用数据
     @PostMapping("/general/batch")
-    public ResponseEntity<String> batchUploadGeneralData(@RequestBody List<GeneralData> dataList) {
-        try {
-            for (GeneralData data : dataList) {
-                generalDataService.createGeneralData(data);
+    public ResponseEntity<BatchUploadReport> batchUploadGeneralData(
+            @RequestBody List<GeneralData> dataList,
+            @RequestParam(defaultValue = "false") boolean async,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return batchUpload(ExperimentDataType.GENERAL, dataList, experimentDataValidator::validateGeneralData, async,
+                experimentDataIngestionService::insertGeneralData, idempotencyKey);
+    }
+
+    // 查询异步写入任务的状态；轻量的轮询请求，不与数据写入共用舱壁
+    @Workload(WorkloadClass.CRUD)
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<IngestionJobStatus> getIngestionJob(@PathVariable String jobId) {
+        IngestionJobStatus job = asyncIngestionService.getJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("IngestionJob", "id", jobId));
+        return ResponseEntity.ok(job);
+    }
+
+    // 流式批量上传：请求体为 JSON 数组，边解析边按分块写入，内存占用与上传大小无关
+    @PostMapping(value = "/{dataType}/stream", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<IngestionReport> streamUpload(@PathVariable String dataType,
+                                                        HttpServletRequest request) throws IOException {
+        ExperimentDataType type = ExperimentDataType.fromPath(dataType)
+                .orElseThrow(() -> new BadRequestException("Unknown experiment data type: " + dataType));
+        IngestionReport report = streamingIngestionService.ingest(type, request.getInputStream());
+        return report.isCompleted() ? ResponseEntity.ok(report) : ResponseEntity.badRequest().body(report);
+    }
+
+    // 带 Idempotency-Key 的请求只执行一次，重试时直接返回第一次的响应
+    private <T> ResponseEntity<BatchUploadReport> batchUpload(ExperimentDataType dataType, List<T> dataList,
+                                                              Function<List<T>, ValidatedBatch<T>> validator,
+                                                              boolean async, Function<List<T>, Integer> writer,
+                                                              String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return batchUpload(dataType, dataList.size(), validator.apply(dataList), async, writer);
+        }
+        return idempotencyService.execute(dataType.getPath(), idempotencyKey, dataList, BatchUploadReport.class,
+                () -> batchUpload(dataType, dataList.size(), validator.apply(dataList), async, writer));
+    }
+
+    // 通过校验的行在一个事务内批量写入；异步模式下进入写入队列后立即返回 202，队列已满时返回 429。
+    // 所有行都未通过校验或写入失败时返回 400
+    private <T> ResponseEntity<BatchUploadReport> batchUpload(ExperimentDataType dataType, int totalRows,
+                                                              ValidatedBatch<T> batch, boolean async,
+                                                              Function<List<T>, Integer> writer) {
+        BatchUploadReport report = new BatchUploadReport(dataType.getPath(), totalRows, batch.getErrors());
+        if (batch.getValidRows().isEmpty() && !batch.getErrors().isEmpty()) {
+            return ResponseEntity.badRequest().body(report);
+        }
+
+        if (async) {
+            Optional<IngestionJobStatus> job = asyncIngestionService.submit(dataType, batch.getValidRows());
+            if (job.isEmpty()) {
+                report.setError("Ingestion queue is full, retry later");
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                        .body(report);
             }
-            return ResponseEntity.ok("Batch upload completed successfully");
+            report.setAcceptedRows(batch.getValidRows().size());
+            report.setJob(job.get());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/experiment-data/upload/jobs/" + job.get().getJobId()))
+                    .body(report);
+        }
+
+        try {
+            report.setAcceptedRows(writer.apply(batch.getValidRows()));
+            return ResponseEntity.ok(report);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Failed to batch upload general data: " + e.getMessage());
+            report.setError("Failed to write batch: " + e.getMessage());
+            return ResponseEntity.badRequest().body(report);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.swole.platform.controller.data;
+
+import com.swole.platform.bulkhead.Workload;
+import com.swole.platform.bulkhead.WorkloadClass;
+import com.swole.platform.dto.UploadSessionRequest;
+import com.swole.platform.dto.UploadSessionStatus;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.model.entity.ExperimentImage;
+import com.swole.platform.service.upload.ResumableUploadService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.net.URI;
+
+// 大文件断点续传：创建会话 -> 按偏移量 PUT 分块（可乱序、可重传）-> 查询已收到的区间 -> 完成。
+// 分块从慢速客户端读取时会长时间占用许可，使用独立的 upload 舱壁，不影响批量写入
+@Workload(WorkloadClass.UPLOAD)
+@RestController
+@RequestMapping("/api/v1/experiment-data/upload/sessions")
+public class ResumableUploadController {
+
+    @Autowired
+    private ResumableUploadService resumableUploadService;
+
+    @PostMapping
+    public ResponseEntity<UploadSessionStatus> createSession(@RequestBody UploadSessionRequest request) throws IOException {
+        UploadSessionStatus session = resumableUploadService.createSession(request);
+        return ResponseEntity.created(URI.create("/api/v1/experiment-data/upload/sessions/" + session.getSessionId()))
+                .body(session);
+    }
+
+    // 请求体为分块的原始字节，必须带 Content-Length
+    @PutMapping("/{sessionId}")
+    public UploadSessionStatus uploadChunk(@PathVariable String sessionId,
+                                           @RequestParam long offset,
+                                           HttpServletRequest request) throws IOException {
+        long length = request.getContentLengthLong();
+        if (length < 0) {
+            throw new BadRequestException("Content-Length header is required");
+        }
+        return resumableUploadService.writeChunk(sessionId, offset, length, request.getInputStream());
+    }
+
+    // 续传前查询已接收的偏移量，不与分块写入共用舱壁
+    @Workload(WorkloadClass.CRUD)
+    @GetMapping("/{sessionId}")
+    public UploadSessionStatus getSession(@PathVariable String sessionId) {
+        return resumableUploadService.getSession(sessionId);
+    }
+
+    @PostMapping("/{sessionId}/complete")
+    public ExperimentImage complete(@PathVariable String sessionId) throws IOException {
+        return resumableUploadService.complete(sessionId);
+    }
+
+    @DeleteMapping("/{sessionId}")
+    public ResponseEntity<Void> abort(@PathVariable String sessionId) throws IOException {
+        resumableUploadService.abort(sessionId);
+        return ResponseEntity.noContent().build();
+    }
+}
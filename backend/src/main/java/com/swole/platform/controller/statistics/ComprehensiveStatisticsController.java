@@ -1,6 +1,9 @@
 package com.swole.platform.controller.statistics;
 
+import com.swole.platform.bulkhead.Workload;
+import com.swole.platform.bulkhead.WorkloadClass;
 import com.swole.platform.dto.ExperimentStatisticsDto;
+import com.swole.platform.dto.UserActivityStatisticsDto;
 import com.swole.platform.model.entity.User;
 import com.swole.platform.service.UserService;
 import com.swole.platform.service.statistics.ExperimentStatisticsService;
@@ -13,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
+@Workload(WorkloadClass.STATISTICS)
 @RestController
 @RequestMapping("/api/statistics/comprehensive")
 public class ComprehensiveStatisticsController {
@@ -44,19 +48,20 @@ public class ComprehensiveStatisticsController {
     public ResponseEntity<Map<String, Object>> getUserActivityStats() {
         Map<String, Object> activityStats = new HashMap<>();
         
-        long totalUsers = userService.getUserCount();
-        
-        // 获取所有用户并计算每个用户的实验数量
-        List<User> allUsers = userService.getAllUsers();
-        Map<String, Integer> userExperimentCounts = new HashMap<>();
+        // 一次分组查询得到每个用户的实验数量和数据点合计
+        List<UserActivityStatisticsDto> userActivities = experimentStatisticsService.getUserActivityStatistics();
+        Map<String, Long> userExperimentCounts = new HashMap<>();
+        Map<String, Long> userDataPoints = new HashMap<>();
         
-        for (User user : allUsers) {
-            List<ExperimentStatisticsDto> userExperiments = experimentStatisticsService.getUserStatistics(user.getId());
-            userExperimentCounts.put(user.getName(), userExperiments.size());
+        for (UserActivityStatisticsDto activity : userActivities) {
+            userExperimentCounts.put(activity.getUserName(), activity.getExperimentCount());
+            userDataPoints.put(activity.getUserName(), activity.getDataPoints());
         }
         
-        activityStats.put("totalUsers", totalUsers);
+        activityStats.put("totalUsers", userActivities.size());
         activityStats.put("userExperimentCounts", userExperimentCounts);
+        activityStats.put("userDataPoints", userDataPoints);
+        activityStats.put("users", userActivities);
         
         return ResponseEntity.ok(activityStats);
     }
@@ -1,6 +1,10 @@
 package com.swole.platform.controller.statistics;
 
+import com.swole.platform.bulkhead.Workload;
+import com.swole.platform.bulkhead.WorkloadClass;
 import com.swole.platform.dto.ExperimentStatisticsDto;
+import com.swole.platform.dto.ExperimentTrendBucketDto;
+import com.swole.platform.dto.TimeBucketGranularity;
 import com.swole.platform.service.statistics.ExperimentStatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +14,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
+@Workload(WorkloadClass.STATISTICS)
 @RestController
 @RequestMapping("/api/statistics/experiments")
 public class ExperimentStatisticsController {
@@ -51,6 +56,27 @@ public class ExperimentStatisticsController {
         return ResponseEntity.ok(stats);
     }
 
+    // 获取时间段内按小时/天/周分桶的趋势统计
+    @GetMapping("/trend")
+    public ResponseEntity<List<ExperimentTrendBucketDto>> getTrendStatistics(
+            @RequestParam("startTime") String startTime,
+            @RequestParam("endTime") String endTime,
+            @RequestParam(value = "granularity", defaultValue = "day") String granularity) {
+
+        TimeBucketGranularity bucketGranularity;
+        try {
+            bucketGranularity = TimeBucketGranularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        LocalDateTime start = LocalDateTime.parse(startTime);
+        LocalDateTime end = LocalDateTime.parse(endTime);
+
+        List<ExperimentTrendBucketDto> trend = experimentStatisticsService.getTrendStatistics(start, end, bucketGranularity);
+        return ResponseEntity.ok(trend);
+    }
+
     // 获取总体统计摘要
     @GetMapping("/overall")
     public ResponseEntity<ExperimentStatisticsDto> getOverallStatistics() {
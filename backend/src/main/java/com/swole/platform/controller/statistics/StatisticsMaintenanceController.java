@@ -0,0 +1,47 @@
+package com.swole.platform.controller.statistics;
+
+import com.swole.platform.bulkhead.Workload;
+import com.swole.platform.bulkhead.WorkloadClass;
+import com.swole.platform.model.entity.ExperimentStatistics;
+import com.swole.platform.service.statistics.ExperimentStatisticsMaintenanceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@Workload(WorkloadClass.STATISTICS)
+@RestController
+@RequestMapping("/api/statistics/maintenance")
+public class StatisticsMaintenanceController {
+
+    @Autowired
+    private ExperimentStatisticsMaintenanceService experimentStatisticsMaintenanceService;
+
+    // 从原始数据重建整张统计汇总表
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildAll() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("rebuiltExperiments", experimentStatisticsMaintenanceService.rebuildAll());
+        return ResponseEntity.ok(result);
+    }
+
+    // 从原始数据重建单个实验的统计记录
+    @PostMapping("/rebuild/{experimentId}")
+    public ResponseEntity<ExperimentStatistics> rebuild(@PathVariable Long experimentId) {
+        return ResponseEntity.ok(experimentStatisticsMaintenanceService.rebuild(experimentId));
+    }
+
+    // 检查统计汇总表与原始数据是否一致
+    @GetMapping("/consistency")
+    public ResponseEntity<Map<String, Object>> checkConsistency() {
+        List<Long> inconsistent = experimentStatisticsMaintenanceService.findInconsistentExperimentIds();
+        Map<String, Object> result = new HashMap<>();
+        result.put("consistent", inconsistent.isEmpty());
+        result.put("inconsistentExperimentIds", inconsistent);
+        return ResponseEntity.ok(result);
+    }
+}
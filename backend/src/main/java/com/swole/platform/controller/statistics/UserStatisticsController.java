@@ -1,5 +1,7 @@
 package com.swole.platform.controller.statistics;
 
+import com.swole.platform.bulkhead.Workload;
+import com.swole.platform.bulkhead.WorkloadClass;
 import com.swole.platform.dto.ExperimentStatisticsDto;
 import com.swole.platform.model.entity.User;
 import com.swole.platform.service.UserService;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
+@Workload(WorkloadClass.STATISTICS)
 @RestController
 @RequestMapping("/api/statistics/users")
 public class UserStatisticsController {
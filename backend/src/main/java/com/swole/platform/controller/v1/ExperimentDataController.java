@@ -1,11 +1,11 @@
 package com.swole.platform.controller.v1;
 
+import com.swole.platform.dto.CursorPage;
 import com.swole.platform.model.entity.*;
 import com.swole.platform.service.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import java.util.List;
 import java.util.Optional;
 
 @RestController
@@ -23,8 +23,9 @@ public class ExperimentDataController {
 
     // Target Detection Data endpoints
     @GetMapping("/target-detection")
-    public List<TargetDetectionData> getAllTargetDetectionData() {
-        return targetDetectionDataService.getAllTargetDetectionData();
+    public CursorPage<TargetDetectionData> getAllTargetDetectionData(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer size) {
+        return targetDetectionDataService.getAllTargetDetectionData(cursor, size);
     }
 
     @GetMapping("/target-detection/{id}")
@@ -63,19 +64,24 @@ public class ExperimentDataController {
     }
 
     @GetMapping("/target-detection/experiment/{experimentId}")
-    public List<TargetDetectionData> getTargetDetectionDataByExperimentId(@PathVariable Long experimentId) {
-        return targetDetectionDataService.getTargetDetectionDataByExperimentId(experimentId);
+    public CursorPage<TargetDetectionData> getTargetDetectionDataByExperimentId(@PathVariable Long experimentId,
+                                                                                @RequestParam(required = false) String cursor,
+                                                                                @RequestParam(required = false) Integer size) {
+        return targetDetectionDataService.getTargetDetectionDataByExperimentId(experimentId, cursor, size);
     }
 
     @GetMapping("/target-detection/group/{groupNumber}")
-    public List<TargetDetectionData> getTargetDetectionDataByGroupNumber(@PathVariable Integer groupNumber) {
-        return targetDetectionDataService.getTargetDetectionDataByGroupNumber(groupNumber);
+    public CursorPage<TargetDetectionData> getTargetDetectionDataByGroupNumber(@PathVariable Integer groupNumber,
+                                                                               @RequestParam(required = false) String cursor,
+                                                                               @RequestParam(required = false) Integer size) {
+        return targetDetectionDataService.getTargetDetectionDataByGroupNumber(groupNumber, cursor, size);
     }
 
     // Concentration Data endpoints
     @GetMapping("/concentration")
-    public List<ConcentrationData> getAllConcentrationData() {
-        return concentrationDataService.getAllConcentrationData();
+    public CursorPage<ConcentrationData> getAllConcentrationData(@RequestParam(required = false) String cursor,
+                                                                 @RequestParam(required = false) Integer size) {
+        return concentrationDataService.getAllConcentrationData(cursor, size);
     }
 
     @GetMapping("/concentration/{id}")
@@ -114,19 +120,24 @@ public class ExperimentDataController {
     }
 
     @GetMapping("/concentration/experiment/{experimentId}")
-    public List<ConcentrationData> getConcentrationDataByExperimentId(@PathVariable Long experimentId) {
-        return concentrationDataService.getConcentrationDataByExperimentId(experimentId);
+    public CursorPage<ConcentrationData> getConcentrationDataByExperimentId(@PathVariable Long experimentId,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer size) {
+        return concentrationDataService.getConcentrationDataByExperimentId(experimentId, cursor, size);
     }
 
     @GetMapping("/concentration/group/{groupNumber}")
-    public List<ConcentrationData> getConcentrationDataByGroupNumber(@PathVariable Integer groupNumber) {
-        return concentrationDataService.getConcentrationDataByGroupNumber(groupNumber);
+    public CursorPage<ConcentrationData> getConcentrationDataByGroupNumber(@PathVariable Integer groupNumber,
+                                                                           @RequestParam(required = false) String cursor,
+                                                                           @RequestParam(required = false) Integer size) {
+        return concentrationDataService.getConcentrationDataByGroupNumber(groupNumber, cursor, size);
     }
 
     // General Data endpoints
     @GetMapping("/general")
-    public List<GeneralData> getAllGeneralData() {
-        return generalDataService.getAllGeneralData();
+    public CursorPage<GeneralData> getAllGeneralData(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size) {
+        return generalDataService.getAllGeneralData(cursor, size);
     }
 
     @GetMapping("/general/{id}")
@@ -165,12 +176,16 @@ public class ExperimentDataController {
     }
 
     @GetMapping("/general/experiment/{experimentId}")
-    public List<GeneralData> getGeneralDataByExperimentId(@PathVariable Long experimentId) {
-        return generalDataService.getGeneralDataByExperimentId(experimentId);
+    public CursorPage<GeneralData> getGeneralDataByExperimentId(@PathVariable Long experimentId,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size) {
+        return generalDataService.getGeneralDataByExperimentId(experimentId, cursor, size);
     }
 
     @GetMapping("/general/group/{groupNumber}")
-    public List<GeneralData> getGeneralDataByGroupNumber(@PathVariable Integer groupNumber) {
-        return generalDataService.getGeneralDataByGroupNumber(groupNumber);
+    public CursorPage<GeneralData> getGeneralDataByGroupNumber(@PathVariable Integer groupNumber,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer size) {
+        return generalDataService.getGeneralDataByGroupNumber(groupNumber, cursor, size);
     }
 }
\ No newline at end of file
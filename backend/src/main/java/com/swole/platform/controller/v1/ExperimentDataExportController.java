@@ -0,0 +1,56 @@
+package com.swole.platform.controller.v1;
+
+import com.swole.platform.bulkhead.Workload;
+import com.swole.platform.bulkhead.WorkloadClass;
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.dto.ExportFormat;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.exception.ResourceNotFoundException;
+import com.swole.platform.service.ExperimentService;
+import com.swole.platform.service.export.ExperimentDataExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@Workload(WorkloadClass.EXPORT)
+@RestController
+@RequestMapping("/api/v1/experiment-data")
+public class ExperimentDataExportController {
+
+    @Autowired
+    private ExperimentService experimentService;
+
+    @Autowired
+    private ExperimentDataExportService experimentDataExportService;
+
+    // 流式导出实验的原始数据（NDJSON 或 CSV），边查询边写出
+    @GetMapping("/{dataType}/experiment/{experimentId}/export")
+    public ResponseEntity<StreamingResponseBody> exportExperimentData(
+            @PathVariable String dataType,
+            @PathVariable Long experimentId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+
+        ExperimentDataType type = ExperimentDataType.fromPath(dataType)
+                .orElseThrow(() -> new BadRequestException("Unknown experiment data type: " + dataType));
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported export format: " + format);
+        }
+        // 开始写出后无法再返回错误状态，先校验实验是否存在
+        if (!experimentService.getExperimentById(experimentId).isPresent()) {
+            throw new ResourceNotFoundException("Experiment", "id", experimentId);
+        }
+
+        StreamingResponseBody body = out -> experimentDataExportService.export(type, experimentId, exportFormat, out);
+        String filename = String.format("experiment-%d-%s.%s", experimentId, type.getPath(), exportFormat.getExtension());
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,24 @@
+package com.swole.platform.controller.v1;
+
+import com.swole.platform.bulkhead.Workload;
+import com.swole.platform.bulkhead.WorkloadClass;
+import com.swole.platform.service.stream.ExperimentDataStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Workload(WorkloadClass.STREAMING)
+@RestController
+@RequestMapping("/api/v1/experiment-data")
+public class ExperimentDataStreamController {
+
+    @Autowired
+    private ExperimentDataStreamService experimentDataStreamService;
+
+    // 订阅实验新写入的数据和汇总值（Server-Sent Events），连接保持到客户端断开或超时
+    @GetMapping(value = "/stream/experiment/{experimentId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamExperimentData(@PathVariable Long experimentId) {
+        return experimentDataStreamService.subscribe(experimentId);
+    }
+}
@@ -0,0 +1,59 @@
+package com.swole.platform.controller.v1;
+
+import com.swole.platform.exception.ResourceNotFoundException;
+import com.swole.platform.model.entity.ExperimentImage;
+import com.swole.platform.service.ExperimentImageService;
+import com.swole.platform.service.storage.ImageStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/experiment-data/images")
+public class ExperimentImageController {
+
+    // 图片内容由 SHA-256 决定且不会改变，可长期缓存；图片需要登录才能访问，只允许浏览器缓存，不允许共享缓存保存
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable();
+
+    @Autowired
+    private ExperimentImageService experimentImageService;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @GetMapping("/experiment/{experimentId}")
+    public List<ExperimentImage> getImagesByExperimentId(@PathVariable Long experimentId) {
+        return experimentImageService.getImagesByExperimentId(experimentId);
+    }
+
+    // 返回 Resource 时由 Spring MVC 处理 Range（206）和 If-None-Match（304）。
+    // 禁止浏览器猜测内容类型；断点续传保存的非图片文件以附件形式下载，不在页面中内联打开
+    @GetMapping("/{sha256}")
+    public ResponseEntity<Resource> getImage(@PathVariable String sha256) {
+        Path path = imageStorageService.resolve(sha256)
+                .orElseThrow(() -> new ResourceNotFoundException("Image", "sha256", sha256));
+        String contentType = experimentImageService.getImageBySha256(sha256)
+                .map(ExperimentImage::getContentType)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(contentType))
+                .cacheControl(IMMUTABLE)
+                .eTag(sha256)
+                .header("X-Content-Type-Options", "nosniff");
+        if (!ExperimentImageService.isInlineImage(contentType)) {
+            response.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().build().toString());
+        }
+        return response.body(new FileSystemResource(path));
+    }
+}
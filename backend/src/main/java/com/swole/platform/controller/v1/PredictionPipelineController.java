@@ -0,0 +1,37 @@
+package com.swole.platform.controller.v1;
+
+import com.swole.platform.bulkhead.Workload;
+import com.swole.platform.bulkhead.WorkloadClass;
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.dto.PredictionPipelineResult;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.service.prediction.PredictionPipelineService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+@Workload(WorkloadClass.INFERENCE)
+@RestController
+@RequestMapping("/api/v1/experiment-data/predict")
+public class PredictionPipelineController {
+
+    @Autowired
+    private PredictionPipelineService predictionPipelineService;
+
+    // 上传一张或多张图片，图片保存为实验图片后由后端调用预测服务，并把结果写入实验数据
+    @PostMapping(value = "/experiment/{experimentId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public PredictionPipelineResult predict(
+            @PathVariable Long experimentId,
+            @RequestParam List<MultipartFile> images,
+            @RequestParam(defaultValue = "1") Integer groupNumber,
+            @RequestParam(defaultValue = "concentration") String endpoint) throws IOException {
+
+        PredictionEndpoint predictionEndpoint = PredictionEndpoint.fromName(endpoint)
+                .orElseThrow(() -> new BadRequestException("Unknown prediction endpoint: " + endpoint));
+        return predictionPipelineService.predictAndStoreUploads(experimentId, groupNumber, predictionEndpoint, images);
+    }
+}
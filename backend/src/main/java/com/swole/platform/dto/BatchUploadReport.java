@@ -0,0 +1,120 @@
+package com.swole.platform.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 批量上传的处理结果：通过校验的行被写入（或进入异步队列），未通过的行按请求数组下标列出原因
+public class BatchUploadReport {
+    private String dataType;
+    private int totalRows;
+    private int acceptedRows;
+    private int rejectedRows;
+    private String error;
+    private List<RowError> errors = new ArrayList<>();
+    private IngestionJobStatus job;
+
+    // 构造函数
+    public BatchUploadReport() {}
+
+    public BatchUploadReport(String dataType, int totalRows, List<RowError> errors) {
+        this.dataType = dataType;
+        this.totalRows = totalRows;
+        this.errors = errors;
+        this.rejectedRows = errors.size();
+    }
+
+    // Getter和Setter方法
+    public String getDataType() {
+        return dataType;
+    }
+
+    public void setDataType(String dataType) {
+        this.dataType = dataType;
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getAcceptedRows() {
+        return acceptedRows;
+    }
+
+    public void setAcceptedRows(int acceptedRows) {
+        this.acceptedRows = acceptedRows;
+    }
+
+    public int getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(int rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public IngestionJobStatus getJob() {
+        return job;
+    }
+
+    public void setJob(IngestionJobStatus job) {
+        this.job = job;
+    }
+
+    public static class RowError {
+        private long index;
+        private String field;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(long index, String field, String message) {
+            this.index = index;
+            this.field = field;
+            this.message = message;
+        }
+
+        public long getIndex() {
+            return index;
+        }
+
+        public void setIndex(long index) {
+            this.index = index;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public void setField(String field) {
+            this.field = field;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.swole.platform.dto;
+
+import java.util.List;
+
+public class CursorPage<T> {
+    private List<T> items;
+    private int size;
+    private String nextCursor;
+
+    // 构造函数
+    public CursorPage() {}
+
+    public CursorPage(List<T> items, int size, String nextCursor) {
+        this.items = items;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    // 是否还有下一页
+    public boolean isHasMore() {
+        return nextCursor != null;
+    }
+
+    // Getter和Setter方法
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,75 @@
+package com.swole.platform.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// 预测服务返回的单个检测框：(x, y) 为左上角像素坐标
+public class Detection {
+    @JsonProperty("class")
+    private String className;
+    private Double confidence;
+    private Double x;
+    private Double y;
+    private Double width;
+    private Double height;
+
+    // 构造函数
+    public Detection() {}
+
+    public Detection(String className, Double confidence, Double x, Double y, Double width, Double height) {
+        this.className = className;
+        this.confidence = confidence;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    // Getter和Setter方法
+    public String getClassName() {
+        return className;
+    }
+
+    public void setClassName(String className) {
+        this.className = className;
+    }
+
+    public Double getConfidence() {
+        return confidence;
+    }
+
+    public void setConfidence(Double confidence) {
+        this.confidence = confidence;
+    }
+
+    public Double getX() {
+        return x;
+    }
+
+    public void setX(Double x) {
+        this.x = x;
+    }
+
+    public Double getY() {
+        return y;
+    }
+
+    public void setY(Double y) {
+        this.y = y;
+    }
+
+    public Double getWidth() {
+        return width;
+    }
+
+    public void setWidth(Double width) {
+        this.width = width;
+    }
+
+    public Double getHeight() {
+        return height;
+    }
+
+    public void setHeight(Double height) {
+        this.height = height;
+    }
+}
@@ -0,0 +1,25 @@
+package com.swole.platform.dto;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// 实验数据类型，path 与 /api/v1/experiment-data 下的路径段一致
+public enum ExperimentDataType {
+    TARGET_DETECTION("target-detection"),
+    CONCENTRATION("concentration"),
+    GENERAL("general");
+
+    private final String path;
+
+    ExperimentDataType(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public static Optional<ExperimentDataType> fromPath(String path) {
+        return Arrays.stream(values()).filter(type -> type.path.equals(path)).findFirst();
+    }
+}
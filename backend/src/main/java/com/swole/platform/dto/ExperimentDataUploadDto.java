@@ -0,0 +1,56 @@
+package com.swole.platform.dto;
+
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.model.entity.TargetDetectionData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 单个实验上传时随图片提交的各类数据（jsonData），实验ID以请求路径为准
+public class ExperimentDataUploadDto {
+    private List<TargetDetectionData> targetDetection = new ArrayList<>();
+    private List<ConcentrationData> concentration = new ArrayList<>();
+    private List<GeneralData> general = new ArrayList<>();
+
+    // 所有行关联到请求路径中的实验；未指定组号的行使用 groupNumber
+    public void assignTo(Long experimentId, Integer groupNumber) {
+        targetDetection.forEach(row -> {
+            row.setExperimentId(experimentId);
+            row.setGroupNumber(row.getGroupNumber() != null ? row.getGroupNumber() : groupNumber);
+        });
+        concentration.forEach(row -> {
+            row.setExperimentId(experimentId);
+            row.setGroupNumber(row.getGroupNumber() != null ? row.getGroupNumber() : groupNumber);
+        });
+        general.forEach(row -> {
+            row.setExperimentId(experimentId);
+            row.setGroupNumber(row.getGroupNumber() != null ? row.getGroupNumber() : groupNumber);
+        });
+    }
+
+    // Getter和Setter方法
+    public List<TargetDetectionData> getTargetDetection() {
+        return targetDetection;
+    }
+
+    public void setTargetDetection(List<TargetDetectionData> targetDetection) {
+        this.targetDetection = targetDetection;
+    }
+
+    public List<ConcentrationData> getConcentration() {
+        return concentration;
+    }
+
+    public void setConcentration(List<ConcentrationData> concentration) {
+        this.concentration = concentration;
+    }
+
+    public List<GeneralData> getGeneral() {
+        return general;
+    }
+
+    public void setGeneral(List<GeneralData> general) {
+        this.general = general;
+    }
+}
@@ -0,0 +1,110 @@
+package com.swole.platform.dto;
+
+import java.time.LocalDateTime;
+
+// 实验数据实时推送中的汇总值，取自统计汇总表；没有数据时平均值和极值为 null
+public class ExperimentLiveSummary {
+    private Long experimentId;
+    private long targetDetectionCount;
+    private long concentrationCount;
+    private long generalDataCount;
+    private Double averageConcentration;
+    private Double minConcentration;
+    private Double maxConcentration;
+    private Double averageConfidence;
+    private Double minConfidence;
+    private Double maxConfidence;
+    private LocalDateTime updatedAt;
+
+    // 构造函数
+    public ExperimentLiveSummary() {}
+
+    // Getter和Setter方法
+    public Long getExperimentId() {
+        return experimentId;
+    }
+
+    public void setExperimentId(Long experimentId) {
+        this.experimentId = experimentId;
+    }
+
+    public long getTargetDetectionCount() {
+        return targetDetectionCount;
+    }
+
+    public void setTargetDetectionCount(long targetDetectionCount) {
+        this.targetDetectionCount = targetDetectionCount;
+    }
+
+    public long getConcentrationCount() {
+        return concentrationCount;
+    }
+
+    public void setConcentrationCount(long concentrationCount) {
+        this.concentrationCount = concentrationCount;
+    }
+
+    public long getGeneralDataCount() {
+        return generalDataCount;
+    }
+
+    public void setGeneralDataCount(long generalDataCount) {
+        this.generalDataCount = generalDataCount;
+    }
+
+    public Double getAverageConcentration() {
+        return averageConcentration;
+    }
+
+    public void setAverageConcentration(Double averageConcentration) {
+        this.averageConcentration = averageConcentration;
+    }
+
+    public Double getMinConcentration() {
+        return minConcentration;
+    }
+
+    public void setMinConcentration(Double minConcentration) {
+        this.minConcentration = minConcentration;
+    }
+
+    public Double getMaxConcentration() {
+        return maxConcentration;
+    }
+
+    public void setMaxConcentration(Double maxConcentration) {
+        this.maxConcentration = maxConcentration;
+    }
+
+    public Double getAverageConfidence() {
+        return averageConfidence;
+    }
+
+    public void setAverageConfidence(Double averageConfidence) {
+        this.averageConfidence = averageConfidence;
+    }
+
+    public Double getMinConfidence() {
+        return minConfidence;
+    }
+
+    public void setMinConfidence(Double minConfidence) {
+        this.minConfidence = minConfidence;
+    }
+
+    public Double getMaxConfidence() {
+        return maxConfidence;
+    }
+
+    public void setMaxConfidence(Double maxConfidence) {
+        this.maxConfidence = maxConfidence;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
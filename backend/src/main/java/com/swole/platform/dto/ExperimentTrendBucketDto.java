@@ -0,0 +1,64 @@
+package com.swole.platform.dto;
+
+import java.time.LocalDateTime;
+
+public class ExperimentTrendBucketDto {
+    private LocalDateTime bucketStart;
+    private long experimentCount;
+    private long dataPoints;
+    private double averageConcentration;
+    private double averageConfidence;
+
+    // 构造函数
+    public ExperimentTrendBucketDto() {}
+
+    public ExperimentTrendBucketDto(LocalDateTime bucketStart, long experimentCount, long dataPoints,
+                                    double averageConcentration, double averageConfidence) {
+        this.bucketStart = bucketStart;
+        this.experimentCount = experimentCount;
+        this.dataPoints = dataPoints;
+        this.averageConcentration = averageConcentration;
+        this.averageConfidence = averageConfidence;
+    }
+
+    // Getter和Setter方法
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getExperimentCount() {
+        return experimentCount;
+    }
+
+    public void setExperimentCount(long experimentCount) {
+        this.experimentCount = experimentCount;
+    }
+
+    public long getDataPoints() {
+        return dataPoints;
+    }
+
+    public void setDataPoints(long dataPoints) {
+        this.dataPoints = dataPoints;
+    }
+
+    public double getAverageConcentration() {
+        return averageConcentration;
+    }
+
+    public void setAverageConcentration(double averageConcentration) {
+        this.averageConcentration = averageConcentration;
+    }
+
+    public double getAverageConfidence() {
+        return averageConfidence;
+    }
+
+    public void setAverageConfidence(double averageConfidence) {
+        this.averageConfidence = averageConfidence;
+    }
+}
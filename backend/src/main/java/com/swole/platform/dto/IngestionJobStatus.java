@@ -0,0 +1,112 @@
+package com.swole.platform.dto;
+
+import java.time.LocalDateTime;
+
+public class IngestionJobStatus {
+    private String jobId;
+    private String dataType;
+    private State status;
+    private int rows;
+    private int rowsWritten;
+    private int failedRows;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+
+    // 异步写入任务的状态
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    // 构造函数
+    public IngestionJobStatus() {}
+
+    public IngestionJobStatus(String jobId, String dataType, State status, int rows, int rowsWritten, int failedRows,
+                              String error, LocalDateTime submittedAt, LocalDateTime completedAt) {
+        this.jobId = jobId;
+        this.dataType = dataType;
+        this.status = status;
+        this.rows = rows;
+        this.rowsWritten = rowsWritten;
+        this.failedRows = failedRows;
+        this.error = error;
+        this.submittedAt = submittedAt;
+        this.completedAt = completedAt;
+    }
+
+    // Getter和Setter方法
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getDataType() {
+        return dataType;
+    }
+
+    public void setDataType(String dataType) {
+        this.dataType = dataType;
+    }
+
+    public State getStatus() {
+        return status;
+    }
+
+    public void setStatus(State status) {
+        this.status = status;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public int getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(int rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public int getFailedRows() {
+        return failedRows;
+    }
+
+    public void setFailedRows(int failedRows) {
+        this.failedRows = failedRows;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,114 @@
+package com.swole.platform.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 流式批量上传的处理结果，每个已提交的分块对应一条进度记录
+public class IngestionReport {
+    private String dataType;
+    private long totalRows;
+    private boolean completed;
+    private String error;
+    private List<ChunkProgress> chunks = new ArrayList<>();
+
+    // 构造函数
+    public IngestionReport() {}
+
+    public IngestionReport(String dataType) {
+        this.dataType = dataType;
+    }
+
+    public void addChunk(int rows, long elapsedMillis) {
+        totalRows += rows;
+        chunks.add(new ChunkProgress(chunks.size() + 1, rows, totalRows, elapsedMillis));
+    }
+
+    // Getter和Setter方法
+    public String getDataType() {
+        return dataType;
+    }
+
+    public void setDataType(String dataType) {
+        this.dataType = dataType;
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public List<ChunkProgress> getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(List<ChunkProgress> chunks) {
+        this.chunks = chunks;
+    }
+
+    public static class ChunkProgress {
+        private int chunk;
+        private int rows;
+        private long committedRows;
+        private long elapsedMillis;
+
+        public ChunkProgress() {}
+
+        public ChunkProgress(int chunk, int rows, long committedRows, long elapsedMillis) {
+            this.chunk = chunk;
+            this.rows = rows;
+            this.committedRows = committedRows;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getChunk() {
+            return chunk;
+        }
+
+        public void setChunk(int chunk) {
+            this.chunk = chunk;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public void setRows(int rows) {
+            this.rows = rows;
+        }
+
+        public long getCommittedRows() {
+            return committedRows;
+        }
+
+        public void setCommittedRows(long committedRows) {
+            this.committedRows = committedRows;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public void setElapsedMillis(long elapsedMillis) {
+            this.elapsedMillis = elapsedMillis;
+        }
+    }
+}
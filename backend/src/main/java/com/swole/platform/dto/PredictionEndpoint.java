@@ -0,0 +1,31 @@
+package com.swole.platform.dto;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+// YOLO 预测服务的预测接口，path 与 yolo_prediction_service/server.py 中的路由一致
+public enum PredictionEndpoint {
+    CONCENTRATION("concentration", "/predict/concentration"),
+    TITRATION("titration", "/predict/titration"),
+    CHARACTERIZATION("characterization", "/predict/characterization");
+
+    private final String name;
+    private final String path;
+
+    PredictionEndpoint(String name, String path) {
+        this.name = name;
+        this.path = path;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public static Optional<PredictionEndpoint> fromName(String name) {
+        return Arrays.stream(values()).filter(endpoint -> endpoint.name.equals(name)).findFirst();
+    }
+}
@@ -0,0 +1,85 @@
+package com.swole.platform.dto;
+
+import java.util.List;
+
+// 图片预测入库的结果：每张图片的预测结果按上传顺序排列
+public class PredictionPipelineResult {
+    private Long experimentId;
+    private Integer groupNumber;
+    private String endpoint;
+    private int images;
+    private int targetDetectionRows;
+    private int concentrationRows;
+    private List<PredictionResult> predictions;
+
+    // 构造函数
+    public PredictionPipelineResult() {}
+
+    public PredictionPipelineResult(Long experimentId, Integer groupNumber, String endpoint, int images,
+                                    int targetDetectionRows, int concentrationRows, List<PredictionResult> predictions) {
+        this.experimentId = experimentId;
+        this.groupNumber = groupNumber;
+        this.endpoint = endpoint;
+        this.images = images;
+        this.targetDetectionRows = targetDetectionRows;
+        this.concentrationRows = concentrationRows;
+        this.predictions = predictions;
+    }
+
+    // Getter和Setter方法
+    public Long getExperimentId() {
+        return experimentId;
+    }
+
+    public void setExperimentId(Long experimentId) {
+        this.experimentId = experimentId;
+    }
+
+    public Integer getGroupNumber() {
+        return groupNumber;
+    }
+
+    public void setGroupNumber(Integer groupNumber) {
+        this.groupNumber = groupNumber;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public int getImages() {
+        return images;
+    }
+
+    public void setImages(int images) {
+        this.images = images;
+    }
+
+    public int getTargetDetectionRows() {
+        return targetDetectionRows;
+    }
+
+    public void setTargetDetectionRows(int targetDetectionRows) {
+        this.targetDetectionRows = targetDetectionRows;
+    }
+
+    public int getConcentrationRows() {
+        return concentrationRows;
+    }
+
+    public void setConcentrationRows(int concentrationRows) {
+        this.concentrationRows = concentrationRows;
+    }
+
+    public List<PredictionResult> getPredictions() {
+        return predictions;
+    }
+
+    public void setPredictions(List<PredictionResult> predictions) {
+        this.predictions = predictions;
+    }
+}
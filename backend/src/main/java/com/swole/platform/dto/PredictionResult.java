@@ -0,0 +1,77 @@
+package com.swole.platform.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 一次预测的结果：浓度检测和粒子表征返回检测框，滴定分析返回 values 中的结果字段。
+// 批量预测中单张图片失败时只设置 error
+public class PredictionResult {
+    private String endpoint;
+    private List<Detection> detections = new ArrayList<>();
+    private Map<String, Object> values = new LinkedHashMap<>();
+    private String message;
+    private String error;
+    // 产生该结果的模型版本（预测服务返回的 model_version）
+    private String modelVersion;
+
+    // 构造函数
+    public PredictionResult() {}
+
+    public PredictionResult(String endpoint, List<Detection> detections, Map<String, Object> values, String message) {
+        this.endpoint = endpoint;
+        this.detections = detections;
+        this.values = values;
+        this.message = message;
+    }
+
+    // Getter和Setter方法
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public void setEndpoint(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public List<Detection> getDetections() {
+        return detections;
+    }
+
+    public void setDetections(List<Detection> detections) {
+        this.detections = detections;
+    }
+
+    public Map<String, Object> getValues() {
+        return values;
+    }
+
+    public void setValues(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+}
@@ -0,0 +1,8 @@
+package com.swole.platform.dto;
+
+// 趋势统计的时间粒度
+public enum TimeBucketGranularity {
+    HOUR,
+    DAY,
+    WEEK
+}
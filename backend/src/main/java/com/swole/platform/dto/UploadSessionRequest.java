@@ -0,0 +1,61 @@
+package com.swole.platform.dto;
+
+public class UploadSessionRequest {
+    private Long experimentId;
+    private Integer groupNumber;
+    private String filename;
+    private String contentType;
+    private Long totalSize;
+
+    // 构造函数
+    public UploadSessionRequest() {}
+
+    public UploadSessionRequest(Long experimentId, Integer groupNumber, String filename, String contentType, Long totalSize) {
+        this.experimentId = experimentId;
+        this.groupNumber = groupNumber;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.totalSize = totalSize;
+    }
+
+    // Getter和Setter方法
+    public Long getExperimentId() {
+        return experimentId;
+    }
+
+    public void setExperimentId(Long experimentId) {
+        this.experimentId = experimentId;
+    }
+
+    public Integer getGroupNumber() {
+        return groupNumber;
+    }
+
+    public void setGroupNumber(Integer groupNumber) {
+        this.groupNumber = groupNumber;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(Long totalSize) {
+        this.totalSize = totalSize;
+    }
+}
@@ -0,0 +1,116 @@
+package com.swole.platform.dto;
+
+import java.util.List;
+
+public class UploadSessionStatus {
+    private String sessionId;
+    private Long experimentId;
+    private Integer groupNumber;
+    private String status;
+    private long totalSize;
+    private long receivedBytes;
+    // 区间均为 [start, end)，end 不包含
+    private List<long[]> receivedRanges;
+    private List<long[]> missingRanges;
+    private String sha256;
+    private Long experimentImageId;
+
+    // 构造函数
+    public UploadSessionStatus() {}
+
+    public UploadSessionStatus(String sessionId, Long experimentId, Integer groupNumber, String status,
+                               long totalSize, long receivedBytes, List<long[]> receivedRanges,
+                               List<long[]> missingRanges, String sha256, Long experimentImageId) {
+        this.sessionId = sessionId;
+        this.experimentId = experimentId;
+        this.groupNumber = groupNumber;
+        this.status = status;
+        this.totalSize = totalSize;
+        this.receivedBytes = receivedBytes;
+        this.receivedRanges = receivedRanges;
+        this.missingRanges = missingRanges;
+        this.sha256 = sha256;
+        this.experimentImageId = experimentImageId;
+    }
+
+    // Getter和Setter方法
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public Long getExperimentId() {
+        return experimentId;
+    }
+
+    public void setExperimentId(Long experimentId) {
+        this.experimentId = experimentId;
+    }
+
+    public Integer getGroupNumber() {
+        return groupNumber;
+    }
+
+    public void setGroupNumber(Integer groupNumber) {
+        this.groupNumber = groupNumber;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public void setTotalSize(long totalSize) {
+        this.totalSize = totalSize;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public void setReceivedBytes(long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+    }
+
+    public List<long[]> getReceivedRanges() {
+        return receivedRanges;
+    }
+
+    public void setReceivedRanges(List<long[]> receivedRanges) {
+        this.receivedRanges = receivedRanges;
+    }
+
+    public List<long[]> getMissingRanges() {
+        return missingRanges;
+    }
+
+    public void setMissingRanges(List<long[]> missingRanges) {
+        this.missingRanges = missingRanges;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public Long getExperimentImageId() {
+        return experimentImageId;
+    }
+
+    public void setExperimentImageId(Long experimentImageId) {
+        this.experimentImageId = experimentImageId;
+    }
+}
@@ -0,0 +1,51 @@
+package com.swole.platform.dto;
+
+public class UserActivityStatisticsDto {
+    private Long userId;
+    private String userName;
+    private long experimentCount;
+    private long dataPoints;
+
+    // 构造函数
+    public UserActivityStatisticsDto() {}
+
+    public UserActivityStatisticsDto(Long userId, String userName, long experimentCount, long dataPoints) {
+        this.userId = userId;
+        this.userName = userName;
+        this.experimentCount = experimentCount;
+        this.dataPoints = dataPoints;
+    }
+
+    // Getter和Setter方法
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public void setUserName(String userName) {
+        this.userName = userName;
+    }
+
+    public long getExperimentCount() {
+        return experimentCount;
+    }
+
+    public void setExperimentCount(long experimentCount) {
+        this.experimentCount = experimentCount;
+    }
+
+    public long getDataPoints() {
+        return dataPoints;
+    }
+
+    public void setDataPoints(long dataPoints) {
+        this.dataPoints = dataPoints;
+    }
+}
@@ -0,0 +1,16 @@
+package com.swole.platform.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// 预测服务不可用：熔断打开、重试后仍超时或连接失败、服务端错误
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class PredictionServiceException extends RuntimeException {
+    public PredictionServiceException(String message) {
+        super(message);
+    }
+
+    public PredictionServiceException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
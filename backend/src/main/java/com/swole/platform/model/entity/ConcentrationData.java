@@ -7,7 +7,10 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "concentration_data")
+@Table(name = "concentration_data", indexes = {
+        @Index(name = "idx_concentration_data_experiment_id", columnList = "experiment_id"),
+        @Index(name = "idx_concentration_data_group_number_id", columnList = "group_number, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -7,7 +7,9 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "experiments")
+@Table(name = "experiments", indexes = {
+        @Index(name = "idx_experiments_experiment_time", columnList = "experiment_time")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
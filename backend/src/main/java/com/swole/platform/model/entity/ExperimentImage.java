@@ -0,0 +1,48 @@
+package com.swole.platform.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+// 实验原始图片与实验、组号的关联；图片内容按 SHA-256 存储在磁盘上，相同内容只保存一份
+@Entity
+@Table(name = "experiment_images", indexes = {
+        @Index(name = "idx_experiment_images_experiment_id", columnList = "experiment_id, group_number"),
+        @Index(name = "idx_experiment_images_sha256", columnList = "sha256")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExperimentImage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "experiment_id", nullable = false)
+    private Long experimentId;
+
+    @Column(name = "group_number", nullable = false)
+    private Integer groupNumber;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "content_type", nullable = false, length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "original_filename")
+    private String originalFilename;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,70 @@
+package com.swole.platform.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+// 实验统计汇总表，由数据写入路径增量维护
+@Entity
+@Table(name = "experiment_statistics")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExperimentStatistics {
+    @Id
+    @Column(name = "experiment_id")
+    private Long experimentId;
+
+    @Column(name = "target_detection_count", nullable = false)
+    private Long targetDetectionCount = 0L;
+
+    @Column(name = "concentration_count", nullable = false)
+    private Long concentrationCount = 0L;
+
+    @Column(name = "general_data_count", nullable = false)
+    private Long generalDataCount = 0L;
+
+    @Column(name = "concentration_sum", nullable = false)
+    private Double concentrationSum = 0.0;
+
+    @Column(name = "confidence_sum", nullable = false)
+    private Double confidenceSum = 0.0;
+
+    @Column(name = "confidence_count", nullable = false)
+    private Long confidenceCount = 0L;
+
+    @Column(name = "min_concentration")
+    private Double minConcentration;
+
+    @Column(name = "max_concentration")
+    private Double maxConcentration;
+
+    @Column(name = "min_confidence")
+    private Double minConfidence;
+
+    @Column(name = "max_confidence")
+    private Double maxConfidence;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public ExperimentStatistics(Long experimentId) {
+        this.experimentId = experimentId;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
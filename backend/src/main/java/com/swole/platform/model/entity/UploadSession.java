@@ -0,0 +1,75 @@
+package com.swole.platform.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+// 可断点续传的上传会话；分块内容写在磁盘上的 <sessionId>.part 文件中，已收到的字节区间记录在 receivedRanges
+@Entity
+@Table(name = "upload_sessions", indexes = {
+        @Index(name = "idx_upload_sessions_updated_at", columnList = "updated_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadSession {
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "experiment_id", nullable = false)
+    private Long experimentId;
+
+    @Column(name = "group_number", nullable = false)
+    private Integer groupNumber;
+
+    @Column(name = "original_filename")
+    private String originalFilename;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "total_size", nullable = false)
+    private Long totalSize;
+
+    @Column(name = "received_bytes", nullable = false)
+    private Long receivedBytes = 0L;
+
+    // 已收到的区间，格式为 "start-end,start-end"（end 不包含），按 start 升序且互不重叠
+    @Column(name = "received_ranges", columnDefinition = "TEXT")
+    private String receivedRanges = "";
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.OPEN;
+
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(name = "experiment_image_id")
+    private Long experimentImageId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        OPEN,
+        COMPLETED
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
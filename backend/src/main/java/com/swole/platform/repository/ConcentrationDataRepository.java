@@ -1,12 +1,49 @@
 package com.swole.platform.repository;
 
 import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.repository.projection.ExperimentDataAggregate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ConcentrationDataRepository extends JpaRepository<ConcentrationData, Long> {
     List<ConcentrationData> findByExperimentId(Long experimentId);
     List<ConcentrationData> findByGroupNumber(Integer groupNumber);
-}
\ No newline at end of file
+
+    // 游标分页：按主键顺序读取 id > afterId 的一页
+    List<ConcentrationData> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    List<ConcentrationData> findByExperimentIdAndIdGreaterThanOrderByIdAsc(Long experimentId, Long afterId, Limit limit);
+    List<ConcentrationData> findByGroupNumberAndIdGreaterThanOrderByIdAsc(Integer groupNumber, Long afterId, Limit limit);
+
+    // 导出用的只进游标，需在只读事务内消费并关闭
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM ConcentrationData c WHERE c.experimentId = :experimentId ORDER BY c.id")
+    Stream<ConcentrationData> streamByExperimentId(@Param("experimentId") Long experimentId);
+
+    @Query("SELECT c.experimentId AS experimentId, COUNT(c) AS dataCount, " +
+           "SUM(c.concentration) AS concentrationSum, MIN(c.concentration) AS minConcentration, " +
+           "MAX(c.concentration) AS maxConcentration, SUM(c.confidence) AS confidenceSum, " +
+           "MIN(c.confidence) AS minConfidence, MAX(c.confidence) AS maxConfidence " +
+           "FROM ConcentrationData c WHERE c.experimentId = :experimentId GROUP BY c.experimentId")
+    Optional<ExperimentDataAggregate> aggregateByExperimentId(@Param("experimentId") Long experimentId);
+
+    @Query("SELECT c.experimentId AS experimentId, COUNT(c) AS dataCount, " +
+           "SUM(c.concentration) AS concentrationSum, MIN(c.concentration) AS minConcentration, " +
+           "MAX(c.concentration) AS maxConcentration, SUM(c.confidence) AS confidenceSum, " +
+           "MIN(c.confidence) AS minConfidence, MAX(c.confidence) AS maxConfidence " +
+           "FROM ConcentrationData c WHERE c.experimentId IN :experimentIds GROUP BY c.experimentId")
+    List<ExperimentDataAggregate> aggregateByExperimentIds(@Param("experimentIds") Collection<Long> experimentIds);
+}
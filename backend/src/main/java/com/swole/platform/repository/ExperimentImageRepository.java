@@ -0,0 +1,14 @@
+package com.swole.platform.repository;
+
+import com.swole.platform.model.entity.ExperimentImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExperimentImageRepository extends JpaRepository<ExperimentImage, Long> {
+    List<ExperimentImage> findByExperimentIdOrderByIdAsc(Long experimentId);
+    Optional<ExperimentImage> findFirstBySha256(String sha256);
+    Optional<ExperimentImage> findByExperimentIdAndGroupNumberAndSha256(Long experimentId, Integer groupNumber, String sha256);
+}
@@ -1,12 +1,46 @@
 package com.swole.platform.repository;
 
 import com.swole.platform.model.entity.Experiment;
+import com.swole.platform.repository.projection.ExperimentTimeBucketAggregate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ExperimentRepository extends JpaRepository<Experiment, Long> {
+    // 时间分桶查询共用的聚合列，数据统计取自实验统计汇总表
+    String TIME_BUCKET_AGGREGATES = "COUNT(e) AS experimentCount, " +
+            "SUM(s.targetDetectionCount + s.concentrationCount + s.generalDataCount) AS dataPoints, " +
+            "SUM(s.concentrationSum) AS concentrationSum, SUM(s.concentrationCount) AS concentrationCount, " +
+            "SUM(s.confidenceSum) AS confidenceSum, SUM(s.confidenceCount) AS confidenceCount " +
+            "FROM Experiment e LEFT JOIN ExperimentStatistics s ON s.experimentId = e.id ";
+
     List<Experiment> findByUserId(Long userId);
     List<Experiment> findByExperimentTypeId(Long experimentTypeId);
-}
\ No newline at end of file
+    List<Experiment> findByExperimentTimeAfterAndExperimentTimeBefore(LocalDateTime startTime, LocalDateTime endTime);
+
+    @Query("SELECT e.id FROM Experiment e WHERE e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT e.id FROM Experiment e WHERE e.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT YEAR(e.experimentTime) AS bucketYear, MONTH(e.experimentTime) AS bucketMonth, " +
+           "DAY(e.experimentTime) AS bucketDay, HOUR(e.experimentTime) AS bucketHour, " + TIME_BUCKET_AGGREGATES +
+           "WHERE e.experimentTime > :startTime AND e.experimentTime < :endTime " +
+           "GROUP BY YEAR(e.experimentTime), MONTH(e.experimentTime), DAY(e.experimentTime), HOUR(e.experimentTime)")
+    List<ExperimentTimeBucketAggregate> aggregateByHour(@Param("startTime") LocalDateTime startTime,
+                                                        @Param("endTime") LocalDateTime endTime);
+
+    @Query("SELECT YEAR(e.experimentTime) AS bucketYear, MONTH(e.experimentTime) AS bucketMonth, " +
+           "DAY(e.experimentTime) AS bucketDay, " + TIME_BUCKET_AGGREGATES +
+           "WHERE e.experimentTime > :startTime AND e.experimentTime < :endTime " +
+           "GROUP BY YEAR(e.experimentTime), MONTH(e.experimentTime), DAY(e.experimentTime)")
+    List<ExperimentTimeBucketAggregate> aggregateByDay(@Param("startTime") LocalDateTime startTime,
+                                                       @Param("endTime") LocalDateTime endTime);
+}
@@ -0,0 +1,41 @@
+package com.swole.platform.repository;
+
+import com.swole.platform.model.entity.ExperimentStatistics;
+import com.swole.platform.repository.projection.ExperimentStatisticsTotals;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ExperimentStatisticsRepository extends JpaRepository<ExperimentStatistics, Long> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ExperimentStatistics s WHERE s.experimentId = :experimentId")
+    Optional<ExperimentStatistics> findForUpdate(@Param("experimentId") Long experimentId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ExperimentStatistics s WHERE s.experimentId IN :experimentIds")
+    List<ExperimentStatistics> findAllForUpdate(@Param("experimentIds") Collection<Long> experimentIds);
+
+    @Query("SELECT SUM(s.targetDetectionCount + s.concentrationCount + s.generalDataCount) AS dataPoints, " +
+           "SUM(s.concentrationSum) AS concentrationSum, SUM(s.concentrationCount) AS concentrationCount, " +
+           "SUM(s.confidenceSum) AS confidenceSum, SUM(s.confidenceCount) AS confidenceCount " +
+           "FROM ExperimentStatistics s")
+    ExperimentStatisticsTotals aggregateTotals();
+
+    @Query("SELECT e.id FROM Experiment e WHERE e.id > :afterId AND NOT EXISTS " +
+           "(SELECT s.experimentId FROM ExperimentStatistics s WHERE s.experimentId = e.id) ORDER BY e.id")
+    List<Long> findExperimentIdsWithoutStatistics(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ExperimentStatistics s WHERE NOT EXISTS " +
+           "(SELECT e.id FROM Experiment e WHERE e.id = s.experimentId)")
+    int deleteOrphans();
+}
@@ -1,13 +1,44 @@
 package com.swole.platform.repository;
 
 import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.repository.projection.ExperimentDataAggregate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface GeneralDataRepository extends JpaRepository<GeneralData, Long> {
     List<GeneralData> findByExperimentId(Long experimentId);
     List<GeneralData> findByGroupNumber(Integer groupNumber);
+
+    // 游标分页：按主键顺序读取 id > afterId 的一页
+    List<GeneralData> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    List<GeneralData> findByExperimentIdAndIdGreaterThanOrderByIdAsc(Long experimentId, Long afterId, Limit limit);
+    List<GeneralData> findByGroupNumberAndIdGreaterThanOrderByIdAsc(Integer groupNumber, Long afterId, Limit limit);
+
+    // 导出用的只进游标，需在只读事务内消费并关闭
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT g FROM GeneralData g WHERE g.experimentId = :experimentId ORDER BY g.id")
+    Stream<GeneralData> streamByExperimentId(@Param("experimentId") Long experimentId);
     List<GeneralData> findByDataKey(String dataKey);
-}
\ No newline at end of file
+
+    @Query("SELECT g.experimentId AS experimentId, COUNT(g) AS dataCount " +
+           "FROM GeneralData g WHERE g.experimentId = :experimentId GROUP BY g.experimentId")
+    Optional<ExperimentDataAggregate> aggregateByExperimentId(@Param("experimentId") Long experimentId);
+
+    @Query("SELECT g.experimentId AS experimentId, COUNT(g) AS dataCount " +
+           "FROM GeneralData g WHERE g.experimentId IN :experimentIds GROUP BY g.experimentId")
+    List<ExperimentDataAggregate> aggregateByExperimentIds(@Param("experimentIds") Collection<Long> experimentIds);
+}
@@ -1,12 +1,45 @@
 package com.swole.platform.repository;
 
 import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.repository.projection.ExperimentDataAggregate;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TargetDetectionDataRepository extends JpaRepository<TargetDetectionData, Long> {
     List<TargetDetectionData> findByExperimentId(Long experimentId);
     List<TargetDetectionData> findByGroupNumber(Integer groupNumber);
-}
\ No newline at end of file
+
+    // 游标分页：按主键顺序读取 id > afterId 的一页
+    List<TargetDetectionData> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    List<TargetDetectionData> findByExperimentIdAndIdGreaterThanOrderByIdAsc(Long experimentId, Long afterId, Limit limit);
+    List<TargetDetectionData> findByGroupNumberAndIdGreaterThanOrderByIdAsc(Integer groupNumber, Long afterId, Limit limit);
+
+    // 导出用的只进游标，需在只读事务内消费并关闭
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TargetDetectionData t WHERE t.experimentId = :experimentId ORDER BY t.id")
+    Stream<TargetDetectionData> streamByExperimentId(@Param("experimentId") Long experimentId);
+
+    @Query("SELECT t.experimentId AS experimentId, COUNT(t) AS dataCount, SUM(t.confidence) AS confidenceSum, " +
+           "MIN(t.confidence) AS minConfidence, MAX(t.confidence) AS maxConfidence " +
+           "FROM TargetDetectionData t WHERE t.experimentId = :experimentId GROUP BY t.experimentId")
+    Optional<ExperimentDataAggregate> aggregateByExperimentId(@Param("experimentId") Long experimentId);
+
+    @Query("SELECT t.experimentId AS experimentId, COUNT(t) AS dataCount, SUM(t.confidence) AS confidenceSum, " +
+           "MIN(t.confidence) AS minConfidence, MAX(t.confidence) AS maxConfidence " +
+           "FROM TargetDetectionData t WHERE t.experimentId IN :experimentIds GROUP BY t.experimentId")
+    List<ExperimentDataAggregate> aggregateByExperimentIds(@Param("experimentIds") Collection<Long> experimentIds);
+}
@@ -0,0 +1,26 @@
+package com.swole.platform.repository;
+
+import com.swole.platform.model.entity.UploadSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM UploadSession s WHERE s.id = :id")
+    Optional<UploadSession> findForUpdate(@Param("id") String id);
+
+    List<UploadSession> findByUpdatedAtBefore(LocalDateTime cutoff);
+
+    long countByStatus(UploadSession.Status status);
+
+    @Query("SELECT COALESCE(SUM(s.totalSize), 0) FROM UploadSession s WHERE s.status = :status")
+    long sumTotalSizeByStatus(@Param("status") UploadSession.Status status);
+}
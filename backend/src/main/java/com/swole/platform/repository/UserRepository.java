@@ -1,7 +1,9 @@
 package com.swole.platform.repository;
 
 import com.swole.platform.model.entity.User;
+import com.swole.platform.repository.projection.UserActivityAggregate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +13,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmployeeId(String employeeId);
     boolean existsByEmployeeId(String employeeId);
     List<User> findByRoleId(Long roleId);
-}
\ No newline at end of file
+
+    // 包含没有实验的用户，数据点取自实验统计汇总表
+    @Query("SELECT u.id AS userId, u.name AS userName, COUNT(e.id) AS experimentCount, " +
+           "COALESCE(SUM(s.targetDetectionCount + s.concentrationCount + s.generalDataCount), 0) AS dataPoints " +
+           "FROM User u LEFT JOIN Experiment e ON e.userId = u.id " +
+           "LEFT JOIN ExperimentStatistics s ON s.experimentId = e.id " +
+           "GROUP BY u.id, u.name ORDER BY u.id")
+    List<UserActivityAggregate> aggregateActivity();
+}
@@ -0,0 +1,22 @@
+package com.swole.platform.repository.projection;
+
+// 单个实验在某张数据表上的聚合结果（数量、求和、极值），由聚合查询直接返回
+public interface ExperimentDataAggregate {
+    Long getExperimentId();
+
+    Long getDataCount();
+
+    // 仅浓度数据表有值
+    Double getConcentrationSum();
+
+    Double getMinConcentration();
+
+    Double getMaxConcentration();
+
+    // 仅目标检测和浓度数据表有值
+    Double getConfidenceSum();
+
+    Double getMinConfidence();
+
+    Double getMaxConfidence();
+}
@@ -0,0 +1,14 @@
+package com.swole.platform.repository.projection;
+
+// 统计汇总表的全表合计
+public interface ExperimentStatisticsTotals {
+    Long getDataPoints();
+
+    Double getConcentrationSum();
+
+    Long getConcentrationCount();
+
+    Double getConfidenceSum();
+
+    Long getConfidenceCount();
+}
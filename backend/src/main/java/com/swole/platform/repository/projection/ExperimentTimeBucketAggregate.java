@@ -0,0 +1,24 @@
+package com.swole.platform.repository.projection;
+
+// 按时间分桶的实验聚合结果；按天分桶时 bucketHour 为空
+public interface ExperimentTimeBucketAggregate {
+    Integer getBucketYear();
+
+    Integer getBucketMonth();
+
+    Integer getBucketDay();
+
+    Integer getBucketHour();
+
+    Long getExperimentCount();
+
+    Long getDataPoints();
+
+    Double getConcentrationSum();
+
+    Long getConcentrationCount();
+
+    Double getConfidenceSum();
+
+    Long getConfidenceCount();
+}
@@ -0,0 +1,12 @@
+package com.swole.platform.repository.projection;
+
+// 按用户分组的实验数量与数据点合计
+public interface UserActivityAggregate {
+    Long getUserId();
+
+    String getUserName();
+
+    Long getExperimentCount();
+
+    Long getDataPoints();
+}
@@ -1,6 +1,7 @@
 package com.swole.platform.security;
 
 import com.swole.platform.util.JwtUtil;
+import com.swole.platform.util.VerifiedToken;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
@@ -31,7 +32,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
+        VerifiedToken verified = null;
         String jwtToken = null;
 
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
@@ -42,8 +43,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 jwtToken.indexOf('.') != jwtToken.lastIndexOf('.') &&
                 jwtToken.substring(0, jwtToken.lastIndexOf('.')).contains(".")) {
                 
+                // 签名、格式和过期时间在这里一次校验完成，之后只使用校验结果
                 try {
-                    username = jwtUtil.getUsernameFromToken(jwtToken);
+                    verified = jwtUtil.verifyToken(jwtToken);
                 } catch (IllegalArgumentException e) {
                     System.out.println("Unable to get JWT Token: " + e.getMessage());
                 } catch (ExpiredJwtException e) {
@@ -58,11 +60,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = this.userDetailsService.loadUserByUsername(verified.getUsername());
 
-            if (jwtToken != null && jwtUtil.validateToken(jwtToken, userDetails.getUsername())) {
+            if (verified.getUsername().equals(userDetails.getUsername()) && !verified.isExpired()) {
 
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
@@ -1,15 +1,16 @@
 package com.swole.platform.service;
 
+import com.swole.platform.dto.CursorPage;
 import com.swole.platform.model.entity.ConcentrationData;
 import java.util.List;
 import java.util.Optional;
 
 public interface ConcentrationDataService {
-    List<ConcentrationData> getAllConcentrationData();
+    CursorPage<ConcentrationData> getAllConcentrationData(String cursor, Integer size);
     Optional<ConcentrationData> getConcentrationDataById(Long id);
     ConcentrationData createConcentrationData(ConcentrationData concentrationData);
     ConcentrationData updateConcentrationData(Long id, ConcentrationData concentrationData);
     void deleteConcentrationData(Long id);
-    List<ConcentrationData> getConcentrationDataByExperimentId(Long experimentId);
-    List<ConcentrationData> getConcentrationDataByGroupNumber(Integer groupNumber);
+    CursorPage<ConcentrationData> getConcentrationDataByExperimentId(Long experimentId, String cursor, Integer size);
+    CursorPage<ConcentrationData> getConcentrationDataByGroupNumber(Integer groupNumber, String cursor, Integer size);
 }
\ No newline at end of file
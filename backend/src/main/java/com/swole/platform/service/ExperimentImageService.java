@@ -0,0 +1,32 @@
+package com.swole.platform.service;
+
+import com.swole.platform.model.entity.ExperimentImage;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+public interface ExperimentImageService {
+    // 图片上传只接受 image/* 类型（可能包含脚本的 SVG 除外），其他类型抛出 BadRequestException
+    ExperimentImage saveImage(Long experimentId, Integer groupNumber, MultipartFile file) throws IOException;
+    ExperimentImage saveImage(Long experimentId, Integer groupNumber, Path file, String originalFilename, String contentType) throws IOException;
+    List<ExperimentImage> getImagesByExperimentId(Long experimentId);
+    Optional<ExperimentImage> getImageBySha256(String sha256);
+
+    // 可以在浏览器中内联显示的图片类型
+    static boolean isInlineImage(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return "image".equals(mediaType.getType()) && !"svg+xml".equals(mediaType.getSubtype());
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
@@ -1,16 +1,17 @@
 package com.swole.platform.service;
 
+import com.swole.platform.dto.CursorPage;
 import com.swole.platform.model.entity.GeneralData;
 import java.util.List;
 import java.util.Optional;
 
 public interface GeneralDataService {
-    List<GeneralData> getAllGeneralData();
+    CursorPage<GeneralData> getAllGeneralData(String cursor, Integer size);
     Optional<GeneralData> getGeneralDataById(Long id);
     GeneralData createGeneralData(GeneralData generalData);
     GeneralData updateGeneralData(Long id, GeneralData generalData);
     void deleteGeneralData(Long id);
-    List<GeneralData> getGeneralDataByExperimentId(Long experimentId);
-    List<GeneralData> getGeneralDataByGroupNumber(Integer groupNumber);
+    CursorPage<GeneralData> getGeneralDataByExperimentId(Long experimentId, String cursor, Integer size);
+    CursorPage<GeneralData> getGeneralDataByGroupNumber(Integer groupNumber, String cursor, Integer size);
     List<GeneralData> getGeneralDataByDataKey(String dataKey);
 }
\ No newline at end of file
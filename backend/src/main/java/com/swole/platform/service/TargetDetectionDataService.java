@@ -1,15 +1,16 @@
 package com.swole.platform.service;
 
+import com.swole.platform.dto.CursorPage;
 import com.swole.platform.model.entity.TargetDetectionData;
 import java.util.List;
 import java.util.Optional;
 
 public interface TargetDetectionDataService {
-    List<TargetDetectionData> getAllTargetDetectionData();
+    CursorPage<TargetDetectionData> getAllTargetDetectionData(String cursor, Integer size);
     Optional<TargetDetectionData> getTargetDetectionDataById(Long id);
     TargetDetectionData createTargetDetectionData(TargetDetectionData targetDetectionData);
     TargetDetectionData updateTargetDetectionData(Long id, TargetDetectionData targetDetectionData);
     void deleteTargetDetectionData(Long id);
-    List<TargetDetectionData> getTargetDetectionDataByExperimentId(Long experimentId);
-    List<TargetDetectionData> getTargetDetectionDataByGroupNumber(Integer groupNumber);
+    CursorPage<TargetDetectionData> getTargetDetectionDataByExperimentId(Long experimentId, String cursor, Integer size);
+    CursorPage<TargetDetectionData> getTargetDetectionDataByGroupNumber(Integer groupNumber, String cursor, Integer size);
 }
\ No newline at end of file
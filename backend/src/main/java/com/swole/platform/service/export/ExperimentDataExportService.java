@@ -0,0 +1,12 @@
+package com.swole.platform.service.export;
+
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExperimentDataExportService {
+    // 将实验的原始数据按主键顺序逐行写出，返回写出的行数
+    long export(ExperimentDataType dataType, Long experimentId, ExportFormat format, OutputStream out) throws IOException;
+}
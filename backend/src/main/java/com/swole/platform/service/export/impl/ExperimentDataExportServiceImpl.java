@@ -0,0 +1,149 @@
+package com.swole.platform.service.export.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.dto.ExportFormat;
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.repository.ConcentrationDataRepository;
+import com.swole.platform.repository.GeneralDataRepository;
+import com.swole.platform.repository.TargetDetectionDataRepository;
+import com.swole.platform.service.export.ExperimentDataExportService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+public class ExperimentDataExportServiceImpl implements ExperimentDataExportService {
+
+    // 每写出多少行刷新一次输出，保证客户端持续收到数据
+    private static final int FLUSH_INTERVAL = 500;
+
+    private static final String[] TARGET_DETECTION_HEADER =
+            {"id", "experimentId", "groupNumber", "className", "confidence", "x", "y", "diameter", "createdAt"};
+    private static final String[] CONCENTRATION_HEADER =
+            {"id", "experimentId", "groupNumber", "concentration", "confidence", "createdAt"};
+    private static final String[] GENERAL_HEADER =
+            {"id", "experimentId", "groupNumber", "dataKey", "dataValue", "createdAt"};
+
+    @Autowired
+    private TargetDetectionDataRepository targetDetectionDataRepository;
+
+    @Autowired
+    private ConcentrationDataRepository concentrationDataRepository;
+
+    @Autowired
+    private GeneralDataRepository generalDataRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long export(ExperimentDataType dataType, Long experimentId, ExportFormat format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        try {
+            Long count = transactionTemplate.execute(status -> switch (dataType) {
+                case TARGET_DETECTION -> write(targetDetectionDataRepository.streamByExperimentId(experimentId),
+                        TARGET_DETECTION_HEADER, ExperimentDataExportServiceImpl::values, format, writer);
+                case CONCENTRATION -> write(concentrationDataRepository.streamByExperimentId(experimentId),
+                        CONCENTRATION_HEADER, ExperimentDataExportServiceImpl::values, format, writer);
+                case GENERAL -> write(generalDataRepository.streamByExperimentId(experimentId),
+                        GENERAL_HEADER, ExperimentDataExportServiceImpl::values, format, writer);
+            });
+            return count == null ? 0L : count;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private <T> long write(Stream<T> rows, String[] header, Function<T, Object[]> values,
+                           ExportFormat format, Writer writer) {
+        long count = 0;
+        try (rows) {
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, header);
+            }
+            writer.flush();
+
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                T row = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, values.apply(row));
+                } else {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                }
+                // 写出后立即从持久化上下文移除，内存占用与导出行数无关
+                entityManager.detach(row);
+                if (++count % FLUSH_INTERVAL == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    private static void writeCsvRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    private static Object[] values(TargetDetectionData data) {
+        return new Object[]{data.getId(), data.getExperimentId(), data.getGroupNumber(), data.getClassName(),
+                data.getConfidence(), data.getX(), data.getY(), data.getDiameter(), data.getCreatedAt()};
+    }
+
+    private static Object[] values(ConcentrationData data) {
+        return new Object[]{data.getId(), data.getExperimentId(), data.getGroupNumber(), data.getConcentration(),
+                data.getConfidence(), data.getCreatedAt()};
+    }
+
+    private static Object[] values(GeneralData data) {
+        return new Object[]{data.getId(), data.getExperimentId(), data.getGroupNumber(), data.getDataKey(),
+                data.getDataValue(), data.getCreatedAt()};
+    }
+}
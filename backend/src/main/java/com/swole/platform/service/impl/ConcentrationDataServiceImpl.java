@@ -1,11 +1,20 @@
 package com.swole.platform.service.impl;
 
+import com.swole.platform.dto.CursorPage;
+import com.swole.platform.dto.ExperimentDataType;
 import com.swole.platform.exception.ResourceNotFoundException;
 import com.swole.platform.model.entity.ConcentrationData;
 import com.swole.platform.repository.ConcentrationDataRepository;
 import com.swole.platform.service.ConcentrationDataService;
+import com.swole.platform.service.statistics.ExperimentStatisticsDelta;
+import com.swole.platform.service.statistics.ExperimentStatisticsMaintenanceService;
+import com.swole.platform.service.stream.ExperimentDataPersistedEvent;
+import com.swole.platform.util.KeysetPagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,9 +24,21 @@ public class ConcentrationDataServiceImpl implements ConcentrationDataService {
     @Autowired
     private ConcentrationDataRepository concentrationDataRepository;
 
+    @Autowired
+    private ExperimentStatisticsMaintenanceService experimentStatisticsMaintenanceService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private KeysetPagination keysetPagination;
+
     @Override
-    public List<ConcentrationData> getAllConcentrationData() {
-        return concentrationDataRepository.findAll();
+    public CursorPage<ConcentrationData> getAllConcentrationData(String cursor, Integer size) {
+        int pageSize = keysetPagination.pageSize(size);
+        List<ConcentrationData> rows = concentrationDataRepository.findByIdGreaterThanOrderByIdAsc(
+                keysetPagination.afterId(cursor), keysetPagination.limit(pageSize));
+        return keysetPagination.page(rows, pageSize, ConcentrationData::getId);
     }
 
     @Override
@@ -26,34 +47,59 @@ public class ConcentrationDataServiceImpl implements ConcentrationDataService {
     }
 
     @Override
+    @Transactional
     public ConcentrationData createConcentrationData(ConcentrationData concentrationData) {
-        return concentrationDataRepository.save(concentrationData);
+        ConcentrationData saved = concentrationDataRepository.save(concentrationData);
+        experimentStatisticsMaintenanceService.apply(new ExperimentStatisticsDelta(saved.getExperimentId()).add(saved));
+        eventPublisher.publishEvent(new ExperimentDataPersistedEvent(saved.getExperimentId(),
+                ExperimentDataType.CONCENTRATION, List.of(saved)));
+        return saved;
     }
 
     @Override
+    @Transactional
     public ConcentrationData updateConcentrationData(Long id, ConcentrationData concentrationData) {
         ConcentrationData existingConcentrationData = concentrationDataRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("ConcentrationData", "id", id));
-        
+
+        // 保存前记录旧值，save 会把新值合并到已加载的实体上
+        ExperimentStatisticsDelta previous = new ExperimentStatisticsDelta(existingConcentrationData.getExperimentId()).remove(existingConcentrationData);
+
         concentrationData.setId(id);
-        return concentrationDataRepository.save(concentrationData);
+        ConcentrationData saved = concentrationDataRepository.save(concentrationData);
+        if (previous.getExperimentId().equals(saved.getExperimentId())) {
+            experimentStatisticsMaintenanceService.apply(previous.add(saved));
+        } else {
+            experimentStatisticsMaintenanceService.apply(Arrays.asList(
+                    previous, new ExperimentStatisticsDelta(saved.getExperimentId()).add(saved)));
+        }
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteConcentrationData(Long id) {
         ConcentrationData existingConcentrationData = concentrationDataRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("ConcentrationData", "id", id));
-        
+
+        ExperimentStatisticsDelta delta = new ExperimentStatisticsDelta(existingConcentrationData.getExperimentId()).remove(existingConcentrationData);
         concentrationDataRepository.deleteById(id);
+        experimentStatisticsMaintenanceService.apply(delta);
     }
 
     @Override
-    public List<ConcentrationData> getConcentrationDataByExperimentId(Long experimentId) {
-        return concentrationDataRepository.findByExperimentId(experimentId);
+    public CursorPage<ConcentrationData> getConcentrationDataByExperimentId(Long experimentId, String cursor, Integer size) {
+        int pageSize = keysetPagination.pageSize(size);
+        List<ConcentrationData> rows = concentrationDataRepository.findByExperimentIdAndIdGreaterThanOrderByIdAsc(
+                experimentId, keysetPagination.afterId(cursor), keysetPagination.limit(pageSize));
+        return keysetPagination.page(rows, pageSize, ConcentrationData::getId);
     }
 
     @Override
-    public List<ConcentrationData> getConcentrationDataByGroupNumber(Integer groupNumber) {
-        return concentrationDataRepository.findByGroupNumber(groupNumber);
+    public CursorPage<ConcentrationData> getConcentrationDataByGroupNumber(Integer groupNumber, String cursor, Integer size) {
+        int pageSize = keysetPagination.pageSize(size);
+        List<ConcentrationData> rows = concentrationDataRepository.findByGroupNumberAndIdGreaterThanOrderByIdAsc(
+                groupNumber, keysetPagination.afterId(cursor), keysetPagination.limit(pageSize));
+        return keysetPagination.page(rows, pageSize, ConcentrationData::getId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.swole.platform.service.impl;
+
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.model.entity.ExperimentImage;
+import com.swole.platform.repository.ExperimentImageRepository;
+import com.swole.platform.service.ExperimentImageService;
+import com.swole.platform.service.storage.ImageStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class ExperimentImageServiceImpl implements ExperimentImageService {
+
+    @Autowired
+    private ExperimentImageRepository experimentImageRepository;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Override
+    public ExperimentImage saveImage(Long experimentId, Integer groupNumber, MultipartFile file) throws IOException {
+        if (!ExperimentImageService.isInlineImage(file.getContentType())) {
+            throw new BadRequestException("Unsupported image content type: " + file.getContentType());
+        }
+        String sha256 = imageStorageService.store(file);
+        return link(experimentId, groupNumber, sha256, file.getContentType(), file.getSize(), file.getOriginalFilename());
+    }
+
+    @Override
+    public ExperimentImage saveImage(Long experimentId, Integer groupNumber, Path file,
+                                     String originalFilename, String contentType) throws IOException {
+        long size = Files.size(file);
+        String sha256 = imageStorageService.store(file);
+        return link(experimentId, groupNumber, sha256, contentType, size, originalFilename);
+    }
+
+    @Override
+    public List<ExperimentImage> getImagesByExperimentId(Long experimentId) {
+        return experimentImageRepository.findByExperimentIdOrderByIdAsc(experimentId);
+    }
+
+    @Override
+    public Optional<ExperimentImage> getImageBySha256(String sha256) {
+        return experimentImageRepository.findFirstBySha256(sha256);
+    }
+
+    private ExperimentImage link(Long experimentId, Integer groupNumber, String sha256,
+                                 String contentType, long size, String originalFilename) {
+        // 同一实验同一组重复上传相同图片时复用已有关联
+        Optional<ExperimentImage> existing = experimentImageRepository
+                .findByExperimentIdAndGroupNumberAndSha256(experimentId, groupNumber, sha256);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        ExperimentImage image = new ExperimentImage();
+        image.setExperimentId(experimentId);
+        image.setGroupNumber(groupNumber);
+        image.setSha256(sha256);
+        image.setContentType(contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        image.setSizeBytes(size);
+        image.setOriginalFilename(originalFilename);
+        return experimentImageRepository.save(image);
+    }
+}
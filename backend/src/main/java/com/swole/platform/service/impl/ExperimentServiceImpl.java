@@ -4,8 +4,11 @@ import com.swole.platform.exception.ResourceNotFoundException;
 import com.swole.platform.model.entity.Experiment;
 import com.swole.platform.repository.ExperimentRepository;
 import com.swole.platform.service.ExperimentService;
+import com.swole.platform.service.statistics.ExperimentStatisticsMaintenanceService;
+import com.swole.platform.service.statistics.StatisticsCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +18,12 @@ public class ExperimentServiceImpl implements ExperimentService {
     @Autowired
     private ExperimentRepository experimentRepository;
 
+    @Autowired
+    private ExperimentStatisticsMaintenanceService experimentStatisticsMaintenanceService;
+
+    @Autowired
+    private StatisticsCache statisticsCache;
+
     @Override
     public List<Experiment> getAllExperiments() {
         return experimentRepository.findAll();
@@ -26,25 +35,37 @@ public class ExperimentServiceImpl implements ExperimentService {
     }
 
     @Override
+    @Transactional
     public Experiment createExperiment(Experiment experiment) {
-        return experimentRepository.save(experiment);
+        Experiment saved = experimentRepository.save(experiment);
+        experimentStatisticsMaintenanceService.initialize(saved.getId());
+        statisticsCache.evictExperimentAfterCommit(saved);
+        return saved;
     }
 
     @Override
+    @Transactional
     public Experiment updateExperiment(Long id, Experiment experiment) {
         Experiment existingExperiment = experimentRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Experiment", "id", id));
+        // 修改前的用户、类型和时间所在的统计同样需要失效
+        statisticsCache.evictExperimentAfterCommit(existingExperiment);
         
         experiment.setId(id);
-        return experimentRepository.save(experiment);
+        Experiment saved = experimentRepository.save(experiment);
+        statisticsCache.evictExperimentAfterCommit(saved);
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteExperiment(Long id) {
         Experiment existingExperiment = experimentRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Experiment", "id", id));
         
         experimentRepository.deleteById(id);
+        experimentStatisticsMaintenanceService.remove(id);
+        statisticsCache.evictExperimentAfterCommit(existingExperiment);
     }
 
     @Override
@@ -1,11 +1,17 @@
 package com.swole.platform.service.impl;
 
+import com.swole.platform.dto.CursorPage;
 import com.swole.platform.exception.ResourceNotFoundException;
 import com.swole.platform.model.entity.GeneralData;
 import com.swole.platform.repository.GeneralDataRepository;
 import com.swole.platform.service.GeneralDataService;
+import com.swole.platform.service.statistics.ExperimentStatisticsDelta;
+import com.swole.platform.service.statistics.ExperimentStatisticsMaintenanceService;
+import com.swole.platform.util.KeysetPagination;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,9 +21,18 @@ public class GeneralDataServiceImpl implements GeneralDataService {
     @Autowired
     private GeneralDataRepository generalDataRepository;
 
+    @Autowired
+    private ExperimentStatisticsMaintenanceService experimentStatisticsMaintenanceService;
+
+    @Autowired
+    private KeysetPagination keysetPagination;
+
     @Override
-    public List<GeneralData> getAllGeneralData() {
-        return generalDataRepository.findAll();
+    public CursorPage<GeneralData> getAllGeneralData(String cursor, Integer size) {
+        int pageSize = keysetPagination.pageSize(size);
+        List<GeneralData> rows = generalDataRepository.findByIdGreaterThanOrderByIdAsc(
+                keysetPagination.afterId(cursor), keysetPagination.limit(pageSize));
+        return keysetPagination.page(rows, pageSize, GeneralData::getId);
     }
 
     @Override
@@ -26,35 +41,58 @@ public class GeneralDataServiceImpl implements GeneralDataService {
     }
 
     @Override
+    @Transactional
     public GeneralData createGeneralData(GeneralData generalData) {
-        return generalDataRepository.save(generalData);
+        GeneralData saved = generalDataRepository.save(generalData);
+        experimentStatisticsMaintenanceService.apply(new ExperimentStatisticsDelta(saved.getExperimentId()).add(saved));
+        return saved;
     }
 
     @Override
+    @Transactional
     public GeneralData updateGeneralData(Long id, GeneralData generalData) {
         GeneralData existingGeneralData = generalDataRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("GeneralData", "id", id));
-        
+
+        // 保存前记录旧值，save 会把新值合并到已加载的实体上
+        ExperimentStatisticsDelta previous = new ExperimentStatisticsDelta(existingGeneralData.getExperimentId()).remove(existingGeneralData);
+
         generalData.setId(id);
-        return generalDataRepository.save(generalData);
+        GeneralData saved = generalDataRepository.save(generalData);
+        if (previous.getExperimentId().equals(saved.getExperimentId())) {
+            experimentStatisticsMaintenanceService.apply(previous.add(saved));
+        } else {
+            experimentStatisticsMaintenanceService.apply(Arrays.asList(
+                    previous, new ExperimentStatisticsDelta(saved.getExperimentId()).add(saved)));
+        }
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteGeneralData(Long id) {
         GeneralData existingGeneralData = generalDataRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("GeneralData", "id", id));
-        
+
+        ExperimentStatisticsDelta delta = new ExperimentStatisticsDelta(existingGeneralData.getExperimentId()).remove(existingGeneralData);
         generalDataRepository.deleteById(id);
+        experimentStatisticsMaintenanceService.apply(delta);
     }
 
     @Override
-    public List<GeneralData> getGeneralDataByExperimentId(Long experimentId) {
-        return generalDataRepository.findByExperimentId(experimentId);
+    public CursorPage<GeneralData> getGeneralDataByExperimentId(Long experimentId, String cursor, Integer size) {
+        int pageSize = keysetPagination.pageSize(size);
+        List<GeneralData> rows = generalDataRepository.findByExperimentIdAndIdGreaterThanOrderByIdAsc(
+                experimentId, keysetPagination.afterId(cursor), keysetPagination.limit(pageSize));
+        return keysetPagination.page(rows, pageSize, GeneralData::getId);
     }
 
     @Override
-    public List<GeneralData> getGeneralDataByGroupNumber(Integer groupNumber) {
-        return generalDataRepository.findByGroupNumber(groupNumber);
+    public CursorPage<GeneralData> getGeneralDataByGroupNumber(Integer groupNumber, String cursor, Integer size) {
+        int pageSize = keysetPagination.pageSize(size);
+        List<GeneralData> rows = generalDataRepository.findByGroupNumberAndIdGreaterThanOrderByIdAsc(
+                groupNumber, keysetPagination.afterId(cursor), keysetPagination.limit(pageSize));
+        return keysetPagination.page(rows, pageSize, GeneralData::getId);
     }
 
     @Override
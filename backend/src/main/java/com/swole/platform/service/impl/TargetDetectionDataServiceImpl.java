@@ -1,11 +1,20 @@
 package com.swole.platform.service.impl;
 
+import com.swole.platform.dto.CursorPage;
+import com.swole.platform.dto.ExperimentDataType;
 import com.swole.platform.exception.ResourceNotFoundException;
 import com.swole.platform.model.entity.TargetDetectionData;
 import com.swole.platform.repository.TargetDetectionDataRepository;
 import com.swole.platform.service.TargetDetectionDataService;
+import com.swole.platform.service.statistics.ExperimentStatisticsDelta;
+import com.swole.platform.service.statistics.ExperimentStatisticsMaintenanceService;
+import com.swole.platform.service.stream.ExperimentDataPersistedEvent;
+import com.swole.platform.util.KeysetPagination;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,9 +24,21 @@ public class TargetDetectionDataServiceImpl implements TargetDetectionDataServic
     @Autowired
     private TargetDetectionDataRepository targetDetectionDataRepository;
 
+    @Autowired
+    private ExperimentStatisticsMaintenanceService experimentStatisticsMaintenanceService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private KeysetPagination keysetPagination;
+
     @Override
-    public List<TargetDetectionData> getAllTargetDetectionData() {
-        return targetDetectionDataRepository.findAll();
+    public CursorPage<TargetDetectionData> getAllTargetDetectionData(String cursor, Integer size) {
+        int pageSize = keysetPagination.pageSize(size);
+        List<TargetDetectionData> rows = targetDetectionDataRepository.findByIdGreaterThanOrderByIdAsc(
+                keysetPagination.afterId(cursor), keysetPagination.limit(pageSize));
+        return keysetPagination.page(rows, pageSize, TargetDetectionData::getId);
     }
 
     @Override
@@ -26,34 +47,59 @@ public class TargetDetectionDataServiceImpl implements TargetDetectionDataServic
     }
 
     @Override
+    @Transactional
     public TargetDetectionData createTargetDetectionData(TargetDetectionData targetDetectionData) {
-        return targetDetectionDataRepository.save(targetDetectionData);
+        TargetDetectionData saved = targetDetectionDataRepository.save(targetDetectionData);
+        experimentStatisticsMaintenanceService.apply(new ExperimentStatisticsDelta(saved.getExperimentId()).add(saved));
+        eventPublisher.publishEvent(new ExperimentDataPersistedEvent(saved.getExperimentId(),
+                ExperimentDataType.TARGET_DETECTION, List.of(saved)));
+        return saved;
     }
 
     @Override
+    @Transactional
     public TargetDetectionData updateTargetDetectionData(Long id, TargetDetectionData targetDetectionData) {
         TargetDetectionData existingTargetDetectionData = targetDetectionDataRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("TargetDetectionData", "id", id));
-        
+
+        // 保存前记录旧值，save 会把新值合并到已加载的实体上
+        ExperimentStatisticsDelta previous = new ExperimentStatisticsDelta(existingTargetDetectionData.getExperimentId()).remove(existingTargetDetectionData);
+
         targetDetectionData.setId(id);
-        return targetDetectionDataRepository.save(targetDetectionData);
+        TargetDetectionData saved = targetDetectionDataRepository.save(targetDetectionData);
+        if (previous.getExperimentId().equals(saved.getExperimentId())) {
+            experimentStatisticsMaintenanceService.apply(previous.add(saved));
+        } else {
+            experimentStatisticsMaintenanceService.apply(Arrays.asList(
+                    previous, new ExperimentStatisticsDelta(saved.getExperimentId()).add(saved)));
+        }
+        return saved;
     }
 
     @Override
+    @Transactional
     public void deleteTargetDetectionData(Long id) {
         TargetDetectionData existingTargetDetectionData = targetDetectionDataRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("TargetDetectionData", "id", id));
-        
+
+        ExperimentStatisticsDelta delta = new ExperimentStatisticsDelta(existingTargetDetectionData.getExperimentId()).remove(existingTargetDetectionData);
         targetDetectionDataRepository.deleteById(id);
+        experimentStatisticsMaintenanceService.apply(delta);
     }
 
     @Override
-    public List<TargetDetectionData> getTargetDetectionDataByExperimentId(Long experimentId) {
-        return targetDetectionDataRepository.findByExperimentId(experimentId);
+    public CursorPage<TargetDetectionData> getTargetDetectionDataByExperimentId(Long experimentId, String cursor, Integer size) {
+        int pageSize = keysetPagination.pageSize(size);
+        List<TargetDetectionData> rows = targetDetectionDataRepository.findByExperimentIdAndIdGreaterThanOrderByIdAsc(
+                experimentId, keysetPagination.afterId(cursor), keysetPagination.limit(pageSize));
+        return keysetPagination.page(rows, pageSize, TargetDetectionData::getId);
     }
 
     @Override
-    public List<TargetDetectionData> getTargetDetectionDataByGroupNumber(Integer groupNumber) {
-        return targetDetectionDataRepository.findByGroupNumber(groupNumber);
+    public CursorPage<TargetDetectionData> getTargetDetectionDataByGroupNumber(Integer groupNumber, String cursor, Integer size) {
+        int pageSize = keysetPagination.pageSize(size);
+        List<TargetDetectionData> rows = targetDetectionDataRepository.findByGroupNumberAndIdGreaterThanOrderByIdAsc(
+                groupNumber, keysetPagination.afterId(cursor), keysetPagination.limit(pageSize));
+        return keysetPagination.page(rows, pageSize, TargetDetectionData::getId);
     }
 }
\ No newline at end of file
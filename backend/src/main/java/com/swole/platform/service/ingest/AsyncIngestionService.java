@@ -0,0 +1,15 @@
+package com.swole.platform.service.ingest;
+
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.dto.IngestionJobStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+// 异步写入：批量数据先进入有界队列，由后台写入线程合并后批量提交
+public interface AsyncIngestionService {
+    // 队列已满时返回 empty，调用方应稍后重试
+    Optional<IngestionJobStatus> submit(ExperimentDataType dataType, List<?> rows);
+
+    Optional<IngestionJobStatus> getJob(String jobId);
+}
@@ -0,0 +1,20 @@
+package com.swole.platform.service.ingest;
+
+import com.swole.platform.dto.ExperimentDataUploadDto;
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.model.entity.TargetDetectionData;
+
+import java.util.List;
+
+// 批量写入实验数据：每次调用在一个事务内完成，任一行失败则全部回滚
+public interface ExperimentDataIngestionService {
+    int insertTargetDetectionData(List<TargetDetectionData> dataList);
+
+    int insertConcentrationData(List<ConcentrationData> dataList);
+
+    int insertGeneralData(List<GeneralData> dataList);
+
+    // 写入单个实验上传的全部数据；未指定组号的行使用 groupNumber
+    int insertExperimentData(Long experimentId, Integer groupNumber, ExperimentDataUploadDto data);
+}
@@ -0,0 +1,199 @@
+package com.swole.platform.service.ingest;
+
+import com.swole.platform.dto.BatchUploadReport.RowError;
+import com.swole.platform.dto.ExperimentDataUploadDto;
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.repository.ExperimentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 写入前的逐行校验：必填字段、数值范围、字符串长度；批量校验和流式上传的每个分块再用 IN 查询（每批最多 1000 个实验ID）确认引用的实验存在。
+// 每行只报告第一个错误
+@Component
+public class ExperimentDataValidator {
+
+    // 与表中 VARCHAR(255) 列的长度一致
+    private static final int MAX_STRING_LENGTH = 255;
+
+    // 查询实验是否存在时单个 IN 列表最多包含的实验数量
+    private static final int EXISTS_BATCH_SIZE = 1000;
+
+    @Autowired
+    private ExperimentRepository experimentRepository;
+
+    public ValidatedBatch<TargetDetectionData> validateTargetDetectionData(List<TargetDetectionData> dataList) {
+        return validate(dataList, this::check, TargetDetectionData::getExperimentId);
+    }
+
+    public ValidatedBatch<ConcentrationData> validateConcentrationData(List<ConcentrationData> dataList) {
+        return validate(dataList, this::check, ConcentrationData::getExperimentId);
+    }
+
+    public ValidatedBatch<GeneralData> validateGeneralData(List<GeneralData> dataList) {
+        return validate(dataList, this::check, GeneralData::getExperimentId);
+    }
+
+    // 单个实验上传的各类数据，返回按数据类型分组的逐行错误，只包含有错误的类型
+    public Map<String, List<RowError>> validateExperimentData(ExperimentDataUploadDto data) {
+        Map<String, List<RowError>> errors = new LinkedHashMap<>();
+        putErrors(errors, "targetDetection", validateTargetDetectionData(data.getTargetDetection()).getErrors());
+        putErrors(errors, "concentration", validateConcentrationData(data.getConcentration()).getErrors());
+        putErrors(errors, "general", validateGeneralData(data.getGeneral()).getErrors());
+        return errors;
+    }
+
+    // 单行校验（不访问数据库），返回 null 表示通过
+    public RowError check(long index, TargetDetectionData data) {
+        return firstError(
+                () -> firstMissing(index,
+                        new String[]{"experimentId", "groupNumber", "className", "confidence", "x", "y", "diameter"},
+                        data.getExperimentId(), data.getGroupNumber(), data.getClassName(), data.getConfidence(),
+                        data.getX(), data.getY(), data.getDiameter()),
+                () -> checkGroupNumber(index, data.getGroupNumber()),
+                () -> checkLength(index, "className", data.getClassName()),
+                () -> checkRange(index, "confidence", data.getConfidence(), 0, 1),
+                () -> checkRange(index, "x", data.getX(), 0, Double.MAX_VALUE),
+                () -> checkRange(index, "y", data.getY(), 0, Double.MAX_VALUE),
+                () -> checkRange(index, "diameter", data.getDiameter(), 0, Double.MAX_VALUE));
+    }
+
+    public RowError check(long index, ConcentrationData data) {
+        return firstError(
+                () -> firstMissing(index, new String[]{"experimentId", "groupNumber", "concentration", "confidence"},
+                        data.getExperimentId(), data.getGroupNumber(), data.getConcentration(), data.getConfidence()),
+                () -> checkGroupNumber(index, data.getGroupNumber()),
+                () -> checkRange(index, "concentration", data.getConcentration(), 0, Double.MAX_VALUE),
+                () -> checkRange(index, "confidence", data.getConfidence(), 0, 1));
+    }
+
+    public RowError check(long index, GeneralData data) {
+        return firstError(
+                () -> firstMissing(index, new String[]{"experimentId", "groupNumber", "dataKey", "dataValue"},
+                        data.getExperimentId(), data.getGroupNumber(), data.getDataKey(), data.getDataValue()),
+                () -> checkGroupNumber(index, data.getGroupNumber()),
+                () -> checkLength(index, "dataKey", data.getDataKey()));
+    }
+
+    private <T> ValidatedBatch<T> validate(List<T> dataList, RowCheck<T> check, Function<T, Long> experimentIdOf) {
+        List<RowError> errors = new ArrayList<>();
+        boolean[] rejected = new boolean[dataList.size()];
+        Set<Long> experimentIds = new HashSet<>();
+        for (int i = 0; i < dataList.size(); i++) {
+            RowError error = check.apply(i, dataList.get(i));
+            if (error != null) {
+                errors.add(error);
+                rejected[i] = true;
+            } else {
+                experimentIds.add(experimentIdOf.apply(dataList.get(i)));
+            }
+        }
+
+        // 每个不同的实验ID只查一次
+        Set<Long> existing = findExistingIds(experimentIds);
+        List<T> validRows = new ArrayList<>(dataList.size() - errors.size());
+        for (int i = 0; i < dataList.size(); i++) {
+            if (rejected[i]) {
+                continue;
+            }
+            Long experimentId = experimentIdOf.apply(dataList.get(i));
+            if (existing.contains(experimentId)) {
+                validRows.add(dataList.get(i));
+            } else {
+                errors.add(new RowError(i, "experimentId", "experiment " + experimentId + " does not exist"));
+            }
+        }
+        errors.sort((a, b) -> Long.compare(a.getIndex(), b.getIndex()));
+        return new ValidatedBatch<>(validRows, errors);
+    }
+
+    // 确认一组已通过单行校验的数据引用的实验都存在；firstIndex 为 rows 第一行在整个请求中的下标，
+    // 返回的错误按下标排序
+    public <T> List<RowError> checkExperimentsExist(List<T> rows, long firstIndex, Function<T, Long> experimentIdOf) {
+        Set<Long> experimentIds = new HashSet<>();
+        for (T data : rows) {
+            experimentIds.add(experimentIdOf.apply(data));
+        }
+        Set<Long> existing = findExistingIds(experimentIds);
+        List<RowError> errors = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Long experimentId = experimentIdOf.apply(rows.get(i));
+            if (!existing.contains(experimentId)) {
+                errors.add(new RowError(firstIndex + i, "experimentId", "experiment " + experimentId + " does not exist"));
+            }
+        }
+        return errors;
+    }
+
+    // 引用大量不同实验的请求按批查询，避免单条 SQL 的 IN 列表过长
+    private Set<Long> findExistingIds(Set<Long> experimentIds) {
+        List<Long> ids = new ArrayList<>(experimentIds);
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += EXISTS_BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + EXISTS_BATCH_SIZE, ids.size()));
+            existing.addAll(experimentRepository.findExistingIds(batch));
+        }
+        return existing;
+    }
+
+    private static void putErrors(Map<String, List<RowError>> errors, String dataType, List<RowError> rowErrors) {
+        if (!rowErrors.isEmpty()) {
+            errors.put(dataType, rowErrors);
+        }
+    }
+
+    // 按顺序执行，前一项通过后才执行下一项（后面的检查可以假定字段非空）
+    @SafeVarargs
+    private static RowError firstError(Supplier<RowError>... checks) {
+        for (Supplier<RowError> check : checks) {
+            RowError error = check.get();
+            if (error != null) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    private static RowError firstMissing(long index, String[] fields, Object... values) {
+        for (int i = 0; i < fields.length; i++) {
+            if (values[i] == null) {
+                return new RowError(index, fields[i], "missing required field '" + fields[i] + "'");
+            }
+        }
+        return null;
+    }
+
+    private static RowError checkGroupNumber(long index, Integer groupNumber) {
+        return groupNumber < 0 ? new RowError(index, "groupNumber", "groupNumber must not be negative") : null;
+    }
+
+    private static RowError checkRange(long index, String field, double value, double min, double max) {
+        if (Double.isNaN(value) || value < min || value > max) {
+            String range = max == Double.MAX_VALUE ? ">= " + min : "within [" + min + ", " + max + "]";
+            return new RowError(index, field, field + " must be " + range + " but was " + value);
+        }
+        return null;
+    }
+
+    private static RowError checkLength(long index, String field, String value) {
+        if (value.length() > MAX_STRING_LENGTH) {
+            return new RowError(index, field, field + " must not exceed " + MAX_STRING_LENGTH + " characters");
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface RowCheck<T> {
+        RowError apply(long index, T data);
+    }
+}
@@ -0,0 +1,25 @@
+package com.swole.platform.service.ingest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 定时删除超过保留时间的幂等键，保持幂等键表很小
+@Component
+public class IdempotencyKeyCleanupJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyKeyCleanupJob.class);
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Scheduled(cron = "${idempotency.cleanup.cron:0 15 * * * *}")
+    public void purgeExpired() {
+        int purged = idempotencyService.purgeExpired();
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.swole.platform.service.ingest;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    // 在同一个事务内登记幂等键、执行 action 并保存其 2xx 响应；相同键的重复请求直接返回保存的响应，不再执行 action。
+    // 非 2xx 响应或 action 抛出异常时事务回滚，键不会被占用，客户端可以重试
+    <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                  Supplier<ResponseEntity<T>> action);
+
+    // 删除超过保留时间的幂等键
+    int purgeExpired();
+}
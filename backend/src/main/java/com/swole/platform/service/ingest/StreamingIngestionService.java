@@ -0,0 +1,12 @@
+package com.swole.platform.service.ingest;
+
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.dto.IngestionReport;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// 流式解析 JSON 数组形式的上传内容，按固定大小分块校验并写入，每个分块单独提交
+public interface StreamingIngestionService {
+    IngestionReport ingest(ExperimentDataType dataType, InputStream body) throws IOException;
+}
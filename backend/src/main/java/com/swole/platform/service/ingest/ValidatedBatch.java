@@ -0,0 +1,24 @@
+package com.swole.platform.service.ingest;
+
+import com.swole.platform.dto.BatchUploadReport;
+
+import java.util.List;
+
+// 校验后的批量数据：validRows 保持请求中的原始顺序
+public class ValidatedBatch<T> {
+    private final List<T> validRows;
+    private final List<BatchUploadReport.RowError> errors;
+
+    public ValidatedBatch(List<T> validRows, List<BatchUploadReport.RowError> errors) {
+        this.validRows = validRows;
+        this.errors = errors;
+    }
+
+    public List<T> getValidRows() {
+        return validRows;
+    }
+
+    public List<BatchUploadReport.RowError> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,245 @@
+package com.swole.platform.service.ingest.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.dto.IngestionJobStatus;
+import com.swole.platform.dto.IngestionJobStatus.State;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.service.ingest.AsyncIngestionService;
+import com.swole.platform.service.ingest.ExperimentDataIngestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class AsyncIngestionServiceImpl implements AsyncIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncIngestionServiceImpl.class);
+
+    @Autowired
+    private ExperimentDataIngestionService experimentDataIngestionService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 队列中等待写入的最大行数，超过后拒绝新的任务
+    @Value("${ingest.queue.max-rows:200000}")
+    private long maxQueuedRows;
+
+    // 写入线程每次最多合并多少行到同一事务
+    @Value("${ingest.queue.coalesce-rows:20000}")
+    private int coalesceRows;
+
+    // 已结束任务的状态保留时间
+    @Value("${ingest.queue.job-retention:1h}")
+    private Duration jobRetention;
+
+    // 关闭时等待写入线程结束当前写入的最长时间
+    @Value("${ingest.queue.shutdown-timeout:30s}")
+    private Duration shutdownTimeout;
+
+    private final BlockingQueue<IngestionJob> queue = new LinkedBlockingQueue<>();
+
+    private final AtomicLong queuedRows = new AtomicLong();
+
+    private Cache<String, IngestionJob> jobs;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    @PostConstruct
+    public void start() {
+        jobs = Caffeine.newBuilder().expireAfterWrite(jobRetention).build();
+        meterRegistry.gauge("ingest.queue.rows", queuedRows);
+        running = true;
+        writer = new Thread(this::drainLoop, "ingest-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 不中断写入线程，避免打断正在执行的 JDBC 写入
+        running = false;
+        writer.join(shutdownTimeout.toMillis());
+        List<IngestionJob> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (remaining.isEmpty()) {
+            return;
+        }
+        if (!writer.isAlive()) {
+            // 关闭前写完已接收的任务
+            write(remaining);
+            return;
+        }
+        // 写入线程仍在执行上一次写入，不在当前线程并发写入，剩余任务标记为失败
+        log.error("Ingestion writer did not finish within {}, failing {} queued jobs", shutdownTimeout, remaining.size());
+        IllegalStateException shutdown = new IllegalStateException("Ingestion stopped before the job was written");
+        for (IngestionJob job : remaining) {
+            job.markFailed(shutdown);
+            queuedRows.addAndGet(-job.size);
+        }
+    }
+
+    @Override
+    public Optional<IngestionJobStatus> submit(ExperimentDataType dataType, List<?> rows) {
+        if (rows.size() > maxQueuedRows) {
+            throw new BadRequestException(String.format(
+                    "Batch of %d rows exceeds the ingestion queue capacity of %d rows", rows.size(), maxQueuedRows));
+        }
+        long current;
+        do {
+            current = queuedRows.get();
+            if (current + rows.size() > maxQueuedRows) {
+                return Optional.empty();
+            }
+        } while (!queuedRows.compareAndSet(current, current + rows.size()));
+
+        IngestionJob job = new IngestionJob(UUID.randomUUID().toString(), dataType, rows);
+        jobs.put(job.id, job);
+        queue.add(job);
+        return Optional.of(job.toStatus());
+    }
+
+    @Override
+    public Optional<IngestionJobStatus> getJob(String jobId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId)).map(IngestionJob::toStatus);
+    }
+
+    private void drainLoop() {
+        while (running) {
+            IngestionJob first;
+            try {
+                first = queue.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            List<IngestionJob> batch = new ArrayList<>();
+            batch.add(first);
+            int rows = first.size;
+            IngestionJob next;
+            while (rows < coalesceRows && (next = queue.poll()) != null) {
+                batch.add(next);
+                rows += next.size;
+            }
+            write(batch);
+        }
+    }
+
+    // 同类型的任务合并为一次批量写入；合并写入失败时逐个任务重试，只让出错的任务失败
+    private void write(List<IngestionJob> batch) {
+        Map<ExperimentDataType, List<IngestionJob>> byType = new EnumMap<>(ExperimentDataType.class);
+        batch.forEach(job -> byType.computeIfAbsent(job.dataType, type -> new ArrayList<>()).add(job));
+
+        byType.forEach((dataType, group) -> {
+            group.forEach(IngestionJob::markRunning);
+            try {
+                List<Object> rows = new ArrayList<>();
+                group.forEach(job -> rows.addAll(job.rows));
+                insert(dataType, rows);
+                group.forEach(IngestionJob::markCompleted);
+            } catch (RuntimeException e) {
+                if (group.size() == 1) {
+                    group.get(0).markFailed(e);
+                } else {
+                    group.forEach(this::writeSingle);
+                }
+            } finally {
+                group.forEach(job -> queuedRows.addAndGet(-job.size));
+            }
+        });
+    }
+
+    private void writeSingle(IngestionJob job) {
+        try {
+            insert(job.dataType, job.rows);
+            job.markCompleted();
+        } catch (RuntimeException e) {
+            job.markFailed(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void insert(ExperimentDataType dataType, List<?> rows) {
+        switch (dataType) {
+            case TARGET_DETECTION -> experimentDataIngestionService.insertTargetDetectionData((List<TargetDetectionData>) rows);
+            case CONCENTRATION -> experimentDataIngestionService.insertConcentrationData((List<ConcentrationData>) rows);
+            case GENERAL -> experimentDataIngestionService.insertGeneralData((List<GeneralData>) rows);
+        }
+    }
+
+    // 任务状态由写入线程更新、由请求线程读取，访问需同步
+    private static class IngestionJob {
+        private final String id;
+        private final ExperimentDataType dataType;
+        private final int size;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private List<?> rows;
+        private State state = State.QUEUED;
+        private int rowsWritten;
+        private String error;
+        private LocalDateTime completedAt;
+
+        IngestionJob(String id, ExperimentDataType dataType, List<?> rows) {
+            this.id = id;
+            this.dataType = dataType;
+            this.rows = rows;
+            this.size = rows.size();
+        }
+
+        synchronized void markRunning() {
+            state = State.RUNNING;
+        }
+
+        synchronized void markCompleted() {
+            state = State.COMPLETED;
+            rowsWritten = size;
+            finish();
+        }
+
+        synchronized void markFailed(RuntimeException e) {
+            log.warn("Ingestion job {} failed: {}", id, e.getMessage());
+            state = State.FAILED;
+            error = e.getMessage();
+            finish();
+        }
+
+        // 写入结束后释放数据，状态记录只保留计数
+        private void finish() {
+            completedAt = LocalDateTime.now();
+            rows = List.of();
+        }
+
+        synchronized IngestionJobStatus toStatus() {
+            return new IngestionJobStatus(id, dataType.getPath(), state, size, rowsWritten,
+                    state == State.FAILED ? size : 0, error, submittedAt, completedAt);
+        }
+    }
+}
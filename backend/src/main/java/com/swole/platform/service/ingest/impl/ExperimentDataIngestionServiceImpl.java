@@ -0,0 +1,184 @@
+package com.swole.platform.service.ingest.impl;
+
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.dto.ExperimentDataUploadDto;
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.service.ingest.ExperimentDataIngestionService;
+import com.swole.platform.service.statistics.ExperimentStatisticsDelta;
+import com.swole.platform.service.statistics.ExperimentStatisticsMaintenanceService;
+import com.swole.platform.service.stream.ExperimentDataPersistedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// 绕过 JPA 逐行插入（IDENTITY 主键会禁用 Hibernate 批量插入），直接用 JDBC 批量语句写入。
+// 配合 MySQL 连接参数 rewriteBatchedStatements=true，每批会被改写为一条多行 INSERT
+@Service
+public class ExperimentDataIngestionServiceImpl implements ExperimentDataIngestionService {
+
+    private static final String INSERT_TARGET_DETECTION =
+            "INSERT INTO target_detection_data (experiment_id, group_number, class_name, confidence, x, y, diameter, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CONCENTRATION =
+            "INSERT INTO concentration_data (experiment_id, group_number, concentration, confidence, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_GENERAL =
+            "INSERT INTO general_data (experiment_id, group_number, data_key, data_value, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ExperimentStatisticsMaintenanceService experimentStatisticsMaintenanceService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${ingest.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public int insertTargetDetectionData(List<TargetDetectionData> dataList) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(createdAt);
+        batchInsert(INSERT_TARGET_DETECTION, dataList, (ps, data) -> {
+            ps.setObject(1, data.getExperimentId());
+            ps.setObject(2, data.getGroupNumber());
+            ps.setString(3, data.getClassName());
+            ps.setObject(4, data.getConfidence());
+            ps.setObject(5, data.getX());
+            ps.setObject(6, data.getY());
+            ps.setObject(7, data.getDiameter());
+            ps.setTimestamp(8, now);
+            ps.setTimestamp(9, now);
+        }, TargetDetectionData::setId);
+        dataList.forEach(data -> {
+            data.setCreatedAt(createdAt);
+            data.setUpdatedAt(createdAt);
+        });
+
+        Map<Long, ExperimentStatisticsDelta> deltas = new LinkedHashMap<>();
+        dataList.forEach(data -> deltaOf(deltas, data.getExperimentId()).add(data));
+        experimentStatisticsMaintenanceService.apply(deltas.values());
+        publish(ExperimentDataType.TARGET_DETECTION, dataList, TargetDetectionData::getExperimentId);
+        return dataList.size();
+    }
+
+    @Override
+    @Transactional
+    public int insertConcentrationData(List<ConcentrationData> dataList) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(createdAt);
+        batchInsert(INSERT_CONCENTRATION, dataList, (ps, data) -> {
+            ps.setObject(1, data.getExperimentId());
+            ps.setObject(2, data.getGroupNumber());
+            ps.setObject(3, data.getConcentration());
+            ps.setObject(4, data.getConfidence());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        }, ConcentrationData::setId);
+        dataList.forEach(data -> {
+            data.setCreatedAt(createdAt);
+            data.setUpdatedAt(createdAt);
+        });
+
+        Map<Long, ExperimentStatisticsDelta> deltas = new LinkedHashMap<>();
+        dataList.forEach(data -> deltaOf(deltas, data.getExperimentId()).add(data));
+        experimentStatisticsMaintenanceService.apply(deltas.values());
+        publish(ExperimentDataType.CONCENTRATION, dataList, ConcentrationData::getExperimentId);
+        return dataList.size();
+    }
+
+    @Override
+    @Transactional
+    public int insertGeneralData(List<GeneralData> dataList) {
+        LocalDateTime createdAt = LocalDateTime.now();
+        Timestamp now = Timestamp.valueOf(createdAt);
+        batchInsert(INSERT_GENERAL, dataList, (ps, data) -> {
+            ps.setObject(1, data.getExperimentId());
+            ps.setObject(2, data.getGroupNumber());
+            ps.setString(3, data.getDataKey());
+            ps.setString(4, data.getDataValue());
+            ps.setTimestamp(5, now);
+            ps.setTimestamp(6, now);
+        }, GeneralData::setId);
+        dataList.forEach(data -> {
+            data.setCreatedAt(createdAt);
+            data.setUpdatedAt(createdAt);
+        });
+
+        Map<Long, ExperimentStatisticsDelta> deltas = new LinkedHashMap<>();
+        dataList.forEach(data -> deltaOf(deltas, data.getExperimentId()).add(data));
+        experimentStatisticsMaintenanceService.apply(deltas.values());
+        return dataList.size();
+    }
+
+    @Override
+    @Transactional
+    public int insertExperimentData(Long experimentId, Integer groupNumber, ExperimentDataUploadDto data) {
+        data.assignTo(experimentId, groupNumber);
+        return insertTargetDetectionData(data.getTargetDetection())
+                + insertConcentrationData(data.getConcentration())
+                + insertGeneralData(data.getGeneral());
+    }
+
+    // 按 batch-size 分批执行，并把每批的自增主键按行顺序回填到实体上，
+    // 使发布给实时推送的行与 REST 接口返回的表示一致（包含 id 和时间戳）
+    private <T> void batchInsert(String sql, List<T> dataList, ParameterizedPreparedStatementSetter<T> setter,
+                                 BiConsumer<T, Long> idSetter) {
+        for (int from = 0; from < dataList.size(); from += batchSize) {
+            List<T> batch = dataList.subList(from, Math.min(from + batchSize, dataList.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            setter.setValues(ps, batch.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keyHolder);
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < batch.size() && i < keys.size(); i++) {
+                idSetter.accept(batch.get(i), ((Number) keys.get(i).values().iterator().next()).longValue());
+            }
+        }
+    }
+
+    // 按实验分组发布，事务提交后由实时推送服务发送给订阅者
+    private <T> void publish(ExperimentDataType type, List<T> dataList, Function<T, Long> experimentIdOf) {
+        dataList.stream()
+                .collect(Collectors.groupingBy(experimentIdOf, LinkedHashMap::new, Collectors.toList()))
+                .forEach((experimentId, rows) -> eventPublisher.publishEvent(new ExperimentDataPersistedEvent(experimentId, type, rows)));
+    }
+
+    // 同一实验的数据合并为一个增量，每个实验只锁定并更新一次统计记录
+    private static ExperimentStatisticsDelta deltaOf(Map<Long, ExperimentStatisticsDelta> deltas, Long experimentId) {
+        return deltas.computeIfAbsent(experimentId, ExperimentStatisticsDelta::new);
+    }
+}
@@ -0,0 +1,141 @@
+package com.swole.platform.service.ingest.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.exception.ConflictException;
+import com.swole.platform.model.entity.IdempotencyRecord;
+import com.swole.platform.repository.IdempotencyRecordRepository;
+import com.swole.platform.service.ingest.IdempotencyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// 幂等键与数据写入在同一个事务中提交：并发的相同键请求在主键上等待，先提交者生效，后到者回放其响应
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Override
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> responseType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = sha256(scope + ":" + key);
+        String requestHash = hashRequest(request);
+
+        // 重试的常见情况：键已处理过，按主键查到后直接回放，不再校验或扫描数据
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(id);
+        if (existing.isPresent()) {
+            return replay(existing.get(), requestHash, responseType);
+        }
+
+        try {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                IdempotencyRecord record = new IdempotencyRecord();
+                record.setId(id);
+                record.setScope(scope);
+                record.setRequestHash(requestHash);
+                // 先插入以占用主键，相同键的并发请求会在这里等待本事务结束；之后修改的是返回的托管实例
+                IdempotencyRecord claimed = idempotencyRecordRepository.saveAndFlush(record);
+
+                ResponseEntity<T> response = action.get();
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    status.setRollbackOnly();
+                    return response;
+                }
+                claimed.setStatusCode(response.getStatusCode().value());
+                URI location = response.getHeaders().getLocation();
+                claimed.setLocation(location != null ? location.toString() : null);
+                claimed.setResponseBody(toJson(response.getBody()));
+                return response;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 并发的相同键请求已先提交
+            IdempotencyRecord committed = idempotencyRecordRepository.findById(id).orElseThrow(() -> e);
+            return replay(committed, requestHash, responseType);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired() {
+        return idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecord record, String requestHash, Class<T> responseType) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            throw new ConflictException(IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(record.getStatusCode())
+                .header(REPLAYED_HEADER, "true");
+        if (record.getLocation() != null) {
+            builder.header(HttpHeaders.LOCATION, record.getLocation());
+        }
+        try {
+            return builder.body(objectMapper.readValue(record.getResponseBody(), responseType));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String hashRequest(Object request) {
+        try {
+            return sha256(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
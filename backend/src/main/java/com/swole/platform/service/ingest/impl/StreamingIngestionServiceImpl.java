@@ -0,0 +1,127 @@
+package com.swole.platform.service.ingest.impl;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.dto.BatchUploadReport.RowError;
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.dto.IngestionReport;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.service.ingest.ExperimentDataIngestionService;
+import com.swole.platform.service.ingest.ExperimentDataValidator;
+import com.swole.platform.service.ingest.StreamingIngestionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+@Service
+public class StreamingIngestionServiceImpl implements StreamingIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingIngestionServiceImpl.class);
+
+    @Autowired
+    private ExperimentDataIngestionService experimentDataIngestionService;
+
+    @Autowired
+    private ExperimentDataValidator experimentDataValidator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ingest.batch-size:1000}")
+    private int chunkSize;
+
+    @Override
+    public IngestionReport ingest(ExperimentDataType dataType, InputStream body) throws IOException {
+        IngestionReport report = new IngestionReport(dataType.getPath());
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BadRequestException("Request body must be a JSON array");
+            }
+            try {
+                switch (dataType) {
+                    case TARGET_DETECTION -> ingest(parser, TargetDetectionData.class, experimentDataValidator::check,
+                            TargetDetectionData::getExperimentId, experimentDataIngestionService::insertTargetDetectionData, report);
+                    case CONCENTRATION -> ingest(parser, ConcentrationData.class, experimentDataValidator::check,
+                            ConcentrationData::getExperimentId, experimentDataIngestionService::insertConcentrationData, report);
+                    case GENERAL -> ingest(parser, GeneralData.class, experimentDataValidator::check,
+                            GeneralData::getExperimentId, experimentDataIngestionService::insertGeneralData, report);
+                }
+            } catch (JsonProcessingException e) {
+                report.setError(String.format("Malformed JSON after %d committed rows: %s",
+                        report.getTotalRows(), e.getOriginalMessage()));
+            }
+        }
+        return report;
+    }
+
+    // 每次只在内存中保留一个分块；分块校验或写入失败时停止，之前已提交的分块保留并记录在报告中
+    private <T> void ingest(JsonParser parser, Class<T> rowType, BiFunction<Long, T, RowError> validator,
+                            Function<T, Long> experimentIdOf, Function<List<T>, Integer> writer,
+                            IngestionReport report) throws IOException {
+        List<T> chunk = new ArrayList<>(chunkSize);
+        long row = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                report.setError(String.format("Row %d: expected a JSON object", row));
+                return;
+            }
+            T data = objectMapper.readValue(parser, rowType);
+            // 逐行校验字段；引用的实验是否存在在写入分块前按分块统一检查
+            RowError error = validator.apply(row, data);
+            if (error != null) {
+                report.setError(String.format("Row %d: %s", row, error.getMessage()));
+                return;
+            }
+            chunk.add(data);
+            row++;
+            if (chunk.size() == chunkSize && !writeChunk(chunk, row, experimentIdOf, writer, report)) {
+                return;
+            }
+        }
+        if (!chunk.isEmpty() && !writeChunk(chunk, row, experimentIdOf, writer, report)) {
+            return;
+        }
+        report.setCompleted(true);
+    }
+
+    // rowsRead 为已读取的行数，用于换算分块内各行在请求数组中的下标
+    private <T> boolean writeChunk(List<T> chunk, long rowsRead, Function<T, Long> experimentIdOf,
+                                   Function<List<T>, Integer> writer, IngestionReport report) {
+        // 分块中有行引用不存在的实验时整个分块都不提交，报告第一个出错的行和出错行数
+        List<RowError> missing = experimentDataValidator.checkExperimentsExist(chunk, rowsRead - chunk.size(), experimentIdOf);
+        if (!missing.isEmpty()) {
+            RowError error = missing.get(0);
+            String more = missing.size() > 1 ? String.format(" (%d more rows in this chunk)", missing.size() - 1) : "";
+            report.setError(String.format("Row %d: %s%s", error.getIndex(), error.getMessage(), more));
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            int inserted = writer.apply(chunk);
+            report.addChunk(inserted, System.currentTimeMillis() - start);
+            log.debug("Ingested {} chunk {}: {} rows, {} total",
+                    report.getDataType(), report.getChunks().size(), inserted, report.getTotalRows());
+            chunk.clear();
+            return true;
+        } catch (RuntimeException e) {
+            report.setError(String.format("Chunk %d failed after %d committed rows: %s",
+                    report.getChunks().size() + 1, report.getTotalRows(), e.getMessage()));
+            return false;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.swole.platform.service.prediction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.dto.PredictionResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// 预测结果缓存，键为 (模型版本, 端点, 图片内容的 SHA-256)。内存层按容量淘汰，磁盘层在重启后仍然有效。
+// 模型版本按端点记录（不同端点可能路由到加载了不同模型的实例），来自预测服务的 /info 和每次预测响应中的 model_version；
+// 版本变化（切换模型）后旧版本的结果不再命中
+@Component
+public class PredictionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PredictionCache.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${prediction.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${prediction.cache.memory-max-entries:10000}")
+    private long memoryMaxEntries;
+
+    @Value("${prediction.cache.dir:./data/prediction-cache}")
+    private String cacheDir;
+
+    @Value("${prediction.cache.disk-ttl:30d}")
+    private Duration diskTtl;
+
+    private Cache<String, PredictionResult> memory;
+
+    private Path root;
+
+    private final Map<PredictionEndpoint, String> modelVersions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        memory = Caffeine.newBuilder()
+                .maximumSize(memoryMaxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "prediction");
+        root = Paths.get(cacheDir).toAbsolutePath().normalize();
+        if (enabled) {
+            Files.createDirectories(root.resolve("tmp"));
+        }
+    }
+
+    public static String hash(byte[] image) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(image));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public String getModelVersion(PredictionEndpoint endpoint) {
+        return modelVersions.get(endpoint);
+    }
+
+    // 服务该端点的实例当前的模型版本，null 表示未知（如多个实例的版本不一致），此时查询不命中。
+    // 旧版本的结果因键不同自然失效：内存层按容量淘汰，磁盘层由 purgeExpired 回收
+    public void onModelVersion(PredictionEndpoint endpoint, String version) {
+        String previous = version == null ? modelVersions.remove(endpoint) : modelVersions.put(endpoint, version);
+        if (previous != null && !previous.equals(version)) {
+            logger.info("Prediction model for {} changed from {} to {}", endpoint.getName(), previous, version);
+        }
+    }
+
+    // 当前模型版本未知时不命中
+    public Optional<PredictionResult> get(PredictionEndpoint endpoint, String imageHash) {
+        String version = modelVersions.get(endpoint);
+        if (!enabled || version == null) {
+            return Optional.empty();
+        }
+        String key = key(version, endpoint, imageHash);
+        PredictionResult cached = memory.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Path file = pathOf(key);
+        if (!Files.isRegularFile(file)) {
+            meterRegistry.counter("prediction.cache.disk", "result", "miss").increment();
+            return Optional.empty();
+        }
+        try {
+            PredictionResult result = objectMapper.readValue(file.toFile(), PredictionResult.class);
+            meterRegistry.counter("prediction.cache.disk", "result", "hit").increment();
+            memory.put(key, result);
+            return Optional.of(result);
+        } catch (IOException e) {
+            logger.warn("Discarding unreadable prediction cache entry {}", file, e);
+            deleteQuietly(file);
+            return Optional.empty();
+        }
+    }
+
+    // 结果按产生它的模型版本保存；单项失败的结果不缓存。
+    // 当前版本只由健康检查（onModelVersion）确定：多个实例版本不一致时单个响应的版本不代表端点的版本
+    public void put(PredictionEndpoint endpoint, String imageHash, PredictionResult result) {
+        if (!enabled || result.getModelVersion() == null || result.getError() != null) {
+            return;
+        }
+        String key = key(result.getModelVersion(), endpoint, imageHash);
+        // 先完成磁盘写入再放入内存层：内存命中可见时磁盘层已经写完
+        writeToDisk(key, result);
+        memory.put(key, result);
+    }
+
+    private void writeToDisk(String key, PredictionResult result) {
+        Path file = pathOf(key);
+        if (Files.exists(file)) {
+            return;
+        }
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(root.resolve("tmp"), "prediction-", ".json");
+            objectMapper.writeValue(temp.toFile(), result);
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Failed to write prediction cache entry {}", file, e);
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    // 当前模型版本下该图片结果的磁盘缓存文件，版本未知时返回 null
+    Path diskPathOf(PredictionEndpoint endpoint, String imageHash) {
+        String version = modelVersions.get(endpoint);
+        return version == null ? null : pathOf(key(version, endpoint, imageHash));
+    }
+
+    // 删除超过保留时间的磁盘缓存文件，返回删除的文件数
+    public int purgeExpired() throws IOException {
+        if (!enabled) {
+            return 0;
+        }
+        Instant cutoff = Instant.now().minus(diskTtl);
+        int purged = 0;
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff)) {
+                    deleteQuietly(file);
+                    purged++;
+                }
+            }
+        }
+        return purged;
+    }
+
+    private static String key(String version, PredictionEndpoint endpoint, String imageHash) {
+        return hash((Objects.requireNonNull(version) + ":" + endpoint.getName() + ":" + imageHash)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 目录布局与图片存储一致：<dir>/ab/abcd....json
+    private Path pathOf(String key) {
+        return root.resolve(key.substring(0, 2)).resolve(key + ".json");
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.debug("Failed to delete {}", file, e);
+        }
+    }
+}
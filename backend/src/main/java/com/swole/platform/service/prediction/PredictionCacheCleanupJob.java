@@ -0,0 +1,31 @@
+package com.swole.platform.service.prediction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// 定时删除过期的磁盘预测缓存，包括已切换掉的模型版本留下的结果
+@Component
+public class PredictionCacheCleanupJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(PredictionCacheCleanupJob.class);
+
+    @Autowired
+    private PredictionCache predictionCache;
+
+    @Scheduled(cron = "${prediction.cache.cleanup.cron:0 30 3 * * *}")
+    public void purgeExpired() {
+        try {
+            int purged = predictionCache.purgeExpired();
+            if (purged > 0) {
+                logger.info("Purged {} expired prediction cache entries", purged);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to purge expired prediction cache entries", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.swole.platform.service.prediction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 预测服务的熔断器：连续失败达到阈值或 /health 探测失败时打开，打开期间请求立即失败，不占用 GPU 服务器的连接；
+// 打开后由 /health 探测成功转为半开，半开时只放行一个探测请求，其余请求在探测结果确定前照常拒绝：
+// 探测成功关闭熔断器，失败则重新打开
+public class PredictionCircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(PredictionCircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final int failureThreshold;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile State state = State.CLOSED;
+
+    // 半开时持有探测许可的线程（预测调用在同一线程内同步完成），状态变化时清空
+    private final AtomicReference<Thread> probe = new AtomicReference<>();
+
+    public PredictionCircuitBreaker(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    // 只读判断，供路由筛选候选实例：半开且已有探测请求在进行时返回 false
+    public boolean allowRequest() {
+        State current = state;
+        return current == State.CLOSED || (current == State.HALF_OPEN && probe.get() == null);
+    }
+
+    // 选定实例后占用请求许可：关闭时总是成功，半开时只有一个线程能取得探测许可（同一线程重试时仍持有），
+    // 直到 onSuccess / onFailure 确定结果或 releaseProbe 释放
+    public boolean tryAcquire() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN) {
+            return false;
+        }
+        Thread caller = Thread.currentThread();
+        return probe.compareAndSet(null, caller) || probe.get() == caller;
+    }
+
+    // 探测请求既没有成功也没有计入失败（如请求被服务拒绝）时释放探测许可，下一个请求重新探测
+    public void releaseProbe() {
+        probe.compareAndSet(Thread.currentThread(), null);
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        transition(State.CLOSED);
+    }
+
+    public void onFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold || state == State.HALF_OPEN) {
+            transition(State.OPEN);
+        }
+    }
+
+    public void onHealthCheck(boolean healthy) {
+        if (!healthy) {
+            transition(State.OPEN);
+        } else if (state == State.OPEN) {
+            consecutiveFailures.set(0);
+            transition(State.HALF_OPEN);
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    private synchronized void transition(State next) {
+        if (state != next) {
+            logger.info("Prediction service circuit {} -> {}", state, next);
+            state = next;
+            probe.set(null);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.swole.platform.service.prediction;
+
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.dto.PredictionResult;
+
+import java.util.concurrent.CompletableFuture;
+
+// 预测请求的微批处理：同一端点短时间内的并发请求合并成一次批量调用，结果再分发回各自的 future
+public interface PredictionDispatcher {
+
+    // future 异常完成时的原因为 PredictionServiceException 或 BadRequestException
+    CompletableFuture<PredictionResult> submit(PredictionEndpoint endpoint, PredictionImage image);
+}
@@ -0,0 +1,28 @@
+package com.swole.platform.service.prediction;
+
+import com.swole.platform.dto.PredictionEndpoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 定期探测各预测服务实例的 /health 和 /info，驱动熔断器的打开与恢复，并同步预测结果缓存使用的模型版本
+@Component
+public class PredictionHealthCheckJob {
+
+    @Autowired
+    private YoloPredictionClient yoloPredictionClient;
+
+    @Autowired
+    private PredictionCache predictionCache;
+
+    @Scheduled(fixedDelayString = "${prediction.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        if (!yoloPredictionClient.checkHealth()) {
+            return;
+        }
+        // 模型可能在预测服务上被直接切换（/models/switch），每次探测时同步各端点的当前模型版本
+        for (PredictionEndpoint endpoint : PredictionEndpoint.values()) {
+            predictionCache.onModelVersion(endpoint, yoloPredictionClient.getModelVersion(endpoint));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.swole.platform.service.prediction;
+
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+// 送往预测服务的一张图片：内存中的字节或图片存储中的文件。
+// 文件形式的图片发送时由 HttpClient 分块读取，不会把整张图片读入堆内存；SHA-256 作为预测结果缓存的键
+public final class PredictionImage {
+
+    private final byte[] bytes;
+
+    private final Path file;
+
+    private volatile String sha256;
+
+    private PredictionImage(byte[] bytes, Path file, String sha256) {
+        this.bytes = bytes;
+        this.file = file;
+        this.sha256 = sha256;
+    }
+
+    public static PredictionImage ofBytes(byte[] bytes) {
+        return new PredictionImage(Objects.requireNonNull(bytes), null, null);
+    }
+
+    // 图片存储中的文件，文件名即内容的 SHA-256，无需再次计算
+    public static PredictionImage ofFile(Path file, String sha256) {
+        return new PredictionImage(null, Objects.requireNonNull(file), Objects.requireNonNull(sha256));
+    }
+
+    public String getSha256() {
+        if (sha256 == null) {
+            sha256 = PredictionCache.hash(bytes);
+        }
+        return sha256;
+    }
+
+    public long size() throws IOException {
+        return bytes != null ? bytes.length : Files.size(file);
+    }
+
+    // 仅用于 base64 传输
+    public byte[] readAllBytes() throws IOException {
+        return bytes != null ? bytes : Files.readAllBytes(file);
+    }
+
+    public HttpRequest.BodyPublisher bodyPublisher() throws FileNotFoundException {
+        return bytes != null ? HttpRequest.BodyPublishers.ofByteArray(bytes) : HttpRequest.BodyPublishers.ofFile(file);
+    }
+
+    // 读取图片尺寸等头部信息时只读取所需的部分
+    public ImageInputStream openImageInputStream() throws IOException {
+        return bytes != null
+                ? new MemoryCacheImageInputStream(new ByteArrayInputStream(bytes))
+                : new FileImageInputStream(file.toFile());
+    }
+}
@@ -0,0 +1,93 @@
+package com.swole.platform.service.prediction;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 一个预测服务实例（yolo_service.py 的一个进程）的路由状态：进行中的请求数、熔断器、
+// 最近探测到的模型版本、响应时间的指数移动平均，以及因响应过慢被剔除的截止时间
+public class PredictionInstance {
+
+    // 指数移动平均中最新一次响应时间的权重
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    private final String baseUrl;
+
+    private final PredictionCircuitBreaker circuitBreaker;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private volatile String modelVersion;
+
+    private volatile double latencyMillis = -1;
+
+    private volatile long ejectedUntilNanos;
+
+    public PredictionInstance(String baseUrl, int failureThreshold) {
+        this.baseUrl = baseUrl;
+        this.circuitBreaker = new PredictionCircuitBreaker(failureThreshold);
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public PredictionCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    void acquire() {
+        outstanding.incrementAndGet();
+    }
+
+    void release() {
+        outstanding.decrementAndGet();
+    }
+
+    public String getModelVersion() {
+        return modelVersion;
+    }
+
+    public void setModelVersion(String modelVersion) {
+        if (modelVersion != null) {
+            this.modelVersion = modelVersion;
+        }
+    }
+
+    // 模型版本的格式为 "模型名称@摘要"，版本未知时返回 null
+    public String getModelName() {
+        String version = modelVersion;
+        if (version == null) {
+            return null;
+        }
+        int separator = version.indexOf('@');
+        return separator < 0 ? version : version.substring(0, separator);
+    }
+
+    // 尚无响应记录时为负数
+    public double getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    synchronized void recordLatency(double millis) {
+        latencyMillis = latencyMillis < 0 ? millis : latencyMillis + LATENCY_WEIGHT * (millis - latencyMillis);
+    }
+
+    public boolean isEjected(long nowNanos) {
+        long until = ejectedUntilNanos;
+        return until != 0 && until - nowNanos > 0;
+    }
+
+    // 剔除期结束后重新开始统计响应时间，下一次过慢时再次剔除
+    synchronized void eject(long untilNanos) {
+        ejectedUntilNanos = untilNanos;
+        latencyMillis = -1;
+    }
+
+    @Override
+    public String toString() {
+        return baseUrl;
+    }
+}
@@ -0,0 +1,167 @@
+package com.swole.platform.service.prediction;
+
+import com.swole.platform.dto.PredictionEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+// 预测服务实例的注册表与路由：在可用实例中选择进行中请求最少的一个（least outstanding requests），
+// 为端点配置了模型时只选择当前加载了该模型的实例。
+// 持续失败的实例由各自的熔断器隔离；平均响应时间明显慢于同模型其他实例的实例被暂时剔除
+public class PredictionInstanceRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PredictionInstanceRegistry.class);
+
+    private final List<PredictionInstance> instances;
+
+    private final Map<PredictionEndpoint, String> endpointModels;
+
+    private final double slowFactor;
+
+    private final Duration slowMinLatency;
+
+    private final Duration ejectionTime;
+
+    public PredictionInstanceRegistry(List<PredictionInstance> instances, Map<PredictionEndpoint, String> endpointModels,
+                                      double slowFactor, Duration slowMinLatency, Duration ejectionTime) {
+        this.instances = List.copyOf(instances);
+        this.endpointModels = Map.copyOf(endpointModels);
+        this.slowFactor = slowFactor;
+        this.slowMinLatency = slowMinLatency;
+        this.ejectionTime = ejectionTime;
+    }
+
+    public List<PredictionInstance> getInstances() {
+        return instances;
+    }
+
+    // 端点要求的模型名称，未配置时为 null（任意实例均可）
+    public String modelOf(PredictionEndpoint endpoint) {
+        return endpoint == null ? null : endpointModels.get(endpoint);
+    }
+
+    // 选择一个实例并计入其进行中的请求，调用方必须随后调用 release；没有可用实例（熔断全部打开或没有实例加载所需模型）时返回 null。
+    // endpoint 为 null 表示与模型无关的请求；excluded 为本次调用中已经失败的实例，只有别无选择时才会再次选中，
+    // 被剔除的慢实例同样只在没有其他实例时使用
+    public PredictionInstance acquire(PredictionEndpoint endpoint, Set<PredictionInstance> excluded) {
+        String model = modelOf(endpoint);
+        long now = System.nanoTime();
+        List<PredictionInstance> candidates = instances.stream()
+                .filter(instance -> servesModel(instance, model))
+                .filter(instance -> instance.getCircuitBreaker().allowRequest())
+                .collect(Collectors.toCollection(ArrayList::new));
+        while (true) {
+            PredictionInstance chosen = leastOutstanding(candidates,
+                    instance -> !excluded.contains(instance) && !instance.isEjected(now));
+            if (chosen == null) {
+                chosen = leastOutstanding(candidates, instance -> !instance.isEjected(now));
+            }
+            if (chosen == null) {
+                chosen = leastOutstanding(candidates, instance -> true);
+            }
+            if (chosen == null) {
+                return null;
+            }
+            // 半开实例的探测许可可能刚被其他线程取得，此时换一个实例
+            if (chosen.getCircuitBreaker().tryAcquire()) {
+                chosen.acquire();
+                return chosen;
+            }
+            candidates.remove(chosen);
+        }
+    }
+
+    // latencyNanos 为负数表示没有得到响应（如连接失败），不计入响应时间；返回该实例是否因此被剔除
+    public boolean release(PredictionInstance instance, long latencyNanos) {
+        instance.release();
+        if (latencyNanos < 0) {
+            return false;
+        }
+        instance.recordLatency(latencyNanos / 1e6);
+        return ejectIfSlow(instance);
+    }
+
+    // 服务该端点的可用实例上的模型版本；各实例版本不一致（如滚动更新中）或尚未探测到时返回 null
+    public String getModelVersion(PredictionEndpoint endpoint) {
+        String model = modelOf(endpoint);
+        List<String> versions = instances.stream()
+                .filter(instance -> servesModel(instance, model))
+                .filter(PredictionInstanceRegistry::isAvailable)
+                .map(PredictionInstance::getModelVersion)
+                .distinct()
+                .toList();
+        return versions.size() == 1 ? versions.get(0) : null;
+    }
+
+    // 熔断器未打开（半开实例正在探测时同样算作可用）
+    private static boolean isAvailable(PredictionInstance instance) {
+        return instance.getCircuitBreaker().getState() != PredictionCircuitBreaker.State.OPEN;
+    }
+
+    // 尚未探测到模型的实例（刚启动）也参与路由，其响应中的 model_version 随即确定它加载的模型
+    private static boolean servesModel(PredictionInstance instance, String model) {
+        String loaded = instance.getModelName();
+        return model == null || loaded == null || model.equals(loaded);
+    }
+
+    // 进行中请求数相同时随机选择，避免所有空闲时刻的请求都落到列表中的第一个实例。
+    // 其他线程会同时修改进行中请求数，只读取一次快照再比较
+    private static PredictionInstance leastOutstanding(List<PredictionInstance> candidates,
+                                                       Predicate<PredictionInstance> filter) {
+        List<PredictionInstance> tied = new ArrayList<>();
+        int least = Integer.MAX_VALUE;
+        for (PredictionInstance instance : candidates) {
+            if (!filter.test(instance)) {
+                continue;
+            }
+            int outstanding = instance.getOutstanding();
+            if (outstanding < least) {
+                least = outstanding;
+                tied.clear();
+            }
+            if (outstanding == least) {
+                tied.add(instance);
+            }
+        }
+        return tied.isEmpty() ? null : tied.get(ThreadLocalRandom.current().nextInt(tied.size()));
+    }
+
+    // 平均响应时间超过 slow-min-latency 且超过同模型其他可用实例中位数的 slow-factor 倍时剔除 ejection-time；
+    // 没有可比较的其他实例时不剔除，保证至少有一个实例可以承接流量
+    private boolean ejectIfSlow(PredictionInstance instance) {
+        double latency = instance.getLatencyMillis();
+        long now = System.nanoTime();
+        if (latency < slowMinLatency.toMillis() || instance.isEjected(now)) {
+            return false;
+        }
+        List<Double> others = instances.stream()
+                .filter(other -> other != instance)
+                .filter(other -> Objects.equals(other.getModelName(), instance.getModelName()))
+                .filter(other -> !other.isEjected(now) && isAvailable(other))
+                .map(PredictionInstance::getLatencyMillis)
+                .filter(other -> other >= 0)
+                .sorted(Comparator.naturalOrder())
+                .toList();
+        if (others.isEmpty()) {
+            return false;
+        }
+        double median = others.get(others.size() / 2);
+        if (latency <= slowFactor * median) {
+            return false;
+        }
+        logger.warn("Ejecting slow prediction instance {} for {} (average {} ms, others {} ms)",
+                instance, ejectionTime, Math.round(latency), Math.round(median));
+        instance.eject(now + ejectionTime.toNanos());
+        return true;
+    }
+}
@@ -0,0 +1,19 @@
+package com.swole.platform.service.prediction;
+
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.dto.PredictionPipelineResult;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.List;
+
+// 图片 -> 预测服务 -> 实验数据：多张图片并发预测，全部成功后在一个事务内批量写入
+public interface PredictionPipelineService {
+    PredictionPipelineResult predictAndStore(Long experimentId, Integer groupNumber, PredictionEndpoint endpoint,
+                                             List<PredictionImage> images);
+
+    // 上传的图片先保存为实验图片（按内容寻址存储），再从存储文件直接发送给预测服务
+    PredictionPipelineResult predictAndStoreUploads(Long experimentId, Integer groupNumber, PredictionEndpoint endpoint,
+                                                    List<MultipartFile> files) throws IOException;
+}
@@ -0,0 +1,27 @@
+package com.swole.platform.service.prediction;
+
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.dto.PredictionResult;
+
+import java.util.List;
+import java.util.Map;
+
+// yolo_prediction_service 的客户端。服务不可用时抛出 PredictionServiceException，服务拒绝请求（4xx）时抛出 BadRequestException
+public interface YoloPredictionClient {
+
+    PredictionResult predict(PredictionEndpoint endpoint, PredictionImage image);
+
+    // 一次请求预测多张图片，结果与 images 顺序一致；单张图片失败时对应结果的 error 不为空
+    List<PredictionResult> predictBatch(PredictionEndpoint endpoint, List<PredictionImage> images);
+
+    List<Map<String, Object>> listModels();
+
+    // 最近探测到的、服务该端点的实例上的模型版本标识（model_version）；实例之间不一致或尚未探测到时返回 null
+    String getModelVersion(PredictionEndpoint endpoint);
+
+    // 请求各实例的 /health 和 /info，据此更新熔断器状态和实例的模型版本；任一实例健康即返回 true
+    boolean checkHealth();
+
+    // 所有实例中最好的熔断器状态
+    PredictionCircuitBreaker.State getCircuitState();
+}
@@ -0,0 +1,210 @@
+package com.swole.platform.service.prediction.impl;
+
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.dto.PredictionResult;
+import com.swole.platform.exception.PredictionServiceException;
+import com.swole.platform.service.prediction.PredictionCache;
+import com.swole.platform.service.prediction.PredictionDispatcher;
+import com.swole.platform.service.prediction.PredictionImage;
+import com.swole.platform.service.prediction.YoloPredictionClient;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 每个端点一个队列和一个收集线程：取到第一个请求后最多再等 max-wait，或凑满 max-batch-size 就发出。
+// 批量调用在独立的发送线程池中执行，收集线程不会被网络调用阻塞
+@Service
+public class PredictionDispatcherImpl implements PredictionDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PredictionDispatcherImpl.class);
+
+    @Autowired
+    private YoloPredictionClient yoloPredictionClient;
+
+    @Autowired
+    private PredictionCache predictionCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${prediction.batching.enabled:true}")
+    private boolean enabled;
+
+    @Value("${prediction.batching.max-batch-size:8}")
+    private int maxBatchSize;
+
+    @Value("${prediction.batching.max-wait:10ms}")
+    private Duration maxWait;
+
+    @Value("${prediction.batching.concurrency:4}")
+    private int concurrency;
+
+    private final Map<PredictionEndpoint, BlockingQueue<PendingPrediction>> queues = new EnumMap<>(PredictionEndpoint.class);
+
+    private final List<Thread> collectors = new ArrayList<>();
+
+    private ExecutorService sender;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "prediction-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        if (!enabled) {
+            return;
+        }
+        for (PredictionEndpoint endpoint : PredictionEndpoint.values()) {
+            BlockingQueue<PendingPrediction> queue = new LinkedBlockingQueue<>();
+            queues.put(endpoint, queue);
+            Thread collector = new Thread(() -> collect(endpoint, queue), "prediction-batcher-" + endpoint.getName());
+            collector.setDaemon(true);
+            collector.start();
+            collectors.add(collector);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        collectors.forEach(Thread::interrupt);
+        sender.shutdown();
+        queues.values().forEach(queue -> {
+            List<PendingPrediction> pending = new ArrayList<>();
+            queue.drainTo(pending);
+            pending.forEach(item -> item.future.completeExceptionally(
+                    new PredictionServiceException("Prediction dispatcher is shutting down")));
+        });
+    }
+
+    @Override
+    public CompletableFuture<PredictionResult> submit(PredictionEndpoint endpoint, PredictionImage image) {
+        // 相同图片在同一模型版本下的结果直接取缓存，不进入批处理队列
+        String imageHash = image.getSha256();
+        Optional<PredictionResult> cached = predictionCache.get(endpoint, imageHash);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        // 结果写入缓存（含磁盘层）后才交给调用方，调用方拿到结果时后续相同请求一定命中
+        return dispatch(endpoint, image).thenApply(result -> {
+            predictionCache.put(endpoint, imageHash, result);
+            return result;
+        });
+    }
+
+    private CompletableFuture<PredictionResult> dispatch(PredictionEndpoint endpoint, PredictionImage image) {
+        if (!running) {
+            return CompletableFuture.failedFuture(new PredictionServiceException("Prediction dispatcher is not running"));
+        }
+        if (!enabled) {
+            return CompletableFuture.supplyAsync(() -> yoloPredictionClient.predict(endpoint, image), sender);
+        }
+        PendingPrediction pending = new PendingPrediction(image);
+        queues.get(endpoint).add(pending);
+        return pending.future;
+    }
+
+    private void collect(PredictionEndpoint endpoint, BlockingQueue<PendingPrediction> queue) {
+        while (running) {
+            List<PendingPrediction> batch = new ArrayList<>(maxBatchSize);
+            try {
+                PendingPrediction first = queue.take();
+                batch.add(first);
+                long deadline = first.enqueuedAt + maxWait.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingPrediction next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // shutdown() 负责让队列中剩余的请求失败，已取出的这一批在这里处理
+                batch.forEach(item -> item.future.completeExceptionally(
+                        new PredictionServiceException("Prediction dispatcher is shutting down")));
+                return;
+            }
+            try {
+                sender.execute(() -> send(endpoint, batch));
+            } catch (RuntimeException e) {
+                batch.forEach(item -> item.future.completeExceptionally(
+                        new PredictionServiceException("Prediction dispatcher is shutting down", e)));
+            }
+        }
+    }
+
+    private void send(PredictionEndpoint endpoint, List<PendingPrediction> batch) {
+        long now = System.nanoTime();
+        DistributionSummary.builder("prediction.batch.size")
+                .tag("endpoint", endpoint.getName())
+                .publishPercentiles(0.5, 0.95)
+                .register(meterRegistry)
+                .record(batch.size());
+        Timer waitTimer = Timer.builder("prediction.batch.wait")
+                .tag("endpoint", endpoint.getName())
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        batch.forEach(item -> waitTimer.record(Duration.ofNanos(now - item.enqueuedAt)));
+
+        try {
+            // 只有一个请求时走单张接口，不需要额外的批量结构
+            if (batch.size() == 1) {
+                PendingPrediction item = batch.get(0);
+                item.future.complete(yoloPredictionClient.predict(endpoint, item.image));
+                return;
+            }
+            List<PredictionResult> results = yoloPredictionClient.predictBatch(endpoint,
+                    batch.stream().map(item -> item.image).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                PredictionResult result = results.get(i);
+                if (result.getError() != null) {
+                    batch.get(i).future.completeExceptionally(
+                            new PredictionServiceException("Prediction failed: " + result.getError()));
+                } else {
+                    batch.get(i).future.complete(result);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.debug("Batched prediction call to {} with {} images failed: {}", endpoint.getName(), batch.size(),
+                    e.getMessage());
+            batch.forEach(item -> item.future.completeExceptionally(e));
+        }
+    }
+
+    private static class PendingPrediction {
+        private final PredictionImage image;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<PredictionResult> future = new CompletableFuture<>();
+
+        PendingPrediction(PredictionImage image) {
+            this.image = image;
+        }
+    }
+}
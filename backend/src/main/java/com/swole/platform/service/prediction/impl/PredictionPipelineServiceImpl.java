@@ -0,0 +1,146 @@
+package com.swole.platform.service.prediction.impl;
+
+import com.swole.platform.dto.Detection;
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.dto.PredictionPipelineResult;
+import com.swole.platform.dto.PredictionResult;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.exception.PredictionServiceException;
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.repository.ExperimentRepository;
+import com.swole.platform.service.ExperimentImageService;
+import com.swole.platform.service.ingest.ExperimentDataIngestionService;
+import com.swole.platform.service.prediction.PredictionDispatcher;
+import com.swole.platform.service.prediction.PredictionImage;
+import com.swole.platform.service.prediction.PredictionPipelineService;
+import com.swole.platform.service.storage.ImageStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// 图片通过 PredictionDispatcher 并发提交，与其他请求的图片一起合并成批量调用；数据库写入在所有预测完成后进行，事务不跨越网络调用
+@Service
+public class PredictionPipelineServiceImpl implements PredictionPipelineService {
+
+    @Autowired
+    private PredictionDispatcher predictionDispatcher;
+
+    @Autowired
+    private ExperimentDataIngestionService experimentDataIngestionService;
+
+    @Autowired
+    private ExperimentRepository experimentRepository;
+
+    @Autowired
+    private ExperimentImageService experimentImageService;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${prediction.pipeline.max-images:32}")
+    private int maxImages;
+
+    @Override
+    public PredictionPipelineResult predictAndStoreUploads(Long experimentId, Integer groupNumber,
+                                                           PredictionEndpoint endpoint, List<MultipartFile> files)
+            throws IOException {
+        // 先校验再保存，避免为不存在的实验留下图片
+        validate(experimentId, files.size());
+        List<PredictionImage> images = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            String sha256 = experimentImageService.saveImage(experimentId, groupNumber, file).getSha256();
+            Path stored = imageStorageService.resolve(sha256)
+                    .orElseThrow(() -> new IllegalStateException("Stored image " + sha256 + " is missing"));
+            images.add(PredictionImage.ofFile(stored, sha256));
+        }
+        return predictAndStore(experimentId, groupNumber, endpoint, images);
+    }
+
+    @Override
+    public PredictionPipelineResult predictAndStore(Long experimentId, Integer groupNumber, PredictionEndpoint endpoint,
+                                                    List<PredictionImage> images) {
+        validate(experimentId, images.size());
+
+        List<CompletableFuture<PredictionResult>> futures = images.stream()
+                .map(image -> predictionDispatcher.submit(endpoint, image))
+                .toList();
+        List<PredictionResult> predictions;
+        try {
+            predictions = futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new PredictionServiceException("Prediction failed", e.getCause());
+        }
+
+        List<TargetDetectionData> detections = new ArrayList<>();
+        List<ConcentrationData> concentrations = new ArrayList<>();
+        for (PredictionResult prediction : predictions) {
+            prediction.getDetections().forEach(detection ->
+                    detections.add(toTargetDetection(experimentId, groupNumber, detection)));
+            if (endpoint == PredictionEndpoint.TITRATION) {
+                concentrations.add(toConcentration(experimentId, groupNumber, prediction));
+            }
+        }
+
+        // 两类数据在同一个事务内写入，要么全部成功要么全部回滚
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            experimentDataIngestionService.insertTargetDetectionData(detections);
+            experimentDataIngestionService.insertConcentrationData(concentrations);
+        });
+        return new PredictionPipelineResult(experimentId, groupNumber, endpoint.getName(), images.size(),
+                detections.size(), concentrations.size(), predictions);
+    }
+
+    private void validate(Long experimentId, int imageCount) {
+        if (imageCount == 0 || imageCount > maxImages) {
+            throw new BadRequestException("Between 1 and " + maxImages + " images are required");
+        }
+        if (!experimentRepository.existsById(experimentId)) {
+            throw new BadRequestException("Experiment not found with ID: " + experimentId);
+        }
+    }
+
+    // 检测框 (x, y, width, height) 以左上角为原点，入库时取中心点坐标，直径取宽高的平均值
+    private static TargetDetectionData toTargetDetection(Long experimentId, Integer groupNumber, Detection detection) {
+        TargetDetectionData data = new TargetDetectionData();
+        data.setExperimentId(experimentId);
+        data.setGroupNumber(groupNumber);
+        data.setClassName(detection.getClassName());
+        data.setConfidence(detection.getConfidence());
+        data.setX(detection.getX() + detection.getWidth() / 2);
+        data.setY(detection.getY() + detection.getHeight() / 2);
+        data.setDiameter((detection.getWidth() + detection.getHeight()) / 2);
+        return data;
+    }
+
+    private static ConcentrationData toConcentration(Long experimentId, Integer groupNumber, PredictionResult prediction) {
+        Object concentration = prediction.getValues().get("concentration");
+        Object confidence = prediction.getValues().get("confidence");
+        if (!(concentration instanceof Number) || !(confidence instanceof Number)) {
+            throw new PredictionServiceException("Titration result is missing concentration or confidence");
+        }
+        ConcentrationData data = new ConcentrationData();
+        data.setExperimentId(experimentId);
+        data.setGroupNumber(groupNumber);
+        data.setConcentration(((Number) concentration).doubleValue());
+        data.setConfidence(((Number) confidence).doubleValue());
+        return data;
+    }
+}
@@ -0,0 +1,583 @@
+package com.swole.platform.service.prediction.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.swole.platform.dto.Detection;
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.dto.PredictionResult;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.exception.PredictionServiceException;
+import com.swole.platform.service.prediction.PredictionCircuitBreaker;
+import com.swole.platform.service.prediction.PredictionImage;
+import com.swole.platform.service.prediction.PredictionInstance;
+import com.swole.platform.service.prediction.PredictionInstanceRegistry;
+import com.swole.platform.service.prediction.YoloPredictionClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import jakarta.annotation.PostConstruct;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+// 基于 JDK HttpClient：HTTP/1.1 长连接在客户端内部复用（连接池），所有请求共用一个客户端实例。
+// prediction.instances 配置多个预测服务实例时，每个请求经 PredictionInstanceRegistry 选择实例，重试优先换到其他实例。
+// 默认以二进制发送图片（单张为 octet-stream 请求体，批量为 multipart），prediction.transport.mode=base64 时使用 JSON。
+// 预测请求是无副作用的推理，连接失败、超时和 429/502/503/504 可以安全重试，重试间隔为带全抖动的指数退避
+@Service
+public class YoloPredictionClientImpl implements YoloPredictionClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(YoloPredictionClientImpl.class);
+
+    private static final Set<Integer> RETRYABLE_STATUS = Set.of(429, 502, 503, 504);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${prediction.base-url:http://localhost:5000}")
+    private String baseUrl;
+
+    // 逗号分隔的多个实例地址，未配置时只使用 prediction.base-url
+    @Value("${prediction.instances:}")
+    private String instances;
+
+    @Value("${prediction.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${prediction.timeout.concentration:30s}")
+    private Duration concentrationTimeout;
+
+    @Value("${prediction.timeout.titration:30s}")
+    private Duration titrationTimeout;
+
+    @Value("${prediction.timeout.characterization:30s}")
+    private Duration characterizationTimeout;
+
+    @Value("${prediction.timeout.health:2s}")
+    private Duration healthTimeout;
+
+    @Value("${prediction.timeout.models:5s}")
+    private Duration modelsTimeout;
+
+    @Value("${prediction.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${prediction.retry.base-delay:200ms}")
+    private Duration retryBaseDelay;
+
+    @Value("${prediction.retry.max-delay:2s}")
+    private Duration retryMaxDelay;
+
+    @Value("${prediction.circuit-breaker.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${prediction.routing.model.concentration:}")
+    private String concentrationModel;
+
+    @Value("${prediction.routing.model.titration:}")
+    private String titrationModel;
+
+    @Value("${prediction.routing.model.characterization:}")
+    private String characterizationModel;
+
+    @Value("${prediction.routing.slow-factor:3.0}")
+    private double slowFactor;
+
+    @Value("${prediction.routing.slow-min-latency:1s}")
+    private Duration slowMinLatency;
+
+    @Value("${prediction.routing.ejection-time:30s}")
+    private Duration ejectionTime;
+
+    @Value("${prediction.transport.mode:binary}")
+    private String transportMode;
+
+    @Value("${prediction.transport.max-dimension:0}")
+    private int maxDimension;
+
+    @Value("${prediction.transport.jpeg-quality:0.9}")
+    private float jpegQuality;
+
+    private HttpClient httpClient;
+
+    private PredictionInstanceRegistry registry;
+
+    @PostConstruct
+    public void init() {
+        httpClient = HttpClient.newBuilder()
+                // Flask 服务只支持 HTTP/1.1，避免每个新连接先尝试 h2c 升级
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+        List<String> urls = StringUtils.hasText(instances)
+                ? Arrays.stream(instances.split(",")).map(String::trim).filter(StringUtils::hasText).toList()
+                : List.of(baseUrl);
+        List<PredictionInstance> registered = new ArrayList<>();
+        for (String url : urls) {
+            PredictionInstance instance = new PredictionInstance(StringUtils.trimTrailingCharacter(url, '/'), failureThreshold);
+            Gauge.builder("prediction.client.circuit.state", instance, i -> i.getCircuitBreaker().getState().ordinal())
+                    .description("0 = closed, 1 = half-open, 2 = open")
+                    .tag("instance", instance.getBaseUrl())
+                    .register(meterRegistry);
+            Gauge.builder("prediction.instance.outstanding", instance, PredictionInstance::getOutstanding)
+                    .tag("instance", instance.getBaseUrl())
+                    .register(meterRegistry);
+            registered.add(instance);
+        }
+        Map<PredictionEndpoint, String> endpointModels = new EnumMap<>(PredictionEndpoint.class);
+        putIfConfigured(endpointModels, PredictionEndpoint.CONCENTRATION, concentrationModel);
+        putIfConfigured(endpointModels, PredictionEndpoint.TITRATION, titrationModel);
+        putIfConfigured(endpointModels, PredictionEndpoint.CHARACTERIZATION, characterizationModel);
+        registry = new PredictionInstanceRegistry(registered, endpointModels, slowFactor, slowMinLatency, ejectionTime);
+    }
+
+    private static void putIfConfigured(Map<PredictionEndpoint, String> models, PredictionEndpoint endpoint, String model) {
+        if (StringUtils.hasText(model)) {
+            models.put(endpoint, model.trim());
+        }
+    }
+
+    @Override
+    public PredictionResult predict(PredictionEndpoint endpoint, PredictionImage image) {
+        PreparedImage prepared = prepare(image);
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(timeoutOf(endpoint));
+        try {
+            if (isBase64Transport()) {
+                ObjectNode body = objectMapper.createObjectNode();
+                body.put("image_data", Base64.getEncoder().encodeToString(prepared.image().readAllBytes()));
+                body.putObject("options");
+                builder.header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                builder.header("Content-Type", "application/octet-stream")
+                        .POST(prepared.image().bodyPublisher());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        JsonNode response = execute(endpoint.getName(), endpoint,
+                url -> builder.copy().uri(URI.create(url + endpoint.getPath())).build());
+        PredictionResult result = toResult(endpoint, response.path("result"), response.path("message").asText(null));
+        result.setModelVersion(response.path("model_version").asText(null));
+        prepared.restoreScale(result);
+        return result;
+    }
+
+    @Override
+    public List<PredictionResult> predictBatch(PredictionEndpoint endpoint, List<PredictionImage> images) {
+        List<PreparedImage> prepared = images.stream().map(this::prepare).toList();
+        // 服务端逐张推理，超时按图片数放大
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(timeoutOf(endpoint).multipliedBy(images.size()));
+        try {
+            if (isBase64Transport()) {
+                ObjectNode body = objectMapper.createObjectNode();
+                ArrayNode encoded = body.putArray("images");
+                for (PreparedImage image : prepared) {
+                    encoded.add(Base64.getEncoder().encodeToString(image.image().readAllBytes()));
+                }
+                body.putObject("options");
+                builder.header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } else {
+                String boundary = "swolo-" + UUID.randomUUID();
+                builder.header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                        .POST(multipartBody(boundary, prepared));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        JsonNode response = execute(endpoint.getName() + "-batch", endpoint,
+                url -> builder.copy().uri(URI.create(url + endpoint.getPath() + "/batch")).build());
+        JsonNode results = response.path("results");
+        String modelVersion = response.path("model_version").asText(null);
+        if (results.size() != images.size()) {
+            throw new PredictionServiceException("Prediction service returned " + results.size()
+                    + " results for " + images.size() + " images");
+        }
+        List<PredictionResult> predictions = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            JsonNode item = results.get(i);
+            PredictionResult result;
+            if (item.path("success").asBoolean(false)) {
+                result = toResult(endpoint, item.path("result"), null);
+                prepared.get(i).restoreScale(result);
+            } else {
+                result = new PredictionResult(endpoint.getName(), new ArrayList<>(), new LinkedHashMap<>(), null);
+                result.setError(errorMessage(item));
+            }
+            result.setModelVersion(modelVersion);
+            predictions.add(result);
+        }
+        return predictions;
+    }
+
+    @Override
+    public List<Map<String, Object>> listModels() {
+        JsonNode models = execute("models", null, url -> HttpRequest.newBuilder(URI.create(url + "/models"))
+                .timeout(modelsTimeout)
+                .GET()
+                .build()).path("models");
+        return objectMapper.convertValue(models, new TypeReference<List<Map<String, Object>>>() {});
+    }
+
+    @Override
+    public String getModelVersion(PredictionEndpoint endpoint) {
+        return registry.getModelVersion(endpoint);
+    }
+
+    // 并行探测所有实例的 /health，健康的实例再读取 /info 中的模型版本；任一实例健康即返回 true
+    @Override
+    public boolean checkHealth() {
+        List<CompletableFuture<Boolean>> probes = registry.getInstances().stream().map(this::probe).toList();
+        boolean healthy = false;
+        for (CompletableFuture<Boolean> probe : probes) {
+            healthy |= probe.join();
+        }
+        return healthy;
+    }
+
+    // 任一实例的熔断器关闭即为 CLOSED，否则任一半开即为 HALF_OPEN，全部打开时为 OPEN
+    @Override
+    public PredictionCircuitBreaker.State getCircuitState() {
+        return registry.getInstances().stream()
+                .map(instance -> instance.getCircuitBreaker().getState())
+                .min(Comparator.naturalOrder())
+                .orElse(PredictionCircuitBreaker.State.OPEN);
+    }
+
+    private CompletableFuture<Boolean> probe(PredictionInstance instance) {
+        HttpRequest health = HttpRequest.newBuilder(URI.create(instance.getBaseUrl() + "/health"))
+                .timeout(healthTimeout)
+                .GET()
+                .build();
+        HttpRequest info = HttpRequest.newBuilder(URI.create(instance.getBaseUrl() + "/info"))
+                .timeout(modelsTimeout)
+                .GET()
+                .build();
+        return httpClient.sendAsync(health, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    JsonNode body = response.statusCode() == 200 ? readQuietly(response.body()) : null;
+                    return body != null && "healthy".equals(body.path("status").asText())
+                            && body.path("model_loaded").asBoolean(true);
+                })
+                .exceptionally(e -> false)
+                .thenCompose(healthy -> !healthy ? CompletableFuture.completedFuture(false)
+                        : httpClient.sendAsync(info, HttpResponse.BodyHandlers.ofByteArray())
+                                .thenAccept(response -> {
+                                    if (response.statusCode() == 200) {
+                                        instance.setModelVersion(readQuietly(response.body()).path("model_version").asText(null));
+                                    }
+                                })
+                                .exceptionally(e -> {
+                                    logger.debug("Failed to read model info from {}: {}", instance, e.getMessage());
+                                    return null;
+                                })
+                                .thenApply(ignored -> true))
+                .thenApply(healthy -> {
+                    instance.getCircuitBreaker().onHealthCheck(healthy);
+                    return healthy;
+                });
+    }
+
+    // 经 registry 选择实例发送请求并按结果记录耗时。可重试的失败优先换到其他实例重试，只在别无选择时退避后重试同一实例；
+    // 只有服务不可用类的失败计入熔断，每次调用对每个失败过的实例计一次
+    private JsonNode execute(String endpoint, PredictionEndpoint model, Function<String, HttpRequest> requestFor) {
+        PredictionInstance instance = registry.acquire(model, Set.of());
+        if (instance == null) {
+            meterRegistry.counter("prediction.client.rejected", "endpoint", endpoint).increment();
+            throw new PredictionServiceException(unavailableMessage(model));
+        }
+        long start = System.nanoTime();
+        String outcome = "error";
+        Set<PredictionInstance> acquired = new LinkedHashSet<>(Set.of(instance));
+        Set<PredictionInstance> failed = new LinkedHashSet<>();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                String failure;
+                Throwable cause = null;
+                long sent = System.nanoTime();
+                long latency = -1;
+                try {
+                    HttpResponse<byte[]> response = httpClient.send(requestFor.apply(instance.getBaseUrl()),
+                            HttpResponse.BodyHandlers.ofByteArray());
+                    latency = System.nanoTime() - sent;
+                    int status = response.statusCode();
+                    if (status / 100 == 2) {
+                        JsonNode body = objectMapper.readTree(response.body());
+                        if (body.path("success").asBoolean(true)) {
+                            instance.setModelVersion(body.path("model_version").asText(null));
+                            instance.getCircuitBreaker().onSuccess();
+                            failed.remove(instance);
+                            outcome = "success";
+                            return body;
+                        }
+                        failed.add(instance);
+                        throw new PredictionServiceException("Prediction service reported failure: " + errorMessage(body));
+                    }
+                    if (status / 100 == 4 && !RETRYABLE_STATUS.contains(status)) {
+                        outcome = "rejected";
+                        throw new BadRequestException("Prediction service rejected the request: "
+                                + errorMessage(readQuietly(response.body())));
+                    }
+                    if (!RETRYABLE_STATUS.contains(status)) {
+                        failed.add(instance);
+                        throw new PredictionServiceException("Prediction service returned " + status + ": "
+                                + errorMessage(readQuietly(response.body())));
+                    }
+                    failure = "HTTP " + status;
+                } catch (HttpTimeoutException e) {
+                    // 超时计入实例的响应时间，慢实例由此被剔除
+                    latency = System.nanoTime() - sent;
+                    failure = e.toString();
+                    cause = e;
+                } catch (IOException e) {
+                    // 连接失败等
+                    failure = e.toString();
+                    cause = e;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failed.add(instance);
+                    throw new PredictionServiceException("Interrupted while calling prediction service", e);
+                } finally {
+                    if (registry.release(instance, latency)) {
+                        meterRegistry.counter("prediction.instance.ejections", "instance", instance.getBaseUrl()).increment();
+                    }
+                }
+
+                failed.add(instance);
+                if (attempt >= maxAttempts) {
+                    throw new PredictionServiceException("Prediction service call to " + endpoint + " failed after "
+                            + attempt + " attempts: " + failure, cause);
+                }
+                PredictionInstance next = registry.acquire(model, failed);
+                if (next == null) {
+                    throw new PredictionServiceException("Prediction service call to " + endpoint + " failed after "
+                            + attempt + " attempts, no instance left to retry: " + failure, cause);
+                }
+                acquired.add(next);
+                meterRegistry.counter("prediction.client.retries", "endpoint", endpoint).increment();
+                logger.debug("Retrying prediction call to {} on {} after attempt {} on {} failed: {}",
+                        endpoint, next, attempt, instance, failure);
+                instance = next;
+                if (failed.contains(instance)) {
+                    try {
+                        sleep(backoff(attempt));
+                    } catch (PredictionServiceException e) {
+                        registry.release(instance, -1);
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            failed.forEach(failedInstance -> failedInstance.getCircuitBreaker().onFailure());
+            // 结果已经确定的探测许可随状态变化清空，这里只释放既未成功也未失败的探测（如 4xx）
+            acquired.forEach(acquiredInstance -> acquiredInstance.getCircuitBreaker().releaseProbe());
+            Timer.builder("prediction.client.requests")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private String unavailableMessage(PredictionEndpoint model) {
+        String required = registry.modelOf(model);
+        boolean loaded = required == null || registry.getInstances().stream()
+                .anyMatch(instance -> instance.getModelName() == null || required.equals(instance.getModelName()));
+        return loaded ? "Prediction service is unavailable (circuit open)"
+                : "No prediction service instance has model " + required + " loaded";
+    }
+
+    // 全抖动：在 [0, min(maxDelay, baseDelay * 2^(attempt-1))] 内均匀取值，避免多个客户端同时重试
+    private long backoff(int attempt) {
+        long ceiling = Math.min(retryMaxDelay.toMillis(), retryBaseDelay.toMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PredictionServiceException("Interrupted while waiting to retry prediction call", e);
+        }
+    }
+
+    private boolean isBase64Transport() {
+        return "base64".equalsIgnoreCase(transportMode);
+    }
+
+    // 每张图片一个 images 文件字段；文件内容由各自的 BodyPublisher 分块读取
+    private static HttpRequest.BodyPublisher multipartBody(String boundary, List<PreparedImage> images)
+            throws FileNotFoundException {
+        List<HttpRequest.BodyPublisher> parts = new ArrayList<>();
+        for (int i = 0; i < images.size(); i++) {
+            parts.add(HttpRequest.BodyPublishers.ofString("--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"images\"; filename=\"image-" + i + "\"\r\n"
+                    + "Content-Type: application/octet-stream\r\n\r\n"));
+            parts.add(images.get(i).image().bodyPublisher());
+            parts.add(HttpRequest.BodyPublishers.ofString("\r\n"));
+        }
+        parts.add(HttpRequest.BodyPublishers.ofString("--" + boundary + "--\r\n"));
+        return HttpRequest.BodyPublishers.concat(parts.toArray(new HttpRequest.BodyPublisher[0]));
+    }
+
+    // 图片长边超过 prediction.transport.max-dimension 时先在本地缩小再发送（模型推理前同样会缩放到输入尺寸），
+    // 只读取图片头部判断尺寸，不需要缩小的图片原样发送
+    private PreparedImage prepare(PredictionImage image) {
+        if (maxDimension <= 0) {
+            return new PreparedImage(image, 1.0, 1.0);
+        }
+        try (ImageInputStream input = image.openImageInputStream()) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                // 无法识别的格式原样发送，由预测服务判断
+                return new PreparedImage(image, 1.0, 1.0);
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                double scale = (double) maxDimension / Math.max(width, height);
+                if (scale >= 1.0) {
+                    return new PreparedImage(image, 1.0, 1.0);
+                }
+                int scaledWidth = Math.max(1, (int) Math.round(width * scale));
+                int scaledHeight = Math.max(1, (int) Math.round(height * scale));
+                BufferedImage scaled = new BufferedImage(scaledWidth, scaledHeight, BufferedImage.TYPE_INT_RGB);
+                Graphics2D graphics = scaled.createGraphics();
+                try {
+                    graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                    graphics.drawImage(reader.read(0), 0, 0, scaledWidth, scaledHeight, null);
+                } finally {
+                    graphics.dispose();
+                }
+                return new PreparedImage(PredictionImage.ofBytes(encodeJpeg(scaled)),
+                        (double) scaledWidth / width, (double) scaledHeight / height);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private Duration timeoutOf(PredictionEndpoint endpoint) {
+        return switch (endpoint) {
+            case CONCENTRATION -> concentrationTimeout;
+            case TITRATION -> titrationTimeout;
+            case CHARACTERIZATION -> characterizationTimeout;
+        };
+    }
+
+    private PredictionResult toResult(PredictionEndpoint endpoint, JsonNode result, String message) {
+        List<Detection> detections = new ArrayList<>();
+        Map<String, Object> values = new LinkedHashMap<>();
+        result.fields().forEachRemaining(field -> {
+            if (field.getKey().equals("detections")) {
+                field.getValue().forEach(node -> detections.add(objectMapper.convertValue(node, Detection.class)));
+            } else {
+                values.put(field.getKey(), objectMapper.convertValue(field.getValue(), Object.class));
+            }
+        });
+        return new PredictionResult(endpoint.getName(), detections, values, message);
+    }
+
+    private JsonNode readQuietly(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return objectMapper.createObjectNode();
+        }
+    }
+
+    private static String errorMessage(JsonNode body) {
+        JsonNode error = body.path("error");
+        if (error.isObject()) {
+            return error.path("message").asText();
+        }
+        return error.isMissingNode() ? body.path("message").asText() : error.asText();
+    }
+
+    // 实际发送的图片及其相对原图的缩放比例，检测框坐标需要换算回原图
+    private record PreparedImage(PredictionImage image, double scaleX, double scaleY) {
+
+        void restoreScale(PredictionResult result) {
+            if (scaleX == 1.0 && scaleY == 1.0) {
+                return;
+            }
+            for (Detection detection : result.getDetections()) {
+                detection.setX(detection.getX() / scaleX);
+                detection.setY(detection.getY() / scaleY);
+                detection.setWidth(detection.getWidth() / scaleX);
+                detection.setHeight(detection.getHeight() / scaleY);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.swole.platform.service.statistics;
+
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.ExperimentStatistics;
+import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.model.entity.TargetDetectionData;
+
+// 单个实验统计汇总的增量变化。需在写入数据之前记录被删除/覆盖的旧值，写入后再应用到汇总表
+public class ExperimentStatisticsDelta {
+    private final Long experimentId;
+
+    private long targetDetectionCount;
+    private long concentrationCount;
+    private long generalDataCount;
+    private double concentrationSum;
+    private double confidenceSum;
+    private long confidenceCount;
+
+    // 新增数据的极值
+    private Double addedMinConcentration;
+    private Double addedMaxConcentration;
+    private Double addedMinConfidence;
+    private Double addedMaxConfidence;
+
+    // 被移除数据的极值，用于判断汇总表中的极值是否失效
+    private Double removedMinConcentration;
+    private Double removedMaxConcentration;
+    private Double removedMinConfidence;
+    private Double removedMaxConfidence;
+
+    public ExperimentStatisticsDelta(Long experimentId) {
+        this.experimentId = experimentId;
+    }
+
+    public Long getExperimentId() {
+        return experimentId;
+    }
+
+    public ExperimentStatisticsDelta add(TargetDetectionData data) {
+        targetDetectionCount++;
+        addConfidence(data.getConfidence());
+        return this;
+    }
+
+    public ExperimentStatisticsDelta remove(TargetDetectionData data) {
+        targetDetectionCount--;
+        removeConfidence(data.getConfidence());
+        return this;
+    }
+
+    public ExperimentStatisticsDelta add(ConcentrationData data) {
+        concentrationCount++;
+        if (data.getConcentration() != null) {
+            concentrationSum += data.getConcentration();
+            addedMinConcentration = min(addedMinConcentration, data.getConcentration());
+            addedMaxConcentration = max(addedMaxConcentration, data.getConcentration());
+        }
+        addConfidence(data.getConfidence());
+        return this;
+    }
+
+    public ExperimentStatisticsDelta remove(ConcentrationData data) {
+        concentrationCount--;
+        if (data.getConcentration() != null) {
+            concentrationSum -= data.getConcentration();
+            removedMinConcentration = min(removedMinConcentration, data.getConcentration());
+            removedMaxConcentration = max(removedMaxConcentration, data.getConcentration());
+        }
+        removeConfidence(data.getConfidence());
+        return this;
+    }
+
+    public ExperimentStatisticsDelta add(GeneralData data) {
+        generalDataCount++;
+        return this;
+    }
+
+    public ExperimentStatisticsDelta remove(GeneralData data) {
+        generalDataCount--;
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return targetDetectionCount == 0 && concentrationCount == 0 && generalDataCount == 0
+                && confidenceCount == 0 && concentrationSum == 0.0 && confidenceSum == 0.0
+                && addedMinConcentration == null && addedMinConfidence == null
+                && removedMinConcentration == null && removedMinConfidence == null;
+    }
+
+    // 被移除的值落在当前极值上时，增量无法得到新的极值，需要从原始数据重新计算
+    public boolean invalidatesBoundsOf(ExperimentStatistics stats) {
+        return touches(removedMinConcentration, stats.getMinConcentration(), true)
+                || touches(removedMaxConcentration, stats.getMaxConcentration(), false)
+                || touches(removedMinConfidence, stats.getMinConfidence(), true)
+                || touches(removedMaxConfidence, stats.getMaxConfidence(), false);
+    }
+
+    public void applyTo(ExperimentStatistics stats) {
+        stats.setTargetDetectionCount(stats.getTargetDetectionCount() + targetDetectionCount);
+        stats.setConcentrationCount(stats.getConcentrationCount() + concentrationCount);
+        stats.setGeneralDataCount(stats.getGeneralDataCount() + generalDataCount);
+        stats.setConcentrationSum(stats.getConcentrationSum() + concentrationSum);
+        stats.setConfidenceSum(stats.getConfidenceSum() + confidenceSum);
+        stats.setConfidenceCount(stats.getConfidenceCount() + confidenceCount);
+        stats.setMinConcentration(min(stats.getMinConcentration(), addedMinConcentration));
+        stats.setMaxConcentration(max(stats.getMaxConcentration(), addedMaxConcentration));
+        stats.setMinConfidence(min(stats.getMinConfidence(), addedMinConfidence));
+        stats.setMaxConfidence(max(stats.getMaxConfidence(), addedMaxConfidence));
+    }
+
+    private void addConfidence(Double confidence) {
+        if (confidence != null) {
+            confidenceCount++;
+            confidenceSum += confidence;
+            addedMinConfidence = min(addedMinConfidence, confidence);
+            addedMaxConfidence = max(addedMaxConfidence, confidence);
+        }
+    }
+
+    private void removeConfidence(Double confidence) {
+        if (confidence != null) {
+            confidenceCount--;
+            confidenceSum -= confidence;
+            removedMinConfidence = min(removedMinConfidence, confidence);
+            removedMaxConfidence = max(removedMaxConfidence, confidence);
+        }
+    }
+
+    private static boolean touches(Double removed, Double bound, boolean lower) {
+        if (removed == null || bound == null) {
+            return false;
+        }
+        return lower ? removed <= bound : removed >= bound;
+    }
+
+    private static Double min(Double a, Double b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : Math.min(a, b);
+    }
+
+    private static Double max(Double a, Double b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null ? a : Math.max(a, b);
+    }
+}
@@ -0,0 +1,34 @@
+package com.swole.platform.service.statistics;
+
+import com.swole.platform.model.entity.ExperimentStatistics;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface ExperimentStatisticsMaintenanceService {
+    // 在当前事务中将增量应用到统计汇总表
+    void apply(ExperimentStatisticsDelta delta);
+
+    void apply(Collection<ExperimentStatisticsDelta> deltas);
+
+    // 新建实验时创建空的统计记录
+    void initialize(Long experimentId);
+
+    // 删除实验时移除统计记录
+    void remove(Long experimentId);
+
+    // 从原始数据重新计算单个实验的统计记录
+    ExperimentStatistics rebuild(Long experimentId);
+
+    // 从原始数据重建整张统计表，返回重建的实验数量
+    long rebuildAll();
+
+    // 为尚无统计记录的实验补建记录，返回补建的实验数量
+    long rebuildMissing();
+
+    // 一致性检查：返回统计记录与原始数据不一致（或缺失）的实验ID
+    List<Long> findInconsistentExperimentIds();
+
+    // 直接从原始数据聚合统计值（不写入汇总表）
+    Map<Long, ExperimentStatistics> computeFromRawData(Collection<Long> experimentIds);
+}
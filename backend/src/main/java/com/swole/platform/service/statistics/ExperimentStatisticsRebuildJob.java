@@ -0,0 +1,39 @@
+package com.swole.platform.service.statistics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 统计汇总表的后台维护任务：启动时补建缺失记录，定时从原始数据全量重建
+@Component
+public class ExperimentStatisticsRebuildJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExperimentStatisticsRebuildJob.class);
+
+    @Autowired
+    private ExperimentStatisticsMaintenanceService experimentStatisticsMaintenanceService;
+
+    @Value("${statistics.rebuild.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingStatistics() {
+        if (!backfillOnStartup) {
+            return;
+        }
+        long rebuilt = experimentStatisticsMaintenanceService.rebuildMissing();
+        logger.info("Backfilled experiment statistics for {} experiments", rebuilt);
+    }
+
+    @Scheduled(cron = "${statistics.rebuild.cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        long rebuilt = experimentStatisticsMaintenanceService.rebuildAll();
+        logger.info("Rebuilt experiment statistics for {} experiments in {} ms", rebuilt, System.currentTimeMillis() - start);
+    }
+}
@@ -1,6 +1,9 @@
 package com.swole.platform.service.statistics;
 
 import com.swole.platform.dto.ExperimentStatisticsDto;
+import com.swole.platform.dto.ExperimentTrendBucketDto;
+import com.swole.platform.dto.TimeBucketGranularity;
+import com.swole.platform.dto.UserActivityStatisticsDto;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,6 +20,10 @@ public interface ExperimentStatisticsService {
     // 获取时间段内的实验统计
     List<ExperimentStatisticsDto> getTimeRangeStatistics(LocalDateTime startTime, LocalDateTime endTime);
     
+    // 获取时间段内按小时/天/周分桶的趋势统计
+    List<ExperimentTrendBucketDto> getTrendStatistics(LocalDateTime startTime, LocalDateTime endTime,
+                                                      TimeBucketGranularity granularity);
+    
     // 获取总体统计摘要
     ExperimentStatisticsDto getOverallStatistics();
     
@@ -25,4 +32,7 @@ public interface ExperimentStatisticsService {
     
     // 获取用户统计数据
     List<ExperimentStatisticsDto> getUserStatistics(Long userId);
+    
+    // 获取所有用户的实验数量和数据点合计
+    List<UserActivityStatisticsDto> getUserActivityStatistics();
 }
\ No newline at end of file
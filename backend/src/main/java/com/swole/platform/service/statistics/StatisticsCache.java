@@ -0,0 +1,102 @@
+package com.swole.platform.service.statistics;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.swole.platform.model.entity.Experiment;
+import com.swole.platform.repository.ExperimentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+// 统计结果的进程内缓存（容量 + TTL 淘汰），在实验数据写入提交后按实验精确失效
+@Component
+public class StatisticsCache {
+
+    @Autowired
+    private ExperimentRepository experimentRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${statistics.cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${statistics.cache.ttl:10m}")
+    private Duration ttl;
+
+    private Cache<StatisticsCacheKey, Object> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "statistics");
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(StatisticsCacheKey key, Supplier<T> loader) {
+        return (T) cache.get(key, k -> loader.get());
+    }
+
+    // 实验数据变更：在事务提交后失效该实验及其所属用户、实验类型、时间范围和总体统计
+    public void evictExperimentAfterCommit(Long experimentId) {
+        afterCommit(() -> experimentRepository.findById(experimentId)
+                .ifPresentOrElse(this::evictExperiment, () -> evictExperimentOnly(experimentId)));
+    }
+
+    // 实验本身变更（新建、修改、删除）时使用；调用时即记录所属范围，避免提交后实验已被修改或删除
+    public void evictExperimentAfterCommit(Experiment experiment) {
+        Long experimentId = experiment.getId();
+        Long userId = experiment.getUserId();
+        Long experimentTypeId = experiment.getExperimentTypeId();
+        LocalDateTime experimentTime = experiment.getExperimentTime();
+        afterCommit(() -> evictExperiment(experimentId, userId, experimentTypeId, experimentTime));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    private void evictExperiment(Experiment experiment) {
+        evictExperiment(experiment.getId(), experiment.getUserId(),
+                experiment.getExperimentTypeId(), experiment.getExperimentTime());
+    }
+
+    private void evictExperiment(Long experimentId, Long userId, Long experimentTypeId, LocalDateTime experimentTime) {
+        cache.invalidate(StatisticsCacheKey.experiment(experimentId));
+        cache.invalidate(StatisticsCacheKey.user(userId));
+        cache.invalidate(StatisticsCacheKey.type(experimentTypeId));
+        cache.invalidate(StatisticsCacheKey.overall());
+        cache.asMap().keySet().removeIf(key -> key.covers(experimentTime));
+    }
+
+    private void evictExperimentOnly(Long experimentId) {
+        cache.invalidate(StatisticsCacheKey.experiment(experimentId));
+        cache.invalidate(StatisticsCacheKey.overall());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
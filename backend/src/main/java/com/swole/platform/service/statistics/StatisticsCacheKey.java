@@ -0,0 +1,46 @@
+package com.swole.platform.service.statistics;
+
+import java.time.LocalDateTime;
+
+// 统计缓存键：按统计范围区分，时间范围类统计记录起止时间以便按实验时间精确失效
+public record StatisticsCacheKey(Scope scope, Long id, LocalDateTime startTime, LocalDateTime endTime, Object variant) {
+
+    public enum Scope {
+        EXPERIMENT,
+        USER,
+        TYPE,
+        TIME_RANGE,
+        TREND,
+        OVERALL
+    }
+
+    public static StatisticsCacheKey experiment(Long experimentId) {
+        return new StatisticsCacheKey(Scope.EXPERIMENT, experimentId, null, null, null);
+    }
+
+    public static StatisticsCacheKey user(Long userId) {
+        return new StatisticsCacheKey(Scope.USER, userId, null, null, null);
+    }
+
+    public static StatisticsCacheKey type(Long experimentTypeId) {
+        return new StatisticsCacheKey(Scope.TYPE, experimentTypeId, null, null, null);
+    }
+
+    public static StatisticsCacheKey timeRange(LocalDateTime startTime, LocalDateTime endTime) {
+        return new StatisticsCacheKey(Scope.TIME_RANGE, null, startTime, endTime, null);
+    }
+
+    public static StatisticsCacheKey trend(LocalDateTime startTime, LocalDateTime endTime, Object granularity) {
+        return new StatisticsCacheKey(Scope.TREND, null, startTime, endTime, granularity);
+    }
+
+    public static StatisticsCacheKey overall() {
+        return new StatisticsCacheKey(Scope.OVERALL, null, null, null, null);
+    }
+
+    // 时间范围类统计是否覆盖给定的实验时间（与查询条件一致，两端均为开区间）
+    public boolean covers(LocalDateTime experimentTime) {
+        return startTime != null && endTime != null && experimentTime != null
+                && experimentTime.isAfter(startTime) && experimentTime.isBefore(endTime);
+    }
+}
@@ -0,0 +1,83 @@
+package com.swole.platform.service.statistics.impl;
+
+import com.swole.platform.dto.ExperimentStatisticsDto;
+import com.swole.platform.dto.ExperimentTrendBucketDto;
+import com.swole.platform.dto.TimeBucketGranularity;
+import com.swole.platform.dto.UserActivityStatisticsDto;
+import com.swole.platform.service.statistics.ExperimentStatisticsService;
+import com.swole.platform.service.statistics.StatisticsCache;
+import com.swole.platform.service.statistics.StatisticsCacheKey;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 在统计服务前增加缓存，相同的仪表盘请求在数据未变更前不再访问数据库
+@Service
+@Primary
+public class CachingExperimentStatisticsService implements ExperimentStatisticsService {
+
+    @Autowired
+    @Qualifier("experimentStatisticsServiceImpl")
+    private ExperimentStatisticsService delegate;
+
+    @Autowired
+    private StatisticsCache statisticsCache;
+
+    @Override
+    public List<ExperimentStatisticsDto> getExperimentStatistics(Long experimentId) {
+        return statisticsCache.get(StatisticsCacheKey.experiment(experimentId),
+                () -> delegate.getExperimentStatistics(experimentId));
+    }
+
+    @Override
+    public List<ExperimentStatisticsDto> getUserExperimentStatistics(Long userId) {
+        return statisticsCache.get(StatisticsCacheKey.user(userId),
+                () -> delegate.getUserExperimentStatistics(userId));
+    }
+
+    @Override
+    public List<ExperimentStatisticsDto> getExperimentTypeStatistics(Long experimentTypeId) {
+        return statisticsCache.get(StatisticsCacheKey.type(experimentTypeId),
+                () -> delegate.getExperimentTypeStatistics(experimentTypeId));
+    }
+
+    @Override
+    public List<ExperimentStatisticsDto> getTimeRangeStatistics(LocalDateTime startTime, LocalDateTime endTime) {
+        return statisticsCache.get(StatisticsCacheKey.timeRange(startTime, endTime),
+                () -> delegate.getTimeRangeStatistics(startTime, endTime));
+    }
+
+    @Override
+    public List<ExperimentTrendBucketDto> getTrendStatistics(LocalDateTime startTime, LocalDateTime endTime,
+                                                             TimeBucketGranularity granularity) {
+        return statisticsCache.get(StatisticsCacheKey.trend(startTime, endTime, granularity),
+                () -> delegate.getTrendStatistics(startTime, endTime, granularity));
+    }
+
+    @Override
+    public ExperimentStatisticsDto getOverallStatistics() {
+        return statisticsCache.get(StatisticsCacheKey.overall(), delegate::getOverallStatistics);
+    }
+
+    @Override
+    public ExperimentStatisticsDto getDetailedAnalysis(Long experimentId) {
+        // 与单个实验统计共用同一缓存项
+        return getExperimentStatistics(experimentId).stream().findFirst().orElse(null);
+    }
+
+    @Override
+    public List<ExperimentStatisticsDto> getUserStatistics(Long userId) {
+        // 与用户实验统计结果相同，共用同一缓存项
+        return getUserExperimentStatistics(userId);
+    }
+
+    @Override
+    public List<UserActivityStatisticsDto> getUserActivityStatistics() {
+        // 单条分组查询，且结果随用户增删改变化，不做缓存
+        return delegate.getUserActivityStatistics();
+    }
+}
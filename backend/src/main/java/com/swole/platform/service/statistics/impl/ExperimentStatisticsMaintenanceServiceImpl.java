@@ -0,0 +1,341 @@
+package com.swole.platform.service.statistics.impl;
+
+import com.swole.platform.exception.ResourceNotFoundException;
+import com.swole.platform.model.entity.ExperimentStatistics;
+import com.swole.platform.repository.*;
+import com.swole.platform.repository.projection.ExperimentDataAggregate;
+import com.swole.platform.service.statistics.ExperimentStatisticsDelta;
+import com.swole.platform.service.statistics.ExperimentStatisticsMaintenanceService;
+import com.swole.platform.service.statistics.StatisticsCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ExperimentStatisticsMaintenanceServiceImpl implements ExperimentStatisticsMaintenanceService {
+
+    // 重建和一致性检查时每批处理的实验数量
+    private static final int BATCH_SIZE = 1000;
+
+    private static final double TOLERANCE = 1e-6;
+
+    private static final String INSERT_EMPTY =
+            "INSERT INTO experiment_statistics (experiment_id, target_detection_count, concentration_count, " +
+            "general_data_count, concentration_sum, confidence_sum, confidence_count, created_at, updated_at) " +
+            "VALUES (?, 0, 0, 0, 0, 0, 0, ?, ?)";
+
+    @Autowired
+    private ExperimentStatisticsRepository experimentStatisticsRepository;
+
+    @Autowired
+    private ExperimentRepository experimentRepository;
+
+    @Autowired
+    private TargetDetectionDataRepository targetDetectionDataRepository;
+
+    @Autowired
+    private ConcentrationDataRepository concentrationDataRepository;
+
+    @Autowired
+    private GeneralDataRepository generalDataRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatisticsCache statisticsCache;
+
+    @Override
+    @Transactional
+    public void apply(ExperimentStatisticsDelta delta) {
+        if (delta.isEmpty()) {
+            return;
+        }
+        statisticsCache.evictExperimentAfterCommit(delta.getExperimentId());
+
+        Optional<ExperimentStatistics> statsOpt = experimentStatisticsRepository.findForUpdate(delta.getExperimentId());
+        if (statsOpt.isEmpty()) {
+            if (!experimentRepository.existsById(delta.getExperimentId())) {
+                return;
+            }
+            if (createIfAbsent(delta.getExperimentId())) {
+                // 尚无统计记录（历史实验），原始数据中已包含本次写入，直接重建
+                rebuildLocked(delta.getExperimentId());
+                return;
+            }
+            // 其他事务同时创建了统计记录，等它提交后在其结果上应用增量
+            statsOpt = experimentStatisticsRepository.findForUpdate(delta.getExperimentId());
+            if (statsOpt.isEmpty()) {
+                return;
+            }
+        }
+
+        ExperimentStatistics stats = statsOpt.get();
+        if (delta.invalidatesBoundsOf(stats)) {
+            copyCounters(computeFromRawData(delta.getExperimentId()), stats);
+        } else {
+            delta.applyTo(stats);
+        }
+        experimentStatisticsRepository.save(stats);
+    }
+
+    @Override
+    @Transactional
+    public void apply(Collection<ExperimentStatisticsDelta> deltas) {
+        // 按实验ID顺序加锁，避免并发写入时死锁
+        deltas.stream()
+                .sorted(Comparator.comparing(ExperimentStatisticsDelta::getExperimentId))
+                .forEach(this::apply);
+    }
+
+    @Override
+    @Transactional
+    public void initialize(Long experimentId) {
+        if (!experimentStatisticsRepository.existsById(experimentId)) {
+            experimentStatisticsRepository.save(new ExperimentStatistics(experimentId));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void remove(Long experimentId) {
+        if (experimentStatisticsRepository.existsById(experimentId)) {
+            experimentStatisticsRepository.deleteById(experimentId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public ExperimentStatistics rebuild(Long experimentId) {
+        if (!experimentRepository.existsById(experimentId)) {
+            throw new ResourceNotFoundException("Experiment", "id", experimentId);
+        }
+        createIfAbsent(experimentId);
+        return rebuildLocked(experimentId);
+    }
+
+    private ExperimentStatistics rebuildLocked(Long experimentId) {
+        ExperimentStatistics stats = experimentStatisticsRepository.findForUpdate(experimentId)
+                .orElseThrow(() -> new ResourceNotFoundException("ExperimentStatistics", "experimentId", experimentId));
+        copyCounters(computeFromRawData(experimentId), stats);
+        statisticsCache.evictExperimentAfterCommit(experimentId);
+        return experimentStatisticsRepository.save(stats);
+    }
+
+    // 先插入一条空记录再加锁读取：没有记录时 findForUpdate 锁不住任何行，并发的两次首次写入都会尝试插入。
+    // 主键冲突的插入会等待先插入的事务结束，返回 false 表示记录已由其他事务创建；
+    // 直接用 JDBC 执行，冲突只回滚这一条语句，不会把当前事务标记为回滚
+    private boolean createIfAbsent(Long experimentId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            return jdbcTemplate.update(INSERT_EMPTY, experimentId, now, now) == 1;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public long rebuildAll() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long rebuilt = 0;
+        Long afterId = 0L;
+        List<Long> experimentIds;
+        while (!(experimentIds = experimentRepository.findIdsAfter(afterId, PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+            List<Long> batch = experimentIds;
+            transactionTemplate.executeWithoutResult(status -> rebuildBatch(batch));
+            rebuilt += batch.size();
+            afterId = batch.get(batch.size() - 1);
+        }
+        transactionTemplate.executeWithoutResult(status -> experimentStatisticsRepository.deleteOrphans());
+        statisticsCache.evictAll();
+        return rebuilt;
+    }
+
+    @Override
+    public long rebuildMissing() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long rebuilt = 0;
+        Long afterId = 0L;
+        List<Long> experimentIds;
+        while (!(experimentIds = experimentStatisticsRepository
+                .findExperimentIdsWithoutStatistics(afterId, PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+            List<Long> batch = experimentIds;
+            transactionTemplate.executeWithoutResult(status -> rebuildBatch(batch));
+            rebuilt += batch.size();
+            afterId = batch.get(batch.size() - 1);
+        }
+        if (rebuilt > 0) {
+            statisticsCache.evictAll();
+        }
+        return rebuilt;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findInconsistentExperimentIds() {
+        List<Long> inconsistent = new ArrayList<>();
+        Long afterId = 0L;
+        List<Long> experimentIds;
+        while (!(experimentIds = experimentRepository.findIdsAfter(afterId, PageRequest.of(0, BATCH_SIZE))).isEmpty()) {
+            Map<Long, ExperimentStatistics> stored = experimentStatisticsRepository.findAllById(experimentIds).stream()
+                    .collect(Collectors.toMap(ExperimentStatistics::getExperimentId, Function.identity()));
+            Map<Long, ExperimentStatistics> expected = computeFromRawData(experimentIds);
+            for (Long experimentId : experimentIds) {
+                if (!matches(stored.get(experimentId), expected.get(experimentId))) {
+                    inconsistent.add(experimentId);
+                }
+            }
+            afterId = experimentIds.get(experimentIds.size() - 1);
+        }
+        return inconsistent;
+    }
+
+    @Override
+    public Map<Long, ExperimentStatistics> computeFromRawData(Collection<Long> experimentIds) {
+        Map<Long, ExperimentStatistics> result = new HashMap<>();
+        if (experimentIds.isEmpty()) {
+            return result;
+        }
+        experimentIds.forEach(id -> result.put(id, new ExperimentStatistics(id)));
+
+        List<Long> ids = new ArrayList<>(experimentIds);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            targetDetectionDataRepository.aggregateByExperimentIds(batch)
+                    .forEach(aggregate -> addTargetDetection(result.get(aggregate.getExperimentId()), aggregate));
+            concentrationDataRepository.aggregateByExperimentIds(batch)
+                    .forEach(aggregate -> addConcentration(result.get(aggregate.getExperimentId()), aggregate));
+            generalDataRepository.aggregateByExperimentIds(batch)
+                    .forEach(aggregate -> addGeneralData(result.get(aggregate.getExperimentId()), aggregate));
+        }
+        return result;
+    }
+
+    private ExperimentStatistics computeFromRawData(Long experimentId) {
+        ExperimentStatistics stats = new ExperimentStatistics(experimentId);
+        targetDetectionDataRepository.aggregateByExperimentId(experimentId)
+                .ifPresent(aggregate -> addTargetDetection(stats, aggregate));
+        concentrationDataRepository.aggregateByExperimentId(experimentId)
+                .ifPresent(aggregate -> addConcentration(stats, aggregate));
+        generalDataRepository.aggregateByExperimentId(experimentId)
+                .ifPresent(aggregate -> addGeneralData(stats, aggregate));
+        return stats;
+    }
+
+    private void rebuildBatch(List<Long> experimentIds) {
+        Map<Long, ExperimentStatistics> locked = experimentStatisticsRepository.findAllForUpdate(experimentIds).stream()
+                .collect(Collectors.toMap(ExperimentStatistics::getExperimentId, Function.identity()));
+        // 缺少的记录同样先插入再加锁，与并发的首次写入不会主键冲突
+        List<Long> missing = experimentIds.stream().filter(id -> !locked.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            missing.forEach(this::createIfAbsent);
+            experimentStatisticsRepository.findAllForUpdate(missing)
+                    .forEach(stats -> locked.put(stats.getExperimentId(), stats));
+        }
+        Map<Long, ExperimentStatistics> computed = computeFromRawData(experimentIds);
+
+        List<ExperimentStatistics> toSave = new ArrayList<>(experimentIds.size());
+        for (Long experimentId : experimentIds) {
+            ExperimentStatistics stats = locked.get(experimentId);
+            copyCounters(computed.get(experimentId), stats);
+            toSave.add(stats);
+        }
+        experimentStatisticsRepository.saveAll(toSave);
+    }
+
+    private static void addTargetDetection(ExperimentStatistics stats, ExperimentDataAggregate aggregate) {
+        stats.setTargetDetectionCount(valueOf(aggregate.getDataCount()));
+        addConfidence(stats, aggregate);
+    }
+
+    private static void addConcentration(ExperimentStatistics stats, ExperimentDataAggregate aggregate) {
+        stats.setConcentrationCount(valueOf(aggregate.getDataCount()));
+        stats.setConcentrationSum(valueOf(aggregate.getConcentrationSum()));
+        stats.setMinConcentration(aggregate.getMinConcentration());
+        stats.setMaxConcentration(aggregate.getMaxConcentration());
+        addConfidence(stats, aggregate);
+    }
+
+    private static void addGeneralData(ExperimentStatistics stats, ExperimentDataAggregate aggregate) {
+        stats.setGeneralDataCount(valueOf(aggregate.getDataCount()));
+    }
+
+    // 目标检测数据和浓度数据的置信度合并统计
+    private static void addConfidence(ExperimentStatistics stats, ExperimentDataAggregate aggregate) {
+        stats.setConfidenceCount(stats.getConfidenceCount() + valueOf(aggregate.getDataCount()));
+        stats.setConfidenceSum(stats.getConfidenceSum() + valueOf(aggregate.getConfidenceSum()));
+        if (aggregate.getMinConfidence() != null) {
+            stats.setMinConfidence(stats.getMinConfidence() == null
+                    ? aggregate.getMinConfidence() : Math.min(stats.getMinConfidence(), aggregate.getMinConfidence()));
+        }
+        if (aggregate.getMaxConfidence() != null) {
+            stats.setMaxConfidence(stats.getMaxConfidence() == null
+                    ? aggregate.getMaxConfidence() : Math.max(stats.getMaxConfidence(), aggregate.getMaxConfidence()));
+        }
+    }
+
+    private static void copyCounters(ExperimentStatistics source, ExperimentStatistics target) {
+        target.setTargetDetectionCount(source.getTargetDetectionCount());
+        target.setConcentrationCount(source.getConcentrationCount());
+        target.setGeneralDataCount(source.getGeneralDataCount());
+        target.setConcentrationSum(source.getConcentrationSum());
+        target.setConfidenceSum(source.getConfidenceSum());
+        target.setConfidenceCount(source.getConfidenceCount());
+        target.setMinConcentration(source.getMinConcentration());
+        target.setMaxConcentration(source.getMaxConcentration());
+        target.setMinConfidence(source.getMinConfidence());
+        target.setMaxConfidence(source.getMaxConfidence());
+    }
+
+    private static boolean matches(ExperimentStatistics stored, ExperimentStatistics expected) {
+        if (stored == null || expected == null) {
+            return stored == expected;
+        }
+        return Objects.equals(stored.getTargetDetectionCount(), expected.getTargetDetectionCount())
+                && Objects.equals(stored.getConcentrationCount(), expected.getConcentrationCount())
+                && Objects.equals(stored.getGeneralDataCount(), expected.getGeneralDataCount())
+                && Objects.equals(stored.getConfidenceCount(), expected.getConfidenceCount())
+                && closeTo(stored.getConcentrationSum(), expected.getConcentrationSum())
+                && closeTo(stored.getConfidenceSum(), expected.getConfidenceSum())
+                && closeTo(stored.getMinConcentration(), expected.getMinConcentration())
+                && closeTo(stored.getMaxConcentration(), expected.getMaxConcentration())
+                && closeTo(stored.getMinConfidence(), expected.getMinConfidence())
+                && closeTo(stored.getMaxConfidence(), expected.getMaxConfidence());
+    }
+
+    private static boolean closeTo(Double a, Double b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Math.abs(a - b) <= TOLERANCE * Math.max(1.0, Math.max(Math.abs(a), Math.abs(b)));
+    }
+
+    private static long valueOf(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? 0.0 : value;
+    }
+}
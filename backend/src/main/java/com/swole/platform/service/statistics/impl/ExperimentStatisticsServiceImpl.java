@@ -1,32 +1,45 @@
 package com.swole.platform.service.statistics.impl;
 
 import com.swole.platform.dto.ExperimentStatisticsDto;
+import com.swole.platform.dto.ExperimentTrendBucketDto;
+import com.swole.platform.dto.TimeBucketGranularity;
+import com.swole.platform.dto.UserActivityStatisticsDto;
 import com.swole.platform.model.entity.*;
 import com.swole.platform.repository.*;
+import com.swole.platform.repository.projection.ExperimentStatisticsTotals;
+import com.swole.platform.repository.projection.ExperimentTimeBucketAggregate;
+import com.swole.platform.service.statistics.ExperimentStatisticsMaintenanceService;
 import com.swole.platform.service.statistics.ExperimentStatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
 public class ExperimentStatisticsServiceImpl implements ExperimentStatisticsService {
 
-    @Autowired
-    private ExperimentRepository experimentRepository;
+    // 按主键批量读取时单批最多包含的实验数量
+    private static final int AGGREGATE_BATCH_SIZE = 1000;
 
     @Autowired
-    private TargetDetectionDataRepository targetDetectionDataRepository;
+    private ExperimentRepository experimentRepository;
 
     @Autowired
-    private ConcentrationDataRepository concentrationDataRepository;
+    private ExperimentStatisticsRepository experimentStatisticsRepository;
 
     @Autowired
-    private GeneralDataRepository generalDataRepository;
+    private ExperimentStatisticsMaintenanceService experimentStatisticsMaintenanceService;
 
     @Autowired
     private UserRepository userRepository;
@@ -42,133 +55,171 @@ public class ExperimentStatisticsServiceImpl implements ExperimentStatisticsServ
         if (experimentOpt.isPresent()) {
             Experiment experiment = experimentOpt.get();
 
-            // 计算统计数据
-            int totalDataPoints = 0;
-            double avgConcentration = 0.0;
-            double confidenceLevel = 0.0;
-
-            // 计算目标检测数据点数
-            int targetDetectionCount = targetDetectionDataRepository.findByExperimentId(experimentId).size();
-            totalDataPoints += targetDetectionCount;
-
-            // 计算浓度数据点数和平均浓度
-            List<ConcentrationData> concentrationDataList = concentrationDataRepository.findByExperimentId(experimentId);
-            int concentrationCount = concentrationDataList.size();
-            totalDataPoints += concentrationCount;
-
-            if (!concentrationDataList.isEmpty()) {
-                avgConcentration = concentrationDataList.stream()
-                        .mapToDouble(ConcentrationData::getConcentration)
-                        .average()
-                        .orElse(0.0);
-            }
-
-            // 计算通用数据点数
-            int generalDataCount = generalDataRepository.findByExperimentId(experimentId).size();
-            totalDataPoints += generalDataCount;
-
-            // 计算平均置信度
-            List<Double> allConfidences = new ArrayList<>();
-            concentrationDataList.forEach(cd -> allConfidences.add(cd.getConfidence()));
-            targetDetectionDataRepository.findByExperimentId(experimentId)
-                    .forEach(td -> allConfidences.add(td.getConfidence()));
-            if (!allConfidences.isEmpty()) {
-                confidenceLevel = allConfidences.stream()
-                        .mapToDouble(Double::doubleValue)
-                        .average()
-                        .orElse(0.0);
-            }
+            // 读取统计汇总表；尚无汇总记录时退回到原始数据聚合
+            ExperimentStatistics experimentStatistics = experimentStatisticsRepository.findById(experimentId)
+                    .orElseGet(() -> experimentStatisticsMaintenanceService
+                            .computeFromRawData(Collections.singletonList(experimentId)).get(experimentId));
 
             // 获取用户和实验类型信息
-            String userName = "Unknown";
-            String experimentTypeName = "Unknown";
-            Optional<User> userOpt = userRepository.findById(experiment.getUserId());
-            Optional<ExperimentType> typeOpt = experimentTypeRepository.findById(experiment.getExperimentTypeId());
-
-            if (userOpt.isPresent()) {
-                userName = userOpt.get().getName();
-            }
-            if (typeOpt.isPresent()) {
-                experimentTypeName = typeOpt.get().getTypeName();
-            }
-
-            ExperimentStatisticsDto stat = new ExperimentStatisticsDto(
-                    experimentId,
-                    experimentTypeName,
-                    userName,
-                    experiment.getExperimentTime(),
-                    totalDataPoints,
-                    avgConcentration,
-                    confidenceLevel,
-                    String.format("实验包含%d个数据点，平均浓度%.2f，平均置信度%.2f", 
-                                 totalDataPoints, avgConcentration, confidenceLevel)
-            );
-            stats.add(stat);
+            String userName = userRepository.findById(experiment.getUserId())
+                    .map(User::getName)
+                    .orElse("Unknown");
+            String experimentTypeName = experimentTypeRepository.findById(experiment.getExperimentTypeId())
+                    .map(ExperimentType::getTypeName)
+                    .orElse("Unknown");
+
+            stats.add(toStatistics(experiment, experimentTypeName, userName, experimentStatistics));
         }
 
         return stats;
     }
 
-    @Override
-    public List<ExperimentStatisticsDto> getUserExperimentStatistics(Long userId) {
-        List<Experiment> experiments = experimentRepository.findByUserId(userId);
-        List<ExperimentStatisticsDto> stats = new ArrayList<>();
+    // 基于集合的批量统计：按主键批量读取统计汇总表，加上用户和实验类型各一次批量查询
+    private List<ExperimentStatisticsDto> buildStatistics(List<Experiment> experiments) {
+        if (experiments.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        for (Experiment experiment : experiments) {
-            stats.addAll(getExperimentStatistics(experiment.getId()));
+        List<Long> experimentIds = experiments.stream().map(Experiment::getId).collect(Collectors.toList());
+        Map<Long, ExperimentStatistics> statisticsById = new HashMap<>();
+        for (int from = 0; from < experimentIds.size(); from += AGGREGATE_BATCH_SIZE) {
+            List<Long> batch = experimentIds.subList(from, Math.min(from + AGGREGATE_BATCH_SIZE, experimentIds.size()));
+            experimentStatisticsRepository.findAllById(batch)
+                    .forEach(stats -> statisticsById.put(stats.getExperimentId(), stats));
         }
 
-        return stats;
-    }
+        List<Long> missing = experimentIds.stream()
+                .filter(id -> !statisticsById.containsKey(id))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            statisticsById.putAll(experimentStatisticsMaintenanceService.computeFromRawData(missing));
+        }
 
-    @Override
-    public List<ExperimentStatisticsDto> getExperimentTypeStatistics(Long experimentTypeId) {
-        List<Experiment> experiments = experimentRepository.findByExperimentTypeId(experimentTypeId);
-        List<ExperimentStatisticsDto> stats = new ArrayList<>();
+        Set<Long> userIds = experiments.stream().map(Experiment::getUserId).collect(Collectors.toSet());
+        Set<Long> typeIds = experiments.stream().map(Experiment::getExperimentTypeId).collect(Collectors.toSet());
+        Map<Long, String> userNames = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getName));
+        Map<Long, String> typeNames = experimentTypeRepository.findAllById(typeIds).stream()
+                .collect(Collectors.toMap(ExperimentType::getId, ExperimentType::getTypeName));
 
+        List<ExperimentStatisticsDto> stats = new ArrayList<>(experiments.size());
         for (Experiment experiment : experiments) {
-            stats.addAll(getExperimentStatistics(experiment.getId()));
+            stats.add(toStatistics(
+                    experiment,
+                    typeNames.getOrDefault(experiment.getExperimentTypeId(), "Unknown"),
+                    userNames.getOrDefault(experiment.getUserId(), "Unknown"),
+                    statisticsById.get(experiment.getId())));
         }
-
         return stats;
     }
 
+    private ExperimentStatisticsDto toStatistics(Experiment experiment, String experimentTypeName, String userName,
+                                                 ExperimentStatistics experimentStatistics) {
+        int totalDataPoints = (int) (experimentStatistics.getTargetDetectionCount()
+                + experimentStatistics.getConcentrationCount()
+                + experimentStatistics.getGeneralDataCount());
+
+        // 平均浓度
+        double avgConcentration = experimentStatistics.getConcentrationCount() > 0
+                ? experimentStatistics.getConcentrationSum() / experimentStatistics.getConcentrationCount()
+                : 0.0;
+
+        // 平均置信度（目标检测数据和浓度数据）
+        double confidenceLevel = experimentStatistics.getConfidenceCount() > 0
+                ? experimentStatistics.getConfidenceSum() / experimentStatistics.getConfidenceCount()
+                : 0.0;
+
+        return new ExperimentStatisticsDto(
+                experiment.getId(),
+                experimentTypeName,
+                userName,
+                experiment.getExperimentTime(),
+                totalDataPoints,
+                avgConcentration,
+                confidenceLevel,
+                String.format("实验包含%d个数据点，平均浓度%.2f，平均置信度%.2f", 
+                             totalDataPoints, avgConcentration, confidenceLevel)
+        );
+    }
+
+    @Override
+    public List<ExperimentStatisticsDto> getUserExperimentStatistics(Long userId) {
+        return buildStatistics(experimentRepository.findByUserId(userId));
+    }
+
+    @Override
+    public List<ExperimentStatisticsDto> getExperimentTypeStatistics(Long experimentTypeId) {
+        return buildStatistics(experimentRepository.findByExperimentTypeId(experimentTypeId));
+    }
+
     @Override
     public List<ExperimentStatisticsDto> getTimeRangeStatistics(LocalDateTime startTime, LocalDateTime endTime) {
-        List<Experiment> experiments = experimentRepository.findAll()
-                .stream()
-                .filter(exp -> exp.getExperimentTime().isAfter(startTime) && exp.getExperimentTime().isBefore(endTime))
-                .collect(Collectors.toList());
+        return buildStatistics(experimentRepository.findByExperimentTimeAfterAndExperimentTimeBefore(startTime, endTime));
+    }
 
-        List<ExperimentStatisticsDto> stats = new ArrayList<>();
-        for (Experiment experiment : experiments) {
-            stats.addAll(getExperimentStatistics(experiment.getId()));
+    @Override
+    public List<ExperimentTrendBucketDto> getTrendStatistics(LocalDateTime startTime, LocalDateTime endTime,
+                                                             TimeBucketGranularity granularity) {
+        List<ExperimentTimeBucketAggregate> aggregates = granularity == TimeBucketGranularity.HOUR
+                ? experimentRepository.aggregateByHour(startTime, endTime)
+                : experimentRepository.aggregateByDay(startTime, endTime);
+
+        // 按周统计时将按天聚合的结果合并到所在周的周一
+        Map<LocalDateTime, TrendAccumulator> buckets = new TreeMap<>();
+        for (ExperimentTimeBucketAggregate aggregate : aggregates) {
+            LocalDateTime bucketStart = LocalDateTime.of(aggregate.getBucketYear(), aggregate.getBucketMonth(),
+                    aggregate.getBucketDay(), aggregate.getBucketHour() == null ? 0 : aggregate.getBucketHour(), 0);
+            if (granularity == TimeBucketGranularity.WEEK) {
+                bucketStart = bucketStart.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            }
+            buckets.computeIfAbsent(bucketStart, key -> new TrendAccumulator()).add(aggregate);
         }
 
-        return stats;
+        List<ExperimentTrendBucketDto> trend = new ArrayList<>(buckets.size());
+        buckets.forEach((bucketStart, accumulator) -> trend.add(accumulator.toDto(bucketStart)));
+        return trend;
+    }
+
+    // 合并同一时间桶内的聚合值，平均值由总和与计数重新计算
+    private static class TrendAccumulator {
+        private long experimentCount;
+        private long dataPoints;
+        private double concentrationSum;
+        private long concentrationCount;
+        private double confidenceSum;
+        private long confidenceCount;
+
+        void add(ExperimentTimeBucketAggregate aggregate) {
+            experimentCount += valueOf(aggregate.getExperimentCount());
+            dataPoints += valueOf(aggregate.getDataPoints());
+            concentrationSum += valueOf(aggregate.getConcentrationSum());
+            concentrationCount += valueOf(aggregate.getConcentrationCount());
+            confidenceSum += valueOf(aggregate.getConfidenceSum());
+            confidenceCount += valueOf(aggregate.getConfidenceCount());
+        }
+
+        ExperimentTrendBucketDto toDto(LocalDateTime bucketStart) {
+            return new ExperimentTrendBucketDto(
+                    bucketStart,
+                    experimentCount,
+                    dataPoints,
+                    concentrationCount > 0 ? concentrationSum / concentrationCount : 0.0,
+                    confidenceCount > 0 ? confidenceSum / confidenceCount : 0.0);
+        }
     }
 
     @Override
     public ExperimentStatisticsDto getOverallStatistics() {
-        List<Experiment> allExperiments = experimentRepository.findAll();
-        int totalExperiments = allExperiments.size();
-        int totalDataPoints = 0;
-        double totalConcentration = 0.0;
-        int concentrationCount = 0;
-
-        for (Experiment exp : allExperiments) {
-            List<ConcentrationData> concData = concentrationDataRepository.findByExperimentId(exp.getId());
-            totalDataPoints += targetDetectionDataRepository.findByExperimentId(exp.getId()).size();
-            totalDataPoints += concData.size();
-            totalDataPoints += generalDataRepository.findByExperimentId(exp.getId()).size();
-
-            for (ConcentrationData cd : concData) {
-                totalConcentration += cd.getConcentration();
-                concentrationCount++;
-            }
-        }
+        // 只读取实验数量和统计汇总表的合计，耗时与原始数据行数无关
+        long totalExperiments = experimentRepository.count();
+        ExperimentStatisticsTotals totals = experimentStatisticsRepository.aggregateTotals();
+
+        long totalDataPoints = valueOf(totals.getDataPoints());
+        long concentrationCount = valueOf(totals.getConcentrationCount());
+        long confidenceCount = valueOf(totals.getConfidenceCount());
 
-        double avgConcentration = concentrationCount > 0 ? totalConcentration / concentrationCount : 0.0;
+        double avgConcentration = concentrationCount > 0 ? valueOf(totals.getConcentrationSum()) / concentrationCount : 0.0;
+        double confidenceLevel = confidenceCount > 0 ? valueOf(totals.getConfidenceSum()) / confidenceCount : 0.0;
         double avgDataPoints = totalExperiments > 0 ? (double) totalDataPoints / totalExperiments : 0.0;
 
         return new ExperimentStatisticsDto(
@@ -176,14 +227,22 @@ public class ExperimentStatisticsServiceImpl implements ExperimentStatisticsServ
                 "Overall",
                 "All Users",
                 null,
-                totalDataPoints,
+                (int) totalDataPoints,
                 avgConcentration,
-                0.0, // Placeholder for overall confidence
-                String.format("总共%d个实验，%d个数据点，平均%.2f个数据点/实验，平均浓度%.2f", 
-                             totalExperiments, totalDataPoints, avgDataPoints, avgConcentration)
+                confidenceLevel,
+                String.format("总共%d个实验，%d个数据点，平均%.2f个数据点/实验，平均浓度%.2f，平均置信度%.2f", 
+                             totalExperiments, totalDataPoints, avgDataPoints, avgConcentration, confidenceLevel)
         );
     }
 
+    private static long valueOf(Long value) {
+        return value == null ? 0L : value;
+    }
+
+    private static double valueOf(Double value) {
+        return value == null ? 0.0 : value;
+    }
+
     @Override
     public ExperimentStatisticsDto getDetailedAnalysis(Long experimentId) {
         return getExperimentStatistics(experimentId).stream().findFirst().orElse(null);
@@ -191,13 +250,17 @@ public class ExperimentStatisticsServiceImpl implements ExperimentStatisticsServ
     
     @Override
     public List<ExperimentStatisticsDto> getUserStatistics(Long userId) {
-        List<Experiment> userExperiments = experimentRepository.findByUserId(userId);
-        List<ExperimentStatisticsDto> stats = new ArrayList<>();
-
-        for (Experiment experiment : userExperiments) {
-            stats.addAll(getExperimentStatistics(experiment.getId()));
-        }
+        return buildStatistics(experimentRepository.findByUserId(userId));
+    }
 
-        return stats;
+    @Override
+    public List<UserActivityStatisticsDto> getUserActivityStatistics() {
+        return userRepository.aggregateActivity().stream()
+                .map(aggregate -> new UserActivityStatisticsDto(
+                        aggregate.getUserId(),
+                        aggregate.getUserName(),
+                        valueOf(aggregate.getExperimentCount()),
+                        valueOf(aggregate.getDataPoints())))
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
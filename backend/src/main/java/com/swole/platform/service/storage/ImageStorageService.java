@@ -0,0 +1,18 @@
+package com.swole.platform.service.storage;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+// 按内容寻址的图片存储：文件路径由内容的 SHA-256 决定，相同内容只保存一份
+public interface ImageStorageService {
+    // 保存上传的文件并返回其 SHA-256（十六进制小写）
+    String store(MultipartFile file) throws IOException;
+
+    // 将磁盘上已有的文件移入存储（文件需与存储目录在同一文件系统），返回其 SHA-256
+    String store(Path file) throws IOException;
+
+    Optional<Path> resolve(String sha256);
+}
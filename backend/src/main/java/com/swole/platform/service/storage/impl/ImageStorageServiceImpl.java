@@ -0,0 +1,100 @@
+package com.swole.platform.service.storage.impl;
+
+import com.swole.platform.service.storage.ImageStorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// 目录布局为 <root>/ab/cd/abcd...（SHA-256 前两级作为子目录），临时文件放在同一文件系统的 <root>/tmp 下以便原子移动
+@Service
+public class ImageStorageServiceImpl implements ImageStorageService {
+
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+    @Value("${storage.image-root:./data/images}")
+    private String imageRoot;
+
+    private Path root;
+
+    private Path tmp;
+
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(imageRoot).toAbsolutePath().normalize();
+        tmp = root.resolve("tmp");
+        Files.createDirectories(tmp);
+    }
+
+    @Override
+    public String store(MultipartFile file) throws IOException {
+        Path temp = Files.createTempFile(tmp, "upload-", ".part");
+        try {
+            // 由容器直接把已落盘的上传内容移动/复制到临时文件，不经过堆内存
+            file.transferTo(temp);
+            return store(temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public String store(Path file) throws IOException {
+        String sha256 = digest(file);
+        Path target = pathOf(sha256);
+        if (Files.exists(target)) {
+            Files.delete(file);
+            return sha256;
+        }
+        Files.createDirectories(target.getParent());
+        Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        return sha256;
+    }
+
+    @Override
+    public Optional<Path> resolve(String sha256) {
+        if (sha256 == null || !SHA256.matcher(sha256).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathOf(sha256);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private Path pathOf(String sha256) {
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+
+    private static String digest(Path path) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,33 @@
+package com.swole.platform.service.stream;
+
+import com.swole.platform.dto.ExperimentDataType;
+
+import java.util.List;
+
+// 某个实验新写入的一批数据行，在写入事务内发布，事务提交后推送给订阅该实验的客户端
+public class ExperimentDataPersistedEvent {
+
+    private final Long experimentId;
+
+    private final ExperimentDataType type;
+
+    private final List<?> rows;
+
+    public ExperimentDataPersistedEvent(Long experimentId, ExperimentDataType type, List<?> rows) {
+        this.experimentId = experimentId;
+        this.type = type;
+        this.rows = rows;
+    }
+
+    public Long getExperimentId() {
+        return experimentId;
+    }
+
+    public ExperimentDataType getType() {
+        return type;
+    }
+
+    public List<?> getRows() {
+        return rows;
+    }
+}
@@ -0,0 +1,18 @@
+package com.swole.platform.service.stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// 定期向实验数据推送的订阅者发送心跳
+@Component
+public class ExperimentDataStreamHeartbeatJob {
+
+    @Autowired
+    private ExperimentDataStreamService experimentDataStreamService;
+
+    @Scheduled(fixedDelayString = "${stream.heartbeat-interval-ms:15000}")
+    public void sendHeartbeats() {
+        experimentDataStreamService.sendHeartbeats();
+    }
+}
@@ -0,0 +1,15 @@
+package com.swole.platform.service.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// 实验数据的实时推送：新写入的目标检测、浓度数据和重新计算的汇总值以 SSE 推送给订阅该实验的客户端
+public interface ExperimentDataStreamService {
+
+    // 订阅一个实验，首先收到一条当前汇总值；实验不存在时抛出 ResourceNotFoundException
+    SseEmitter subscribe(Long experimentId);
+
+    int getSubscriberCount(Long experimentId);
+
+    // 向所有订阅者发送注释行，保持经过代理的连接并及时发现已断开的客户端
+    void sendHeartbeats();
+}
@@ -0,0 +1,304 @@
+package com.swole.platform.service.stream.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.dto.ExperimentLiveSummary;
+import com.swole.platform.exception.ResourceNotFoundException;
+import com.swole.platform.repository.ExperimentRepository;
+import com.swole.platform.repository.ExperimentStatisticsRepository;
+import com.swole.platform.service.stream.ExperimentDataPersistedEvent;
+import com.swole.platform.service.stream.ExperimentDataStreamService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 写入事务提交后，事件进入发布队列；单个发布线程取出事件，每个事件只序列化一次，再放入各订阅者的有界缓冲区，
+// 缓冲区由发送线程池排空。慢客户端只会填满自己的缓冲区：溢出时清空缓冲区并改为发送一条 resync 事件，
+// 客户端收到后通过 REST 接口重新加载一次，写入路径和其他订阅者都不受影响
+@Service
+public class ExperimentDataStreamServiceImpl implements ExperimentDataStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExperimentDataStreamServiceImpl.class);
+
+    private static final Set<DataWithMediaType> RESYNC = SseEmitter.event()
+            .name("resync")
+            .data("{\"reason\":\"buffer overflow\"}", MediaType.APPLICATION_JSON)
+            .build();
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ExperimentRepository experimentRepository;
+
+    @Autowired
+    private ExperimentStatisticsRepository experimentStatisticsRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${stream.timeout:30m}")
+    private Duration timeout;
+
+    @Value("${stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${stream.publish-queue-size:1024}")
+    private int publishQueueSize;
+
+    @Value("${stream.sender-threads:4}")
+    private int senderThreads;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private BlockingQueue<ExperimentDataPersistedEvent> events;
+
+    private ExecutorService sender;
+
+    private Thread publisher;
+
+    @PostConstruct
+    public void init() {
+        events = new ArrayBlockingQueue<>(publishQueueSize);
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "experiment-stream-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        publisher = new Thread(this::publishLoop, "experiment-stream-publisher");
+        publisher.setDaemon(true);
+        publisher.start();
+        Gauge.builder("stream.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("stream.publish.queue", events, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.interrupt();
+        sender.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    @Override
+    public SseEmitter subscribe(Long experimentId) {
+        if (!experimentRepository.existsById(experimentId)) {
+            throw new ResourceNotFoundException("Experiment", "id", experimentId);
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(experimentId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscribers.computeIfAbsent(experimentId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+        subscriber.offer(event("summary", summaryOf(experimentId)));
+        return emitter;
+    }
+
+    @Override
+    public int getSubscriberCount(Long experimentId) {
+        Set<Subscriber> set = subscribers.get(experimentId);
+        return set == null ? 0 : set.size();
+    }
+
+    @Override
+    public void sendHeartbeats() {
+        subscribers.values().forEach(set -> set.forEach(Subscriber::heartbeat));
+    }
+
+    // 写入事务提交后调用（不在事务中的写入立即调用）；只做一次非阻塞入队，不会拖慢写入
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPersisted(ExperimentDataPersistedEvent event) {
+        Set<Subscriber> targets = subscribers.get(event.getExperimentId());
+        if (targets == null || targets.isEmpty()) {
+            return;
+        }
+        if (!events.offer(event)) {
+            // 发布线程跟不上写入，丢弃事件并让该实验的订阅者重新加载
+            meterRegistry.counter("stream.dropped").increment();
+            targets.forEach(Subscriber::resync);
+        }
+    }
+
+    private void publishLoop() {
+        List<ExperimentDataPersistedEvent> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(events.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            events.drainTo(batch);
+            try {
+                publish(batch);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to publish experiment data events", e);
+            }
+            batch.clear();
+        }
+    }
+
+    // 数据行按写入顺序推送；同一批中同一实验的多次写入只重新读取并推送一次汇总值
+    private void publish(List<ExperimentDataPersistedEvent> batch) {
+        Set<Long> touched = new LinkedHashSet<>();
+        for (ExperimentDataPersistedEvent event : batch) {
+            Set<Subscriber> targets = subscribers.get(event.getExperimentId());
+            if (targets == null || targets.isEmpty()) {
+                continue;
+            }
+            Set<DataWithMediaType> rows = event(event.getType().getPath(), event.getRows());
+            targets.forEach(subscriber -> subscriber.offer(rows));
+            meterRegistry.counter("stream.events", "type", event.getType().getPath()).increment(targets.size());
+            touched.add(event.getExperimentId());
+        }
+        for (Long experimentId : touched) {
+            Set<Subscriber> targets = subscribers.get(experimentId);
+            if (targets != null && !targets.isEmpty()) {
+                Set<DataWithMediaType> summary = event("summary", summaryOf(experimentId));
+                targets.forEach(subscriber -> subscriber.offer(summary));
+                meterRegistry.counter("stream.events", "type", "summary").increment(targets.size());
+            }
+        }
+    }
+
+    private ExperimentLiveSummary summaryOf(Long experimentId) {
+        ExperimentLiveSummary summary = new ExperimentLiveSummary();
+        summary.setExperimentId(experimentId);
+        experimentStatisticsRepository.findById(experimentId).ifPresent(statistics -> {
+            summary.setTargetDetectionCount(statistics.getTargetDetectionCount());
+            summary.setConcentrationCount(statistics.getConcentrationCount());
+            summary.setGeneralDataCount(statistics.getGeneralDataCount());
+            summary.setAverageConcentration(statistics.getConcentrationCount() > 0
+                    ? statistics.getConcentrationSum() / statistics.getConcentrationCount() : null);
+            summary.setMinConcentration(statistics.getMinConcentration());
+            summary.setMaxConcentration(statistics.getMaxConcentration());
+            summary.setAverageConfidence(statistics.getConfidenceCount() > 0
+                    ? statistics.getConfidenceSum() / statistics.getConfidenceCount() : null);
+            summary.setMinConfidence(statistics.getMinConfidence());
+            summary.setMaxConfidence(statistics.getMaxConfidence());
+            summary.setUpdatedAt(statistics.getUpdatedAt());
+        });
+        return summary;
+    }
+
+    private Set<DataWithMediaType> event(String name, Object data) {
+        try {
+            return SseEmitter.event()
+                    .name(name)
+                    .data(objectMapper.writeValueAsString(data), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + name + " event", e);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.closed = true;
+        Set<Subscriber> set = subscribers.get(subscriber.experimentId);
+        if (set != null && set.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.experimentId, (id, remaining) -> remaining.isEmpty() ? null : remaining);
+        }
+    }
+
+    // 一个订阅者：有界缓冲区加上最多一个正在排空它的发送任务，保证事件按顺序发送
+    private class Subscriber {
+
+        private final Long experimentId;
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Set<DataWithMediaType>> buffer = new ArrayBlockingQueue<>(bufferSize);
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        Subscriber(Long experimentId, SseEmitter emitter) {
+            this.experimentId = experimentId;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            if (buffer.offer(event)) {
+                schedule();
+            } else {
+                resync();
+            }
+        }
+
+        // 缓冲区溢出：已缓冲的事件不再有意义，只发送 resync
+        void resync() {
+            buffer.clear();
+            buffer.offer(RESYNC);
+            meterRegistry.counter("stream.resyncs").increment();
+            schedule();
+        }
+
+        // 只在缓冲区为空时发送心跳，积压中的订阅者不需要
+        void heartbeat() {
+            if (buffer.isEmpty()) {
+                offer(HEARTBEAT);
+            }
+        }
+
+        private void schedule() {
+            if (closed || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                Set<DataWithMediaType> event;
+                while (!closed && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // 客户端已断开或连接已结束，容器随后回调 onError/onCompletion
+                logger.debug("Dropping experiment {} subscriber: {}", experimentId, e.toString());
+                unsubscribe(this);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !buffer.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.swole.platform.service.upload;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 半开区间 [start, end) 集合的合并与序列化；区间按 start 升序且互不重叠、互不相邻
+public final class ByteRanges {
+
+    private ByteRanges() {
+    }
+
+    public static List<long[]> parse(String value) {
+        List<long[]> ranges = new ArrayList<>();
+        if (value == null || value.isEmpty()) {
+            return ranges;
+        }
+        for (String part : value.split(",")) {
+            int dash = part.indexOf('-');
+            ranges.add(new long[]{Long.parseLong(part.substring(0, dash)), Long.parseLong(part.substring(dash + 1))});
+        }
+        return ranges;
+    }
+
+    public static String format(List<long[]> ranges) {
+        StringBuilder sb = new StringBuilder();
+        for (long[] range : ranges) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(range[0]).append('-').append(range[1]);
+        }
+        return sb.toString();
+    }
+
+    // 加入 [start, end) 并与重叠或相邻的区间合并
+    public static List<long[]> add(List<long[]> ranges, long start, long end) {
+        List<long[]> merged = new ArrayList<>(ranges.size() + 1);
+        int i = 0;
+        while (i < ranges.size() && ranges.get(i)[1] < start) {
+            merged.add(ranges.get(i++));
+        }
+        long mergedStart = start;
+        long mergedEnd = end;
+        while (i < ranges.size() && ranges.get(i)[0] <= end) {
+            mergedStart = Math.min(mergedStart, ranges.get(i)[0]);
+            mergedEnd = Math.max(mergedEnd, ranges.get(i)[1]);
+            i++;
+        }
+        merged.add(new long[]{mergedStart, mergedEnd});
+        while (i < ranges.size()) {
+            merged.add(ranges.get(i++));
+        }
+        return merged;
+    }
+
+    public static long length(List<long[]> ranges) {
+        long total = 0;
+        for (long[] range : ranges) {
+            total += range[1] - range[0];
+        }
+        return total;
+    }
+
+    // [0, totalSize) 中尚未覆盖的区间
+    public static List<long[]> missing(List<long[]> ranges, long totalSize) {
+        List<long[]> missing = new ArrayList<>();
+        long position = 0;
+        for (long[] range : ranges) {
+            if (range[0] > position) {
+                missing.add(new long[]{position, range[0]});
+            }
+            position = Math.max(position, range[1]);
+        }
+        if (position < totalSize) {
+            missing.add(new long[]{position, totalSize});
+        }
+        return missing;
+    }
+}
@@ -0,0 +1,26 @@
+package com.swole.platform.service.upload;
+
+import com.swole.platform.dto.UploadSessionRequest;
+import com.swole.platform.dto.UploadSessionStatus;
+import com.swole.platform.model.entity.ExperimentImage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ResumableUploadService {
+
+    UploadSessionStatus createSession(UploadSessionRequest request) throws IOException;
+
+    // 把长度为 length 的分块写到文件的 offset 处；分块可以乱序、重复上传
+    UploadSessionStatus writeChunk(String sessionId, long offset, long length, InputStream body) throws IOException;
+
+    UploadSessionStatus getSession(String sessionId);
+
+    // 所有字节到齐后把文件原子地移入内容寻址存储并关联到实验；重复调用返回同一结果
+    ExperimentImage complete(String sessionId) throws IOException;
+
+    void abort(String sessionId) throws IOException;
+
+    // 清理超过保留时间未更新的会话及其分块文件
+    int purgeExpired() throws IOException;
+}
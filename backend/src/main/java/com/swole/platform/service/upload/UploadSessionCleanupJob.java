@@ -0,0 +1,31 @@
+package com.swole.platform.service.upload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// 定时清理长时间未更新的上传会话，释放未完成分块文件占用的磁盘空间
+@Component
+public class UploadSessionCleanupJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadSessionCleanupJob.class);
+
+    @Autowired
+    private ResumableUploadService resumableUploadService;
+
+    @Scheduled(cron = "${upload.cleanup.cron:0 0 * * * *}")
+    public void purgeExpired() {
+        try {
+            int purged = resumableUploadService.purgeExpired();
+            if (purged > 0) {
+                logger.info("Purged {} expired upload sessions", purged);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to purge expired upload sessions", e);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.swole.platform.service.upload.impl;
+
+import com.swole.platform.dto.UploadSessionRequest;
+import com.swole.platform.dto.UploadSessionStatus;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.exception.ConflictException;
+import com.swole.platform.exception.ResourceNotFoundException;
+import com.swole.platform.exception.ServiceOverloadedException;
+import com.swole.platform.model.entity.ExperimentImage;
+import com.swole.platform.model.entity.UploadSession;
+import com.swole.platform.repository.ExperimentImageRepository;
+import com.swole.platform.repository.ExperimentRepository;
+import com.swole.platform.repository.UploadSessionRepository;
+import com.swole.platform.service.ExperimentImageService;
+import com.swole.platform.service.upload.ByteRanges;
+import com.swole.platform.service.upload.ResumableUploadService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 分块文件放在内容寻址存储目录下的 uploads 子目录，保证完成时可以原子移动到最终位置
+@Service
+public class ResumableUploadServiceImpl implements ResumableUploadService {
+
+    // 按会话 ID 分段的读写锁：分块写入持读锁（同一会话的分块可以并行写入），完成会话持写锁，
+    // 完成时没有进行中的分块写入，之后到达的分块在锁内看到会话已结束
+    private static final int LOCK_STRIPES = 64;
+
+    // 分块从请求体复制到文件时使用的缓冲区大小
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private ExperimentRepository experimentRepository;
+
+    @Autowired
+    private ExperimentImageRepository experimentImageRepository;
+
+    @Autowired
+    private ExperimentImageService experimentImageService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${storage.upload-dir:${storage.image-root:./data/images}/uploads}")
+    private String uploadDir;
+
+    @Value("${upload.max-size:10737418240}")
+    private long maxSize;
+
+    @Value("${upload.max-chunk-size:67108864}")
+    private long maxChunkSize;
+
+    @Value("${upload.session-ttl:24h}")
+    private Duration sessionTtl;
+
+    @Value("${upload.max-open-sessions:1000}")
+    private long maxOpenSessions;
+
+    @Value("${upload.max-reserved-bytes:107374182400}")
+    private long maxReservedBytes;
+
+    private Path directory;
+
+    private final ReadWriteLock[] locks = new ReadWriteLock[LOCK_STRIPES];
+
+    {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        directory = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Files.createDirectories(directory);
+    }
+
+    @Override
+    public UploadSessionStatus createSession(UploadSessionRequest request) throws IOException {
+        if (request.getExperimentId() == null || !experimentRepository.existsById(request.getExperimentId())) {
+            throw new BadRequestException("Experiment not found with ID: " + request.getExperimentId());
+        }
+        if (request.getTotalSize() == null || request.getTotalSize() <= 0 || request.getTotalSize() > maxSize) {
+            throw new BadRequestException("totalSize must be between 1 and " + maxSize);
+        }
+        // 未完成会话的数量和声明的总大小都有全局上限（并发创建时可能略微超出），过期会话被清理后释放
+        if (uploadSessionRepository.countByStatus(UploadSession.Status.OPEN) >= maxOpenSessions) {
+            throw new ServiceOverloadedException("Too many open upload sessions, retry later");
+        }
+        if (uploadSessionRepository.sumTotalSizeByStatus(UploadSession.Status.OPEN) + request.getTotalSize() > maxReservedBytes) {
+            throw new ServiceOverloadedException("Open upload sessions have reserved too much storage, retry later");
+        }
+
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setExperimentId(request.getExperimentId());
+        session.setGroupNumber(request.getGroupNumber() != null ? request.getGroupNumber() : 1);
+        session.setOriginalFilename(request.getFilename());
+        session.setContentType(request.getContentType());
+        session.setTotalSize(request.getTotalSize());
+        // 只创建空文件，磁盘占用随收到的分块增长；分块写入时不再创建文件，会话结束后迟到的分块不会留下孤儿文件
+        Files.createFile(partFile(session.getId()));
+        return toStatus(uploadSessionRepository.save(session));
+    }
+
+    @Override
+    public UploadSessionStatus writeChunk(String sessionId, long offset, long length, InputStream body) throws IOException {
+        ReadWriteLock lock = lockOf(sessionId);
+        lock.readLock().lock();
+        try {
+            return writeChunkLocked(sessionId, offset, length, body);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private UploadSessionStatus writeChunkLocked(String sessionId, long offset, long length, InputStream body) throws IOException {
+        UploadSession session = findSession(sessionId);
+        if (session.getStatus() != UploadSession.Status.OPEN) {
+            throw new ConflictException("Upload session " + sessionId + " is already " + session.getStatus());
+        }
+        if (length <= 0 || length > maxChunkSize) {
+            throw new BadRequestException("Chunk length must be between 1 and " + maxChunkSize);
+        }
+        if (offset < 0 || offset + length > session.getTotalSize()) {
+            throw new BadRequestException("Chunk [" + offset + ", " + (offset + length) + ") exceeds totalSize "
+                    + session.getTotalSize());
+        }
+
+        // 先在事务外把数据写到文件的对应位置并落盘，再登记区间，已登记的区间一定是持久化的。
+        // 按位置写入可以写到当前文件末尾之后，文件随乱序到达的分块扩展（中间未写的部分为空洞）
+        try (FileChannel channel = FileChannel.open(partFile(sessionId), StandardOpenOption.WRITE)) {
+            ReadableByteChannel source = Channels.newChannel(body);
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, COPY_BUFFER_SIZE));
+            long written = 0;
+            while (written < length) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), length - written));
+                if (source.read(buffer) < 0) {
+                    throw new BadRequestException("Chunk body ended after " + written + " of " + length + " bytes");
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, offset + written);
+                }
+            }
+            channel.force(false);
+        } catch (NoSuchFileException e) {
+            throw new ConflictException("Upload session " + sessionId + " is no longer open");
+        }
+
+        return transactionTemplate().execute(status -> {
+            UploadSession locked = uploadSessionRepository.findForUpdate(sessionId)
+                    .orElseThrow(() -> new ResourceNotFoundException("UploadSession", "id", sessionId));
+            if (locked.getStatus() != UploadSession.Status.OPEN) {
+                throw new ConflictException("Upload session " + sessionId + " is already " + locked.getStatus());
+            }
+            List<long[]> ranges = ByteRanges.add(ByteRanges.parse(locked.getReceivedRanges()), offset, offset + length);
+            locked.setReceivedRanges(ByteRanges.format(ranges));
+            locked.setReceivedBytes(ByteRanges.length(ranges));
+            return toStatus(uploadSessionRepository.save(locked));
+        });
+    }
+
+    @Override
+    public UploadSessionStatus getSession(String sessionId) {
+        return toStatus(findSession(sessionId));
+    }
+
+    @Override
+    public ExperimentImage complete(String sessionId) throws IOException {
+        ReadWriteLock lock = lockOf(sessionId);
+        lock.writeLock().lock();
+        try {
+            return completeLocked(sessionId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 图片移入存储发生在事务内；先为分块文件建立一个硬链接作为备份，事务失败（包括提交失败）时用它恢复分块文件，
+    // 会话保持 OPEN，客户端可以重试完成。进程在移动之后、提交之前退出时，下次完成会话时同样从备份恢复
+    private ExperimentImage completeLocked(String sessionId) throws IOException {
+        Path part = partFile(sessionId);
+        Path backup = backupFile(sessionId);
+        if (Files.exists(backup) && !Files.exists(part)) {
+            Files.move(backup, part, StandardCopyOption.ATOMIC_MOVE);
+        }
+        Files.deleteIfExists(backup);
+        if (Files.exists(part)) {
+            try {
+                Files.createLink(backup, part);
+            } catch (UnsupportedOperationException | FileSystemException e) {
+                // 文件系统不支持硬链接时退化为复制
+                Files.copy(part, backup);
+            }
+        }
+        try {
+            ExperimentImage image = completeInTransaction(sessionId);
+            // 会话已完成：提交后才退出的进程恢复出的分块文件同样不再需要
+            Files.deleteIfExists(part);
+            Files.deleteIfExists(backup);
+            return image;
+        } catch (RuntimeException | IOException e) {
+            if (Files.exists(backup) && !Files.exists(part)) {
+                Files.move(backup, part, StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.deleteIfExists(backup);
+            throw e;
+        }
+    }
+
+    private ExperimentImage completeInTransaction(String sessionId) throws IOException {
+        try {
+            return transactionTemplate().execute(status -> {
+                UploadSession session = uploadSessionRepository.findForUpdate(sessionId)
+                        .orElseThrow(() -> new ResourceNotFoundException("UploadSession", "id", sessionId));
+                if (session.getStatus() == UploadSession.Status.COMPLETED) {
+                    return experimentImageRepository.findById(session.getExperimentImageId())
+                            .orElseThrow(() -> new ResourceNotFoundException("ExperimentImage", "id", session.getExperimentImageId()));
+                }
+
+                List<long[]> missing = ByteRanges.missing(ByteRanges.parse(session.getReceivedRanges()), session.getTotalSize());
+                if (!missing.isEmpty()) {
+                    throw new ConflictException("Upload session " + sessionId + " is missing " + missing.size()
+                            + " range(s), first missing [" + missing.get(0)[0] + ", " + missing.get(0)[1] + ")");
+                }
+
+                try {
+                    ExperimentImage image = experimentImageService.saveImage(session.getExperimentId(),
+                            session.getGroupNumber(), partFile(sessionId), session.getOriginalFilename(),
+                            session.getContentType());
+                    session.setStatus(UploadSession.Status.COMPLETED);
+                    session.setSha256(image.getSha256());
+                    session.setExperimentImageId(image.getId());
+                    uploadSessionRepository.save(session);
+                    return image;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // 放弃和清理会话同样持写锁，不会删除正在写入分块或正在完成的会话的文件
+    @Override
+    public void abort(String sessionId) throws IOException {
+        ReadWriteLock lock = lockOf(sessionId);
+        lock.writeLock().lock();
+        try {
+            delete(findSession(sessionId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int purgeExpired() throws IOException {
+        LocalDateTime cutoff = LocalDateTime.now().minus(sessionTtl);
+        int purged = 0;
+        for (UploadSession candidate : uploadSessionRepository.findByUpdatedAtBefore(cutoff)) {
+            ReadWriteLock lock = lockOf(candidate.getId());
+            lock.writeLock().lock();
+            try {
+                // 查询之后会话可能已被放弃，或在等锁期间收到了新的分块
+                UploadSession session = uploadSessionRepository.findById(candidate.getId()).orElse(null);
+                if (session != null && session.getUpdatedAt().isBefore(cutoff)) {
+                    delete(session);
+                    purged++;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        return purged;
+    }
+
+    private void delete(UploadSession session) throws IOException {
+        uploadSessionRepository.delete(session);
+        Files.deleteIfExists(partFile(session.getId()));
+        Files.deleteIfExists(backupFile(session.getId()));
+    }
+
+    private UploadSession findSession(String sessionId) {
+        return uploadSessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("UploadSession", "id", sessionId));
+    }
+
+    private Path partFile(String sessionId) {
+        // 会话 ID 来自请求路径，只接受 UUID，避免拼出目录之外的路径
+        try {
+            return directory.resolve(UUID.fromString(sessionId) + ".part");
+        } catch (IllegalArgumentException e) {
+            throw new ResourceNotFoundException("UploadSession", "id", sessionId);
+        }
+    }
+
+    private Path backupFile(String sessionId) {
+        return directory.resolve(UUID.fromString(sessionId) + ".part.bak");
+    }
+
+    private ReadWriteLock lockOf(String sessionId) {
+        return locks[Math.floorMod(sessionId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private static UploadSessionStatus toStatus(UploadSession session) {
+        List<long[]> received = ByteRanges.parse(session.getReceivedRanges());
+        return new UploadSessionStatus(session.getId(), session.getExperimentId(), session.getGroupNumber(),
+                session.getStatus().name(), session.getTotalSize(), session.getReceivedBytes(), received,
+                ByteRanges.missing(received, session.getTotalSize()), session.getSha256(),
+                session.getExperimentImageId());
+    }
+}
@@ -91,3 +91,72 @@ CREATE TABLE general_data (
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
+
+-- 实验统计汇总表（由数据写入路径增量维护，可从原始数据重建）
+CREATE TABLE experiment_statistics (
+    experiment_id BIGINT PRIMARY KEY,
+    target_detection_count BIGINT NOT NULL DEFAULT 0,
+    concentration_count BIGINT NOT NULL DEFAULT 0,
+    general_data_count BIGINT NOT NULL DEFAULT 0,
+    concentration_sum DOUBLE NOT NULL DEFAULT 0,
+    confidence_sum DOUBLE NOT NULL DEFAULT 0,
+    confidence_count BIGINT NOT NULL DEFAULT 0,
+    min_concentration DOUBLE,
+    max_concentration DOUBLE,
+    min_confidence DOUBLE,
+    max_confidence DOUBLE,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+-- 实验原始图片（内容按 SHA-256 存储在磁盘，相同内容只保存一份）
+CREATE TABLE experiment_images (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    experiment_id BIGINT NOT NULL,
+    group_number INT NOT NULL,
+    sha256 CHAR(64) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    original_filename VARCHAR(255),
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 断点续传上传会话（分块内容在磁盘上，received_ranges 记录已收到的 [start, end) 区间）
+CREATE TABLE upload_sessions (
+    id CHAR(36) PRIMARY KEY,
+    experiment_id BIGINT NOT NULL,
+    group_number INT NOT NULL,
+    original_filename VARCHAR(255),
+    content_type VARCHAR(100),
+    total_size BIGINT NOT NULL,
+    received_bytes BIGINT NOT NULL DEFAULT 0,
+    received_ranges TEXT,
+    status VARCHAR(20) NOT NULL,
+    sha256 CHAR(64),
+    experiment_image_id BIGINT,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 批量上传已处理的幂等键（id 为 SHA-256(接口 + ":" + Idempotency-Key)）及其响应
+CREATE TABLE idempotency_keys (
+    id CHAR(64) PRIMARY KEY,
+    scope VARCHAR(50) NOT NULL,
+    request_hash CHAR(64) NOT NULL,
+    status_code INT,
+    location VARCHAR(255),
+    response_body LONGTEXT,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_target_detection_data_experiment_id ON target_detection_data (experiment_id);
+CREATE INDEX idx_concentration_data_experiment_id ON concentration_data (experiment_id);
+CREATE INDEX idx_general_data_experiment_id ON general_data (experiment_id);
+CREATE INDEX idx_experiments_experiment_time ON experiments (experiment_time);
+CREATE INDEX idx_target_detection_data_group_number_id ON target_detection_data (group_number, id);
+CREATE INDEX idx_concentration_data_group_number_id ON concentration_data (group_number, id);
+CREATE INDEX idx_general_data_group_number_id ON general_data (group_number, id);
+CREATE INDEX idx_experiment_images_experiment_id ON experiment_images (experiment_id, group_number);
+CREATE INDEX idx_experiment_images_sha256 ON experiment_images (sha256);
+CREATE INDEX idx_upload_sessions_updated_at ON upload_sessions (updated_at);
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
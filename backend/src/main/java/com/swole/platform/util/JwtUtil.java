@@ -1,13 +1,26 @@
 package com.swole.platform.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,14 +30,68 @@ import javax.crypto.SecretKey;
 @Component
 public class JwtUtil {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${jwt.cache.maximum-size:10000}")
+    private long cacheMaximumSize;
+
+    @Value("${jwt.cache.ttl:5m}")
+    private Duration cacheTtl;
+
+    // 密钥和解析器只在启动时构建一次，解析器是线程安全的
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
+    // 已通过签名校验的令牌，以令牌的 SHA-256 为键（不在内存中保留令牌原文），在令牌过期时刻或 ttl 后失效，
+    // 同一令牌的后续请求不再做 HMAC 校验和 JSON 解析
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    public void init() {
+        signingKey = createSigningKey();
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long ttl = cacheTtl.toNanos();
+                        if (token.getExpiration() == null) {
+                            return ttl;
+                        }
+                        long untilExpiration = Duration.ofMillis(
+                                token.getExpiration().getTime() - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(ttl, untilExpiration));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt");
+    }
+
     // 创建安全的密钥
-    private SecretKey getSigningKey() {
+    private SecretKey createSigningKey() {
         // 如果配置的密钥足够长，直接使用；否则生成一个安全的密钥
         if (secret != null && secret.getBytes().length >= 64) {
             return Keys.hmacShaKeyFor(secret.getBytes());
@@ -34,12 +101,33 @@ public class JwtUtil {
         }
     }
 
+    // 校验令牌（签名、格式、过期时间）并返回其中的用户名和过期时间，每个令牌只解析一次；
+    // 令牌无效或已过期时抛出 JwtException（或 IllegalArgumentException）
+    public VerifiedToken verifyToken(String token) {
+        if (!cacheEnabled) {
+            return parseToken(token);
+        }
+        String key = hash(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified != null && !verified.isExpired()) {
+            return verified;
+        }
+        verified = parseToken(token);
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
+    private VerifiedToken parseToken(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        return new VerifiedToken(claims.getSubject(), claims.getExpiration());
+    }
+
     public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
+        return verifyToken(token).getUsername();
     }
 
     public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
+        return verifyToken(token).getExpiration();
     }
 
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
@@ -48,12 +136,7 @@ public class JwtUtil {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     public String generateToken(String username) {
@@ -67,14 +150,14 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
     public Boolean validateToken(String token, String username) {
         try {
-            final String tokenUsername = getUsernameFromToken(token);
-            return (tokenUsername.equals(username) && !isTokenExpired(token));
+            final VerifiedToken verified = verifyToken(token);
+            return (verified.getUsername().equals(username) && !verified.isExpired());
         } catch (MalformedJwtException e) {
             System.out.println("Invalid JWT token: " + e.getMessage());
             return false;
@@ -86,4 +169,13 @@ public class JwtUtil {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
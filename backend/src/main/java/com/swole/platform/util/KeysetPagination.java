@@ -0,0 +1,62 @@
+package com.swole.platform.util;
+
+import com.swole.platform.dto.CursorPage;
+import com.swole.platform.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+// 按主键ID的游标分页：游标是上一页最后一条记录ID的编码，下一页只查询 id > 游标 的记录
+@Component
+public class KeysetPagination {
+
+    @Value("${pagination.default-size:100}")
+    private int defaultSize;
+
+    @Value("${pagination.max-size:1000}")
+    private int maxSize;
+
+    // 未指定时使用默认页大小，超过上限时按上限返回
+    public int pageSize(Integer requestedSize) {
+        if (requestedSize == null) {
+            return defaultSize;
+        }
+        if (requestedSize < 1) {
+            throw new BadRequestException("Page size must be positive: " + requestedSize);
+        }
+        return Math.min(requestedSize, maxSize);
+    }
+
+    // 多取一条用于判断是否还有下一页
+    public Limit limit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    public Long afterId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public <T> CursorPage<T> page(List<T> rows, int pageSize, Function<T, Long> idOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, rows.size(), null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new CursorPage<>(items, pageSize, encode(idOf.apply(items.get(pageSize - 1))));
+    }
+
+    private static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
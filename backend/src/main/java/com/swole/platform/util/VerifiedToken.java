@@ -0,0 +1,28 @@
+package com.swole.platform.util;
+
+import java.util.Date;
+
+// 通过签名校验的令牌中认证所需的声明：用户名和过期时间
+public class VerifiedToken {
+
+    private final String username;
+
+    private final Date expiration;
+
+    public VerifiedToken(String username, Date expiration) {
+        this.username = username;
+        this.expiration = expiration;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+}
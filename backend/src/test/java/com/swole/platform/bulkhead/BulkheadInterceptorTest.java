@@ -0,0 +1,237 @@
+package com.swole.platform.bulkhead;
+
+import com.swole.platform.controller.data.ResumableUploadController;
+import com.swole.platform.exception.ServiceOverloadedException;
+import com.swole.platform.handler.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class BulkheadInterceptorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private BulkheadRegistry bulkheadRegistry;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bulkheadRegistry = new BulkheadRegistry();
+        ReflectionTestUtils.setField(bulkheadRegistry, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(bulkheadRegistry, "enabled", true);
+        ReflectionTestUtils.setField(bulkheadRegistry, "inferenceMaxConcurrent", 1);
+        ReflectionTestUtils.setField(bulkheadRegistry, "inferenceMaxQueue", 1);
+        ReflectionTestUtils.setField(bulkheadRegistry, "inferenceMaxWait", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(bulkheadRegistry, "statisticsMaxConcurrent", 1);
+        ReflectionTestUtils.setField(bulkheadRegistry, "statisticsMaxQueue", 0);
+        ReflectionTestUtils.setField(bulkheadRegistry, "statisticsMaxWait", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(bulkheadRegistry, "crudMaxConcurrent", 2);
+        ReflectionTestUtils.setField(bulkheadRegistry, "crudMaxQueue", 0);
+        ReflectionTestUtils.setField(bulkheadRegistry, "crudMaxWait", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(bulkheadRegistry, "ingestionMaxConcurrent", 1);
+        ReflectionTestUtils.setField(bulkheadRegistry, "ingestionMaxQueue", 0);
+        ReflectionTestUtils.setField(bulkheadRegistry, "ingestionMaxWait", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(bulkheadRegistry, "uploadMaxConcurrent", 1);
+        ReflectionTestUtils.setField(bulkheadRegistry, "uploadMaxQueue", 0);
+        ReflectionTestUtils.setField(bulkheadRegistry, "uploadMaxWait", Duration.ZERO);
+        ReflectionTestUtils.setField(bulkheadRegistry, "exportMaxConcurrent", 1);
+        ReflectionTestUtils.setField(bulkheadRegistry, "exportMaxQueue", 0);
+        ReflectionTestUtils.setField(bulkheadRegistry, "exportMaxWait", Duration.ZERO);
+        ReflectionTestUtils.setField(bulkheadRegistry, "streamingMaxConcurrent", 1);
+        ReflectionTestUtils.setField(bulkheadRegistry, "streamingMaxQueue", 0);
+        ReflectionTestUtils.setField(bulkheadRegistry, "streamingMaxWait", Duration.ZERO);
+        bulkheadRegistry.init();
+
+        BulkheadInterceptor interceptor = new BulkheadInterceptor(bulkheadRegistry);
+        mockMvc = MockMvcBuilders.standaloneSetup(new TestController(), new IngestionController())
+                .addInterceptors(interceptor)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void testFullBulkheadRejectsOnlyItsWorkload() throws Exception {
+        Bulkhead inference = bulkheadRegistry.acquire(WorkloadClass.INFERENCE);
+        // 另一个请求占用等待队列
+        CompletableFuture<Bulkhead> queued =
+                CompletableFuture.supplyAsync(() -> bulkheadRegistry.acquire(WorkloadClass.INFERENCE));
+        awaitQueued(inference);
+
+        mockMvc.perform(get("/test/inference"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        mockMvc.perform(get("/test/crud")).andExpect(status().isOk());
+        mockMvc.perform(get("/test/statistics")).andExpect(status().isOk());
+
+        // 释放后等待中的请求获得许可
+        inference.release();
+        queued.get(1, TimeUnit.SECONDS).release();
+        mockMvc.perform(get("/test/inference")).andExpect(status().isOk());
+
+        assertEquals(1.0, meterRegistry.get("bulkhead.calls")
+                .tags("workload", "inference", "outcome", "rejected").counter().count());
+        assertEquals(3.0, meterRegistry.get("bulkhead.calls")
+                .tags("workload", "inference", "outcome", "permitted").counter().count());
+        assertEquals(0.0, meterRegistry.get("bulkhead.active").tag("workload", "inference").gauge().value());
+    }
+
+    @Test
+    public void testQueuedRequestIsRejectedAfterMaxWait() throws Exception {
+        Bulkhead inference = bulkheadRegistry.acquire(WorkloadClass.INFERENCE);
+
+        long start = System.nanoTime();
+        assertThrows(ServiceOverloadedException.class, () -> bulkheadRegistry.acquire(WorkloadClass.INFERENCE));
+        long waitedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(waitedMillis >= 90, "waited " + waitedMillis + " ms");
+        inference.release();
+    }
+
+    @Test
+    public void testFreedPermitGoesToQueuedRequestBeforeNewArrivals() throws Exception {
+        // 插队只在释放与等待线程被唤醒之间的短暂窗口内发生，重复多次
+        for (int i = 0; i < 100; i++) {
+            Bulkhead bulkhead = new Bulkhead(WorkloadClass.INFERENCE, 1, 1, Duration.ofSeconds(5));
+            assertTrue(bulkhead.tryAcquire());
+            AtomicBoolean queuedAcquired = new AtomicBoolean();
+            Thread queued = new Thread(() -> {
+                try {
+                    queuedAcquired.set(bulkhead.tryAcquire());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            queued.start();
+            while (!bulkhead.hasWaiters()) {
+                Thread.onSpinWait();
+            }
+
+            // 许可释放后新到达的请求不能抢在等待中的请求之前
+            bulkhead.release();
+            assertFalse(bulkhead.tryAcquireNow(), "new arrival took the permit ahead of a queued request");
+            queued.join(1000);
+            assertTrue(queuedAcquired.get());
+        }
+    }
+
+    @Test
+    public void testMethodAnnotationOverridesClass() throws Exception {
+        Bulkhead ingestion = bulkheadRegistry.acquire(WorkloadClass.INGESTION);
+
+        mockMvc.perform(get("/test/ingestion")).andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/test/ingestion/status")).andExpect(status().isOk());
+
+        ingestion.release();
+    }
+
+    @Test
+    public void testResumableChunksDoNotShareTheIngestionBulkhead() throws Exception {
+        ResumableUploadController controller = new ResumableUploadController();
+        Method uploadChunk = ResumableUploadController.class.getMethod("uploadChunk",
+                String.class, long.class, HttpServletRequest.class);
+        Method getSession = ResumableUploadController.class.getMethod("getSession", String.class);
+
+        assertEquals(WorkloadClass.UPLOAD, BulkheadInterceptor.workloadOf(new HandlerMethod(controller, uploadChunk)));
+        assertEquals(WorkloadClass.CRUD, BulkheadInterceptor.workloadOf(new HandlerMethod(controller, getSession)));
+    }
+
+    @Test
+    public void testPermitIsHeldUntilAsyncResponseCompletes() throws Exception {
+        MvcResult result = mockMvc.perform(get("/test/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(1.0, meterRegistry.get("bulkhead.active").tag("workload", "export").gauge().value());
+        mockMvc.perform(get("/test/export")).andExpect(status().isServiceUnavailable());
+        // 进行中的导出不占用统计查询的许可
+        mockMvc.perform(get("/test/statistics")).andExpect(status().isOk());
+
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        result.getRequest().getAsyncContext().complete();
+        assertEquals(0.0, meterRegistry.get("bulkhead.active").tag("workload", "export").gauge().value());
+        mockMvc.perform(get("/test/export")).andExpect(request().asyncStarted());
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        ReflectionTestUtils.setField(bulkheadRegistry, "enabled", false);
+        Bulkhead inference = bulkheadRegistry.acquire(WorkloadClass.INFERENCE);
+
+        mockMvc.perform(get("/test/inference")).andExpect(status().isOk());
+
+        inference.release();
+    }
+
+    private static void awaitQueued(Bulkhead bulkhead) throws InterruptedException {
+        for (int i = 0; i < 100 && bulkhead.getQueued() == 0; i++) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, bulkhead.getQueued());
+    }
+
+    @RestController
+    static class TestController {
+
+        @Workload(WorkloadClass.INFERENCE)
+        @GetMapping("/test/inference")
+        public String inference() {
+            return "ok";
+        }
+
+        @Workload(WorkloadClass.STATISTICS)
+        @GetMapping("/test/statistics")
+        public String statistics() {
+            return "ok";
+        }
+
+        @Workload(WorkloadClass.EXPORT)
+        @GetMapping("/test/export")
+        public StreamingResponseBody export() {
+            return out -> out.write("a,b\n".getBytes());
+        }
+
+        @GetMapping("/test/crud")
+        public String crud() {
+            return "ok";
+        }
+    }
+
+    @Workload(WorkloadClass.INGESTION)
+    @RestController
+    static class IngestionController {
+
+        @GetMapping("/test/ingestion")
+        public String ingestion() {
+            return "ok";
+        }
+
+        @Workload(WorkloadClass.CRUD)
+        @GetMapping("/test/ingestion/status")
+        public String status() {
+            return "ok";
+        }
+    }
+}
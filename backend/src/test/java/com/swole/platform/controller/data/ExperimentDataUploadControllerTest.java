@@ -0,0 +1,106 @@
+package com.swole.platform.controller.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.model.entity.Experiment;
+import com.swole.platform.model.entity.ExperimentImage;
+import com.swole.platform.repository.ExperimentRepository;
+import com.swole.platform.service.ExperimentImageService;
+import com.swole.platform.service.ExperimentService;
+import com.swole.platform.service.ingest.ExperimentDataIngestionService;
+import com.swole.platform.service.ingest.ExperimentDataValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExperimentDataUploadControllerTest {
+
+    private static final String URL = "/api/v1/experiment-data/upload/experiment/1";
+
+    @Mock
+    private ExperimentService experimentService;
+
+    @Mock
+    private ExperimentImageService experimentImageService;
+
+    @Mock
+    private ExperimentDataIngestionService experimentDataIngestionService;
+
+    @Mock
+    private ExperimentRepository experimentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        ExperimentDataValidator validator = new ExperimentDataValidator();
+        ReflectionTestUtils.setField(validator, "experimentRepository", experimentRepository);
+
+        ExperimentDataUploadController controller = new ExperimentDataUploadController();
+        ReflectionTestUtils.setField(controller, "experimentService", experimentService);
+        ReflectionTestUtils.setField(controller, "experimentImageService", experimentImageService);
+        ReflectionTestUtils.setField(controller, "experimentDataIngestionService", experimentDataIngestionService);
+        ReflectionTestUtils.setField(controller, "experimentDataValidator", validator);
+        ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(controller, "transactionManager", transactionManager);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        when(experimentService.getExperimentById(1L)).thenReturn(Optional.of(new Experiment()));
+    }
+
+    @Test
+    public void testInvalidRowsAreReportedAndNothingIsSaved() throws Exception {
+        when(experimentRepository.findExistingIds(any())).thenReturn(List.of(1L));
+
+        mockMvc.perform(multipart(URL).file(image()).param("jsonData", """
+                        {"concentration": [
+                          {"concentration": 1.5, "confidence": 0.9},
+                          {"confidence": 0.9}
+                        ]}"""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.concentration.length()").value(1))
+                .andExpect(jsonPath("$.errors.concentration[0].index").value(1))
+                .andExpect(jsonPath("$.errors.concentration[0].field").value("concentration"));
+
+        verifyNoInteractions(experimentImageService, experimentDataIngestionService, transactionManager);
+    }
+
+    @Test
+    public void testFailedInsertRollsBackImageLink() throws Exception {
+        when(experimentRepository.findExistingIds(any())).thenReturn(List.of(1L));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(experimentImageService.saveImage(eq(1L), eq(1), any(MockMultipartFile.class))).thenReturn(new ExperimentImage());
+        when(experimentDataIngestionService.insertExperimentData(eq(1L), eq(1), any()))
+                .thenThrow(new IllegalStateException("insert failed"));
+
+        mockMvc.perform(multipart(URL).file(image())
+                        .param("jsonData", "{\"general\": [{\"dataKey\": \"k\", \"dataValue\": \"v\"}]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    private static MockMultipartFile image() {
+        return new MockMultipartFile("imageData", "a.png", "image/png", new byte[]{1, 2, 3});
+    }
+}
@@ -0,0 +1,93 @@
+package com.swole.platform.controller.v1;
+
+import com.swole.platform.model.entity.ExperimentImage;
+import com.swole.platform.service.ExperimentImageService;
+import com.swole.platform.service.storage.ImageStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExperimentImageControllerTest {
+
+    private static final String SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @Mock
+    private ExperimentImageService experimentImageService;
+
+    @Mock
+    private ImageStorageService imageStorageService;
+
+    @InjectMocks
+    private ExperimentImageController experimentImageController;
+
+    @TempDir
+    Path root;
+
+    private MockMvc mockMvc;
+
+    private ExperimentImage metadata;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        mockMvc = MockMvcBuilders.standaloneSetup(experimentImageController).build();
+        Path image = Files.writeString(root.resolve(SHA256), "0123456789");
+        metadata = new ExperimentImage();
+        metadata.setContentType("image/png");
+        when(imageStorageService.resolve(SHA256)).thenReturn(Optional.of(image));
+        when(experimentImageService.getImageBySha256(SHA256)).thenReturn(Optional.of(metadata));
+    }
+
+    @Test
+    public void testGetImageWithCacheHeaders() throws Exception {
+        mockMvc.perform(get("/api/v1/experiment-data/images/" + SHA256))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().string("0123456789"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + SHA256 + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+    }
+
+    @Test
+    public void testNonImageIsServedAsAttachment() throws Exception {
+        metadata.setContentType("text/html");
+
+        mockMvc.perform(get("/api/v1/experiment-data/images/" + SHA256))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment"));
+    }
+
+    @Test
+    public void testRangeRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/experiment-data/images/" + SHA256).header(HttpHeaders.RANGE, "bytes=2-5"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10"))
+                .andExpect(content().string("2345"));
+    }
+
+    @Test
+    public void testConditionalRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/experiment-data/images/" + SHA256)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + SHA256 + "\""))
+                .andExpect(status().isNotModified());
+    }
+}
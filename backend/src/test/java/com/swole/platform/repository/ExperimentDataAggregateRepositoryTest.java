@@ -0,0 +1,119 @@
+package com.swole.platform.repository;
+
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.repository.projection.ExperimentDataAggregate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+public class ExperimentDataAggregateRepositoryTest {
+
+    @Autowired
+    private TargetDetectionDataRepository targetDetectionDataRepository;
+
+    @Autowired
+    private ConcentrationDataRepository concentrationDataRepository;
+
+    @Autowired
+    private GeneralDataRepository generalDataRepository;
+
+    @BeforeEach
+    void setUp() {
+        targetDetectionDataRepository.save(targetDetection(1L, 0.8));
+        targetDetectionDataRepository.save(targetDetection(1L, 0.6));
+        targetDetectionDataRepository.save(targetDetection(2L, 0.9));
+
+        concentrationDataRepository.save(concentration(1L, 2.0, 0.5));
+        concentrationDataRepository.save(concentration(1L, 4.0, 0.7));
+
+        generalDataRepository.save(general(1L));
+    }
+
+    @Test
+    public void testAggregateTargetDetectionData() {
+        ExperimentDataAggregate aggregate = targetDetectionDataRepository.aggregateByExperimentId(1L).orElseThrow();
+
+        assertEquals(1L, aggregate.getExperimentId());
+        assertEquals(2L, aggregate.getDataCount());
+        assertEquals(1.4, aggregate.getConfidenceSum(), 1e-9);
+        assertNull(aggregate.getConcentrationSum());
+    }
+
+    @Test
+    public void testAggregateConcentrationData() {
+        ExperimentDataAggregate aggregate = concentrationDataRepository.aggregateByExperimentId(1L).orElseThrow();
+
+        assertEquals(2L, aggregate.getDataCount());
+        assertEquals(6.0, aggregate.getConcentrationSum(), 1e-9);
+        assertEquals(1.2, aggregate.getConfidenceSum(), 1e-9);
+    }
+
+    @Test
+    public void testAggregateGeneralData() {
+        ExperimentDataAggregate aggregate = generalDataRepository.aggregateByExperimentId(1L).orElseThrow();
+
+        assertEquals(1L, aggregate.getDataCount());
+    }
+
+    @Test
+    public void testAggregateWithoutData() {
+        Optional<ExperimentDataAggregate> aggregate = concentrationDataRepository.aggregateByExperimentId(2L);
+
+        assertFalse(aggregate.isPresent());
+    }
+
+    @Test
+    public void testAggregateByExperimentIds() {
+        List<ExperimentDataAggregate> aggregates = targetDetectionDataRepository.aggregateByExperimentIds(List.of(1L, 2L, 3L));
+
+        Map<Long, Long> counts = aggregates.stream()
+                .collect(Collectors.toMap(ExperimentDataAggregate::getExperimentId, ExperimentDataAggregate::getDataCount));
+        assertEquals(2, counts.size());
+        assertEquals(2L, counts.get(1L));
+        assertEquals(1L, counts.get(2L));
+    }
+
+    private static TargetDetectionData targetDetection(Long experimentId, double confidence) {
+        TargetDetectionData data = new TargetDetectionData();
+        data.setExperimentId(experimentId);
+        data.setGroupNumber(1);
+        data.setClassName("droplet");
+        data.setConfidence(confidence);
+        data.setX(10.0);
+        data.setY(20.0);
+        data.setDiameter(5.0);
+        return data;
+    }
+
+    private static ConcentrationData concentration(Long experimentId, double value, double confidence) {
+        ConcentrationData data = new ConcentrationData();
+        data.setExperimentId(experimentId);
+        data.setGroupNumber(1);
+        data.setConcentration(value);
+        data.setConfidence(confidence);
+        return data;
+    }
+
+    private static GeneralData general(Long experimentId) {
+        GeneralData data = new GeneralData();
+        data.setExperimentId(experimentId);
+        data.setGroupNumber(1);
+        data.setDataKey("temperature");
+        data.setDataValue("25");
+        return data;
+    }
+}
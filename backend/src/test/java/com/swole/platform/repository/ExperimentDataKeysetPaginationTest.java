@@ -0,0 +1,105 @@
+package com.swole.platform.repository;
+
+import com.swole.platform.dto.CursorPage;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.util.KeysetPagination;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "pagination.max-size=3"
+})
+@Import(KeysetPagination.class)
+public class ExperimentDataKeysetPaginationTest {
+
+    @Autowired
+    private TargetDetectionDataRepository targetDetectionDataRepository;
+
+    @Autowired
+    private KeysetPagination keysetPagination;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            targetDetectionDataRepository.save(targetDetection(1L, i % 2 + 1));
+            targetDetectionDataRepository.save(targetDetection(2L, 1));
+        }
+    }
+
+    @Test
+    public void testWalkAllPagesOfExperiment() {
+        List<TargetDetectionData> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPage<TargetDetectionData> page = page(1L, cursor, 2);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(5, seen.size());
+        assertTrue(seen.stream().allMatch(data -> data.getExperimentId() == 1L));
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i).getId() > seen.get(i - 1).getId());
+        }
+    }
+
+    @Test
+    public void testGroupNumberPage() {
+        int pageSize = keysetPagination.pageSize(10);
+        List<TargetDetectionData> rows = targetDetectionDataRepository.findByGroupNumberAndIdGreaterThanOrderByIdAsc(
+                2, keysetPagination.afterId(null), keysetPagination.limit(pageSize));
+
+        CursorPage<TargetDetectionData> page = keysetPagination.page(rows, pageSize, TargetDetectionData::getId);
+
+        assertEquals(2, page.getItems().size());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    public void testPageSizeIsCappedByServer() {
+        CursorPage<TargetDetectionData> page = page(2L, null, 100);
+
+        assertEquals(3, page.getSize());
+        assertEquals(3, page.getItems().size());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    public void testInvalidCursorAndSizeAreRejected() {
+        assertThrows(BadRequestException.class, () -> keysetPagination.afterId("not-a-cursor"));
+        assertThrows(BadRequestException.class, () -> keysetPagination.pageSize(0));
+    }
+
+    private CursorPage<TargetDetectionData> page(Long experimentId, String cursor, Integer size) {
+        int pageSize = keysetPagination.pageSize(size);
+        List<TargetDetectionData> rows = targetDetectionDataRepository.findByExperimentIdAndIdGreaterThanOrderByIdAsc(
+                experimentId, keysetPagination.afterId(cursor), keysetPagination.limit(pageSize));
+        return keysetPagination.page(rows, pageSize, TargetDetectionData::getId);
+    }
+
+    private static TargetDetectionData targetDetection(Long experimentId, int groupNumber) {
+        TargetDetectionData data = new TargetDetectionData();
+        data.setExperimentId(experimentId);
+        data.setGroupNumber(groupNumber);
+        data.setClassName("droplet");
+        data.setConfidence(0.9);
+        data.setX(10.0);
+        data.setY(20.0);
+        data.setDiameter(5.0);
+        return data;
+    }
+}
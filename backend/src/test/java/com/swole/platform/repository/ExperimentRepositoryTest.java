@@ -0,0 +1,144 @@
+package com.swole.platform.repository;
+
+import com.swole.platform.model.entity.Experiment;
+import com.swole.platform.model.entity.ExperimentStatistics;
+import com.swole.platform.model.entity.User;
+import com.swole.platform.repository.projection.ExperimentStatisticsTotals;
+import com.swole.platform.repository.projection.ExperimentTimeBucketAggregate;
+import com.swole.platform.repository.projection.UserActivityAggregate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+public class ExperimentRepositoryTest {
+
+    @Autowired
+    private ExperimentRepository experimentRepository;
+
+    @Autowired
+    private ExperimentStatisticsRepository experimentStatisticsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        saveExperiment(LocalDateTime.of(2026, 1, 5, 9, 15), 10L, 2L, 4.0, 1.6);
+        saveExperiment(LocalDateTime.of(2026, 1, 5, 9, 45), 6L, 2L, 8.0, 1.0);
+        saveExperiment(LocalDateTime.of(2026, 1, 6, 14, 0), 4L, 0L, 0.0, 0.0);
+        saveExperiment(LocalDateTime.of(2026, 2, 1, 8, 0), 1L, 1L, 1.0, 0.5);
+    }
+
+    @Test
+    public void testFindByExperimentTimeRange() {
+        List<Experiment> experiments = experimentRepository.findByExperimentTimeAfterAndExperimentTimeBefore(
+                LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 1, 31, 0, 0));
+
+        assertEquals(3, experiments.size());
+    }
+
+    @Test
+    public void testAggregateByHour() {
+        List<ExperimentTimeBucketAggregate> buckets = sorted(experimentRepository.aggregateByHour(
+                LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 1, 31, 0, 0)));
+
+        assertEquals(2, buckets.size());
+        ExperimentTimeBucketAggregate first = buckets.get(0);
+        assertEquals(5, first.getBucketDay());
+        assertEquals(9, first.getBucketHour());
+        assertEquals(2L, first.getExperimentCount());
+        assertEquals(20L, first.getDataPoints());
+        assertEquals(12.0, first.getConcentrationSum(), 1e-9);
+        assertEquals(4L, first.getConcentrationCount());
+    }
+
+    @Test
+    public void testAggregateByDay() {
+        List<ExperimentTimeBucketAggregate> buckets = sorted(experimentRepository.aggregateByDay(
+                LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 3, 1, 0, 0)));
+
+        assertEquals(3, buckets.size());
+        assertNull(buckets.get(0).getBucketHour());
+        assertEquals(1L, buckets.get(1).getExperimentCount());
+        assertEquals(2, buckets.get(2).getBucketMonth());
+    }
+
+    @Test
+    public void testAggregateStatisticsTotals() {
+        ExperimentStatisticsTotals totals = experimentStatisticsRepository.aggregateTotals();
+
+        assertEquals(26L, totals.getDataPoints());
+        assertEquals(13.0, totals.getConcentrationSum(), 1e-9);
+        assertEquals(5L, totals.getConcentrationCount());
+        assertEquals(26L, totals.getConfidenceCount());
+    }
+
+    @Test
+    public void testAggregateUserActivity() {
+        User active = saveUser("Active", "E001");
+        User idle = saveUser("Idle", "E002");
+        Experiment experiment = new Experiment();
+        experiment.setExperimentTime(LocalDateTime.of(2026, 3, 1, 8, 0));
+        experiment.setUserId(active.getId());
+        experiment.setExperimentTypeId(1L);
+        experimentRepository.save(experiment);
+        experimentRepository.findAll().stream()
+                .filter(e -> e.getUserId() == 1L)
+                .forEach(e -> e.setUserId(active.getId()));
+        experimentRepository.flush();
+
+        List<UserActivityAggregate> activity = userRepository.aggregateActivity();
+
+        assertEquals(2, activity.size());
+        assertEquals("Active", activity.get(0).getUserName());
+        assertEquals(5L, activity.get(0).getExperimentCount());
+        assertEquals(26L, activity.get(0).getDataPoints());
+        assertEquals(idle.getId(), activity.get(1).getUserId());
+        assertEquals(0L, activity.get(1).getExperimentCount());
+        assertEquals(0L, activity.get(1).getDataPoints());
+    }
+
+    private User saveUser(String name, String employeeId) {
+        User user = new User();
+        user.setName(name);
+        user.setEmployeeId(employeeId);
+        user.setRoleId(1L);
+        return userRepository.save(user);
+    }
+
+    private static List<ExperimentTimeBucketAggregate> sorted(List<ExperimentTimeBucketAggregate> buckets) {
+        return buckets.stream()
+                .sorted(Comparator.comparing(ExperimentTimeBucketAggregate::getBucketMonth)
+                        .thenComparing(ExperimentTimeBucketAggregate::getBucketDay))
+                .collect(Collectors.toList());
+    }
+
+    private void saveExperiment(LocalDateTime experimentTime, long targetDetectionCount, long concentrationCount,
+                                double concentrationSum, double confidenceSum) {
+        Experiment experiment = new Experiment();
+        experiment.setExperimentTime(experimentTime);
+        experiment.setUserId(1L);
+        experiment.setExperimentTypeId(1L);
+        Long experimentId = experimentRepository.save(experiment).getId();
+
+        ExperimentStatistics stats = new ExperimentStatistics(experimentId);
+        stats.setTargetDetectionCount(targetDetectionCount);
+        stats.setConcentrationCount(concentrationCount);
+        stats.setConcentrationSum(concentrationSum);
+        stats.setConfidenceSum(confidenceSum);
+        stats.setConfidenceCount(targetDetectionCount + concentrationCount);
+        experimentStatisticsRepository.save(stats);
+    }
+}
@@ -0,0 +1,109 @@
+package com.swole.platform.security;
+
+import com.swole.platform.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 每个请求在 JwtAuthenticationFilter 中校验令牌的开销（不含用户查询）：
+// 原实现（每次重建密钥和解析器，同一令牌解析三次）、预构建解析器只解析一次、命中已校验令牌缓存。
+// 不属于常规测试（类名不匹配 surefire 默认的 *Test），手动运行：mvn test -Dtest=JwtAuthenticationBenchmark -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "benchmarksecretwhichislongenoughforhs512signingkeysinthebenchmarkrun";
+
+    private static final int WARMUP_BATCHES = 50;
+
+    private static final int BATCHES = 100;
+
+    private static final int BATCH_SIZE = 200;
+
+    @Test
+    public void compareTokenVerification() {
+        JwtUtil uncached = newJwtUtil(false);
+        JwtUtil cached = newJwtUtil(true);
+        String token = cached.generateToken("benchmark-user");
+
+        System.out.printf("%n%-36s %12s %12s%n", "verification", "p50 us/req", "p95 us/req");
+        Result legacy = run(() -> legacyAuthenticate(token));
+        Result singleParse = run(() -> uncached.verifyToken(token).getUsername());
+        Result cachedParse = run(() -> cached.verifyToken(token).getUsername());
+        print("rebuilt key + parser, 3 parses", legacy);
+        print("prebuilt parser, 1 parse", singleParse);
+        print("verified-token cache hit", cachedParse);
+
+        assertTrue(singleParse.p50Micros < legacy.p50Micros);
+        assertTrue(cachedParse.p50Micros < singleParse.p50Micros);
+    }
+
+    // 原 JwtAuthenticationFilter 的路径：getUsernameFromToken，再由 validateToken 分别读取用户名和过期时间
+    private static String legacyAuthenticate(String token) {
+        String username = legacyClaims(token).getSubject();
+        boolean valid = legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+        assertTrue(valid);
+        return username;
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    private static Result run(Verification verification) {
+        for (int i = 0; i < WARMUP_BATCHES; i++) {
+            runBatch(verification);
+        }
+        double[] micros = new double[BATCHES];
+        for (int i = 0; i < BATCHES; i++) {
+            micros[i] = runBatch(verification);
+        }
+        Arrays.sort(micros);
+        return new Result(micros[BATCHES / 2], micros[(int) (BATCHES * 0.95)]);
+    }
+
+    // 单次校验只有几微秒，按批计时后取每次的平均值
+    private static double runBatch(Verification verification) {
+        long start = System.nanoTime();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            assertEquals("benchmark-user", verification.verify());
+        }
+        return (System.nanoTime() - start) / 1e3 / BATCH_SIZE;
+    }
+
+    private static void print(String verification, Result result) {
+        System.out.printf("%-36s %12.2f %12.2f%n", verification, result.p50Micros, result.p95Micros);
+    }
+
+    private static JwtUtil newJwtUtil(boolean cacheEnabled) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheEnabled", cacheEnabled);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaximumSize", 10000L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheTtl", Duration.ofMinutes(5));
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private interface Verification {
+        String verify();
+    }
+
+    private record Result(double p50Micros, double p95Micros) {
+    }
+}
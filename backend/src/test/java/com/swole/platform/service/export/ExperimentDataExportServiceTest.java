@@ -0,0 +1,108 @@
+package com.swole.platform.service.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.dto.ExportFormat;
+import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.repository.GeneralDataRepository;
+import com.swole.platform.repository.TargetDetectionDataRepository;
+import com.swole.platform.service.export.impl.ExperimentDataExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(ExperimentDataExportServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+public class ExperimentDataExportServiceTest {
+
+    @Autowired
+    private ExperimentDataExportService exportService;
+
+    @Autowired
+    private TargetDetectionDataRepository targetDetectionDataRepository;
+
+    @Autowired
+    private GeneralDataRepository generalDataRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 3; i++) {
+            targetDetectionDataRepository.save(targetDetection(1L, 0.5 + i * 0.1));
+        }
+        targetDetectionDataRepository.save(targetDetection(2L, 0.9));
+
+        GeneralData general = new GeneralData();
+        general.setExperimentId(1L);
+        general.setGroupNumber(1);
+        general.setDataKey("note");
+        general.setDataValue("pH 7, \"buffered\"");
+        generalDataRepository.save(general);
+    }
+
+    @Test
+    public void testExportNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.export(ExperimentDataType.TARGET_DETECTION, 1L, ExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3L, count);
+        assertEquals(3, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1L, first.get("experimentId").asLong());
+        assertEquals(0.5, first.get("confidence").asDouble(), 1e-9);
+    }
+
+    @Test
+    public void testExportCsvEscapesValues() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.export(ExperimentDataType.GENERAL, 1L, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1L, count);
+        assertEquals("id,experimentId,groupNumber,dataKey,dataValue,createdAt", lines[0]);
+        assertTrue(lines[1].contains(",note,\"pH 7, \"\"buffered\"\"\","));
+    }
+
+    @Test
+    public void testExportEmptyExperiment() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.export(ExperimentDataType.CONCENTRATION, 1L, ExportFormat.CSV, out);
+
+        assertEquals(0L, count);
+        assertEquals("id,experimentId,groupNumber,concentration,confidence,createdAt\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static TargetDetectionData targetDetection(Long experimentId, double confidence) {
+        TargetDetectionData data = new TargetDetectionData();
+        data.setExperimentId(experimentId);
+        data.setGroupNumber(1);
+        data.setClassName("droplet");
+        data.setConfidence(confidence);
+        data.setX(10.0);
+        data.setY(20.0);
+        data.setDiameter(5.0);
+        return data;
+    }
+}
@@ -0,0 +1,163 @@
+package com.swole.platform.service.ingest;
+
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.dto.IngestionJobStatus;
+import com.swole.platform.dto.IngestionJobStatus.State;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.service.ingest.impl.AsyncIngestionServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncIngestionServiceTest {
+
+    @Mock
+    private ExperimentDataIngestionService experimentDataIngestionService;
+
+    private AsyncIngestionServiceImpl asyncIngestionService;
+
+    private final CountDownLatch writerBlocked = new CountDownLatch(1);
+
+    private final CountDownLatch releaseWriter = new CountDownLatch(1);
+
+    private final List<Integer> writtenBatchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        asyncIngestionService = new AsyncIngestionServiceImpl();
+        ReflectionTestUtils.setField(asyncIngestionService, "experimentDataIngestionService", experimentDataIngestionService);
+        ReflectionTestUtils.setField(asyncIngestionService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(asyncIngestionService, "maxQueuedRows", 10L);
+        ReflectionTestUtils.setField(asyncIngestionService, "coalesceRows", 100);
+        ReflectionTestUtils.setField(asyncIngestionService, "jobRetention", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(asyncIngestionService, "shutdownTimeout", Duration.ofSeconds(30));
+        asyncIngestionService.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        releaseWriter.countDown();
+        asyncIngestionService.stop();
+    }
+
+    @Test
+    public void testQueuedJobsAreCoalescedIntoOneWrite() throws Exception {
+        blockFirstWrite();
+        IngestionJobStatus first = submit(1).orElseThrow();
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        IngestionJobStatus second = submit(3).orElseThrow();
+        IngestionJobStatus third = submit(4).orElseThrow();
+        assertEquals(State.QUEUED, asyncIngestionService.getJob(second.getJobId()).orElseThrow().getStatus());
+
+        releaseWriter.countDown();
+        IngestionJobStatus done = awaitFinished(third.getJobId());
+
+        assertEquals(State.COMPLETED, done.getStatus());
+        assertEquals(4, done.getRowsWritten());
+        assertEquals(State.COMPLETED, awaitFinished(first.getJobId()).getStatus());
+        assertEquals(List.of(1, 7), writtenBatchSizes);
+    }
+
+    @Test
+    public void testFullQueueRejectsNewJobs() throws Exception {
+        blockFirstWrite();
+        submit(2).orElseThrow();
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+
+        assertTrue(submit(8).isPresent());
+        assertTrue(submit(1).isEmpty());
+        assertThrows(BadRequestException.class, () -> submit(11));
+    }
+
+    @Test
+    public void testFailedJobDoesNotFailCoalescedNeighbours() throws Exception {
+        blockFirstWrite();
+        submit(1).orElseThrow();
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        IngestionJobStatus good = submit(2).orElseThrow();
+        IngestionJobStatus bad = submit(3).orElseThrow();
+        // 合并写入（5行）和单独写入坏任务（3行）时失败
+        doAnswer(invocation -> {
+            List<?> rows = invocation.getArgument(0);
+            if (rows.size() != 2) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return rows.size();
+        }).when(experimentDataIngestionService).insertGeneralData(anyList());
+
+        releaseWriter.countDown();
+
+        assertEquals(State.COMPLETED, awaitFinished(good.getJobId()).getStatus());
+        IngestionJobStatus failed = awaitFinished(bad.getJobId());
+        assertEquals(State.FAILED, failed.getStatus());
+        assertEquals(3, failed.getFailedRows());
+        assertEquals("constraint violation", failed.getError());
+    }
+
+    @Test
+    public void testStopFailsQueuedJobsWhileWriterIsBusy() throws Exception {
+        blockFirstWrite();
+        submit(1).orElseThrow();
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        IngestionJobStatus queued = submit(2).orElseThrow();
+
+        ReflectionTestUtils.setField(asyncIngestionService, "shutdownTimeout", Duration.ofMillis(100));
+        asyncIngestionService.stop();
+
+        // 写入线程仍在写入第一个任务，排队的任务不在关闭线程中写入
+        IngestionJobStatus failed = asyncIngestionService.getJob(queued.getJobId()).orElseThrow();
+        assertEquals(State.FAILED, failed.getStatus());
+        assertEquals("Ingestion stopped before the job was written", failed.getError());
+        assertEquals(List.of(1), writtenBatchSizes);
+    }
+
+    private void blockFirstWrite() {
+        when(experimentDataIngestionService.insertGeneralData(anyList())).thenAnswer(invocation -> {
+            List<?> rows = invocation.getArgument(0);
+            writtenBatchSizes.add(rows.size());
+            writerBlocked.countDown();
+            releaseWriter.await(5, TimeUnit.SECONDS);
+            return rows.size();
+        });
+    }
+
+    private Optional<IngestionJobStatus> submit(int rows) {
+        List<GeneralData> dataList = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            dataList.add(new GeneralData());
+        }
+        return asyncIngestionService.submit(ExperimentDataType.GENERAL, dataList);
+    }
+
+    private IngestionJobStatus awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            IngestionJobStatus status = asyncIngestionService.getJob(jobId).orElseThrow();
+            if (status.getStatus() == State.COMPLETED || status.getStatus() == State.FAILED) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Job " + jobId + " did not finish");
+        return null;
+    }
+}
@@ -0,0 +1,164 @@
+package com.swole.platform.service.ingest;
+
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.Experiment;
+import com.swole.platform.model.entity.ExperimentStatistics;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.repository.ConcentrationDataRepository;
+import com.swole.platform.repository.ExperimentRepository;
+import com.swole.platform.repository.ExperimentStatisticsRepository;
+import com.swole.platform.repository.TargetDetectionDataRepository;
+import com.swole.platform.service.ingest.impl.ExperimentDataIngestionServiceImpl;
+import com.swole.platform.service.statistics.StatisticsCache;
+import com.swole.platform.service.statistics.impl.ExperimentStatisticsMaintenanceServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "ingest.batch-size=100"
+})
+@Import({
+        ExperimentDataIngestionServiceImpl.class,
+        ExperimentStatisticsMaintenanceServiceImpl.class,
+        StatisticsCache.class,
+        SimpleMeterRegistry.class
+})
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+public class ExperimentDataIngestionServiceTest {
+
+    @Autowired
+    private ExperimentDataIngestionService ingestionService;
+
+    @Autowired
+    private ExperimentRepository experimentRepository;
+
+    @Autowired
+    private ExperimentStatisticsRepository experimentStatisticsRepository;
+
+    @Autowired
+    private TargetDetectionDataRepository targetDetectionDataRepository;
+
+    @Autowired
+    private ConcentrationDataRepository concentrationDataRepository;
+
+    private Long experimentId;
+
+    @BeforeEach
+    void setUp() {
+        Experiment experiment = new Experiment();
+        experiment.setExperimentTime(LocalDateTime.of(2026, 1, 8, 10, 0));
+        experiment.setUserId(1L);
+        experiment.setExperimentTypeId(1L);
+        experimentId = experimentRepository.save(experiment).getId();
+        experimentStatisticsRepository.save(new ExperimentStatistics(experimentId));
+    }
+
+    @Test
+    public void testBulkInsertAcrossBatches() {
+        List<TargetDetectionData> dataList = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            dataList.add(targetDetection(experimentId, i % 10 / 10.0));
+        }
+
+        int inserted = ingestionService.insertTargetDetectionData(dataList);
+
+        assertEquals(250, inserted);
+        assertEquals(250, targetDetectionDataRepository.findByExperimentId(experimentId).size());
+        assertNotNull(targetDetectionDataRepository.findByExperimentId(experimentId).get(0).getCreatedAt());
+        ExperimentStatistics stats = experimentStatisticsRepository.findById(experimentId).orElseThrow();
+        assertEquals(250L, stats.getTargetDetectionCount());
+        assertEquals(0.0, stats.getMinConfidence(), 1e-9);
+        assertEquals(0.9, stats.getMaxConfidence(), 1e-9);
+    }
+
+    @Test
+    public void testInsertedRowsCarryGeneratedIdsAndTimestamps() {
+        List<TargetDetectionData> dataList = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            dataList.add(targetDetection(experimentId, i / 1000.0));
+        }
+        ConcentrationData concentration = concentration(experimentId, 3.0);
+
+        ingestionService.insertTargetDetectionData(dataList);
+        ingestionService.insertConcentrationData(List.of(concentration));
+
+        // 跨批次的每一行都回填了对应的主键，与按主键读回的行一致
+        for (TargetDetectionData data : dataList) {
+            assertNotNull(data.getId());
+            assertNotNull(data.getCreatedAt());
+            TargetDetectionData stored = targetDetectionDataRepository.findById(data.getId()).orElseThrow();
+            assertEquals(data.getConfidence(), stored.getConfidence(), 1e-9);
+        }
+        assertEquals(250, dataList.stream().map(TargetDetectionData::getId).distinct().count());
+        assertNotNull(concentration.getId());
+        assertNotNull(concentration.getUpdatedAt());
+        assertEquals(3.0, concentrationDataRepository.findById(concentration.getId()).orElseThrow().getConcentration(), 1e-9);
+    }
+
+    @Test
+    public void testBulkInsertUpdatesConcentrationStatistics() {
+        ingestionService.insertConcentrationData(List.of(concentration(experimentId, 2.0), concentration(experimentId, 6.0)));
+
+        ExperimentStatistics stats = experimentStatisticsRepository.findById(experimentId).orElseThrow();
+        assertEquals(2L, stats.getConcentrationCount());
+        assertEquals(8.0, stats.getConcentrationSum(), 1e-9);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testFailedRowRollsBackWholeRequest() {
+        List<TargetDetectionData> dataList = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            dataList.add(targetDetection(experimentId, 0.5));
+        }
+        // 第二批中的一行违反非空约束
+        dataList.get(120).setClassName(null);
+
+        try {
+            assertThrows(RuntimeException.class, () -> ingestionService.insertTargetDetectionData(dataList));
+
+            assertTrue(targetDetectionDataRepository.findByExperimentId(experimentId).isEmpty());
+            assertEquals(0L, experimentStatisticsRepository.findById(experimentId).orElseThrow().getTargetDetectionCount());
+        } finally {
+            experimentStatisticsRepository.deleteById(experimentId);
+            experimentRepository.deleteById(experimentId);
+        }
+    }
+
+    private static TargetDetectionData targetDetection(Long experimentId, double confidence) {
+        TargetDetectionData data = new TargetDetectionData();
+        data.setExperimentId(experimentId);
+        data.setGroupNumber(1);
+        data.setClassName("droplet");
+        data.setConfidence(confidence);
+        data.setX(10.0);
+        data.setY(20.0);
+        data.setDiameter(5.0);
+        return data;
+    }
+
+    private static ConcentrationData concentration(Long experimentId, double value) {
+        ConcentrationData data = new ConcentrationData();
+        data.setExperimentId(experimentId);
+        data.setGroupNumber(1);
+        data.setConcentration(value);
+        data.setConfidence(0.8);
+        return data;
+    }
+}
@@ -0,0 +1,126 @@
+package com.swole.platform.service.ingest;
+
+import com.swole.platform.dto.BatchUploadReport.RowError;
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.Experiment;
+import com.swole.platform.model.entity.GeneralData;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.repository.ExperimentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import(ExperimentDataValidator.class)
+public class ExperimentDataValidatorTest {
+
+    @Autowired
+    private ExperimentDataValidator experimentDataValidator;
+
+    @Autowired
+    private ExperimentRepository experimentRepository;
+
+    private Long experimentId;
+
+    @BeforeEach
+    void setUp() {
+        Experiment experiment = new Experiment();
+        experiment.setExperimentTime(LocalDateTime.of(2026, 1, 8, 10, 0));
+        experiment.setUserId(1L);
+        experiment.setExperimentTypeId(1L);
+        experimentId = experimentRepository.save(experiment).getId();
+    }
+
+    @Test
+    public void testInvalidRowsAreReportedByIndex() {
+        List<TargetDetectionData> dataList = new ArrayList<>();
+        dataList.add(targetDetection(experimentId, 0.9));
+        dataList.add(targetDetection(experimentId, 1.5));
+        dataList.add(targetDetection(experimentId + 1000, 0.8));
+        TargetDetectionData missingClass = targetDetection(experimentId, 0.7);
+        missingClass.setClassName(null);
+        dataList.add(missingClass);
+        dataList.add(targetDetection(experimentId, 0.6));
+
+        ValidatedBatch<TargetDetectionData> batch = experimentDataValidator.validateTargetDetectionData(dataList);
+
+        assertEquals(List.of(dataList.get(0), dataList.get(4)), batch.getValidRows());
+        List<RowError> errors = batch.getErrors();
+        assertEquals(List.of(1L, 2L, 3L), errors.stream().map(RowError::getIndex).toList());
+        assertEquals("confidence", errors.get(0).getField());
+        assertEquals("experimentId", errors.get(1).getField());
+        assertEquals("missing required field 'className'", errors.get(2).getMessage());
+    }
+
+    @Test
+    public void testManyDistinctExperimentsAreCheckedInBatches() {
+        // 2500 个不同的实验ID，跨越三批 IN 查询，只有第一个存在
+        List<TargetDetectionData> dataList = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            dataList.add(targetDetection(experimentId + i * 10L, 0.5));
+        }
+
+        ValidatedBatch<TargetDetectionData> batch = experimentDataValidator.validateTargetDetectionData(dataList);
+
+        assertEquals(List.of(dataList.get(0)), batch.getValidRows());
+        assertEquals(2499, batch.getErrors().size());
+        assertEquals(1, batch.getErrors().get(0).getIndex());
+        assertEquals(2499, batch.getErrors().get(2498).getIndex());
+    }
+
+    @Test
+    public void testRangeAndLengthChecks() {
+        ConcentrationData negative = new ConcentrationData();
+        negative.setExperimentId(experimentId);
+        negative.setGroupNumber(1);
+        negative.setConcentration(-0.1);
+        negative.setConfidence(0.5);
+        assertEquals("concentration", experimentDataValidator.check(0, negative).getField());
+
+        negative.setConcentration(Double.NaN);
+        assertEquals("concentration", experimentDataValidator.check(0, negative).getField());
+
+        GeneralData longKey = new GeneralData();
+        longKey.setExperimentId(experimentId);
+        longKey.setGroupNumber(1);
+        longKey.setDataKey("k".repeat(256));
+        longKey.setDataValue("v".repeat(10000));
+        assertEquals("dataKey", experimentDataValidator.check(0, longKey).getField());
+
+        longKey.setDataKey("k");
+        assertNull(experimentDataValidator.check(0, longKey));
+    }
+
+    @Test
+    public void testAllValidRows() {
+        List<TargetDetectionData> dataList = List.of(targetDetection(experimentId, 0.0), targetDetection(experimentId, 1.0));
+
+        ValidatedBatch<TargetDetectionData> batch = experimentDataValidator.validateTargetDetectionData(dataList);
+
+        assertEquals(2, batch.getValidRows().size());
+        assertTrue(batch.getErrors().isEmpty());
+    }
+
+    private static TargetDetectionData targetDetection(Long experimentId, double confidence) {
+        TargetDetectionData data = new TargetDetectionData();
+        data.setExperimentId(experimentId);
+        data.setGroupNumber(1);
+        data.setClassName("cell");
+        data.setConfidence(confidence);
+        data.setX(10.0);
+        data.setY(20.0);
+        data.setDiameter(5.0);
+        return data;
+    }
+}
@@ -0,0 +1,142 @@
+package com.swole.platform.service.ingest;
+
+import com.swole.platform.dto.BatchUploadReport;
+import com.swole.platform.exception.ConflictException;
+import com.swole.platform.model.entity.IdempotencyRecord;
+import com.swole.platform.repository.IdempotencyRecordRepository;
+import com.swole.platform.service.ingest.impl.IdempotencyServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URI;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 幂等键与写入在服务内部的事务中提交，测试本身不包在事务里
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "idempotency.ttl=1h"
+})
+@Import(IdempotencyServiceImpl.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAll();
+    }
+
+    @Test
+    public void testRetryReplaysOriginalResponse() {
+        List<String> request = List.of("row-1", "row-2");
+
+        ResponseEntity<BatchUploadReport> first = execute("key-1", request, HttpStatus.OK);
+        ResponseEntity<BatchUploadReport> retry = execute("key-1", request, HttpStatus.OK);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals(2, retry.getBody().getAcceptedRows());
+        assertEquals("target-detection", retry.getBody().getDataType());
+    }
+
+    @Test
+    public void testAcceptedResponseKeepsLocation() {
+        execute("key-async", List.of("row-1"), HttpStatus.ACCEPTED);
+
+        ResponseEntity<BatchUploadReport> retry = execute("key-async", List.of("row-1"), HttpStatus.ACCEPTED);
+
+        assertEquals(1, executions.get());
+        assertEquals(HttpStatus.ACCEPTED, retry.getStatusCode());
+        assertEquals(URI.create("/api/v1/experiment-data/upload/jobs/job-1"), retry.getHeaders().getLocation());
+    }
+
+    @Test
+    public void testKeyReusedForDifferentRequestIsRejected() {
+        execute("key-2", List.of("row-1"), HttpStatus.OK);
+
+        assertThrows(ConflictException.class, () -> execute("key-2", List.of("row-1", "row-2"), HttpStatus.OK));
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testFailedAttemptDoesNotConsumeKey() {
+        execute("key-3", List.of("row-1"), HttpStatus.BAD_REQUEST);
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("target-detection", "key-3",
+                List.of("row-1"), BatchUploadReport.class, () -> {
+                    executions.incrementAndGet();
+                    throw new IllegalStateException("boom");
+                }));
+        assertEquals(0, idempotencyRecordRepository.count());
+
+        ResponseEntity<BatchUploadReport> retry = execute("key-3", List.of("row-1"), HttpStatus.OK);
+        assertEquals(HttpStatus.OK, retry.getStatusCode());
+        assertEquals(3, executions.get());
+    }
+
+    @Test
+    public void testKeysAreScopedPerEndpoint() {
+        execute("key-4", List.of("row-1"), HttpStatus.OK);
+        idempotencyService.execute("concentration", "key-4", List.of("row-1"), BatchUploadReport.class, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok(new BatchUploadReport("concentration", 1, List.of()));
+        });
+
+        assertEquals(2, executions.get());
+        assertEquals(2, idempotencyRecordRepository.count());
+    }
+
+    @Test
+    public void testPurgeExpired() {
+        execute("old", List.of("row-1"), HttpStatus.OK);
+        execute("new", List.of("row-1"), HttpStatus.OK);
+        IdempotencyRecord old = idempotencyRecordRepository.findAll().get(0);
+        assertNotNull(old.getCreatedAt());
+        jdbcTemplate.update("UPDATE idempotency_keys SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(2)), old.getId());
+
+        assertEquals(1, idempotencyService.purgeExpired());
+        assertEquals(1, idempotencyRecordRepository.count());
+    }
+
+    private ResponseEntity<BatchUploadReport> execute(String key, List<String> request, HttpStatus status) {
+        return idempotencyService.execute("target-detection", key, request, BatchUploadReport.class, () -> {
+            executions.incrementAndGet();
+            BatchUploadReport report = new BatchUploadReport("target-detection", request.size(), List.of());
+            report.setAcceptedRows(request.size());
+            ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+            if (status == HttpStatus.ACCEPTED) {
+                builder.location(URI.create("/api/v1/experiment-data/upload/jobs/job-1"));
+            }
+            return builder.body(report);
+        });
+    }
+}
@@ -0,0 +1,144 @@
+package com.swole.platform.service.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.dto.IngestionReport;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.repository.ExperimentRepository;
+import com.swole.platform.service.ingest.impl.StreamingIngestionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StreamingIngestionServiceTest {
+
+    @Mock
+    private ExperimentDataIngestionService experimentDataIngestionService;
+
+    @Mock
+    private ExperimentRepository experimentRepository;
+
+    private StreamingIngestionServiceImpl streamingIngestionService;
+
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        streamingIngestionService = new StreamingIngestionServiceImpl();
+        ReflectionTestUtils.setField(streamingIngestionService, "experimentDataIngestionService", experimentDataIngestionService);
+        ExperimentDataValidator validator = new ExperimentDataValidator();
+        ReflectionTestUtils.setField(validator, "experimentRepository", experimentRepository);
+        ReflectionTestUtils.setField(streamingIngestionService, "experimentDataValidator", validator);
+        ReflectionTestUtils.setField(streamingIngestionService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(streamingIngestionService, "chunkSize", 2);
+        // 默认所有引用的实验都存在
+        lenient().when(experimentRepository.findExistingIds(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return List.copyOf(ids);
+        });
+    }
+
+    @Test
+    public void testRowsAreWrittenInFixedSizeChunks() throws Exception {
+        recordChunkSizes();
+
+        IngestionReport report = streamingIngestionService.ingest(ExperimentDataType.CONCENTRATION, body(
+                concentration(1.0), concentration(2.0), concentration(3.0), concentration(4.0), concentration(5.0)));
+
+        assertTrue(report.isCompleted());
+        assertNull(report.getError());
+        assertEquals(5L, report.getTotalRows());
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+        assertEquals(3, report.getChunks().size());
+        assertEquals(4L, report.getChunks().get(1).getCommittedRows());
+    }
+
+    @Test
+    public void testInvalidRowStopsIngestion() throws Exception {
+        recordChunkSizes();
+
+        IngestionReport report = streamingIngestionService.ingest(ExperimentDataType.CONCENTRATION, body(
+                concentration(1.0), concentration(2.0), "{\"experimentId\":1,\"groupNumber\":1,\"confidence\":0.5}"));
+
+        assertFalse(report.isCompleted());
+        assertEquals("Row 2: missing required field 'concentration'", report.getError());
+        assertEquals(2L, report.getTotalRows());
+    }
+
+    @Test
+    public void testChunkReferencingMissingExperimentIsNotWritten() throws Exception {
+        recordChunkSizes();
+        doAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().filter(id -> id == 1L).toList();
+        }).when(experimentRepository).findExistingIds(any());
+
+        IngestionReport report = streamingIngestionService.ingest(ExperimentDataType.CONCENTRATION, body(
+                concentration(1.0), concentration(2.0), concentration(3.0),
+                "{\"experimentId\":9,\"groupNumber\":1,\"concentration\":4.0,\"confidence\":0.9}",
+                concentration(5.0)));
+
+        assertFalse(report.isCompleted());
+        assertEquals("Row 3: experiment 9 does not exist", report.getError());
+        assertEquals(2L, report.getTotalRows());
+        assertEquals(List.of(2), chunkSizes);
+    }
+
+    @Test
+    public void testFailedChunkIsReported() throws Exception {
+        when(experimentDataIngestionService.insertGeneralData(anyList())).thenThrow(new IllegalStateException("boom"));
+
+        IngestionReport report = streamingIngestionService.ingest(ExperimentDataType.GENERAL,
+                body("{\"experimentId\":1,\"groupNumber\":1,\"dataKey\":\"k\",\"dataValue\":\"v\"}"));
+
+        assertFalse(report.isCompleted());
+        assertEquals("Chunk 1 failed after 0 committed rows: boom", report.getError());
+    }
+
+    @Test
+    public void testMalformedBody() throws Exception {
+        assertThrows(BadRequestException.class,
+                () -> streamingIngestionService.ingest(ExperimentDataType.GENERAL, stream("{\"a\":1}")));
+
+        IngestionReport report = streamingIngestionService.ingest(ExperimentDataType.GENERAL, stream("[{\"experimentId\":"));
+        assertFalse(report.isCompleted());
+        assertTrue(report.getError().startsWith("Malformed JSON"));
+        verifyNoInteractions(experimentDataIngestionService);
+    }
+
+    private void recordChunkSizes() {
+        when(experimentDataIngestionService.insertConcentrationData(anyList())).thenAnswer(invocation -> {
+            List<?> chunk = invocation.getArgument(0);
+            chunkSizes.add(chunk.size());
+            return chunk.size();
+        });
+    }
+
+    private static String concentration(double value) {
+        return String.format("{\"experimentId\":1,\"groupNumber\":1,\"concentration\":%s,\"confidence\":0.9}", value);
+    }
+
+    private static InputStream body(String... rows) {
+        return stream("[" + String.join(",", rows) + "]");
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,134 @@
+package com.swole.platform.service.prediction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.dto.Detection;
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.dto.PredictionResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PredictionCacheTest {
+
+    private static final String IMAGE_HASH = PredictionCache.hash(new byte[]{1, 2, 3});
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    public void testMissWhileModelVersionUnknown() throws Exception {
+        PredictionCache cache = newCache();
+
+        assertTrue(cache.get(PredictionEndpoint.CONCENTRATION, IMAGE_HASH).isEmpty());
+
+        // 写入结果不改变当前版本，版本只由健康检查确定
+        cache.put(PredictionEndpoint.CONCENTRATION, IMAGE_HASH, result("MOF@1"));
+        assertNull(cache.getModelVersion(PredictionEndpoint.CONCENTRATION));
+        assertTrue(cache.get(PredictionEndpoint.CONCENTRATION, IMAGE_HASH).isEmpty());
+
+        cache.onModelVersion(PredictionEndpoint.CONCENTRATION, "MOF@1");
+        assertTrue(cache.get(PredictionEndpoint.CONCENTRATION, IMAGE_HASH).isPresent());
+        assertTrue(cache.get(PredictionEndpoint.TITRATION, IMAGE_HASH).isEmpty());
+    }
+
+    @Test
+    public void testDiskTierSurvivesRestart() throws Exception {
+        newCache().put(PredictionEndpoint.CONCENTRATION, IMAGE_HASH, result("MOF@1"));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PredictionCache restarted = newCache(meterRegistry);
+        restarted.onModelVersion(PredictionEndpoint.CONCENTRATION, "MOF@1");
+        PredictionResult cached = restarted.get(PredictionEndpoint.CONCENTRATION, IMAGE_HASH).orElseThrow();
+
+        assertEquals("cell", cached.getDetections().get(0).getClassName());
+        assertEquals(0.9, cached.getDetections().get(0).getConfidence());
+        assertEquals(24.5, cached.getValues().get("volume"));
+        assertEquals(1.0, meterRegistry.get("prediction.cache.disk").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    public void testModelSwitchInvalidates() throws Exception {
+        PredictionCache cache = newCache();
+        cache.put(PredictionEndpoint.CONCENTRATION, IMAGE_HASH, result("MOF@1"));
+
+        cache.onModelVersion(PredictionEndpoint.CONCENTRATION, "GLU@2");
+        assertTrue(cache.get(PredictionEndpoint.CONCENTRATION, IMAGE_HASH).isEmpty());
+
+        // 切换回原模型后磁盘层的结果仍然有效
+        cache.onModelVersion(PredictionEndpoint.CONCENTRATION, "MOF@1");
+        assertTrue(cache.get(PredictionEndpoint.CONCENTRATION, IMAGE_HASH).isPresent());
+    }
+
+    @Test
+    public void testFailedItemsAreNotCached() throws Exception {
+        PredictionCache cache = newCache();
+        cache.onModelVersion(PredictionEndpoint.CONCENTRATION, "MOF@1");
+        PredictionResult failed = result("MOF@1");
+        failed.setError("cannot identify image file");
+
+        cache.put(PredictionEndpoint.CONCENTRATION, IMAGE_HASH, failed);
+
+        assertTrue(cache.get(PredictionEndpoint.CONCENTRATION, IMAGE_HASH).isEmpty());
+    }
+
+    @Test
+    public void testPurgeExpired() throws Exception {
+        PredictionCache cache = newCache();
+        cache.put(PredictionEndpoint.CONCENTRATION, IMAGE_HASH, result("MOF@1"));
+        try (Stream<Path> files = Files.walk(cacheDir)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+            }
+        }
+
+        assertEquals(1, cache.purgeExpired());
+        PredictionCache restarted = newCache();
+        restarted.onModelVersion(PredictionEndpoint.CONCENTRATION, "MOF@1");
+        assertTrue(restarted.get(PredictionEndpoint.CONCENTRATION, IMAGE_HASH).isEmpty());
+    }
+
+    private PredictionCache newCache() throws Exception {
+        return newCache(new SimpleMeterRegistry());
+    }
+
+    private PredictionCache newCache(SimpleMeterRegistry meterRegistry) throws Exception {
+        PredictionCache cache = new PredictionCache();
+        ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "memoryMaxEntries", 100L);
+        ReflectionTestUtils.setField(cache, "cacheDir", cacheDir.toString());
+        ReflectionTestUtils.setField(cache, "diskTtl", Duration.ofDays(1));
+        cache.init();
+        return cache;
+    }
+
+    private static PredictionResult result(String modelVersion) {
+        Detection detection = new Detection();
+        detection.setClassName("cell");
+        detection.setConfidence(0.9);
+        detection.setX(10.0);
+        detection.setY(20.0);
+        detection.setWidth(6.0);
+        detection.setHeight(8.0);
+        List<Detection> detections = new ArrayList<>(List.of(detection));
+        Map<String, Object> values = new LinkedHashMap<>(Map.of("volume", 24.5));
+        PredictionResult result = new PredictionResult("concentration", detections, values, null);
+        result.setModelVersion(modelVersion);
+        return result;
+    }
+}
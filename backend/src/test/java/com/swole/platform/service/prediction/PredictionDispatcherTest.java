@@ -0,0 +1,257 @@
+package com.swole.platform.service.prediction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.dto.PredictionResult;
+import com.swole.platform.exception.PredictionServiceException;
+import com.swole.platform.service.prediction.impl.PredictionDispatcherImpl;
+import com.swole.platform.service.prediction.impl.YoloPredictionClientImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PredictionDispatcherTest {
+
+    private static final PredictionImage IMAGE = PredictionImage.ofBytes(new byte[]{1, 2, 3, 4});
+
+    private StubPredictionServer server;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private YoloPredictionClientImpl client;
+
+    private PredictionCache predictionCache;
+
+    private PredictionDispatcherImpl dispatcher;
+
+    @TempDir
+    Path cacheDir;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubPredictionServer();
+        meterRegistry = new SimpleMeterRegistry();
+
+        client = new YoloPredictionClientImpl();
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(client, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(client, "baseUrl", server.getBaseUrl());
+        ReflectionTestUtils.setField(client, "connectTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "concentrationTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(client, "titrationTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(client, "characterizationTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(client, "healthTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "modelsTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "maxAttempts", 1);
+        ReflectionTestUtils.setField(client, "retryBaseDelay", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(client, "retryMaxDelay", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(client, "failureThreshold", 100);
+        ReflectionTestUtils.setField(client, "slowFactor", 3.0);
+        ReflectionTestUtils.setField(client, "slowMinLatency", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "ejectionTime", Duration.ofSeconds(30));
+        client.init();
+
+        // 默认关闭缓存，避免重复提交的同一张图片被缓存命中
+        predictionCache = new PredictionCache();
+        ReflectionTestUtils.setField(predictionCache, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(predictionCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(predictionCache, "enabled", false);
+        ReflectionTestUtils.setField(predictionCache, "memoryMaxEntries", 100L);
+        ReflectionTestUtils.setField(predictionCache, "cacheDir", cacheDir.toString());
+        ReflectionTestUtils.setField(predictionCache, "diskTtl", Duration.ofDays(1));
+
+        dispatcher = new PredictionDispatcherImpl();
+        ReflectionTestUtils.setField(dispatcher, "yoloPredictionClient", client);
+        ReflectionTestUtils.setField(dispatcher, "predictionCache", predictionCache);
+        ReflectionTestUtils.setField(dispatcher, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(dispatcher, "enabled", true);
+        ReflectionTestUtils.setField(dispatcher, "maxBatchSize", 8);
+        ReflectionTestUtils.setField(dispatcher, "maxWait", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(dispatcher, "concurrency", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+        server.close();
+    }
+
+    @Test
+    public void testConcurrentRequestsAreCoalesced() throws Exception {
+        dispatcher.init();
+
+        List<PredictionResult> results = submitAll(PredictionEndpoint.CONCENTRATION, 5);
+
+        assertEquals(List.of(5), server.getBatchSizes());
+        assertEquals(0, server.getPredictRequests());
+        results.forEach(result -> assertEquals(2, result.getDetections().size()));
+
+        DistributionSummary batchSize = meterRegistry.get("prediction.batch.size")
+                .tag("endpoint", "concentration").summary();
+        assertEquals(1, batchSize.count());
+        assertEquals(5.0, batchSize.totalAmount());
+        assertEquals(5, meterRegistry.get("prediction.batch.wait").tag("endpoint", "concentration").timer().count());
+    }
+
+    @Test
+    public void testBatchesAreSplitAtMaxBatchSize() throws Exception {
+        ReflectionTestUtils.setField(dispatcher, "maxBatchSize", 4);
+        dispatcher.init();
+
+        assertEquals(10, submitAll(PredictionEndpoint.CHARACTERIZATION, 10).size());
+
+        assertEquals(10, server.getBatchSizes().stream().mapToInt(Integer::intValue).sum());
+        assertTrue(server.getBatchSizes().stream().allMatch(size -> size <= 4), server.getBatchSizes().toString());
+    }
+
+    @Test
+    public void testEndpointsAreBatchedSeparately() throws Exception {
+        dispatcher.init();
+
+        CompletableFuture<PredictionResult> titration = dispatcher.submit(PredictionEndpoint.TITRATION, IMAGE);
+        List<PredictionResult> concentrations = submitAll(PredictionEndpoint.CONCENTRATION, 3);
+
+        assertEquals(0.1023, titration.get(5, TimeUnit.SECONDS).getValues().get("concentration"));
+        assertEquals(3, concentrations.size());
+        // 单个请求走单张接口
+        assertEquals(1, server.getPredictRequests());
+        assertEquals(List.of(3), server.getBatchSizes());
+    }
+
+    @Test
+    public void testItemErrorFailsOnlyThatRequest() throws Exception {
+        server.setFailingBatchItem(1);
+        dispatcher.init();
+
+        List<CompletableFuture<PredictionResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(dispatcher.submit(PredictionEndpoint.CONCENTRATION, IMAGE));
+        }
+
+        assertNotNull(futures.get(0).get(5, TimeUnit.SECONDS));
+        ExecutionException e = assertThrows(ExecutionException.class, () -> futures.get(1).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(PredictionServiceException.class, e.getCause());
+        assertTrue(e.getCause().getMessage().contains("stub item failure"));
+        assertNotNull(futures.get(2).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailedBatchCallFailsAllRequests() throws Exception {
+        server.failNext(1, 503);
+        dispatcher.init();
+
+        List<CompletableFuture<PredictionResult>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(dispatcher.submit(PredictionEndpoint.CONCENTRATION, IMAGE));
+        }
+
+        for (CompletableFuture<PredictionResult> future : futures) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(PredictionServiceException.class, e.getCause());
+        }
+        assertEquals(List.of(3), server.getBatchSizes());
+    }
+
+    @Test
+    public void testDisabledBatchingCallsSingleEndpoint() throws Exception {
+        ReflectionTestUtils.setField(dispatcher, "enabled", false);
+        dispatcher.init();
+
+        assertEquals(3, submitAll(PredictionEndpoint.CONCENTRATION, 3).size());
+
+        assertEquals(3, server.getPredictRequests());
+        assertTrue(server.getBatchSizes().isEmpty());
+    }
+
+    @Test
+    public void testRepeatedImageIsServedFromCache() throws Exception {
+        ReflectionTestUtils.setField(predictionCache, "enabled", true);
+        predictionCache.init();
+        dispatcher.init();
+        syncModelVersions();
+
+        PredictionResult first = dispatcher.submit(PredictionEndpoint.CONCENTRATION, IMAGE).get(5, TimeUnit.SECONDS);
+        assertEquals("MOF@stub1", first.getModelVersion());
+        assertCached(PredictionEndpoint.CONCENTRATION, IMAGE);
+
+        PredictionResult second = dispatcher.submit(PredictionEndpoint.CONCENTRATION, IMAGE).get(5, TimeUnit.SECONDS);
+        assertEquals(2, second.getDetections().size());
+        assertEquals(1, server.getPredictRequests());
+
+        // 其他端点或其他图片不命中
+        PredictionImage other = PredictionImage.ofBytes(new byte[]{9});
+        dispatcher.submit(PredictionEndpoint.CHARACTERIZATION, IMAGE).get(5, TimeUnit.SECONDS);
+        dispatcher.submit(PredictionEndpoint.CONCENTRATION, other).get(5, TimeUnit.SECONDS);
+        assertEquals(3, server.getPredictRequests());
+        assertCached(PredictionEndpoint.CHARACTERIZATION, IMAGE);
+        assertCached(PredictionEndpoint.CONCENTRATION, other);
+    }
+
+    @Test
+    public void testModelSwitchInvalidatesCachedResults() throws Exception {
+        ReflectionTestUtils.setField(predictionCache, "enabled", true);
+        predictionCache.init();
+        dispatcher.init();
+        syncModelVersions();
+
+        dispatcher.submit(PredictionEndpoint.CONCENTRATION, IMAGE).get(5, TimeUnit.SECONDS);
+        assertCached(PredictionEndpoint.CONCENTRATION, IMAGE);
+
+        // 模型在预测服务上被切换，健康检查同步到新版本
+        server.setModelVersion("GLU@stub2");
+        syncModelVersions();
+
+        PredictionResult result = dispatcher.submit(PredictionEndpoint.CONCENTRATION, IMAGE).get(5, TimeUnit.SECONDS);
+        assertEquals("GLU@stub2", result.getModelVersion());
+        assertEquals(2, server.getPredictRequests());
+        assertCached(PredictionEndpoint.CONCENTRATION, IMAGE);
+    }
+
+    // 与 PredictionHealthCheckJob 相同：探测实例后把各端点的模型版本同步到缓存
+    private void syncModelVersions() {
+        assertTrue(client.checkHealth());
+        for (PredictionEndpoint endpoint : PredictionEndpoint.values()) {
+            predictionCache.onModelVersion(endpoint, client.getModelVersion(endpoint));
+        }
+    }
+
+    // submit 返回的结果在写入缓存（先磁盘后内存）后才完成，返回时两层都已可见；
+    // 仍等待磁盘文件出现，保证测试结束时没有进行中的写入与临时目录的清理冲突
+    private void assertCached(PredictionEndpoint endpoint, PredictionImage image) throws InterruptedException {
+        String imageHash = image.getSha256();
+        Path file = predictionCache.diskPathOf(endpoint, imageHash);
+        assertNotNull(file);
+        for (int i = 0; i < 100 && !Files.isRegularFile(file); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(Files.isRegularFile(file), file.toString());
+        assertTrue(predictionCache.get(endpoint, imageHash).isPresent());
+    }
+
+    private List<PredictionResult> submitAll(PredictionEndpoint endpoint, int count) throws Exception {
+        List<CompletableFuture<PredictionResult>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(dispatcher.submit(endpoint, IMAGE));
+        }
+        List<PredictionResult> results = new ArrayList<>();
+        for (CompletableFuture<PredictionResult> future : futures) {
+            results.add(future.get(5, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,233 @@
+package com.swole.platform.service.prediction;
+
+import com.swole.platform.dto.Detection;
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.dto.PredictionPipelineResult;
+import com.swole.platform.dto.PredictionResult;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.exception.PredictionServiceException;
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.Experiment;
+import com.swole.platform.model.entity.ExperimentImage;
+import com.swole.platform.model.entity.ExperimentStatistics;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.repository.ConcentrationDataRepository;
+import com.swole.platform.repository.ExperimentImageRepository;
+import com.swole.platform.repository.ExperimentRepository;
+import com.swole.platform.repository.ExperimentStatisticsRepository;
+import com.swole.platform.repository.TargetDetectionDataRepository;
+import com.swole.platform.service.impl.ExperimentImageServiceImpl;
+import com.swole.platform.service.ingest.impl.ExperimentDataIngestionServiceImpl;
+import com.swole.platform.service.prediction.impl.PredictionDispatcherImpl;
+import com.swole.platform.service.prediction.impl.PredictionPipelineServiceImpl;
+import com.swole.platform.service.statistics.StatisticsCache;
+import com.swole.platform.service.storage.impl.ImageStorageServiceImpl;
+import com.swole.platform.service.statistics.impl.ExperimentStatisticsMaintenanceServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "prediction.batching.enabled=false",
+        "prediction.batching.concurrency=4",
+        "prediction.cache.enabled=false"
+})
+@Import({
+        PredictionPipelineServiceImpl.class,
+        ExperimentImageServiceImpl.class,
+        ImageStorageServiceImpl.class,
+        PredictionDispatcherImpl.class,
+        PredictionCache.class,
+        ExperimentDataIngestionServiceImpl.class,
+        ExperimentStatisticsMaintenanceServiceImpl.class,
+        StatisticsCache.class,
+        SimpleMeterRegistry.class
+})
+@ImportAutoConfiguration({JdbcTemplateAutoConfiguration.class, JacksonAutoConfiguration.class})
+public class PredictionPipelineServiceTest {
+
+    private static final Path ROOT;
+
+    static {
+        try {
+            ROOT = Files.createTempDirectory("prediction-pipeline-test");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void storageProperties(DynamicPropertyRegistry registry) {
+        registry.add("storage.image-root", ROOT::toString);
+    }
+
+    @MockBean
+    private YoloPredictionClient yoloPredictionClient;
+
+    @Autowired
+    private PredictionPipelineService predictionPipelineService;
+
+    @Autowired
+    private ExperimentRepository experimentRepository;
+
+    @Autowired
+    private ExperimentStatisticsRepository experimentStatisticsRepository;
+
+    @Autowired
+    private TargetDetectionDataRepository targetDetectionDataRepository;
+
+    @Autowired
+    private ExperimentImageRepository experimentImageRepository;
+
+    @Autowired
+    private ConcentrationDataRepository concentrationDataRepository;
+
+    private Long experimentId;
+
+    @BeforeEach
+    void setUp() {
+        Experiment experiment = new Experiment();
+        experiment.setExperimentTime(LocalDateTime.of(2026, 1, 8, 10, 0));
+        experiment.setUserId(1L);
+        experiment.setExperimentTypeId(1L);
+        experimentId = experimentRepository.save(experiment).getId();
+        experimentStatisticsRepository.save(new ExperimentStatistics(experimentId));
+    }
+
+    @Test
+    public void testDetectionsAreMappedAndStored() {
+        when(yoloPredictionClient.predict(eq(PredictionEndpoint.CONCENTRATION), any())).thenReturn(detections());
+
+        PredictionPipelineResult result = predictionPipelineService.predictAndStore(experimentId, 3,
+                PredictionEndpoint.CONCENTRATION, List.of(image(1), image(2)));
+
+        assertEquals(2, result.getImages());
+        assertEquals(4, result.getTargetDetectionRows());
+        assertEquals(0, result.getConcentrationRows());
+        List<TargetDetectionData> stored = targetDetectionDataRepository.findByExperimentId(experimentId);
+        assertEquals(4, stored.size());
+        TargetDetectionData first = stored.get(0);
+        assertEquals(3, first.getGroupNumber());
+        assertEquals(13.0, first.getX());
+        assertEquals(24.0, first.getY());
+        assertEquals(7.0, first.getDiameter());
+        assertEquals(4L, experimentStatisticsRepository.findById(experimentId).orElseThrow().getTargetDetectionCount());
+    }
+
+    @Test
+    public void testTitrationIsStoredAsConcentration() {
+        when(yoloPredictionClient.predict(eq(PredictionEndpoint.TITRATION), any())).thenReturn(new PredictionResult(
+                "titration", List.of(), Map.of("concentration", 0.1023, "confidence", 0.95), null));
+
+        PredictionPipelineResult result = predictionPipelineService.predictAndStore(experimentId, 1,
+                PredictionEndpoint.TITRATION, List.of(image(1)));
+
+        assertEquals(1, result.getConcentrationRows());
+        List<ConcentrationData> stored = concentrationDataRepository.findByExperimentId(experimentId);
+        assertEquals(0.1023, stored.get(0).getConcentration());
+    }
+
+    @Test
+    public void testImagesArePredictedConcurrently() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        when(yoloPredictionClient.predict(any(), any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(200);
+            inFlight.decrementAndGet();
+            return detections();
+        });
+
+        long start = System.nanoTime();
+        predictionPipelineService.predictAndStore(experimentId, 1, PredictionEndpoint.CONCENTRATION,
+                List.of(image(1), image(2), image(3), image(4)));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(4, maxInFlight.get());
+        assertTrue(elapsedMillis < 700, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    public void testFailedPredictionStoresNothing() {
+        when(yoloPredictionClient.predict(any(), any()))
+                .thenReturn(detections())
+                .thenThrow(new PredictionServiceException("unavailable"));
+
+        assertThrows(PredictionServiceException.class, () -> predictionPipelineService.predictAndStore(
+                experimentId, 1, PredictionEndpoint.CONCENTRATION, List.of(image(1), image(2))));
+
+        assertTrue(targetDetectionDataRepository.findByExperimentId(experimentId).isEmpty());
+    }
+
+    @Test
+    public void testUploadsAreStoredAndSentFromStorage() throws Exception {
+        ArgumentCaptor<PredictionImage> sent = ArgumentCaptor.forClass(PredictionImage.class);
+        when(yoloPredictionClient.predict(eq(PredictionEndpoint.CONCENTRATION), sent.capture())).thenReturn(detections());
+        byte[] content = {7, 7, 7};
+
+        predictionPipelineService.predictAndStoreUploads(experimentId, 2, PredictionEndpoint.CONCENTRATION,
+                List.of(new MockMultipartFile("images", "a.png", "image/png", content)));
+
+        List<ExperimentImage> images = experimentImageRepository.findByExperimentIdOrderByIdAsc(experimentId);
+        assertEquals(1, images.size());
+        assertEquals(2, images.get(0).getGroupNumber());
+        assertEquals(images.get(0).getSha256(), sent.getValue().getSha256());
+        assertArrayEquals(content, sent.getValue().readAllBytes());
+        assertEquals(2, targetDetectionDataRepository.findByExperimentId(experimentId).size());
+    }
+
+    @Test
+    public void testUploadsForMissingExperimentAreNotStored() {
+        assertThrows(BadRequestException.class, () -> predictionPipelineService.predictAndStoreUploads(
+                experimentId + 1000, 1, PredictionEndpoint.CONCENTRATION,
+                List.of(new MockMultipartFile("images", "a.png", "image/png", new byte[]{1}))));
+
+        assertEquals(0, experimentImageRepository.count());
+    }
+
+    @Test
+    public void testNonImageUploadsAreRejected() {
+        assertThrows(BadRequestException.class, () -> predictionPipelineService.predictAndStoreUploads(
+                experimentId, 1, PredictionEndpoint.CONCENTRATION,
+                List.of(new MockMultipartFile("images", "a.html", "text/html", "<script></script>".getBytes()))));
+
+        assertEquals(0, experimentImageRepository.count());
+        verifyNoInteractions(yoloPredictionClient);
+    }
+
+    private static PredictionImage image(int value) {
+        return PredictionImage.ofBytes(new byte[]{(byte) value});
+    }
+
+    private static PredictionResult detections() {
+        return new PredictionResult("concentration", List.of(
+                new Detection("cell", 0.91, 10.0, 20.0, 6.0, 8.0),
+                new Detection("cell", 0.75, 40.0, 50.0, 4.0, 4.0)), Map.of("detection_count", 2), null);
+    }
+}
@@ -0,0 +1,209 @@
+package com.swole.platform.service.prediction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.exception.PredictionServiceException;
+import com.swole.platform.service.prediction.impl.YoloPredictionClientImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 多个预测服务实例（每个实例一个 StubPredictionServer）之间的路由：负载均衡、故障转移、模型亲和与慢实例剔除
+public class PredictionRoutingTest {
+
+    private static final PredictionImage IMAGE = PredictionImage.ofBytes(new byte[]{1, 2, 3, 4});
+
+    private final List<StubPredictionServer> servers = new ArrayList<>();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            servers.add(new StubPredictionServer());
+        }
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(StubPredictionServer::close);
+    }
+
+    @Test
+    public void testConcurrentRequestsAreBalancedAcrossInstances() throws Exception {
+        for (StubPredictionServer server : servers) {
+            server.setSerialInference(true);
+            server.setLatency(Duration.ofMillis(40));
+        }
+
+        long single = timeConcurrentRequests(newClient(servers.subList(0, 1)), 24);
+        int singleRequests = servers.get(0).getPredictRequests();
+        long balanced = timeConcurrentRequests(newClient(servers), 24);
+
+        assertEquals(24, singleRequests);
+        for (StubPredictionServer server : servers) {
+            int requests = server.getPredictRequests() - (server == servers.get(0) ? singleRequests : 0);
+            assertTrue(requests >= 4 && requests <= 12, "requests per instance: " + requests);
+        }
+        // 三个实例并行推理，吞吐量接近单实例的三倍
+        assertTrue(balanced * 2 < single, "single " + single + " ms, balanced " + balanced + " ms");
+    }
+
+    @Test
+    public void testFailingInstancesAreFailedOverAndIsolated() throws Exception {
+        servers.get(1).failNext(Integer.MAX_VALUE, 503);
+        servers.get(2).close();
+        YoloPredictionClientImpl client = newClient(servers);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(2, client.predict(PredictionEndpoint.CONCENTRATION, IMAGE).getDetections().size());
+        }
+
+        // 每次调用对失败的实例计一次失败，连续两次后熔断打开，不再路由到该实例
+        assertEquals(2, servers.get(1).getPredictRequests());
+        assertEquals(2.0, meterRegistry.get("prediction.client.circuit.state")
+                .tag("instance", servers.get(1).getBaseUrl()).gauge().value());
+        assertEquals(2.0, meterRegistry.get("prediction.client.circuit.state")
+                .tag("instance", servers.get(2).getBaseUrl()).gauge().value());
+        assertEquals(PredictionCircuitBreaker.State.CLOSED, client.getCircuitState());
+
+        // 恢复后由健康检查重新接入
+        servers.get(1).failNext(0, 503);
+        assertTrue(client.checkHealth());
+        for (int i = 0; i < 20; i++) {
+            client.predict(PredictionEndpoint.CONCENTRATION, IMAGE);
+        }
+        assertTrue(servers.get(1).getPredictRequests() > 2);
+    }
+
+    @Test
+    public void testRequestsAreRoutedByLoadedModel() throws Exception {
+        servers.get(0).setModelVersion("MOF@a");
+        servers.get(1).setModelVersion("GLU@b");
+        servers.get(2).setModelVersion("MOF@a");
+        YoloPredictionClientImpl client = newClient(servers, configured -> {
+            ReflectionTestUtils.setField(configured, "concentrationModel", "MOF");
+            ReflectionTestUtils.setField(configured, "titrationModel", "GLU");
+        });
+        assertTrue(client.checkHealth());
+
+        for (int i = 0; i < 10; i++) {
+            client.predict(PredictionEndpoint.TITRATION, IMAGE);
+            client.predict(PredictionEndpoint.CONCENTRATION, IMAGE);
+            client.predict(PredictionEndpoint.CHARACTERIZATION, IMAGE);
+        }
+
+        assertEquals("GLU@b", client.getModelVersion(PredictionEndpoint.TITRATION));
+        assertEquals("MOF@a", client.getModelVersion(PredictionEndpoint.CONCENTRATION));
+        assertNull(client.getModelVersion(PredictionEndpoint.CHARACTERIZATION));
+        // GLU 实例承接全部滴定请求，以及未配置模型的表征请求中的一部分
+        int gluRequests = servers.get(1).getPredictRequests();
+        assertTrue(gluRequests >= 10 && gluRequests < 20, "GLU instance requests: " + gluRequests);
+        assertEquals(30, servers.stream().mapToInt(StubPredictionServer::getPredictRequests).sum());
+
+        // GLU 实例被切换到其他模型后，滴定请求没有可用实例
+        servers.get(1).setModelVersion("MOF@a");
+        assertTrue(client.checkHealth());
+        PredictionServiceException e = assertThrows(PredictionServiceException.class,
+                () -> client.predict(PredictionEndpoint.TITRATION, IMAGE));
+        assertTrue(e.getMessage().contains("model GLU"), e.getMessage());
+    }
+
+    @Test
+    public void testSlowInstanceIsEjected() throws Exception {
+        servers.get(2).setLatency(Duration.ofMillis(300));
+        YoloPredictionClientImpl client = newClient(servers,
+                configured -> ReflectionTestUtils.setField(configured, "slowMinLatency", Duration.ofMillis(100)));
+        assertTrue(client.checkHealth());
+        PredictionInstanceRegistry registry = (PredictionInstanceRegistry) ReflectionTestUtils.getField(client, "registry");
+        PredictionInstance slow = instanceOf(registry, servers.get(2));
+        List<PredictionInstance> fast = List.of(instanceOf(registry, servers.get(0)), instanceOf(registry, servers.get(1)));
+
+        // 其他实例已有响应时间记录且各占一个进行中的请求，下一个请求确定地路由到进行中请求最少的慢实例
+        fast.forEach(instance -> {
+            instance.recordLatency(5);
+            instance.acquire();
+        });
+        client.predict(PredictionEndpoint.CONCENTRATION, IMAGE);
+        fast.forEach(PredictionInstance::release);
+
+        // 第一次慢响应即被剔除，之后的请求不再路由到该实例
+        assertEquals(1, servers.get(2).getPredictRequests());
+        assertTrue(slow.isEjected(System.nanoTime()));
+        for (int i = 0; i < 30; i++) {
+            client.predict(PredictionEndpoint.CONCENTRATION, IMAGE);
+        }
+        assertEquals(1, servers.get(2).getPredictRequests());
+        assertEquals(30, servers.get(0).getPredictRequests() + servers.get(1).getPredictRequests());
+        assertEquals(1.0, meterRegistry.get("prediction.instance.ejections")
+                .tag("instance", servers.get(2).getBaseUrl()).counter().count());
+    }
+
+    private long timeConcurrentRequests(YoloPredictionClientImpl client, int count) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                calls.add(callers.submit(() -> client.predict(PredictionEndpoint.CONCENTRATION, IMAGE)));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+            return (System.nanoTime() - start) / 1_000_000;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static PredictionInstance instanceOf(PredictionInstanceRegistry registry, StubPredictionServer server) {
+        return registry.getInstances().stream()
+                .filter(instance -> instance.getBaseUrl().equals(server.getBaseUrl()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private YoloPredictionClientImpl newClient(List<StubPredictionServer> instances) {
+        return newClient(instances, configured -> {
+        });
+    }
+
+    private YoloPredictionClientImpl newClient(List<StubPredictionServer> instances,
+                                               Consumer<YoloPredictionClientImpl> configure) {
+        YoloPredictionClientImpl client = new YoloPredictionClientImpl();
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(client, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(client, "instances", instances.stream()
+                .map(StubPredictionServer::getBaseUrl).collect(Collectors.joining(",")));
+        ReflectionTestUtils.setField(client, "connectTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "concentrationTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(client, "titrationTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(client, "characterizationTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(client, "healthTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "modelsTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "maxAttempts", 3);
+        ReflectionTestUtils.setField(client, "retryBaseDelay", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(client, "retryMaxDelay", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(client, "failureThreshold", 2);
+        ReflectionTestUtils.setField(client, "slowFactor", 3.0);
+        ReflectionTestUtils.setField(client, "slowMinLatency", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "ejectionTime", Duration.ofSeconds(30));
+        configure.accept(client);
+        client.init();
+        return client;
+    }
+}
@@ -0,0 +1,157 @@
+package com.swole.platform.service.prediction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.service.prediction.impl.YoloPredictionClientImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// base64 JSON 与二进制传输的对比：每次请求的请求体字节数和端到端延迟（含客户端编码、本地回环传输和服务端解码）。
+// 不属于常规测试（类名不匹配 surefire 默认的 *Test），手动运行：mvn test -Dtest=PredictionTransportBenchmark -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class PredictionTransportBenchmark {
+
+    private static final int WARMUP = 5;
+
+    private static final int ITERATIONS = 30;
+
+    private static final int BATCH_SIZE = 8;
+
+    private static StubPredictionServer server;
+
+    private static Path imageFile;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        server = new StubPredictionServer();
+        imageFile = Files.createTempFile("prediction-benchmark-", ".jpg");
+        writePhotoLikeJpeg(imageFile, 2592, 1944);
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        server.close();
+        Files.deleteIfExists(imageFile);
+    }
+
+    @Test
+    public void compareTransports() throws Exception {
+        PredictionImage image = PredictionImage.ofFile(imageFile, "0".repeat(64));
+        List<PredictionImage> batch = Collections.nCopies(BATCH_SIZE, image);
+        System.out.printf("%nImage: %d bytes (2592x1944 JPEG)%n", Files.size(imageFile));
+        System.out.printf("%-28s %14s %10s %10s%n", "mode", "bytes/request", "p50 ms", "p95 ms");
+
+        Result base64 = run("base64", 0, client -> client.predict(PredictionEndpoint.CONCENTRATION, image));
+        Result binary = run("binary", 0, client -> client.predict(PredictionEndpoint.CONCENTRATION, image));
+        Result downscaled = run("binary", 640, client -> client.predict(PredictionEndpoint.CONCENTRATION, image));
+        Result base64Batch = run("base64", 0, client -> client.predictBatch(PredictionEndpoint.CONCENTRATION, batch));
+        Result binaryBatch = run("binary", 0, client -> client.predictBatch(PredictionEndpoint.CONCENTRATION, batch));
+
+        print("single: base64", base64);
+        print("single: binary", binary);
+        print("single: binary, max 640px", downscaled);
+        print("batch of " + BATCH_SIZE + ": base64", base64Batch);
+        print("batch of " + BATCH_SIZE + ": binary", binaryBatch);
+
+        assertTrue(binary.bytesPerRequest < base64.bytesPerRequest);
+        assertTrue(binaryBatch.bytesPerRequest < base64Batch.bytesPerRequest);
+    }
+
+    private Result run(String transportMode, int maxDimension, Call call) throws Exception {
+        YoloPredictionClientImpl client = newClient(transportMode, maxDimension);
+        for (int i = 0; i < WARMUP; i++) {
+            call.run(client);
+        }
+        long bytesBefore = server.getRequestBytes();
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            call.run(client);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new Result((server.getRequestBytes() - bytesBefore) / ITERATIONS,
+                nanos[ITERATIONS / 2] / 1e6, nanos[(int) (ITERATIONS * 0.95)] / 1e6);
+    }
+
+    private static void print(String mode, Result result) {
+        System.out.printf("%-28s %14d %10.1f %10.1f%n", mode, result.bytesPerRequest, result.p50Millis, result.p95Millis);
+    }
+
+    private static YoloPredictionClientImpl newClient(String transportMode, int maxDimension) {
+        YoloPredictionClientImpl client = new YoloPredictionClientImpl();
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(client, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(client, "baseUrl", server.getBaseUrl());
+        ReflectionTestUtils.setField(client, "connectTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "concentrationTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(client, "titrationTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(client, "characterizationTimeout", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(client, "healthTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "modelsTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "maxAttempts", 1);
+        ReflectionTestUtils.setField(client, "retryBaseDelay", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(client, "retryMaxDelay", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(client, "failureThreshold", 100);
+        ReflectionTestUtils.setField(client, "slowFactor", 3.0);
+        ReflectionTestUtils.setField(client, "slowMinLatency", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "ejectionTime", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(client, "transportMode", transportMode);
+        ReflectionTestUtils.setField(client, "maxDimension", maxDimension);
+        ReflectionTestUtils.setField(client, "jpegQuality", 0.9f);
+        client.init();
+        return client;
+    }
+
+    // 带噪声的渐变图，JPEG 压缩后的大小接近真实的实验照片
+    private static void writePhotoLikeJpeg(Path file, int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(24);
+                int r = Math.min(255, x * 200 / width + noise);
+                int g = Math.min(255, y * 200 / height + noise);
+                int b = Math.min(255, 120 + noise);
+                image.setRGB(x, y, (r << 16) | (g << 8) | b);
+            }
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(file.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.9f);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private interface Call {
+        void run(YoloPredictionClientImpl client) throws Exception;
+    }
+
+    private record Result(long bytesPerRequest, double p50Millis, double p95Millis) {
+    }
+}
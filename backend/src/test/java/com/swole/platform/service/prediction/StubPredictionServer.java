@@ -0,0 +1,246 @@
+package com.swole.platform.service.prediction;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 测试用的进程内预测服务，响应格式与 yolo_prediction_service/server.py 一致，可以配置延迟、失败次数和健康状态
+public class StubPredictionServer implements AutoCloseable {
+
+    private static final String DETECTIONS_RESPONSE = "{\"success\":true,\"result\":{\"detections\":["
+            + "{\"class\":\"cell\",\"confidence\":0.91,\"x\":10,\"y\":20,\"width\":6,\"height\":8},"
+            + "{\"class\":\"cell\",\"confidence\":0.75,\"x\":40,\"y\":50,\"width\":4,\"height\":4}"
+            + "],\"detection_count\":2},\"message\":\"Concentration detection completed successfully\"}";
+
+    private static final String TITRATION_RESPONSE = "{\"success\":true,\"result\":{\"color\":\"colorless\","
+            + "\"endPointReached\":false,\"volume\":24.5,\"concentration\":0.1023,\"confidence\":0.95},"
+            + "\"message\":\"Titration analysis completed successfully\"}";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final HttpServer server;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final AtomicInteger predictRequests = new AtomicInteger();
+
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+
+    private volatile int failureStatus = 503;
+
+    private volatile Duration latency = Duration.ZERO;
+
+    private volatile boolean healthy = true;
+
+    private volatile boolean serialInference;
+
+    private final Object inferenceLock = new Object();
+
+    private volatile String lastRequestBody;
+
+    private volatile String lastContentType;
+
+    private volatile List<byte[]> lastImages = List.of();
+
+    private final AtomicLong requestBytes = new AtomicLong();
+
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    private volatile int failingBatchItem = -1;
+
+    private volatile String modelVersion = "MOF@stub1";
+
+    public StubPredictionServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/predict/concentration", exchange -> predict(exchange, DETECTIONS_RESPONSE));
+        server.createContext("/predict/characterization", exchange -> predict(exchange, DETECTIONS_RESPONSE));
+        server.createContext("/predict/titration", exchange -> predict(exchange, TITRATION_RESPONSE));
+        server.createContext("/predict/concentration/batch", exchange -> predictBatch(exchange, DETECTIONS_RESPONSE));
+        server.createContext("/predict/characterization/batch", exchange -> predictBatch(exchange, DETECTIONS_RESPONSE));
+        server.createContext("/predict/titration/batch", exchange -> predictBatch(exchange, TITRATION_RESPONSE));
+        server.createContext("/health", exchange -> respond(exchange, healthy ? 200 : 503,
+                "{\"status\":\"" + (healthy ? "healthy" : "unhealthy") + "\",\"version\":\"1.0.0\",\"model_loaded\":true}"));
+        server.createContext("/info", exchange -> respond(exchange, 200,
+                "{\"model_type\":\"YOLOv5\",\"model_path\":\"./model_data/MOF.pth\",\"model_version\":\""
+                        + modelVersion + "\"}"));
+        server.createContext("/models", exchange -> respond(exchange, 200,
+                "{\"success\":true,\"models\":[{\"name\":\"MOF\",\"model_type\":\"v5\"}]}"));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    // 接下来的 count 个预测请求（单张或批量）返回 status
+    public void failNext(int count, int status) {
+        failureStatus = status;
+        failuresRemaining.set(count);
+    }
+
+    public void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    // 模拟单个 GPU 推理进程：请求逐个处理，并发请求排队
+    public void setSerialInference(boolean serialInference) {
+        this.serialInference = serialInference;
+    }
+
+    public void setHealthy(boolean healthy) {
+        this.healthy = healthy;
+    }
+
+    public int getPredictRequests() {
+        return predictRequests.get();
+    }
+
+    public String getLastRequestBody() {
+        return lastRequestBody;
+    }
+
+    public String getLastContentType() {
+        return lastContentType;
+    }
+
+    // 最近一次预测请求中解析出的图片
+    public List<byte[]> getLastImages() {
+        return lastImages;
+    }
+
+    // 所有预测请求体的总字节数
+    public long getRequestBytes() {
+        return requestBytes.get();
+    }
+
+    // 模拟 /models/switch 切换模型
+    public void setModelVersion(String modelVersion) {
+        this.modelVersion = modelVersion;
+    }
+
+    // 每次批量请求的图片数
+    public List<Integer> getBatchSizes() {
+        return batchSizes;
+    }
+
+    // 批量请求中第 index 张图片返回单项失败
+    public void setFailingBatchItem(int index) {
+        this.failingBatchItem = index;
+    }
+
+    private void predict(HttpExchange exchange, String response) throws IOException {
+        predictRequests.incrementAndGet();
+        readImages(exchange);
+        simulateInference();
+        if (failuresRemaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            respond(exchange, failureStatus, "{\"success\":false,\"error\":{\"code\":\"MODEL_ERROR\","
+                    + "\"message\":\"stub failure\"},\"message\":\"Prediction failed\"}");
+            return;
+        }
+        respond(exchange, 200, withModelVersion(response));
+    }
+
+    private void simulateInference() {
+        try {
+            if (serialInference) {
+                synchronized (inferenceLock) {
+                    Thread.sleep(latency.toMillis());
+                }
+            } else {
+                Thread.sleep(latency.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 与 server.py 的 /predict/<kind>/batch 一致：每张图片的结果为单张接口的 result 字段
+    private void predictBatch(HttpExchange exchange, String response) throws IOException {
+        int images = readImages(exchange).size();
+        simulateInference();
+        batchSizes.add(images);
+        if (failuresRemaining.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+            respond(exchange, failureStatus, "{\"success\":false,\"error\":{\"code\":\"MODEL_ERROR\","
+                    + "\"message\":\"stub failure\"},\"message\":\"Prediction failed\"}");
+            return;
+        }
+        String result = OBJECT_MAPPER.readTree(response).path("result").toString();
+        StringBuilder results = new StringBuilder();
+        for (int i = 0; i < images; i++) {
+            results.append(i == 0 ? "" : ",");
+            results.append(i == failingBatchItem
+                    ? "{\"success\":false,\"error\":{\"code\":\"MODEL_ERROR\",\"message\":\"stub item failure\"}}"
+                    : "{\"success\":true,\"result\":" + result + "}");
+        }
+        respond(exchange, 200, withModelVersion("{\"success\":true,\"results\":[" + results
+                + "],\"message\":\"Batch prediction of " + images + " images completed\"}"));
+    }
+
+    // 按 server.py 的规则解析请求中的图片：JSON 中的 base64（image_data / images）、octet-stream 请求体或 multipart 的 images 字段
+    private List<byte[]> readImages(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        requestBytes.addAndGet(body.length);
+        lastRequestBody = new String(body, StandardCharsets.UTF_8);
+        String contentType = String.valueOf(exchange.getRequestHeaders().getFirst("Content-Type"));
+        lastContentType = contentType;
+        List<byte[]> images = new ArrayList<>();
+        if (contentType.startsWith("application/octet-stream")) {
+            images.add(body);
+        } else if (contentType.startsWith("multipart/form-data")) {
+            String boundary = "--" + contentType.substring(contentType.indexOf("boundary=") + "boundary=".length());
+            String raw = new String(body, StandardCharsets.ISO_8859_1);
+            int part = raw.indexOf(boundary);
+            while (part >= 0 && !raw.startsWith("--", part + boundary.length())) {
+                int start = raw.indexOf("\r\n\r\n", part) + 4;
+                int end = raw.indexOf("\r\n" + boundary, start);
+                images.add(raw.substring(start, end).getBytes(StandardCharsets.ISO_8859_1));
+                part = end + 2;
+            }
+        } else {
+            JsonNode json = OBJECT_MAPPER.readTree(body);
+            if (json.has("image_data")) {
+                images.add(Base64.getDecoder().decode(json.path("image_data").asText()));
+            }
+            json.path("images").forEach(image -> images.add(Base64.getDecoder().decode(image.asText())));
+        }
+        lastImages = images;
+        return images;
+    }
+
+    private String withModelVersion(String response) {
+        return "{\"model_version\":\"" + modelVersion + "\"," + response.substring(1);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        } catch (IOException e) {
+            // 客户端已超时断开
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
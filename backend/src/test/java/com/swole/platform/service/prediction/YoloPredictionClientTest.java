@@ -0,0 +1,291 @@
+package com.swole.platform.service.prediction;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.dto.PredictionEndpoint;
+import com.swole.platform.dto.PredictionResult;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.exception.PredictionServiceException;
+import com.swole.platform.service.prediction.impl.YoloPredictionClientImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class YoloPredictionClientTest {
+
+    private static final byte[] IMAGE_BYTES = {1, 2, 3, 4};
+
+    private static final PredictionImage IMAGE = PredictionImage.ofBytes(IMAGE_BYTES);
+
+    private StubPredictionServer server;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private YoloPredictionClientImpl client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubPredictionServer();
+        meterRegistry = new SimpleMeterRegistry();
+        client = new YoloPredictionClientImpl();
+        ReflectionTestUtils.setField(client, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(client, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(client, "baseUrl", server.getBaseUrl());
+        ReflectionTestUtils.setField(client, "connectTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "concentrationTimeout", Duration.ofMillis(300));
+        ReflectionTestUtils.setField(client, "titrationTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(client, "characterizationTimeout", Duration.ofSeconds(2));
+        ReflectionTestUtils.setField(client, "healthTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "modelsTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "maxAttempts", 3);
+        ReflectionTestUtils.setField(client, "retryBaseDelay", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(client, "retryMaxDelay", Duration.ofMillis(50));
+        ReflectionTestUtils.setField(client, "failureThreshold", 2);
+        ReflectionTestUtils.setField(client, "slowFactor", 3.0);
+        ReflectionTestUtils.setField(client, "slowMinLatency", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(client, "ejectionTime", Duration.ofSeconds(30));
+        client.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    public void testPredictParsesDetections() throws Exception {
+        PredictionResult result = client.predict(PredictionEndpoint.CONCENTRATION, IMAGE);
+
+        assertEquals("concentration", result.getEndpoint());
+        assertEquals(2, result.getDetections().size());
+        assertEquals("cell", result.getDetections().get(0).getClassName());
+        assertEquals(0.91, result.getDetections().get(0).getConfidence());
+        assertEquals(6.0, result.getDetections().get(0).getWidth());
+        assertEquals(2, result.getValues().get("detection_count"));
+
+        // 默认以二进制请求体发送
+        assertEquals("application/octet-stream", server.getLastContentType());
+        assertArrayEquals(IMAGE_BYTES, server.getLastImages().get(0));
+        assertEquals(1, meterRegistry.get("prediction.client.requests")
+                .tags("endpoint", "concentration", "outcome", "success").timer().count());
+    }
+
+    @Test
+    public void testTitrationResultValues() {
+        PredictionResult result = client.predict(PredictionEndpoint.TITRATION, IMAGE);
+
+        assertTrue(result.getDetections().isEmpty());
+        assertEquals(24.5, result.getValues().get("volume"));
+        assertEquals(false, result.getValues().get("endPointReached"));
+    }
+
+    @Test
+    public void testPredictBatchKeepsOrderAndItemErrors() throws Exception {
+        server.setFailingBatchItem(1);
+
+        List<PredictionResult> results = client.predictBatch(PredictionEndpoint.TITRATION, List.of(IMAGE, IMAGE, IMAGE));
+
+        assertEquals(List.of(3), server.getBatchSizes());
+        assertEquals(3, results.size());
+        assertEquals(24.5, results.get(0).getValues().get("volume"));
+        assertEquals("stub item failure", results.get(1).getError());
+        assertNull(results.get(2).getError());
+        assertTrue(server.getLastContentType().startsWith("multipart/form-data"));
+        assertArrayEquals(IMAGE_BYTES, server.getLastImages().get(2));
+    }
+
+    @Test
+    public void testBase64Transport() throws Exception {
+        ReflectionTestUtils.setField(client, "transportMode", "base64");
+
+        client.predict(PredictionEndpoint.CONCENTRATION, IMAGE);
+        String imageData = new ObjectMapper().readTree(server.getLastRequestBody()).path("image_data").asText();
+        assertArrayEquals(IMAGE_BYTES, Base64.getDecoder().decode(imageData));
+
+        client.predictBatch(PredictionEndpoint.CONCENTRATION, List.of(IMAGE, IMAGE));
+        assertEquals("application/json", server.getLastContentType());
+        assertEquals(List.of(2), server.getBatchSizes());
+    }
+
+    @Test
+    public void testStoredFileIsSentAndDownscaled(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("image.png");
+        ImageIO.write(new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB), "png", file.toFile());
+        PredictionImage stored = PredictionImage.ofFile(file, "0".repeat(64));
+
+        // 未超过上限时原样发送文件内容
+        ReflectionTestUtils.setField(client, "maxDimension", 1000);
+        PredictionResult original = client.predict(PredictionEndpoint.CONCENTRATION, stored);
+        assertArrayEquals(Files.readAllBytes(file), server.getLastImages().get(0));
+        assertEquals(10.0, original.getDetections().get(0).getX());
+
+        // 超过上限时缩小后发送，检测框换算回原图坐标
+        ReflectionTestUtils.setField(client, "maxDimension", 400);
+        ReflectionTestUtils.setField(client, "jpegQuality", 0.9f);
+        PredictionResult scaled = client.predict(PredictionEndpoint.CONCENTRATION, stored);
+        BufferedImage sent = ImageIO.read(new ByteArrayInputStream(server.getLastImages().get(0)));
+        assertEquals(400, sent.getWidth());
+        assertEquals(300, sent.getHeight());
+        assertEquals(20.0, scaled.getDetections().get(0).getX());
+        assertEquals(40.0, scaled.getDetections().get(0).getY());
+        assertEquals(12.0, scaled.getDetections().get(0).getWidth());
+        assertEquals(16.0, scaled.getDetections().get(0).getHeight());
+    }
+
+    @Test
+    public void testTransientFailuresAreRetried() {
+        server.failNext(2, 503);
+
+        PredictionResult result = client.predict(PredictionEndpoint.CHARACTERIZATION, IMAGE);
+
+        assertEquals(2, result.getDetections().size());
+        assertEquals(3, server.getPredictRequests());
+        assertEquals(2.0, meterRegistry.get("prediction.client.retries").tag("endpoint", "characterization").counter().count());
+        assertEquals(PredictionCircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    public void testClientErrorsAreNotRetried() {
+        server.failNext(1, 400);
+
+        BadRequestException e = assertThrows(BadRequestException.class,
+                () -> client.predict(PredictionEndpoint.CONCENTRATION, IMAGE));
+
+        assertTrue(e.getMessage().contains("stub failure"));
+        assertEquals(1, server.getPredictRequests());
+        assertEquals(PredictionCircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    public void testTimeoutIsRetriedWithinPerEndpointLimit() {
+        server.setLatency(Duration.ofMillis(1000));
+
+        long start = System.nanoTime();
+        assertThrows(PredictionServiceException.class, () -> client.predict(PredictionEndpoint.CONCENTRATION, IMAGE));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(3, server.getPredictRequests());
+        assertTrue(elapsedMillis < 2000, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    public void testCircuitOpensAndHealthCheckRecovers() {
+        ReflectionTestUtils.setField(client, "maxAttempts", 1);
+        server.failNext(Integer.MAX_VALUE, 503);
+
+        assertThrows(PredictionServiceException.class, () -> client.predict(PredictionEndpoint.CONCENTRATION, IMAGE));
+        assertThrows(PredictionServiceException.class, () -> client.predict(PredictionEndpoint.CONCENTRATION, IMAGE));
+        assertEquals(PredictionCircuitBreaker.State.OPEN, client.getCircuitState());
+
+        // 打开期间不再访问服务
+        assertThrows(PredictionServiceException.class, () -> client.predict(PredictionEndpoint.CONCENTRATION, IMAGE));
+        assertEquals(2, server.getPredictRequests());
+        assertEquals(1.0, meterRegistry.get("prediction.client.rejected").counter().count());
+        assertEquals(2.0, meterRegistry.get("prediction.client.circuit.state").gauge().value());
+
+        assertTrue(client.checkHealth());
+        assertEquals(PredictionCircuitBreaker.State.HALF_OPEN, client.getCircuitState());
+        server.failNext(0, 503);
+        client.predict(PredictionEndpoint.CONCENTRATION, IMAGE);
+        assertEquals(PredictionCircuitBreaker.State.CLOSED, client.getCircuitState());
+
+        server.setHealthy(false);
+        assertFalse(client.checkHealth());
+        assertEquals(PredictionCircuitBreaker.State.OPEN, client.getCircuitState());
+    }
+
+    @Test
+    public void testHalfOpenCircuitAllowsSingleProbe() throws Exception {
+        ReflectionTestUtils.setField(client, "maxAttempts", 1);
+        server.failNext(2, 503);
+        assertThrows(PredictionServiceException.class, () -> client.predict(PredictionEndpoint.TITRATION, IMAGE));
+        assertThrows(PredictionServiceException.class, () -> client.predict(PredictionEndpoint.TITRATION, IMAGE));
+        assertTrue(client.checkHealth());
+        assertEquals(PredictionCircuitBreaker.State.HALF_OPEN, client.getCircuitState());
+
+        // 探测请求进行中，其他请求被拒绝而不是一起发往刚恢复的服务
+        server.setLatency(Duration.ofMillis(500));
+        CompletableFuture<PredictionResult> probe = CompletableFuture.supplyAsync(
+                () -> client.predict(PredictionEndpoint.TITRATION, IMAGE));
+        for (int i = 0; i < 200 && server.getPredictRequests() < 3; i++) {
+            Thread.sleep(5);
+        }
+        assertEquals(3, server.getPredictRequests());
+        for (int i = 0; i < 5; i++) {
+            assertThrows(PredictionServiceException.class, () -> client.predict(PredictionEndpoint.TITRATION, IMAGE));
+        }
+        assertEquals(3, server.getPredictRequests());
+        assertEquals(5.0, meterRegistry.get("prediction.client.rejected").counter().count());
+
+        assertNotNull(probe.get(5, TimeUnit.SECONDS));
+        assertEquals(PredictionCircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    public void testProbePermitIsHeldUntilResolved() throws Exception {
+        PredictionCircuitBreaker breaker = new PredictionCircuitBreaker(1);
+        breaker.onFailure();
+        breaker.onHealthCheck(true);
+        assertEquals(PredictionCircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        assertTrue(breaker.tryAcquire());
+        // 同一调用内重试时仍持有许可，其他线程取不到
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.allowRequest());
+        assertFalse(CompletableFuture.supplyAsync(breaker::tryAcquire).get(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(breaker::releaseProbe).get(5, TimeUnit.SECONDS);
+        assertFalse(breaker.allowRequest());
+
+        // 探测既未成功也未失败时释放，下一个请求重新探测
+        breaker.releaseProbe();
+        assertTrue(breaker.allowRequest());
+        assertTrue(CompletableFuture.supplyAsync(breaker::tryAcquire).get(5, TimeUnit.SECONDS));
+        assertFalse(breaker.tryAcquire());
+
+        // 探测失败重新打开，再次半开后许可已清空
+        breaker.onFailure();
+        assertEquals(PredictionCircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        breaker.onHealthCheck(true);
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(PredictionCircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(CompletableFuture.supplyAsync(breaker::tryAcquire).get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testRejectedProbeReleasesPermit() {
+        ReflectionTestUtils.setField(client, "maxAttempts", 1);
+        server.failNext(2, 503);
+        assertThrows(PredictionServiceException.class, () -> client.predict(PredictionEndpoint.TITRATION, IMAGE));
+        assertThrows(PredictionServiceException.class, () -> client.predict(PredictionEndpoint.TITRATION, IMAGE));
+        assertTrue(client.checkHealth());
+
+        server.failNext(1, 400);
+        assertThrows(BadRequestException.class, () -> client.predict(PredictionEndpoint.TITRATION, IMAGE));
+        assertEquals(PredictionCircuitBreaker.State.HALF_OPEN, client.getCircuitState());
+
+        client.predict(PredictionEndpoint.TITRATION, IMAGE);
+        assertEquals(PredictionCircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    public void testListModels() {
+        assertEquals("MOF", client.listModels().get(0).get("name"));
+    }
+}
@@ -0,0 +1,207 @@
+package com.swole.platform.service.statistics;
+
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.Experiment;
+import com.swole.platform.model.entity.ExperimentStatistics;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.repository.ExperimentRepository;
+import com.swole.platform.repository.ExperimentStatisticsRepository;
+import com.swole.platform.repository.TargetDetectionDataRepository;
+import com.swole.platform.service.ConcentrationDataService;
+import com.swole.platform.service.ExperimentService;
+import com.swole.platform.service.TargetDetectionDataService;
+import com.swole.platform.service.impl.ConcentrationDataServiceImpl;
+import com.swole.platform.service.impl.ExperimentServiceImpl;
+import com.swole.platform.service.impl.GeneralDataServiceImpl;
+import com.swole.platform.service.impl.TargetDetectionDataServiceImpl;
+import com.swole.platform.service.statistics.impl.ExperimentStatisticsMaintenanceServiceImpl;
+import com.swole.platform.util.KeysetPagination;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({
+        ExperimentStatisticsMaintenanceServiceImpl.class,
+        ExperimentServiceImpl.class,
+        TargetDetectionDataServiceImpl.class,
+        ConcentrationDataServiceImpl.class,
+        GeneralDataServiceImpl.class,
+        StatisticsCache.class,
+        SimpleMeterRegistry.class,
+        KeysetPagination.class
+})
+public class ExperimentStatisticsMaintenanceServiceTest {
+
+    @Autowired
+    private ExperimentStatisticsMaintenanceService maintenanceService;
+
+    @Autowired
+    private ExperimentStatisticsRepository experimentStatisticsRepository;
+
+    @Autowired
+    private ExperimentRepository experimentRepository;
+
+    @Autowired
+    private TargetDetectionDataRepository targetDetectionDataRepository;
+
+    @Autowired
+    private ExperimentService experimentService;
+
+    @Autowired
+    private TargetDetectionDataService targetDetectionDataService;
+
+    @Autowired
+    private ConcentrationDataService concentrationDataService;
+
+    private Long experimentId;
+
+    @BeforeEach
+    void setUp() {
+        Experiment experiment = new Experiment();
+        experiment.setExperimentTime(LocalDateTime.of(2026, 1, 8, 10, 0));
+        experiment.setUserId(1L);
+        experiment.setExperimentTypeId(1L);
+        experimentId = experimentService.createExperiment(experiment).getId();
+    }
+
+    @Test
+    public void testCreateExperimentInitializesStatistics() {
+        ExperimentStatistics stats = experimentStatisticsRepository.findById(experimentId).orElseThrow();
+
+        assertEquals(0L, stats.getTargetDetectionCount());
+        assertNull(stats.getMinConfidence());
+    }
+
+    @Test
+    public void testDataWritesMaintainStatistics() {
+        targetDetectionDataService.createTargetDetectionData(targetDetection(0.8));
+        TargetDetectionData lowest = targetDetectionDataService.createTargetDetectionData(targetDetection(0.4));
+        ConcentrationData concentration = concentrationDataService.createConcentrationData(concentration(2.0, 0.9));
+        concentrationDataService.createConcentrationData(concentration(4.0, 0.6));
+
+        ExperimentStatistics stats = experimentStatisticsRepository.findById(experimentId).orElseThrow();
+        assertEquals(2L, stats.getTargetDetectionCount());
+        assertEquals(2L, stats.getConcentrationCount());
+        assertEquals(6.0, stats.getConcentrationSum(), 1e-9);
+        assertEquals(4L, stats.getConfidenceCount());
+        assertEquals(2.7, stats.getConfidenceSum(), 1e-9);
+        assertEquals(0.4, stats.getMinConfidence(), 1e-9);
+        assertEquals(0.9, stats.getMaxConfidence(), 1e-9);
+
+        // 更新浓度值并删除最小置信度的数据，极值需要重新计算
+        ConcentrationData updated = concentration(8.0, 0.7);
+        concentrationDataService.updateConcentrationData(concentration.getId(), updated);
+        targetDetectionDataService.deleteTargetDetectionData(lowest.getId());
+
+        stats = experimentStatisticsRepository.findById(experimentId).orElseThrow();
+        assertEquals(1L, stats.getTargetDetectionCount());
+        assertEquals(12.0, stats.getConcentrationSum(), 1e-9);
+        assertEquals(4.0, stats.getMinConcentration(), 1e-9);
+        assertEquals(8.0, stats.getMaxConcentration(), 1e-9);
+        assertEquals(0.6, stats.getMinConfidence(), 1e-9);
+        assertEquals(0.8, stats.getMaxConfidence(), 1e-9);
+        assertTrue(maintenanceService.findInconsistentExperimentIds().isEmpty());
+    }
+
+    @Test
+    public void testRebuildRepairsInconsistentStatistics() {
+        targetDetectionDataService.createTargetDetectionData(targetDetection(0.8));
+        ExperimentStatistics stats = experimentStatisticsRepository.findById(experimentId).orElseThrow();
+        stats.setTargetDetectionCount(42L);
+        experimentStatisticsRepository.saveAndFlush(stats);
+
+        assertEquals(1, maintenanceService.findInconsistentExperimentIds().size());
+
+        assertEquals(1L, maintenanceService.rebuildAll());
+        assertTrue(maintenanceService.findInconsistentExperimentIds().isEmpty());
+        assertEquals(1L, experimentStatisticsRepository.findById(experimentId).orElseThrow().getTargetDetectionCount());
+    }
+
+    @Test
+    public void testRebuildMissingStatistics() {
+        experimentStatisticsRepository.deleteById(experimentId);
+        experimentStatisticsRepository.flush();
+
+        assertEquals(1L, maintenanceService.rebuildMissing());
+        assertTrue(experimentStatisticsRepository.existsById(experimentId));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testConcurrentFirstWritesCreateStatisticsOnce() throws Exception {
+        // 历史实验：没有统计记录，多个事务同时写入第一批数据
+        experimentStatisticsRepository.deleteById(experimentId);
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            CyclicBarrier start = new CyclicBarrier(writers);
+            List<CompletableFuture<TargetDetectionData>> writes = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                double confidence = (i + 1) / 10.0;
+                writes.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await(5, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return targetDetectionDataService.createTargetDetectionData(targetDetection(confidence));
+                }, executor));
+            }
+            for (CompletableFuture<TargetDetectionData> write : writes) {
+                assertNotNull(write.get(30, TimeUnit.SECONDS).getId());
+            }
+
+            ExperimentStatistics stats = experimentStatisticsRepository.findById(experimentId).orElseThrow();
+            assertEquals(writers, stats.getTargetDetectionCount());
+            assertEquals(0.1, stats.getMinConfidence(), 1e-9);
+            assertEquals(0.8, stats.getMaxConfidence(), 1e-9);
+            assertTrue(maintenanceService.findInconsistentExperimentIds().isEmpty());
+        } finally {
+            executor.shutdownNow();
+            targetDetectionDataRepository.deleteAll(targetDetectionDataRepository.findByExperimentId(experimentId));
+            experimentStatisticsRepository.deleteById(experimentId);
+            experimentRepository.deleteById(experimentId);
+        }
+    }
+
+    private TargetDetectionData targetDetection(double confidence) {
+        TargetDetectionData data = new TargetDetectionData();
+        data.setExperimentId(experimentId);
+        data.setGroupNumber(1);
+        data.setClassName("droplet");
+        data.setConfidence(confidence);
+        data.setX(10.0);
+        data.setY(20.0);
+        data.setDiameter(5.0);
+        return data;
+    }
+
+    private ConcentrationData concentration(double value, double confidence) {
+        ConcentrationData data = new ConcentrationData();
+        data.setExperimentId(experimentId);
+        data.setGroupNumber(1);
+        data.setConcentration(value);
+        data.setConfidence(confidence);
+        return data;
+    }
+}
@@ -0,0 +1,166 @@
+package com.swole.platform.service.statistics;
+
+import com.swole.platform.dto.ExperimentStatisticsDto;
+import com.swole.platform.model.entity.Experiment;
+import com.swole.platform.model.entity.ExperimentStatistics;
+import com.swole.platform.model.entity.ExperimentType;
+import com.swole.platform.model.entity.User;
+import com.swole.platform.repository.*;
+import com.swole.platform.repository.projection.ExperimentStatisticsTotals;
+import com.swole.platform.service.statistics.impl.ExperimentStatisticsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ExperimentStatisticsServiceTest {
+
+    @Mock
+    private ExperimentRepository experimentRepository;
+
+    @Mock
+    private ExperimentStatisticsRepository experimentStatisticsRepository;
+
+    @Mock
+    private ExperimentStatisticsMaintenanceService experimentStatisticsMaintenanceService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ExperimentTypeRepository experimentTypeRepository;
+
+    private ExperimentStatisticsServiceImpl statisticsService;
+
+    @BeforeEach
+    void setUp() {
+        statisticsService = new ExperimentStatisticsServiceImpl();
+        ReflectionTestUtils.setField(statisticsService, "experimentRepository", experimentRepository);
+        ReflectionTestUtils.setField(statisticsService, "experimentStatisticsRepository", experimentStatisticsRepository);
+        ReflectionTestUtils.setField(statisticsService, "experimentStatisticsMaintenanceService", experimentStatisticsMaintenanceService);
+        ReflectionTestUtils.setField(statisticsService, "userRepository", userRepository);
+        ReflectionTestUtils.setField(statisticsService, "experimentTypeRepository", experimentTypeRepository);
+    }
+
+    @Test
+    public void testUserStatisticsUseConstantNumberOfQueries() {
+        when(experimentRepository.findByUserId(1L)).thenReturn(Arrays.asList(experiment(10L), experiment(11L), experiment(12L)));
+        when(experimentStatisticsRepository.findAllById(anyIterable()))
+                .thenReturn(Arrays.asList(statistics(10L, 2L, 2L, 0L, 6.0, 2.8), statistics(11L, 0L, 1L, 0L, 5.0, 0.9)));
+        when(experimentStatisticsMaintenanceService.computeFromRawData(Collections.singletonList(12L)))
+                .thenReturn(Collections.singletonMap(12L, statistics(12L, 0L, 0L, 4L, 0.0, 0.0)));
+        when(userRepository.findAllById(anyCollection())).thenReturn(Collections.singletonList(user()));
+        when(experimentTypeRepository.findAllById(anyCollection())).thenReturn(Collections.singletonList(experimentType()));
+
+        List<ExperimentStatisticsDto> stats = statisticsService.getUserExperimentStatistics(1L);
+
+        assertEquals(3, stats.size());
+        ExperimentStatisticsDto first = stats.get(0);
+        assertEquals(10L, first.getExperimentId());
+        assertEquals(4, first.getTotalDataPoints());
+        assertEquals(3.0, first.getAverageConcentration(), 1e-9);
+        assertEquals(0.7, first.getConfidenceLevel(), 1e-9);
+        assertEquals("Test User", first.getUserName());
+        assertEquals("Titration", first.getExperimentType());
+        assertEquals(1, stats.get(1).getTotalDataPoints());
+        assertEquals(4, stats.get(2).getTotalDataPoints());
+        assertEquals(0.0, stats.get(2).getConfidenceLevel(), 1e-9);
+
+        verify(experimentStatisticsRepository, times(1)).findAllById(anyIterable());
+        verify(experimentStatisticsMaintenanceService, times(1)).computeFromRawData(anyCollection());
+        verify(userRepository, times(1)).findAllById(anyCollection());
+        verify(experimentTypeRepository, times(1)).findAllById(anyCollection());
+    }
+
+    @Test
+    public void testExperimentStatisticsReadFromSummaryTable() {
+        when(experimentRepository.findById(10L)).thenReturn(Optional.of(experiment(10L)));
+        when(experimentStatisticsRepository.findById(10L)).thenReturn(Optional.of(statistics(10L, 2L, 2L, 0L, 6.0, 2.8)));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user()));
+        when(experimentTypeRepository.findById(1L)).thenReturn(Optional.of(experimentType()));
+
+        ExperimentStatisticsDto stats = statisticsService.getDetailedAnalysis(10L);
+
+        assertEquals(4, stats.getTotalDataPoints());
+        assertEquals(3.0, stats.getAverageConcentration(), 1e-9);
+        verifyNoInteractions(experimentStatisticsMaintenanceService);
+    }
+
+    @Test
+    public void testOverallStatisticsIncludeConfidence() {
+        ExperimentStatisticsTotals totals = mock(ExperimentStatisticsTotals.class);
+        when(totals.getDataPoints()).thenReturn(30L);
+        when(totals.getConcentrationSum()).thenReturn(12.0);
+        when(totals.getConcentrationCount()).thenReturn(4L);
+        when(totals.getConfidenceSum()).thenReturn(8.0);
+        when(totals.getConfidenceCount()).thenReturn(10L);
+        when(experimentRepository.count()).thenReturn(3L);
+        when(experimentStatisticsRepository.aggregateTotals()).thenReturn(totals);
+
+        ExperimentStatisticsDto overall = statisticsService.getOverallStatistics();
+
+        assertEquals(30, overall.getTotalDataPoints());
+        assertEquals(3.0, overall.getAverageConcentration(), 1e-9);
+        assertEquals(0.8, overall.getConfidenceLevel(), 1e-9);
+        verify(experimentRepository, never()).findAll();
+    }
+
+    @Test
+    public void testUserStatisticsWithoutExperiments() {
+        when(experimentRepository.findByUserId(2L)).thenReturn(Collections.emptyList());
+
+        List<ExperimentStatisticsDto> stats = statisticsService.getUserStatistics(2L);
+
+        assertTrue(stats.isEmpty());
+        verifyNoInteractions(experimentStatisticsRepository, experimentStatisticsMaintenanceService);
+    }
+
+    private static Experiment experiment(Long id) {
+        Experiment experiment = new Experiment();
+        experiment.setId(id);
+        experiment.setUserId(1L);
+        experiment.setExperimentTypeId(1L);
+        experiment.setExperimentTime(LocalDateTime.of(2026, 1, 8, 10, 0));
+        return experiment;
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("Test User");
+        return user;
+    }
+
+    private static ExperimentType experimentType() {
+        ExperimentType type = new ExperimentType();
+        type.setId(1L);
+        type.setTypeName("Titration");
+        return type;
+    }
+
+    private static ExperimentStatistics statistics(Long experimentId, Long targetDetectionCount, Long concentrationCount,
+                                                   Long generalDataCount, double concentrationSum, double confidenceSum) {
+        ExperimentStatistics stats = new ExperimentStatistics(experimentId);
+        stats.setTargetDetectionCount(targetDetectionCount);
+        stats.setConcentrationCount(concentrationCount);
+        stats.setGeneralDataCount(generalDataCount);
+        stats.setConcentrationSum(concentrationSum);
+        stats.setConfidenceSum(confidenceSum);
+        stats.setConfidenceCount(targetDetectionCount + concentrationCount);
+        return stats;
+    }
+}
@@ -0,0 +1,121 @@
+package com.swole.platform.service.statistics;
+
+import com.swole.platform.dto.ExperimentStatisticsDto;
+import com.swole.platform.dto.TimeBucketGranularity;
+import com.swole.platform.model.entity.Experiment;
+import com.swole.platform.repository.ExperimentRepository;
+import com.swole.platform.service.statistics.impl.CachingExperimentStatisticsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class StatisticsCacheTest {
+
+    @Mock
+    private ExperimentStatisticsService delegate;
+
+    @Mock
+    private ExperimentRepository experimentRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private StatisticsCache statisticsCache;
+
+    private CachingExperimentStatisticsService statisticsService;
+
+    private Experiment experiment;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        statisticsCache = new StatisticsCache();
+        ReflectionTestUtils.setField(statisticsCache, "experimentRepository", experimentRepository);
+        ReflectionTestUtils.setField(statisticsCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(statisticsCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(statisticsCache, "ttl", Duration.ofMinutes(10));
+        statisticsCache.init();
+
+        statisticsService = new CachingExperimentStatisticsService();
+        ReflectionTestUtils.setField(statisticsService, "delegate", delegate);
+        ReflectionTestUtils.setField(statisticsService, "statisticsCache", statisticsCache);
+
+        experiment = new Experiment();
+        experiment.setId(1L);
+        experiment.setUserId(10L);
+        experiment.setExperimentTypeId(20L);
+        experiment.setExperimentTime(LocalDateTime.of(2024, 1, 15, 10, 0));
+    }
+
+    @Test
+    public void testRepeatedRequestsAreServedFromCache() {
+        when(delegate.getUserExperimentStatistics(10L)).thenReturn(List.of(new ExperimentStatisticsDto()));
+
+        statisticsService.getUserExperimentStatistics(10L);
+        statisticsService.getUserStatistics(10L);
+        statisticsService.getUserExperimentStatistics(10L);
+
+        verify(delegate, times(1)).getUserExperimentStatistics(10L);
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "statistics").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void testDataWriteEvictsAffectedEntries() {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 2, 1, 0, 0);
+        when(experimentRepository.findById(1L)).thenReturn(Optional.of(experiment));
+        when(delegate.getExperimentStatistics(1L)).thenReturn(Collections.emptyList());
+        when(delegate.getUserExperimentStatistics(10L)).thenReturn(Collections.emptyList());
+        when(delegate.getUserExperimentStatistics(11L)).thenReturn(Collections.emptyList());
+        when(delegate.getTrendStatistics(start, end, TimeBucketGranularity.DAY)).thenReturn(Collections.emptyList());
+        when(delegate.getOverallStatistics()).thenReturn(new ExperimentStatisticsDto());
+
+        statisticsService.getExperimentStatistics(1L);
+        statisticsService.getUserExperimentStatistics(10L);
+        statisticsService.getUserExperimentStatistics(11L);
+        statisticsService.getTrendStatistics(start, end, TimeBucketGranularity.DAY);
+        statisticsService.getOverallStatistics();
+
+        // 无事务时立即失效
+        statisticsCache.evictExperimentAfterCommit(1L);
+
+        statisticsService.getExperimentStatistics(1L);
+        statisticsService.getUserExperimentStatistics(10L);
+        statisticsService.getUserExperimentStatistics(11L);
+        statisticsService.getTrendStatistics(start, end, TimeBucketGranularity.DAY);
+        statisticsService.getOverallStatistics();
+
+        verify(delegate, times(2)).getExperimentStatistics(1L);
+        verify(delegate, times(2)).getUserExperimentStatistics(10L);
+        verify(delegate, times(1)).getUserExperimentStatistics(11L);
+        verify(delegate, times(2)).getTrendStatistics(start, end, TimeBucketGranularity.DAY);
+        verify(delegate, times(2)).getOverallStatistics();
+    }
+
+    @Test
+    public void testRangeOutsideExperimentTimeIsKept() {
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 2, 1, 0, 0);
+        when(delegate.getTimeRangeStatistics(start, end)).thenReturn(Collections.emptyList());
+
+        statisticsService.getTimeRangeStatistics(start, end);
+        statisticsCache.evictExperimentAfterCommit(experiment);
+        statisticsService.getTimeRangeStatistics(start, end);
+
+        verify(delegate, times(1)).getTimeRangeStatistics(start, end);
+    }
+}
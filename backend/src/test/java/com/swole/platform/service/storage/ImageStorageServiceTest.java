@@ -0,0 +1,66 @@
+package com.swole.platform.service.storage;
+
+import com.swole.platform.service.storage.impl.ImageStorageServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ImageStorageServiceTest {
+
+    // "hello" 的 SHA-256
+    private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path root;
+
+    private ImageStorageServiceImpl imageStorageService;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        imageStorageService = new ImageStorageServiceImpl();
+        ReflectionTestUtils.setField(imageStorageService, "imageRoot", root.toString());
+        imageStorageService.init();
+    }
+
+    @Test
+    public void testStoreUsesContentAddressedPath() throws Exception {
+        String sha256 = imageStorageService.store(file("a.png", "hello"));
+
+        assertEquals(HELLO_SHA256, sha256);
+        Path stored = root.resolve("2c").resolve("f2").resolve(HELLO_SHA256);
+        assertEquals("hello", Files.readString(stored));
+        assertEquals(stored, imageStorageService.resolve(sha256).orElseThrow());
+    }
+
+    @Test
+    public void testIdenticalUploadsAreStoredOnce() throws Exception {
+        String first = imageStorageService.store(file("a.png", "hello"));
+        String second = imageStorageService.store(file("b.png", "hello"));
+        String other = imageStorageService.store(file("c.png", "world"));
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        try (Stream<Path> files = Files.walk(root)) {
+            assertEquals(2, files.filter(Files::isRegularFile).count());
+        }
+    }
+
+    @Test
+    public void testResolveRejectsInvalidHashes() {
+        assertTrue(imageStorageService.resolve("../../etc/passwd").isEmpty());
+        assertTrue(imageStorageService.resolve(HELLO_SHA256).isEmpty());
+    }
+
+    private static MockMultipartFile file(String name, String content) {
+        return new MockMultipartFile("imageData", name, "image/png", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,218 @@
+package com.swole.platform.service.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.swole.platform.controller.v1.ExperimentDataStreamController;
+import com.swole.platform.dto.ExperimentDataType;
+import com.swole.platform.handler.GlobalExceptionHandler;
+import com.swole.platform.model.entity.ConcentrationData;
+import com.swole.platform.model.entity.ExperimentStatistics;
+import com.swole.platform.model.entity.TargetDetectionData;
+import com.swole.platform.repository.ExperimentRepository;
+import com.swole.platform.repository.ExperimentStatisticsRepository;
+import com.swole.platform.service.stream.impl.ExperimentDataStreamServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class ExperimentDataStreamServiceTest {
+
+    @Mock
+    private ExperimentRepository experimentRepository;
+
+    @Mock
+    private ExperimentStatisticsRepository experimentStatisticsRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ExperimentDataStreamServiceImpl streamService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        streamService = new ExperimentDataStreamServiceImpl();
+        ReflectionTestUtils.setField(streamService, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(streamService, "experimentRepository", experimentRepository);
+        ReflectionTestUtils.setField(streamService, "experimentStatisticsRepository", experimentStatisticsRepository);
+        ReflectionTestUtils.setField(streamService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(streamService, "timeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(streamService, "bufferSize", 4);
+        ReflectionTestUtils.setField(streamService, "publishQueueSize", 1024);
+        ReflectionTestUtils.setField(streamService, "senderThreads", 2);
+        streamService.init();
+
+        ExperimentDataStreamController controller = new ExperimentDataStreamController();
+        ReflectionTestUtils.setField(controller, "experimentDataStreamService", streamService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    @Test
+    public void testSubscriberReceivesSummaryRowsAndHeartbeats() throws Exception {
+        when(experimentRepository.existsById(1L)).thenReturn(true);
+        when(experimentStatisticsRepository.findById(1L))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(statistics(1L)));
+
+        MockHttpServletResponse response = subscribe(1L);
+        awaitContent(response, "event:summary");
+        assertEquals(1, streamService.getSubscriberCount(1L));
+
+        streamService.onPersisted(new ExperimentDataPersistedEvent(1L, ExperimentDataType.TARGET_DETECTION,
+                List.of(targetDetection(1L, 0.9))));
+        awaitContent(response, "\"maxConfidence\":0.9");
+
+        String content = response.getContentAsString();
+        assertTrue(content.indexOf("event:target-detection") < content.indexOf("\"maxConfidence\":0.9"), content);
+        assertTrue(content.contains("\"className\":\"cell\""), content);
+
+        streamService.sendHeartbeats();
+        awaitContent(response, ":heartbeat");
+    }
+
+    @Test
+    public void testEventsAreOnlyDeliveredToSubscribersOfTheExperiment() throws Exception {
+        when(experimentRepository.existsById(anyLong())).thenReturn(true);
+        when(experimentStatisticsRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        MockHttpServletResponse first = subscribe(1L);
+        MockHttpServletResponse second = subscribe(2L);
+        awaitContent(first, "event:summary");
+        awaitContent(second, "event:summary");
+
+        ConcentrationData row = new ConcentrationData();
+        row.setExperimentId(2L);
+        row.setGroupNumber(1);
+        row.setConcentration(0.42);
+        row.setConfidence(0.8);
+        streamService.onPersisted(new ExperimentDataPersistedEvent(2L, ExperimentDataType.CONCENTRATION, List.of(row)));
+        // 没有订阅者的实验直接忽略
+        streamService.onPersisted(new ExperimentDataPersistedEvent(3L, ExperimentDataType.CONCENTRATION, List.of(row)));
+
+        awaitContent(second, "\"concentration\":0.42");
+        assertFalse(first.getContentAsString().contains("event:concentration"));
+        verify(experimentStatisticsRepository, never()).findById(3L);
+    }
+
+    @Test
+    public void testUnknownExperimentReturnsNotFound() throws Exception {
+        when(experimentRepository.existsById(99L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/v1/experiment-data/stream/experiment/99"))
+                .andExpect(status().isNotFound());
+        assertEquals(0, streamService.getSubscriberCount(99L));
+    }
+
+    @Test
+    public void testSlowSubscriberIsResyncedWithoutBlockingWriters() throws Exception {
+        when(experimentRepository.existsById(1L)).thenReturn(true);
+        when(experimentStatisticsRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // 发送线程被占住，模拟一个不读取数据的客户端
+        CountDownLatch stalled = new CountDownLatch(1);
+        ExecutorService slowSender = Executors.newSingleThreadExecutor();
+        slowSender.execute(() -> {
+            try {
+                stalled.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        ReflectionTestUtils.setField(streamService, "sender", slowSender);
+
+        MockHttpServletResponse response = subscribe(1L);
+        long start = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            streamService.onPersisted(new ExperimentDataPersistedEvent(1L, ExperimentDataType.TARGET_DETECTION,
+                    List.of(targetDetection(1L, 0.5))));
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "writers were blocked by a slow subscriber");
+
+        awaitCondition(() -> meterRegistry.counter("stream.resyncs").count() >= 1);
+        stalled.countDown();
+        awaitContent(response, "event:resync");
+
+        // 缓冲区最多 4 条，溢出的事件被丢弃而不是排队
+        String content = response.getContentAsString();
+        int rows = content.split("event:target-detection", -1).length - 1;
+        assertTrue(rows < 50, "rows delivered: " + rows);
+        slowSender.shutdownNow();
+    }
+
+    private MockHttpServletResponse subscribe(Long experimentId) throws Exception {
+        return mockMvc.perform(get("/api/v1/experiment-data/stream/experiment/" + experimentId))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+    }
+
+    private static void awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        awaitCondition(() -> response.getContentAsString().contains(expected));
+        assertTrue(response.getContentAsString().contains(expected), response.getContentAsString());
+    }
+
+    private static void awaitCondition(Condition condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.met() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.met(), "condition not met within 5s");
+    }
+
+    private static TargetDetectionData targetDetection(Long experimentId, double confidence) {
+        TargetDetectionData row = new TargetDetectionData();
+        row.setExperimentId(experimentId);
+        row.setGroupNumber(1);
+        row.setClassName("cell");
+        row.setConfidence(confidence);
+        row.setX(10.0);
+        row.setY(20.0);
+        row.setDiameter(5.0);
+        return row;
+    }
+
+    private static ExperimentStatistics statistics(Long experimentId) {
+        ExperimentStatistics statistics = new ExperimentStatistics();
+        statistics.setExperimentId(experimentId);
+        statistics.setTargetDetectionCount(1L);
+        statistics.setConfidenceSum(0.9);
+        statistics.setConfidenceCount(1L);
+        statistics.setMinConfidence(0.9);
+        statistics.setMaxConfidence(0.9);
+        return statistics;
+    }
+
+    private interface Condition {
+        boolean met() throws Exception;
+    }
+}
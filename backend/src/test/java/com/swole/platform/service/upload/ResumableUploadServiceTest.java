@@ -0,0 +1,372 @@
+package com.swole.platform.service.upload;
+
+import com.swole.platform.dto.UploadSessionRequest;
+import com.swole.platform.dto.UploadSessionStatus;
+import com.swole.platform.exception.BadRequestException;
+import com.swole.platform.exception.ConflictException;
+import com.swole.platform.exception.ResourceNotFoundException;
+import com.swole.platform.exception.ServiceOverloadedException;
+import com.swole.platform.model.entity.Experiment;
+import com.swole.platform.model.entity.ExperimentImage;
+import com.swole.platform.repository.ExperimentImageRepository;
+import com.swole.platform.repository.ExperimentRepository;
+import com.swole.platform.repository.UploadSessionRepository;
+import com.swole.platform.service.ExperimentImageService;
+import com.swole.platform.service.impl.ExperimentImageServiceImpl;
+import com.swole.platform.service.storage.ImageStorageService;
+import com.swole.platform.service.storage.impl.ImageStorageServiceImpl;
+import com.swole.platform.service.upload.impl.ResumableUploadServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@Import({
+        ResumableUploadServiceImpl.class,
+        ExperimentImageServiceImpl.class,
+        ImageStorageServiceImpl.class
+})
+public class ResumableUploadServiceTest {
+
+    // "hello world" 的 SHA-256
+    private static final String HELLO_WORLD_SHA256 = "b94d27b9934d3e08a52e52d7da7dabfac484efe37a5380ee9088f7ace2efcde9";
+
+    private static final Path ROOT;
+
+    static {
+        try {
+            ROOT = Files.createTempDirectory("resumable-upload-test");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void storageProperties(DynamicPropertyRegistry registry) {
+        registry.add("storage.image-root", ROOT::toString);
+        registry.add("storage.upload-dir", () -> ROOT.resolve("uploads").toString());
+    }
+
+    @Autowired
+    private ResumableUploadService resumableUploadService;
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    @Autowired
+    private ExperimentImageService experimentImageService;
+
+    @Autowired
+    private ExperimentRepository experimentRepository;
+
+    @Autowired
+    private ExperimentImageRepository experimentImageRepository;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    private Long experimentId;
+
+    @BeforeEach
+    void setUp() {
+        Experiment experiment = new Experiment();
+        experiment.setExperimentTime(LocalDateTime.of(2026, 1, 8, 10, 0));
+        experiment.setUserId(1L);
+        experiment.setExperimentTypeId(1L);
+        experimentId = experimentRepository.save(experiment).getId();
+    }
+
+    @Test
+    public void testOutOfOrderChunksAreAssembled() throws Exception {
+        UploadSessionStatus session = create(11);
+
+        put(session, 6, "world");
+        UploadSessionStatus partial = put(session, 0, "hello");
+        assertEquals(10, partial.getReceivedBytes());
+        assertRanges(partial, new long[][]{{0, 5}, {6, 11}}, new long[][]{{5, 6}});
+
+        UploadSessionStatus full = put(session, 5, " ");
+        assertRanges(full, new long[][]{{0, 11}}, new long[][]{});
+
+        ExperimentImage image = resumableUploadService.complete(session.getSessionId());
+        assertEquals(HELLO_WORLD_SHA256, image.getSha256());
+        assertEquals(11L, image.getSizeBytes());
+        assertEquals("dump.bin", image.getOriginalFilename());
+        assertEquals("hello world", Files.readString(imageStorageService.resolve(HELLO_WORLD_SHA256).orElseThrow()));
+        assertFalse(Files.exists(ROOT.resolve("uploads").resolve(session.getSessionId() + ".part")));
+
+        // 重复完成返回同一结果
+        ExperimentImage again = resumableUploadService.complete(session.getSessionId());
+        assertEquals(image.getId(), again.getId());
+        assertEquals("COMPLETED", resumableUploadService.getSession(session.getSessionId()).getStatus());
+        assertThrows(ConflictException.class, () -> put(session, 0, "hello"));
+    }
+
+    @Test
+    public void testOverlappingRetriesAreMerged() throws Exception {
+        UploadSessionStatus session = create(11);
+
+        put(session, 0, "hello");
+        put(session, 3, "lo wo");
+        UploadSessionStatus status = put(session, 0, "hello");
+
+        assertEquals(8, status.getReceivedBytes());
+        assertRanges(status, new long[][]{{0, 8}}, new long[][]{{8, 11}});
+    }
+
+    @Test
+    public void testCompleteRejectsMissingRanges() throws Exception {
+        UploadSessionStatus session = create(11);
+        put(session, 0, "hello");
+
+        assertThrows(ConflictException.class, () -> resumableUploadService.complete(session.getSessionId()));
+        assertEquals("OPEN", resumableUploadService.getSession(session.getSessionId()).getStatus());
+    }
+
+    @Test
+    public void testTruncatedChunkIsNotRecorded() throws Exception {
+        UploadSessionStatus session = create(11);
+        byte[] body = "hel".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(BadRequestException.class, () -> resumableUploadService.writeChunk(
+                session.getSessionId(), 0, 5, new ByteArrayInputStream(body)));
+        assertEquals(0, resumableUploadService.getSession(session.getSessionId()).getReceivedBytes());
+    }
+
+    @Test
+    public void testChunkOutsideFileIsRejected() throws Exception {
+        UploadSessionStatus session = create(11);
+
+        assertThrows(BadRequestException.class, () -> put(session, 8, "world"));
+    }
+
+    @Test
+    public void testFailedCompletionRestoresPartFile() throws Exception {
+        UploadSessionStatus session = create(11);
+        put(session, 0, "hello world");
+        Path part = ROOT.resolve("uploads").resolve(session.getSessionId() + ".part");
+
+        // 图片已移入存储后事务失败
+        ExperimentImageService failing = mock(ExperimentImageService.class);
+        when(failing.saveImage(anyLong(), anyInt(), any(Path.class), anyString(), anyString())).thenAnswer(invocation -> {
+            imageStorageService.store(invocation.getArgument(2, Path.class));
+            throw new DataIntegrityViolationException("simulated failure");
+        });
+        ReflectionTestUtils.setField(resumableUploadService, "experimentImageService", failing);
+        try {
+            assertThrows(DataIntegrityViolationException.class, () -> resumableUploadService.complete(session.getSessionId()));
+        } finally {
+            ReflectionTestUtils.setField(resumableUploadService, "experimentImageService", experimentImageService);
+        }
+
+        assertEquals("hello world", Files.readString(part));
+        assertFalse(Files.exists(ROOT.resolve("uploads").resolve(session.getSessionId() + ".part.bak")));
+        assertEquals("OPEN", resumableUploadService.getSession(session.getSessionId()).getStatus());
+
+        // 会话可以重试完成
+        assertEquals(HELLO_WORLD_SHA256, resumableUploadService.complete(session.getSessionId()).getSha256());
+        assertFalse(Files.exists(part));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testCompletionWaitsForInFlightChunk() throws Exception {
+        UploadSessionStatus session = create(11);
+        try {
+            put(session, 0, "hello world");
+
+            // 一个重传的分块正在写入时请求完成会话
+            CountDownLatch writing = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<UploadSessionStatus> chunk = putBlocked(session, 0, "HELLO", writing, release);
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            CompletableFuture<ExperimentImage> completion = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return resumableUploadService.complete(session.getSessionId());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            assertThrows(TimeoutException.class, () -> completion.get(200, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            chunk.get(5, TimeUnit.SECONDS);
+            ExperimentImage image = completion.get(5, TimeUnit.SECONDS);
+
+            // 存储的内容包含该分块，且与其 SHA-256 一致；之后到达的分块被拒绝
+            Path stored = imageStorageService.resolve(image.getSha256()).orElseThrow();
+            assertEquals("HELLO world", Files.readString(stored));
+            assertEquals(sha256(Files.readAllBytes(stored)), image.getSha256());
+            assertThrows(ConflictException.class, () -> put(session, 0, "hello"));
+            experimentImageRepository.deleteById(image.getId());
+        } finally {
+            uploadSessionRepository.deleteById(session.getSessionId());
+            experimentRepository.deleteById(experimentId);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testAbortWaitsForInFlightChunk() throws Exception {
+        UploadSessionStatus session = create(11);
+        Path part = ROOT.resolve("uploads").resolve(session.getSessionId() + ".part");
+        try {
+            CountDownLatch writing = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<UploadSessionStatus> chunk = putBlocked(session, 0, "hello", writing, release);
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Void> abort = CompletableFuture.runAsync(() -> {
+                try {
+                    resumableUploadService.abort(session.getSessionId());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            assertThrows(TimeoutException.class, () -> abort.get(200, TimeUnit.MILLISECONDS));
+            assertTrue(Files.exists(part));
+
+            release.countDown();
+            assertEquals(5, chunk.get(5, TimeUnit.SECONDS).getReceivedBytes());
+            abort.get(5, TimeUnit.SECONDS);
+
+            // 放弃在分块写入结束后才删除文件，之后的分块找不到会话
+            assertFalse(Files.exists(part));
+            assertThrows(ResourceNotFoundException.class, () -> put(session, 5, " worl"));
+        } finally {
+            uploadSessionRepository.findById(session.getSessionId()).ifPresent(uploadSessionRepository::delete);
+            experimentRepository.deleteById(experimentId);
+        }
+    }
+
+    @Test
+    public void testPurgeRemovesExpiredSessionsAndFiles() throws Exception {
+        UploadSessionStatus session = create(11);
+        put(session, 0, "hello");
+        Path part = ROOT.resolve("uploads").resolve(session.getSessionId() + ".part");
+
+        // 保留时间为负时所有会话都已过期
+        ReflectionTestUtils.setField(resumableUploadService, "sessionTtl", Duration.ofMinutes(-1));
+        try {
+            assertEquals(1, resumableUploadService.purgeExpired());
+        } finally {
+            ReflectionTestUtils.setField(resumableUploadService, "sessionTtl", Duration.ofHours(24));
+        }
+
+        assertFalse(Files.exists(part));
+        assertTrue(uploadSessionRepository.findById(session.getSessionId()).isEmpty());
+    }
+
+    @Test
+    public void testPartFileGrowsWithReceivedChunks() throws Exception {
+        UploadSessionStatus session = create(11);
+        Path part = ROOT.resolve("uploads").resolve(session.getSessionId() + ".part");
+        assertEquals(0, Files.size(part));
+
+        put(session, 0, "hello");
+        assertEquals(5, Files.size(part));
+        put(session, 8, "rld");
+        assertEquals(11, Files.size(part));
+        put(session, 5, " wo");
+
+        assertEquals(HELLO_WORLD_SHA256, resumableUploadService.complete(session.getSessionId()).getSha256());
+    }
+
+    @Test
+    public void testOpenSessionsAreCapped() throws Exception {
+        create(11);
+
+        ReflectionTestUtils.setField(resumableUploadService, "maxOpenSessions", 1L);
+        try {
+            assertThrows(ServiceOverloadedException.class, () -> create(11));
+        } finally {
+            ReflectionTestUtils.setField(resumableUploadService, "maxOpenSessions", 1000L);
+        }
+
+        ReflectionTestUtils.setField(resumableUploadService, "maxReservedBytes", 20L);
+        try {
+            assertThrows(ServiceOverloadedException.class, () -> create(10));
+            create(9);
+        } finally {
+            ReflectionTestUtils.setField(resumableUploadService, "maxReservedBytes", 107374182400L);
+        }
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private UploadSessionStatus create(long totalSize) throws IOException {
+        return resumableUploadService.createSession(
+                new UploadSessionRequest(experimentId, 1, "dump.bin", "application/octet-stream", totalSize));
+    }
+
+    private UploadSessionStatus put(UploadSessionStatus session, long offset, String content) throws IOException {
+        byte[] body = content.getBytes(StandardCharsets.UTF_8);
+        return resumableUploadService.writeChunk(session.getSessionId(), offset, body.length, new ByteArrayInputStream(body));
+    }
+
+    // 分块写入开始读取请求体后阻塞，直到 release 被释放
+    private CompletableFuture<UploadSessionStatus> putBlocked(UploadSessionStatus session, long offset, String content,
+                                                              CountDownLatch writing, CountDownLatch release) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        ByteArrayInputStream body = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.read(b, off, len);
+            }
+        };
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return resumableUploadService.writeChunk(session.getSessionId(), offset, bytes.length, body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static void assertRanges(UploadSessionStatus status, long[][] received, long[][] missing) {
+        assertArrayEquals(received, status.getReceivedRanges().toArray(new long[0][]), Arrays.deepToString(received));
+        assertArrayEquals(missing, status.getMissingRanges().toArray(new long[0][]), Arrays.deepToString(missing));
+    }
+}
@@ -1,14 +1,18 @@
 package com.swole.platform.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,12 +22,18 @@ public class JwtUtilTest {
     private JwtUtil jwtUtil;
     private String secret = "testsecretforunittestingwhichislongenoughtomeetsecurityrequirements";
     private Long expiration = 86400000L; // 24 hours
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @BeforeEach
     public void setUp() {
         jwtUtil = new JwtUtil();
         ReflectionTestUtils.setField(jwtUtil, "secret", secret);
         ReflectionTestUtils.setField(jwtUtil, "expiration", expiration);
+        ReflectionTestUtils.setField(jwtUtil, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(jwtUtil, "cacheEnabled", true);
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaximumSize", 100L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheTtl", Duration.ofMinutes(5));
+        jwtUtil.init();
     }
 
     @Test
@@ -71,4 +81,69 @@ public class JwtUtilTest {
         Date expirationDate = jwtUtil.getExpirationDateFromToken(token);
         assertNotNull(expirationDate);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testRepeatedVerificationIsServedFromCache() {
+        String token = jwtUtil.generateToken("testuser");
+
+        assertEquals("testuser", jwtUtil.verifyToken(token).getUsername());
+        assertEquals("testuser", jwtUtil.verifyToken(token).getUsername());
+        assertTrue(jwtUtil.validateToken(token, "testuser"));
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt").tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "jwt").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    public void testTamperedTokenIsRejectedAfterValidTokenIsCached() {
+        String token = jwtUtil.generateToken("testuser");
+        assertTrue(jwtUtil.validateToken(token, "testuser"));
+
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1)
+                + (signature.charAt(0) == 'A' ? 'B' : 'A') + signature.substring(1);
+
+        assertThrows(JwtException.class, () -> jwtUtil.verifyToken(tampered));
+        assertFalse(jwtUtil.validateToken(tampered, "testuser"));
+    }
+
+    @Test
+    public void testTokenSignedWithOtherKeyIsRejected() {
+        SecretKey otherKey = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+        String token = Jwts.builder()
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() + 60000))
+                .signWith(otherKey, SignatureAlgorithm.HS512)
+                .compact();
+
+        assertThrows(JwtException.class, () -> jwtUtil.verifyToken(token));
+        assertFalse(jwtUtil.validateToken(token, "testuser"));
+    }
+
+    @Test
+    public void testCachedTokenExpiresAtItsExpiration() throws Exception {
+        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes());
+        String token = Jwts.builder()
+                .setSubject("testuser")
+                .setExpiration(new Date(System.currentTimeMillis() + 1500))
+                .signWith(key, SignatureAlgorithm.HS512)
+                .compact();
+        assertTrue(jwtUtil.validateToken(token, "testuser"));
+
+        Thread.sleep(2000);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verifyToken(token));
+        assertFalse(jwtUtil.validateToken(token, "testuser"));
+    }
+
+    @Test
+    public void testClaimsAreReadWithPrebuiltParser() {
+        String token = jwtUtil.generateToken("testuser");
+
+        Claims claims = jwtUtil.getClaimFromToken(token, c -> c);
+        assertEquals("testuser", claims.getSubject());
+        assertEquals(claims.getExpiration(), jwtUtil.getExpirationDateFromToken(token));
+    }
+}
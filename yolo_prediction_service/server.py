@@ -25,6 +25,67 @@ def limit_request_size():
         abort(413, "Request body too large")
 
 
+def load_request_image():
+    """
+    读取预测请求中的图像
+    支持 JSON 中 base64 编码的 image_data，以及二进制请求体（application/octet-stream 或 image/*，选项放在查询参数中）
+    :return: (PIL图像, 选项字典)，请求中没有图像时返回 (None, None)
+    """
+    content_type = request.mimetype or ''
+    if content_type == 'application/octet-stream' or content_type.startswith('image/'):
+        body = request.get_data()
+        if not body:
+            return None, None
+        options = {key: value.lower() == 'true' if value.lower() in ('true', 'false') else value
+                   for key, value in request.args.items()}
+        return Image.open(BytesIO(body)), options
+
+    data = request.get_json(silent=True)
+    if not data or 'image_data' not in data:
+        return None, None
+    return Image.open(BytesIO(base64.b64decode(data['image_data']))), data.get('options', {})
+
+
+def build_detection_results(detections):
+    """把检测结果转换为接口返回的格式（类、预测概率、x,y,w,h）"""
+    detection_results = []
+    for det in detections:
+        class_name, confidence, x, y, w, h = det
+        detection_results.append({
+            'class': class_name,
+            'confidence': float(confidence),
+            'x': int(x),
+            'y': int(y),
+            'width': int(w),
+            'height': int(h)
+        })
+    return detection_results
+
+
+def build_titration_result(detections):
+    """根据检测结果生成滴定分析结果"""
+    # 模拟滴定分析结果
+    # 在实际实现中，这应该包含专门的滴定终点检测逻辑
+    result = {
+        'color': 'colorless',  # 模拟颜色检测
+        'endPointReached': False,  # 模拟终点检测
+        'volume': 24.5,  # 模拟体积
+        'concentration': 0.1023,  # 模拟浓度
+        'confidence': 0.95  # 模拟置信度
+    }
+
+    # 如果有检测到相关对象，更新结果
+    if detections:
+        # 在实际实现中，这里会分析检测结果以确定滴定终点
+        for det in detections:
+            class_name = det[0]
+            confidence = det[1]
+            if 'end' in class_name.lower() or 'point' in class_name.lower():
+                result['endPointReached'] = True
+                result['confidence'] = max(result['confidence'], confidence)
+    return result
+
+
 @app.route('/health', methods=['GET'])
 def health_check():
     """健康检查端点"""
@@ -41,50 +102,26 @@ def predict_titration():
     global yolo_service
     
     try:
-        data = request.get_json()
+        # 读取图像（JSON 中的 base64 或二进制请求体）及选项
+        image, options = load_request_image()
         
-        if not data or 'image_data' not in data:
+        if image is None:
             return jsonify({
                 'success': False,
                 'error': {'code': 'INVALID_REQUEST', 'message': 'No image data provided'},
-                'message': 'Request must include image_data field'
+                'message': 'Request must include image_data field or a binary image body'
             }), 400
         
-        # 解码base64图像数据
-        image_data = data['image_data']
-        image_bytes = base64.b64decode(image_data)
-        image = Image.open(BytesIO(image_bytes))
-        
-        # 获取选项
-        options = data.get('options', {})
-        
         # 执行滴定分析 - 这里使用YOLO服务进行颜色和终点检测
         # 在实际实现中，这里会调用专门的滴定分析模型
         detections = yolo_service.get_simple_detections(image)
         
-        # 模拟滴定分析结果
-        # 在实际实现中，这应该包含专门的滴定终点检测逻辑
-        result = {
-            'color': 'colorless',  # 模拟颜色检测
-            'endPointReached': False,  # 模拟终点检测
-            'volume': 24.5,  # 模拟体积
-            'concentration': 0.1023,  # 模拟浓度
-            'confidence': 0.95  # 模拟置信度
-        }
-        
-        # 如果有检测到相关对象，更新结果
-        if detections:
-            # 在实际实现中，这里会分析检测结果以确定滴定终点
-            for det in detections:
-                class_name = det[0]
-                confidence = det[1]
-                if 'end' in class_name.lower() or 'point' in class_name.lower():
-                    result['endPointReached'] = True
-                    result['confidence'] = max(result['confidence'], confidence)
+        result = build_titration_result(detections)
         
         return jsonify({
             'success': True,
             'result': result,
+            'model_version': yolo_service.model_version,
             'message': 'Titration analysis completed successfully'
         })
     
@@ -102,39 +139,21 @@ def predict_concentration():
     global yolo_service
     
     try:
-        data = request.get_json()
+        # 读取图像（JSON 中的 base64 或二进制请求体）及选项
+        image, options = load_request_image()
         
-        if not data or 'image_data' not in data:
+        if image is None:
             return jsonify({
                 'success': False,
                 'error': {'code': 'INVALID_REQUEST', 'message': 'No image data provided'},
-                'message': 'Request must include image_data field'
+                'message': 'Request must include image_data field or a binary image body'
             }), 400
         
-        # 解码base64图像数据
-        image_data = data['image_data']
-        image_bytes = base64.b64decode(image_data)
-        image = Image.open(BytesIO(image_bytes))
-        
-        # 获取选项
-        options = data.get('options', {})
-        
         # 执行浓度分析 - 同时获取处理后的图像和检测结果
         result_image, detections = yolo_service.predict(image)
         
         # 准备返回结果
-        detection_results = []
-        for det in detections:
-            class_name, confidence, x, y, w, h = det
-            detection_info = {
-                'class': class_name,
-                'confidence': float(confidence),
-                'x': int(x),
-                'y': int(y),
-                'width': int(w),
-                'height': int(h)
-            }
-            detection_results.append(detection_info)
+        detection_results = build_detection_results(detections)
         
         # 检查是否需要返回处理后的图像
         return_image = options.get('return_image', False)
@@ -152,6 +171,7 @@ def predict_concentration():
                     'detection_count': len(detection_results),
                 },
                 'result_image': img_base64,  # 添加处理后的图像
+                'model_version': yolo_service.model_version,
                 'message': 'Concentration detection completed successfully'
             })
         else:
@@ -161,6 +181,7 @@ def predict_concentration():
                     'detections': detection_results,
                     'detection_count': len(detection_results)
                 },
+                'model_version': yolo_service.model_version,
                 'message': 'Concentration detection completed successfully'
             })
     
@@ -178,40 +199,21 @@ def predict_characterization():
     global yolo_service
     
     try:
-        data = request.get_json()
+        # 读取图像（JSON 中的 base64 或二进制请求体）及选项
+        image, options = load_request_image()
         
-        if not data or 'image_data' not in data:
+        if image is None:
             return jsonify({
                 'success': False,
                 'error': {'code': 'INVALID_REQUEST', 'message': 'No image data provided'},
-                'message': 'Request must include image_data field'
+                'message': 'Request must include image_data field or a binary image body'
             }), 400
         
-        # 解码base64图像数据
-        image_data = data['image_data']
-        image_bytes = base64.b64decode(image_data)
-        image = Image.open(BytesIO(image_bytes))
-        
-        # 获取选项
-        options = data.get('options', {})
-        
         # 执行粒子检测 - 同时获取处理后的图像和检测结果
         result_image, detections = yolo_service.predict(image)
         
         # 直接返回检测数据（类、预测概率、x,y,w,h）
-        detection_results = []
-        
-        for det in detections:
-            class_name, confidence, x, y, w, h = det
-            detection_info = {
-                'class': class_name,
-                'confidence': float(confidence),
-                'x': int(x),
-                'y': int(y),
-                'width': int(w),
-                'height': int(h)
-            }
-            detection_results.append(detection_info)
+        detection_results = build_detection_results(detections)
         
         # 检查是否需要返回处理后的图像
         return_image = options.get('return_image', False)
@@ -229,6 +231,7 @@ def predict_characterization():
                     'detection_count': len(detection_results)
                 },
                 'result_image': img_base64,  # 添加处理后的图像
+                'model_version': yolo_service.model_version,
                 'message': 'Particle characterization completed successfully'
             })
         else:
@@ -238,6 +241,7 @@ def predict_characterization():
                     'detections': detection_results,
                     'detection_count': len(detection_results)
                 },
+                'model_version': yolo_service.model_version,
                 'message': 'Particle characterization completed successfully'
             })
     
@@ -249,6 +253,59 @@ def predict_characterization():
         }), 500
 
 
+@app.route('/predict/<kind>/batch', methods=['POST'])
+def predict_batch(kind):
+    """批量预测端点：一次请求包含多张图片，按顺序返回每张图片的结果，单张图片失败不影响其他图片"""
+    global yolo_service
+
+    if kind not in ('concentration', 'characterization', 'titration'):
+        return jsonify({
+            'success': False,
+            'error': {'code': 'NOT_FOUND', 'message': f'Unknown prediction endpoint: {kind}'},
+            'message': f'Unknown prediction endpoint: {kind}'
+        }), 404
+
+    # multipart/form-data 中的多个 images 文件为原始图像字节，JSON 中的 images 为 base64 字符串
+    if request.mimetype == 'multipart/form-data':
+        images = [file.read() for file in request.files.getlist('images')]
+        decode = None
+    else:
+        data = request.get_json(silent=True)
+        images = data.get('images') if data else None
+        decode = base64.b64decode
+
+    if not isinstance(images, list) or not images:
+        return jsonify({
+            'success': False,
+            'error': {'code': 'INVALID_REQUEST', 'message': 'No images provided'},
+            'message': 'Request must include images field'
+        }), 400
+
+    results = []
+    for image_data in images:
+        try:
+            image = Image.open(BytesIO(decode(image_data) if decode else image_data))
+            if kind == 'titration':
+                result = build_titration_result(yolo_service.get_simple_detections(image))
+            else:
+                _, detections = yolo_service.predict(image)
+                detection_results = build_detection_results(detections)
+                result = {
+                    'detections': detection_results,
+                    'detection_count': len(detection_results)
+                }
+            results.append({'success': True, 'result': result})
+        except Exception as e:
+            results.append({'success': False, 'error': {'code': 'MODEL_ERROR', 'message': str(e)}})
+
+    return jsonify({
+        'success': True,
+        'results': results,
+        'model_version': yolo_service.model_version,
+        'message': f'Batch prediction of {len(results)} images completed'
+    })
+
+
 @app.route('/predict', methods=['POST'])
 def predict_legacy():
     """遗留的通用预测端点"""
@@ -1,5 +1,6 @@
 import os
 import base64
+import hashlib
 from io import BytesIO
 from PIL import Image
 from yolo import YOLO as YOLOv5
@@ -38,6 +39,8 @@ class YOLOService:
                 
             # 重新初始化模型
             self.yolo.init()
+
+        self.model_version = self._compute_model_version()
     
     def set_cuda(self, use_cuda):
         """
@@ -116,6 +119,7 @@ class YOLOService:
         old_model_type = self.model_type
         self.yolo = new_yolo
         self.model_type = model_type
+        self.model_version = self._compute_model_version()
 
         # 设置CUDA状态
         if hasattr(self, 'cuda'):
@@ -144,7 +148,7 @@ class YOLOService:
         :return: 包含当前模型路径、类别路径等信息的字典
         """
         if self.model_type == 'v8':
-            return {
+            info = {
                 'model_type': 'YOLOv8',
                 'model_path': self.yolo.model_path,
                 'classes_path': self.yolo.classes_path,
@@ -156,7 +160,7 @@ class YOLOService:
                 'phi': getattr(self.yolo, 'phi', 's')  # YOLOv8 版本
             }
         else:
-            return {
+            info = {
                 'model_type': 'YOLOv5',
                 'model_path': self.yolo.model_path if hasattr(self.yolo, 'model_path') else self.yolo.get_defaults('model_path'),
                 'classes_path': self.yolo.classes_path if hasattr(self.yolo, 'classes_path') else self.yolo.get_defaults('classes_path'),
@@ -167,6 +171,27 @@ class YOLOService:
                 'confidence': self.yolo.confidence,
                 'nms_iou': self.yolo.nms_iou
             }
+        # 模型版本标识，后端预测结果缓存以此区分不同模型
+        info['model_version'] = getattr(self, 'model_version', None)
+        return info
+
+    def _compute_model_version(self):
+        """
+        计算当前模型的版本标识：模型名称@模型文件与类别文件内容的摘要
+        同一模型切换回来时版本不变，模型文件被替换后版本随之改变
+        :return: 版本标识字符串
+        """
+        info = self.get_current_model_info()
+        digest = hashlib.sha256(self.model_type.encode('utf-8'))
+        for path in (info['model_path'], info['classes_path']):
+            if path and os.path.isfile(path):
+                with open(path, 'rb') as f:
+                    for chunk in iter(lambda: f.read(1024 * 1024), b''):
+                        digest.update(chunk)
+            else:
+                digest.update(str(path).encode('utf-8'))
+        name = os.path.splitext(os.path.basename(str(info['model_path'])))[0]
+        return f"{name}@{digest.hexdigest()[:16]}"
     
     def get_available_models(self):
         """